@@ -30,6 +30,11 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
 
 import org.apache.commons.collections4.bag.HashBag;
 import org.apache.commons.collections4.collection.PredicatedCollection;
@@ -167,6 +172,305 @@ public class CollectionUtils {
         }
     }
 
+    /**
+     * Helper class for the parallel set-related operations, for example union, subtract, intersection.
+     * <p>
+     * The elements of both collections are partitioned by hash code in parallel chunks, then the cardinalities of each
+     * partition are counted by a separate task in an open addressing table with primitive counters. Since equal elements
+     * always fall in the same partition, the partial results need no merging beyond concatenation.
+     * </p>
+     */
+    private static final class ParallelCardinalityHelper {
+
+        /** The minimum number of elements handled by a single task. */
+        private static final int MIN_TASK_SIZE = 1 << 13;
+
+        /**
+         * Spreads the hash code of an element so that both its high bits, used to pick a partition, and its low bits,
+         * used to pick a slot, are well distributed.
+         *
+         * @param obj  the element, may be null
+         * @return the spread hash code
+         */
+        private static int spread(final Object obj) {
+            final int h = obj == null ? 0 : obj.hashCode();
+            return (h ^ h >>> 16) * 0x9E3779B9;
+        }
+
+        private static Object[] toArray(final Iterable<?> iterable) {
+            if (iterable instanceof Collection) {
+                return ((Collection<?>) iterable).toArray();
+            }
+            final List<Object> list = new ArrayList<>();
+            addAll(list, iterable);
+            return list.toArray();
+        }
+
+        /** The elements of collection A. */
+        private final Object[] elementsA;
+
+        /** The elements of collection B. */
+        private final Object[] elementsB;
+
+        /** The executor running the tasks. */
+        private final Executor executor;
+
+        /** The spread hash code of each element, by combined index, computed once. */
+        private final int[] hashes;
+
+        /** The number of bits of the spread hash code selecting a partition. */
+        private final int partitionBits;
+
+        /** The combined indices of the elements, grouped by partition, in ascending order within each partition. */
+        private final int[] order;
+
+        /** The start of each partition in {@link #order}, followed by the total number of elements. */
+        private final int[] partitionStart;
+
+        /**
+         * Creates a new helper and partitions the elements of the two collections.
+         *
+         * @param a  the first collection
+         * @param b  the second collection
+         * @param executor  the executor running the tasks
+         */
+        ParallelCardinalityHelper(final Iterable<?> a, final Iterable<?> b, final Executor executor) {
+            this.executor = executor;
+            elementsA = toArray(a);
+            elementsB = toArray(b);
+            final int size = elementsA.length + elementsB.length;
+            final int tasks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, size / MIN_TASK_SIZE));
+            partitionBits = 32 - Integer.numberOfLeadingZeros(tasks - 1);
+            final int partitions = 1 << partitionBits;
+            final int chunkSize = (size + tasks - 1) / tasks;
+            final int[][] chunkCounts = new int[tasks][partitions];
+            hashes = new int[size];
+            run(tasks, chunk -> {
+                final int[] counts = chunkCounts[chunk];
+                final int end = Math.min(size, (chunk + 1) * chunkSize);
+                for (int i = chunk * chunkSize; i < end; i++) {
+                    hashes[i] = spread(element(i));
+                    counts[partition(hashes[i])]++;
+                }
+            });
+            // turn the counts into the position of each chunk within each partition
+            partitionStart = new int[partitions + 1];
+            int position = 0;
+            for (int p = 0; p < partitions; p++) {
+                partitionStart[p] = position;
+                for (int chunk = 0; chunk < tasks; chunk++) {
+                    final int count = chunkCounts[chunk][p];
+                    chunkCounts[chunk][p] = position;
+                    position += count;
+                }
+            }
+            partitionStart[partitions] = position;
+            order = new int[size];
+            run(tasks, chunk -> {
+                final int[] positions = chunkCounts[chunk];
+                final int end = Math.min(size, (chunk + 1) * chunkSize);
+                for (int i = chunk * chunkSize; i < end; i++) {
+                    order[positions[partition(hashes[i])]++] = i;
+                }
+            });
+        }
+
+        /**
+         * Gets an element by its combined index, where the elements of B follow the elements of A.
+         *
+         * @param index  the combined index
+         * @return the element
+         */
+        private Object element(final int index) {
+            return index < elementsA.length ? elementsA[index] : elementsB[index - elementsA.length];
+        }
+
+        /**
+         * Tests whether both collections contain the same elements with the same cardinalities.
+         *
+         * @return whether the collections are equal
+         */
+        boolean isEqual() {
+            if (elementsA.length != elementsB.length) {
+                return false;
+            }
+            final boolean[] equal = new boolean[partitionStart.length - 1];
+            run(equal.length, p -> {
+                final Table table = new Table(p);
+                for (int slot = 0; slot < table.distinct; slot++) {
+                    if (table.countA[slot] != table.countB[slot]) {
+                        return;
+                    }
+                }
+                equal[p] = true;
+            });
+            for (final boolean partitionEqual : equal) {
+                if (!partitionEqual) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int partition(final int hash) {
+            return partitionBits == 0 ? 0 : hash >>> 32 - partitionBits;
+        }
+
+        /**
+         * Runs the given number of tasks on the executor and waits for all of them to complete.
+         *
+         * @param tasks  the number of tasks
+         * @param task  the task, given its index
+         */
+        private void run(final int tasks, final IntConsumer task) {
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+            for (int t = 0; t < tasks; t++) {
+                final int index = t;
+                futures[t] = CompletableFuture.runAsync(() -> task.accept(index), executor);
+            }
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (final CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Adds each unique element the number of times computed from its cardinalities to the result collection.
+         *
+         * @param <O>  the element type
+         * @param cardinality  computes the output cardinality from the cardinalities in A and B
+         * @return the result
+         */
+        <O> Collection<O> setOperation(final IntBinaryOperator cardinality) {
+            final List<List<O>> partials = new ArrayList<>(Collections.nCopies(partitionStart.length - 1, null));
+            run(partials.size(), p -> {
+                final Table table = new Table(p);
+                final List<O> partial = new ArrayList<>(table.distinct);
+                for (int slot = 0; slot < table.distinct; slot++) {
+                    @SuppressWarnings("unchecked")
+                    final O obj = (O) table.elements[slot];
+                    final int count = cardinality.applyAsInt(table.countA[slot], table.countB[slot]);
+                    for (int i = 0; i < count; i++) {
+                        partial.add(obj);
+                    }
+                }
+                partials.set(p, partial);
+            });
+            long size = 0;
+            for (final List<O> partial : partials) {
+                size += partial.size();
+            }
+            final List<O> result = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, size));
+            partials.forEach(result::addAll);
+            return result;
+        }
+
+        /**
+         * Removes from A, in iteration order, one occurrence of each element of B.
+         *
+         * @param <O>  the element type
+         * @return the remaining elements of A, in iteration order
+         */
+        <O> Collection<O> subtract() {
+            final boolean[] removed = new boolean[elementsA.length];
+            run(partitionStart.length - 1, p -> {
+                final Table table = new Table(p);
+                // the elements of A come first in each partition, in iteration order
+                for (int i = partitionStart[p]; i < partitionStart[p + 1] && order[i] < elementsA.length; i++) {
+                    final int slot = table.slot(order[i]);
+                    if (table.countB[slot] > 0) {
+                        table.countB[slot]--;
+                        removed[order[i]] = true;
+                    }
+                }
+            });
+            final List<O> result = new ArrayList<>(elementsA.length);
+            for (int i = 0; i < elementsA.length; i++) {
+                if (!removed[i]) {
+                    @SuppressWarnings("unchecked")
+                    final O obj = (O) elementsA[i];
+                    result.add(obj);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Counts the cardinalities of the elements of a partition.
+         */
+        private final class Table {
+
+            /** The unique elements, in order of first occurrence. */
+            final Object[] elements;
+
+            /** The cardinality in collection A of each unique element. */
+            final int[] countA;
+
+            /** The cardinality in collection B of each unique element. */
+            final int[] countB;
+
+            /** The number of unique elements. */
+            int distinct;
+
+            /** The open addressing slots, holding the index of a unique element plus one, or zero if empty. */
+            private final int[] slots;
+
+            /**
+             * Counts the elements of a partition.
+             *
+             * @param partition  the partition
+             */
+            Table(final int partition) {
+                final int start = partitionStart[partition];
+                final int end = partitionStart[partition + 1];
+                final int size = end - start;
+                elements = new Object[size];
+                countA = new int[size];
+                countB = new int[size];
+                slots = new int[Integer.highestOneBit(Math.max(1, size) * 2 - 1) * 2];
+                for (int i = start; i < end; i++) {
+                    final int index = order[i];
+                    final int slot = slot(index);
+                    if (index < elementsA.length) {
+                        countA[slot]++;
+                    } else {
+                        countB[slot]++;
+                    }
+                }
+            }
+
+            /**
+             * Gets the slot of an element, adding the element if absent.
+             *
+             * @param index  the combined index of the element
+             * @return the index of the unique element
+             */
+            int slot(final int index) {
+                final Object obj = element(index);
+                final int mask = slots.length - 1;
+                for (int s = hashes[index] & mask;; s = s + 1 & mask) {
+                    final int slot = slots[s] - 1;
+                    if (slot < 0) {
+                        elements[distinct] = obj;
+                        slots[s] = ++distinct;
+                        return distinct - 1;
+                    }
+                    if (Objects.equals(elements[slot], obj)) {
+                        return slot;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Helper class for set-related operations, for example union, subtract, intersection.
      * @param <O>  the element type
@@ -1399,6 +1703,134 @@ public class CollectionUtils {
         }
     }
 
+    /**
+     * Returns a {@link Collection} containing the exclusive disjunction (symmetric difference) of the given
+     * {@link Iterable}s, computed by tasks run on the given executor.
+     * <p>
+     * The result is equal, as a multiset, to {@link #disjunction(Iterable, Iterable)}. The elements are partitioned by
+     * hash code and the cardinalities of each partition are counted by a separate task, which pays off for large
+     * inputs; for example, pass {@link java.util.concurrent.ForkJoinPool#commonPool()} as the executor.
+     * </p>
+     *
+     * @param a the first collection, must not be null
+     * @param b the second collection, must not be null
+     * @param executor the executor running the tasks, must not be null
+     * @param <O> the generic type that is able to represent the types contained
+     *        in both input collections.
+     * @return the symmetric difference of the two collections
+     * @throws NullPointerException if either collection or the executor is null
+     * @since 4.5.1
+     */
+    public static <O> Collection<O> parallelDisjunction(final Iterable<? extends O> a, final Iterable<? extends O> b,
+            final Executor executor) {
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        Objects.requireNonNull(executor, "executor");
+        return new ParallelCardinalityHelper(a, b, executor).setOperation((countA, countB) -> Math.abs(countA - countB));
+    }
+
+    /**
+     * Returns a {@link Collection} containing the intersection of the given {@link Iterable}s, computed by tasks run on
+     * the given executor.
+     * <p>
+     * The result is equal, as a multiset, to {@link #intersection(Iterable, Iterable)}. The elements are partitioned by
+     * hash code and the cardinalities of each partition are counted by a separate task, which pays off for large
+     * inputs; for example, pass {@link java.util.concurrent.ForkJoinPool#commonPool()} as the executor.
+     * </p>
+     *
+     * @param a the first collection, must not be null
+     * @param b the second collection, must not be null
+     * @param executor the executor running the tasks, must not be null
+     * @param <O> the generic type that is able to represent the types contained
+     *        in both input collections.
+     * @return the intersection of the two collections
+     * @throws NullPointerException if either collection or the executor is null
+     * @since 4.5.1
+     */
+    public static <O> Collection<O> parallelIntersection(final Iterable<? extends O> a, final Iterable<? extends O> b,
+            final Executor executor) {
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        Objects.requireNonNull(executor, "executor");
+        return new ParallelCardinalityHelper(a, b, executor).setOperation(Math::min);
+    }
+
+    /**
+     * Returns {@code true} iff the given {@link Collection}s contain exactly the same elements with exactly the same
+     * cardinalities, computed by tasks run on the given executor.
+     * <p>
+     * The result is the same as {@link #isEqualCollection(Collection, Collection)}. The elements are partitioned by
+     * hash code and the cardinalities of each partition are compared by a separate task, which pays off for large
+     * inputs; for example, pass {@link java.util.concurrent.ForkJoinPool#commonPool()} as the executor.
+     * </p>
+     *
+     * @param a  the first collection, must not be null
+     * @param b  the second collection, must not be null
+     * @param executor the executor running the tasks, must not be null
+     * @return {@code true} iff the collections contain the same elements with the same cardinalities.
+     * @throws NullPointerException if either collection or the executor is null
+     * @since 4.5.1
+     */
+    public static boolean parallelIsEqualCollection(final Collection<?> a, final Collection<?> b, final Executor executor) {
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        Objects.requireNonNull(executor, "executor");
+        return a.size() == b.size() && new ParallelCardinalityHelper(a, b, executor).isEqual();
+    }
+
+    /**
+     * Returns a new {@link Collection} containing {@code <em>a</em> - <em>b</em>}, computed by tasks run on the given
+     * executor.
+     * <p>
+     * The result is the same as {@link #subtract(Iterable, Iterable)}, including the iteration order of the remaining
+     * elements of <em>a</em>. The elements are partitioned by hash code and the cardinalities of each partition are
+     * counted by a separate task, which pays off for large inputs; for example, pass
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()} as the executor.
+     * </p>
+     *
+     * @param a  the collection to subtract from, must not be null
+     * @param b  the collection to subtract, must not be null
+     * @param executor the executor running the tasks, must not be null
+     * @param <O> the generic type that is able to represent the types contained
+     *        in both input collections.
+     * @return a new collection with the results
+     * @throws NullPointerException if either collection or the executor is null
+     * @since 4.5.1
+     */
+    public static <O> Collection<O> parallelSubtract(final Iterable<? extends O> a, final Iterable<? extends O> b,
+            final Executor executor) {
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        Objects.requireNonNull(executor, "executor");
+        return new ParallelCardinalityHelper(a, b, executor).subtract();
+    }
+
+    /**
+     * Returns a {@link Collection} containing the union of the given {@link Iterable}s, computed by tasks run on the
+     * given executor.
+     * <p>
+     * The result is equal, as a multiset, to {@link #union(Iterable, Iterable)}. The elements are partitioned by hash
+     * code and the cardinalities of each partition are counted by a separate task, which pays off for large inputs;
+     * for example, pass {@link java.util.concurrent.ForkJoinPool#commonPool()} as the executor.
+     * </p>
+     *
+     * @param a the first collection, must not be null
+     * @param b the second collection, must not be null
+     * @param executor the executor running the tasks, must not be null
+     * @param <O> the generic type that is able to represent the types contained
+     *        in both input collections.
+     * @return the union of the two collections
+     * @throws NullPointerException if either collection or the executor is null
+     * @since 4.5.1
+     */
+    public static <O> Collection<O> parallelUnion(final Iterable<? extends O> a, final Iterable<? extends O> b,
+            final Executor executor) {
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        Objects.requireNonNull(executor, "executor");
+        return new ParallelCardinalityHelper(a, b, executor).setOperation(Math::max);
+    }
+
     /**
      * Returns a {@link Collection} of all the permutations of the input collection.
      * <p>
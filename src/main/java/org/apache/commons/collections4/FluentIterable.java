@@ -16,14 +16,23 @@
  */
 package org.apache.commons.collections4;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.collections4.bloomfilter.Shape;
 import org.apache.commons.collections4.iterators.SingletonIterator;
 
 /**
@@ -61,12 +70,255 @@ import org.apache.commons.collections4.iterators.SingletonIterator;
  * </pre>
  * The resulting list will contain the following elements:
  * <pre>[2, 4, 6]</pre>
+ * <p>
+ * The {@code filter}, {@code transform}, {@code skip}, {@code limit},
+ * {@code unique} and {@code unmodifiable} stages are fused: the terminal
+ * methods such as {@link #forEach(Closure)}, {@link #toList()} or
+ * {@link #size()} push each element through all the stages in a single
+ * loop over the source instead of stacking one decorating iterator per
+ * stage. {@link #iterator()} still returns the decorating iterators, which
+ * support {@code remove()} where the stages allow it.
+ * </p>
  *
  * @param <E>  the element type
  * @since 4.1
  */
 public class FluentIterable<E> implements Iterable<E> {
 
+    /**
+     * Counts the elements pushed to it, stopping the traversal at a maximum.
+     *
+     * @param <T> the element type
+     */
+    private static final class Counter<T> implements Sink<T> {
+
+        /** The number of elements to let through, or -1 for all. */
+        private final long max;
+
+        /** The number of elements pushed so far. */
+        private long count;
+
+        Counter(final long max) {
+            this.max = max;
+        }
+
+        @Override
+        public boolean accept(final T value) {
+            return ++count != max;
+        }
+    }
+
+    /**
+     * A spliterator for pipelines with stateful stages. It traverses the
+     * fused pipeline when consumed as a whole, and the iterator when
+     * consumed element by element or split into batches.
+     *
+     * @param <E> the element type
+     */
+    private static final class PipelineSpliterator<E> extends Spliterators.AbstractSpliterator<E> {
+
+        /** The pipeline. */
+        private final FluentIterable<E> pipeline;
+
+        /** The iterator of the pipeline, created on first use. */
+        private Iterator<E> iterator;
+
+        PipelineSpliterator(final FluentIterable<E> pipeline) {
+            super(Long.MAX_VALUE, ORDERED);
+            this.pipeline = pipeline;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (iterator == null) {
+                pipeline.push(value -> {
+                    action.accept(value);
+                    return true;
+                });
+                iterator = IteratorUtils.emptyIterator();
+            } else {
+                iterator.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (iterator == null) {
+                iterator = pipeline.iterator();
+            }
+            if (iterator.hasNext()) {
+                action.accept(iterator.next());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stops the traversal at the first element matching a predicate.
+     *
+     * @param <T> the element type
+     */
+    private static final class Search<T> implements Sink<T> {
+
+        /** The predicate to match. */
+        private final Predicate<? super T> predicate;
+
+        /** Whether an element matched. */
+        private boolean found;
+
+        /** The element that matched. */
+        private T value;
+
+        Search(final Predicate<? super T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean accept(final T value) {
+            if (predicate.evaluate(value)) {
+                found = true;
+                this.value = value;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Receives the elements pushed through a fused pipeline.
+     *
+     * @param <T> the element type
+     */
+    @FunctionalInterface
+    private interface Sink<T> {
+
+        /**
+         * Accepts the next element.
+         *
+         * @param value the element
+         * @return true to receive more elements, false to stop the traversal
+         */
+        boolean accept(T value);
+    }
+
+    /**
+     * A fused stage of a pipeline, which turns a sink of its output elements
+     * into a sink of its input elements. A stage keeps its state, if any, in
+     * the sink it returns, so that each traversal gets fresh state.
+     *
+     * @param <I> the input element type
+     * @param <O> the output element type
+     */
+    @FunctionalInterface
+    private interface Stage<I, O> {
+
+        /**
+         * Wraps the given sink.
+         *
+         * @param sink the sink of the output elements
+         * @return the sink of the input elements
+         */
+        Sink<I> wrap(Sink<? super O> sink);
+    }
+
+    /**
+     * A spliterator that runs the spliterator of the upstream elements
+     * through a stateless stage, splitting where the upstream splits.
+     *
+     * @param <I> the input element type
+     * @param <O> the output element type
+     */
+    private static final class StageSpliterator<I, O> implements Spliterator<O> {
+
+        /** The spliterator of the upstream elements. */
+        private final Spliterator<I> source;
+
+        /** The stateless stage. */
+        private final Stage<I, O> stage;
+
+        /** The characteristics of the source that the stage keeps. */
+        private final int characteristics;
+
+        /** Consumes the upstream elements for {@link #tryAdvance(Consumer)}, created on first use. */
+        private Consumer<I> advancer;
+
+        /** Whether the stage let an element through during the last upstream advance. */
+        private boolean advanced;
+
+        /** The element the stage let through. */
+        private O next;
+
+        StageSpliterator(final Spliterator<I> source, final Stage<I, O> stage, final int characteristics) {
+            this.source = source;
+            this.stage = stage;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & characteristics;
+        }
+
+        @Override
+        public Comparator<? super O> getComparator() {
+            if (!hasCharacteristics(SORTED)) {
+                throw new IllegalStateException();
+            }
+            // only the stages passing the elements through unchanged keep SORTED
+            @SuppressWarnings("unchecked")
+            final Comparator<? super O> comparator = (Comparator<? super O>) source.getComparator();
+            return comparator;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super O> action) {
+            Objects.requireNonNull(action, "action");
+            final Sink<I> sink = stage.wrap(value -> {
+                action.accept(value);
+                return true;
+            });
+            source.forEachRemaining(sink::accept);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super O> action) {
+            Objects.requireNonNull(action, "action");
+            if (advancer == null) {
+                final Sink<I> sink = stage.wrap(value -> {
+                    next = value;
+                    advanced = true;
+                    return true;
+                });
+                advancer = sink::accept;
+            }
+            advanced = false;
+            // skip the elements the stage drops
+            while (!advanced) {
+                if (!source.tryAdvance(advancer)) {
+                    return false;
+                }
+            }
+            final O value = next;
+            next = null;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public Spliterator<O> trySplit() {
+            final Spliterator<I> prefix = source.trySplit();
+            return prefix == null ? null : new StageSpliterator<>(prefix, stage, characteristics);
+        }
+    }
+
     /**
      * Creates a new empty FluentIterable.
      *
@@ -130,11 +382,23 @@ public class FluentIterable<E> implements Iterable<E> {
     /** A reference to the wrapped iterable. */
     private final Iterable<E> iterable;
 
+    /** The pipeline whose elements are pushed through {@link #stage}, or null if this iterable is a source. */
+    private final FluentIterable<Object> upstream;
+
+    /** The fused stage turning the upstream elements into the elements of this iterable. */
+    private final Stage<Object, E> stage;
+
+    /**
+     * The characteristics of the upstream spliterator that the stage keeps, or -1
+     * if the stage has state, so that the traversal cannot be split.
+     */
+    private final int characteristics;
+
     /**
      * Don't allow instances.
      */
     FluentIterable() {
-        iterable = this;
+        this(null);
     }
 
     /**
@@ -142,7 +406,27 @@ public class FluentIterable<E> implements Iterable<E> {
      * @param iterable  the iterable to wrap
      */
     private FluentIterable(final Iterable<E> iterable) {
+        this.iterable = iterable == null ? this : iterable;
+        this.upstream = null;
+        this.stage = null;
+        this.characteristics = -1;
+    }
+
+    /**
+     * Create a new FluentIterable fusing a stage to a pipeline.
+     *
+     * @param iterable  the iterable decorating the iterator of the upstream pipeline
+     * @param upstream  the upstream pipeline
+     * @param stage  the stage
+     * @param characteristics  the spliterator characteristics the stage keeps, or -1 if it has state
+     */
+    @SuppressWarnings("unchecked")
+    private <I> FluentIterable(final Iterable<E> iterable, final FluentIterable<I> upstream, final Stage<I, E> stage,
+            final int characteristics) {
         this.iterable = iterable;
+        this.upstream = (FluentIterable<Object>) upstream;
+        this.stage = (Stage<Object, E>) stage;
+        this.characteristics = characteristics;
     }
 
     /**
@@ -158,7 +442,11 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if predicate is null
      */
     public boolean allMatch(final Predicate<? super E> predicate) {
-        return IterableUtils.matchesAll(iterable, predicate);
+        if (upstream == null) {
+            return IterableUtils.matchesAll(iterable, predicate);
+        }
+        Objects.requireNonNull(predicate, "predicate");
+        return !find(value -> !predicate.evaluate(value));
     }
 
     /**
@@ -173,7 +461,11 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if predicate is null
      */
     public boolean anyMatch(final Predicate<? super E> predicate) {
-        return IterableUtils.matchesAny(iterable, predicate);
+        if (upstream == null) {
+            return IterableUtils.matchesAny(iterable, predicate);
+        }
+        Objects.requireNonNull(predicate, "predicate");
+        return find(predicate);
     }
 
     /**
@@ -270,7 +562,10 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return true if the object is contained in this iterable, false otherwise
      */
     public boolean contains(final Object object) {
-        return IterableUtils.contains(iterable, object);
+        if (upstream == null) {
+            return IterableUtils.contains(iterable, object);
+        }
+        return find(value -> Objects.equals(value, object));
     }
 
     /**
@@ -282,7 +577,14 @@ public class FluentIterable<E> implements Iterable<E> {
      */
     public void copyInto(final Collection<? super E> collection) {
         Objects.requireNonNull(collection, "collection");
-        CollectionUtils.addAll(collection, iterable);
+        if (upstream == null) {
+            CollectionUtils.addAll(collection, iterable);
+        } else {
+            push(value -> {
+                collection.add(value);
+                return true;
+            });
+        }
     }
 
     /**
@@ -312,7 +614,21 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if predicate is null
      */
     public FluentIterable<E> filter(final Predicate<? super E> predicate) {
-        return of(IterableUtils.filteredIterable(iterable, predicate));
+        return new FluentIterable<>(IterableUtils.filteredIterable(iterable, predicate), this,
+            sink -> value -> !predicate.evaluate(value) || sink.accept(value), Spliterator.ORDERED);
+    }
+
+    /**
+     * Pushes the elements of this iterable through the fused stages until one
+     * matches the given predicate.
+     *
+     * @param predicate  the predicate to match
+     * @return true if an element matched
+     */
+    private boolean find(final Predicate<? super E> predicate) {
+        final Search<E> search = new Search<>(predicate);
+        push(search);
+        return search.found;
     }
 
     /**
@@ -322,7 +638,15 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if closure is null
      */
     public void forEach(final Closure<? super E> closure) {
-        IterableUtils.forEach(iterable, closure);
+        if (upstream == null) {
+            IterableUtils.forEach(iterable, closure);
+        } else {
+            Objects.requireNonNull(closure, "closure");
+            push(value -> {
+                closure.execute(value);
+                return true;
+            });
+        }
     }
 
     /**
@@ -336,7 +660,17 @@ public class FluentIterable<E> implements Iterable<E> {
      *   valid range of this iterable: [0, size)
      */
     public E get(final int position) {
-        return IterableUtils.get(iterable, position);
+        if (upstream == null) {
+            return IterableUtils.get(iterable, position);
+        }
+        CollectionUtils.checkIndexBounds(position);
+        final Counter<E> counter = new Counter<>(-1);
+        final Search<E> search = new Search<>(value -> counter.accept(value) && counter.count > position);
+        push(search);
+        if (!search.found) {
+            throw new IndexOutOfBoundsException("Entry does not exist: " + (position - counter.count));
+        }
+        return search.value;
     }
 
     /**
@@ -345,7 +679,10 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return true if this iterable does not contain any elements, false otherwise
      */
     public boolean isEmpty() {
-        return IterableUtils.isEmpty(iterable);
+        if (upstream == null) {
+            return IterableUtils.isEmpty(iterable);
+        }
+        return !find(value -> true);
     }
 
     /** {@inheritDoc} */
@@ -363,7 +700,18 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws IllegalArgumentException if maxSize is negative
      */
     public FluentIterable<E> limit(final long maxSize) {
-        return of(IterableUtils.boundedIterable(iterable, maxSize));
+        final Iterable<E> bounded = IterableUtils.boundedIterable(iterable, maxSize);
+        if (maxSize == 0) {
+            // never pull an element from upstream
+            return of(bounded);
+        }
+        return new FluentIterable<>(bounded, this, sink -> {
+            final Counter<E> counter = new Counter<>(maxSize);
+            return value -> {
+                final boolean more = sink.accept(value);
+                return counter.accept(value) && more;
+            };
+        }, -1);
     }
 
     /**
@@ -376,6 +724,39 @@ public class FluentIterable<E> implements Iterable<E> {
         return of(IterableUtils.loopingIterable(iterable));
     }
 
+    /**
+     * Returns a possibly parallel {@link Stream} of the elements of this iterable.
+     * <p>
+     * The stream splits where the source iterable splits as long as the
+     * pipeline only consists of {@code filter}, {@code transform} and
+     * {@code unmodifiable} stages; other pipelines are split into batches.
+     * </p>
+     *
+     * @return a possibly parallel stream of the elements of this iterable
+     * @since 4.5.1
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Pushes the elements of this iterable through the fused stages to the
+     * given sink, until the sink or a stage stops the traversal.
+     *
+     * @param sink  the sink of the elements
+     */
+    private void push(final Sink<? super E> sink) {
+        if (upstream != null) {
+            upstream.push(stage.wrap(sink));
+            return;
+        }
+        for (final E element : iterable) {
+            if (!sink.accept(element)) {
+                return;
+            }
+        }
+    }
+
     /**
      * Returns a new FluentIterable whose iterator will traverse the
      * elements from this iterable in reverse order.
@@ -393,7 +774,12 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return the size of this iterable
      */
     public int size() {
-        return IterableUtils.size(iterable);
+        if (upstream == null) {
+            return IterableUtils.size(iterable);
+        }
+        final Counter<E> counter = new Counter<>(-1);
+        push(counter);
+        return (int) Math.min(counter.count, Integer.MAX_VALUE);
     }
 
     /**
@@ -406,7 +792,46 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws IllegalArgumentException if elementsToSkip is negative
      */
     public FluentIterable<E> skip(final long elementsToSkip) {
-        return of(IterableUtils.skippingIterable(iterable, elementsToSkip));
+        return new FluentIterable<>(IterableUtils.skippingIterable(iterable, elementsToSkip), this, sink -> {
+            final Counter<E> skipped = new Counter<>(-1);
+            return value -> {
+                if (skipped.count < elementsToSkip) {
+                    return skipped.accept(value);
+                }
+                return sink.accept(value);
+            };
+        }, -1);
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the elements of this iterable.
+     * <p>
+     * The fused stages are applied to the spliterator of the source, so
+     * that it splits as well as the source does when no stage has state.
+     * </p>
+     *
+     * @return a {@code Spliterator} over the elements of this iterable
+     * @since 4.5.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        if (upstream == null) {
+            return iterable == this ? Iterable.super.spliterator() : iterable.spliterator();
+        }
+        if (characteristics < 0) {
+            return new PipelineSpliterator<>(this);
+        }
+        return new StageSpliterator<>(upstream.spliterator(), stage, characteristics);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the elements of this iterable.
+     *
+     * @return a sequential stream of the elements of this iterable
+     * @since 4.5.1
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
     }
 
     /**
@@ -431,7 +856,12 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return a list of the iterable contents
      */
     public List<E> toList() {
-        return IterableUtils.toList(iterable);
+        if (upstream == null) {
+            return IterableUtils.toList(iterable);
+        }
+        final List<E> list = new ArrayList<>();
+        copyInto(list);
+        return list;
     }
 
     /** {@inheritDoc} */
@@ -450,7 +880,8 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if transformer is null
      */
     public <O> FluentIterable<O> transform(final Transformer<? super E, ? extends O> transformer) {
-        return of(IterableUtils.transformedIterable(iterable, transformer));
+        return new FluentIterable<>(IterableUtils.transformedIterable(iterable, transformer), this,
+            sink -> value -> sink.accept(transformer.transform(value)), Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
     }
 
     /**
@@ -460,7 +891,83 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return a new iterable, providing a unique view of this iterable
      */
     public FluentIterable<E> unique() {
-        return of(IterableUtils.uniqueIterable(iterable));
+        return new FluentIterable<>(IterableUtils.uniqueIterable(iterable), this, sink -> {
+            final Set<E> seen = new HashSet<>();
+            return value -> !seen.add(value) || sink.accept(value);
+        }, -1);
+    }
+
+    /**
+     * Returns a new FluentIterable whose iterator will return the elements
+     * accepted by a fresh predicate from the given factory, created for each
+     * iteration.
+     *
+     * @param factory  the factory of unique predicates
+     * @return a new iterable, providing a unique view of this iterable
+     */
+    private FluentIterable<E> unique(final Factory<Predicate<E>> factory) {
+        final Iterable<E> unique = () -> IteratorUtils.filteredIterator(iterable.iterator(), factory.create());
+        return new FluentIterable<>(unique, this, sink -> {
+            final Predicate<E> predicate = factory.create();
+            return value -> !predicate.test(value) || sink.accept(value);
+        }, -1);
+    }
+
+    /**
+     * Returns a new FluentIterable whose iterator will return an approximate
+     * unique view of this iterable, remembering the elements in a Bloom filter
+     * of the given shape instead of a set.
+     * <p>
+     * Memory is bounded by the shape, but a new element may be wrongly skipped
+     * as a duplicate, with the false positive probability of the filter.
+     * </p>
+     *
+     * @param shape  the shape of the Bloom filter
+     * @return a new iterable, providing an approximate unique view of this iterable
+     * @throws NullPointerException if shape is null
+     * @see PredicateUtils#bloomFilterUniquePredicate(Shape)
+     * @since 4.5.1
+     */
+    public FluentIterable<E> uniqueApproximate(final Shape shape) {
+        Objects.requireNonNull(shape, "shape");
+        return unique(() -> PredicateUtils.bloomFilterUniquePredicate(shape));
+    }
+
+    /**
+     * Returns a new FluentIterable whose iterator will return a unique view
+     * of this iterable, assuming that equal elements are next to each other,
+     * as in a sorted iterable.
+     * <p>
+     * Only the previous element is remembered.
+     * </p>
+     *
+     * @return a new iterable, providing a unique view of this sorted iterable
+     * @see PredicateUtils#sortedUniquePredicate()
+     * @since 4.5.1
+     */
+    public FluentIterable<E> uniqueSorted() {
+        return unique(PredicateUtils::sortedUniquePredicate);
+    }
+
+    /**
+     * Returns a new FluentIterable whose iterator will skip the elements equal
+     * to one of the previous {@code windowSize} elements.
+     * <p>
+     * Only the elements in the window are remembered, so this can be used on
+     * unbounded iterables.
+     * </p>
+     *
+     * @param windowSize  the number of previous elements to remember, must be positive
+     * @return a new iterable, providing a windowed unique view of this iterable
+     * @throws IllegalArgumentException if windowSize is not positive
+     * @see PredicateUtils#windowedUniquePredicate(int)
+     * @since 4.5.1
+     */
+    public FluentIterable<E> uniqueWindowed(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        return unique(() -> PredicateUtils.windowedUniquePredicate(windowSize));
     }
 
     /**
@@ -470,7 +977,13 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return a new iterable, providing an unmodifiable view of this iterable
      */
     public FluentIterable<E> unmodifiable() {
-        return of(IterableUtils.unmodifiableIterable(iterable));
+        final Iterable<E> unmodifiable = IterableUtils.unmodifiableIterable(iterable);
+        if (unmodifiable == iterable) {
+            return this;
+        }
+        return new FluentIterable<>(unmodifiable, this, sink -> sink::accept, Spliterator.ORDERED | Spliterator.DISTINCT
+            | Spliterator.SORTED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.CONCURRENT
+            | Spliterator.SUBSIZED);
     }
 
     /**
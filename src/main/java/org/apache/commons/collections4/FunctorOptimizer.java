@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.collections4.functors.AllPredicate;
+import org.apache.commons.collections4.functors.AndPredicate;
+import org.apache.commons.collections4.functors.AnyPredicate;
+import org.apache.commons.collections4.functors.ChainedTransformer;
+import org.apache.commons.collections4.functors.ConstantTransformer;
+import org.apache.commons.collections4.functors.FalsePredicate;
+import org.apache.commons.collections4.functors.IdentityPredicate;
+import org.apache.commons.collections4.functors.IfTransformer;
+import org.apache.commons.collections4.functors.InstanceofPredicate;
+import org.apache.commons.collections4.functors.NOPTransformer;
+import org.apache.commons.collections4.functors.NonePredicate;
+import org.apache.commons.collections4.functors.NotNullPredicate;
+import org.apache.commons.collections4.functors.NotPredicate;
+import org.apache.commons.collections4.functors.NullPredicate;
+import org.apache.commons.collections4.functors.OrPredicate;
+import org.apache.commons.collections4.functors.PredicateDecorator;
+import org.apache.commons.collections4.functors.PredicateTransformer;
+import org.apache.commons.collections4.functors.SwitchTransformer;
+import org.apache.commons.collections4.functors.TruePredicate;
+
+/**
+ * Rewrites trees of predicates and transformers into equivalent, flatter ones
+ * that are cheaper to evaluate, for {@link PredicateUtils#optimizedPredicate(Predicate)}
+ * and {@link TransformerUtils#optimizedTransformer(Transformer)}.
+ * <p>
+ * The optimized predicates may skip operands whose result cannot change the
+ * outcome, and evaluate cheap null and type checks before the other operands,
+ * so the predicates being optimized should be free of side effects.
+ * </p>
+ *
+ * @since 4.5.1
+ */
+final class FunctorOptimizer {
+
+    /**
+     * Appends an optimized transformer to a chain, splicing nested chains and
+     * skipping no-ops. The output of the links preceding a constant is discarded,
+     * so those that are free of side effects are dropped; the others still run.
+     *
+     * @param chain  the chain to append to
+     * @param transformer  the optimized transformer to append
+     */
+    @SuppressWarnings("unchecked")
+    private static void appendTransformer(final List<Transformer<Object, Object>> chain, final Transformer<Object, Object> transformer) {
+        if (transformer instanceof ChainedTransformer) {
+            for (final Transformer<?, ?> link : ((ChainedTransformer<Object>) transformer).getTransformers()) {
+                appendTransformer(chain, (Transformer<Object, Object>) link);
+            }
+        } else if (transformer instanceof ConstantTransformer) {
+            while (!chain.isEmpty() && isSideEffectFree(chain.get(chain.size() - 1))) {
+                chain.remove(chain.size() - 1);
+            }
+            chain.add(transformer);
+        } else if (!(transformer instanceof NOPTransformer)) {
+            chain.add(transformer);
+        }
+    }
+
+    /**
+     * Casts a predicate to the type it is used with.
+     *
+     * @param <T> the type that the predicate queries
+     * @param predicate  the predicate
+     * @return the same predicate
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> castPredicate(final Predicate<? super T> predicate) {
+        return (Predicate<T>) predicate;
+    }
+
+    /**
+     * Casts a transformer to the type it is used with.
+     *
+     * @param <I> the input type
+     * @param <O> the output type
+     * @param transformer  the transformer
+     * @return the same transformer
+     */
+    @SuppressWarnings("unchecked")
+    private static <I, O> Transformer<I, O> castTransformer(final Transformer<? super I, ? extends O> transformer) {
+        return (Transformer<I, O>) transformer;
+    }
+
+    /**
+     * Tests whether a predicate is cheap to evaluate, free of side effects and never throws.
+     *
+     * @param predicate  the predicate to test
+     * @return true if the predicate may be evaluated first
+     */
+    private static boolean isCheap(final Predicate<?> predicate) {
+        return predicate instanceof NotNullPredicate || predicate instanceof NullPredicate
+            || predicate instanceof InstanceofPredicate || predicate instanceof IdentityPredicate;
+    }
+
+    /**
+     * Tests whether an optimized transformer is provably free of side effects and never throws,
+     * so that it may be dropped when its output is discarded.
+     *
+     * @param transformer  the transformer to test
+     * @return true if the transformer may be dropped
+     */
+    private static boolean isSideEffectFree(final Transformer<?, ?> transformer) {
+        if (transformer instanceof PredicateTransformer) {
+            final Predicate<?> predicate = ((PredicateTransformer<?>) transformer).getPredicate();
+            return isCheap(predicate) || predicate instanceof TruePredicate || predicate instanceof FalsePredicate;
+        }
+        return transformer instanceof ConstantTransformer;
+    }
+
+    /**
+     * Builds an optimized {@code all} or {@code any} predicate from the given operands.
+     * Nested predicates of the same kind are flattened, the constant that decides the
+     * result short-circuits the whole predicate, the other constant is dropped and
+     * cheap predicates are moved to the front.
+     *
+     * @param <T> the type that the predicate queries
+     * @param operands  the operands
+     * @param all  true for {@code all}, false for {@code any}
+     * @return the optimized predicate
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> junction(final Predicate<? super T>[] operands, final boolean all) {
+        final List<Predicate<? super T>> flattened = new ArrayList<>(operands.length);
+        for (final Predicate<? super T> operand : operands) {
+            final Predicate<T> optimized = optimizePredicate(operand);
+            if (all ? optimized instanceof AllPredicate || optimized instanceof AndPredicate
+                    : optimized instanceof AnyPredicate || optimized instanceof OrPredicate) {
+                for (final Predicate<? super T> nested : ((PredicateDecorator<T>) optimized).getPredicates()) {
+                    flattened.add(nested);
+                }
+            } else {
+                flattened.add(optimized);
+            }
+        }
+        final List<Predicate<? super T>> cheap = new ArrayList<>();
+        final List<Predicate<? super T>> others = new ArrayList<>();
+        for (final Predicate<? super T> predicate : flattened) {
+            if (all ? predicate instanceof FalsePredicate : predicate instanceof TruePredicate) {
+                return castPredicate(predicate);
+            }
+            if (!(all ? predicate instanceof TruePredicate : predicate instanceof FalsePredicate)) {
+                (isCheap(predicate) ? cheap : others).add(predicate);
+            }
+        }
+        cheap.addAll(others);
+        switch (cheap.size()) {
+        case 0:
+            return all ? TruePredicate.truePredicate() : FalsePredicate.falsePredicate();
+        case 1:
+            return castPredicate(cheap.get(0));
+        case 2:
+            return all ? new AndPredicate<>(cheap.get(0), cheap.get(1)) : new OrPredicate<>(cheap.get(0), cheap.get(1));
+        default:
+            final Predicate<? super T>[] array = (Predicate<? super T>[]) cheap.toArray(new Predicate<?>[cheap.size()]);
+            return all ? new AllPredicate<>(array) : new AnyPredicate<>(array);
+        }
+    }
+
+    /**
+     * Negates an optimized predicate, simplifying constants, null checks and double negations.
+     *
+     * @param <T> the type that the predicate queries
+     * @param predicate  the optimized predicate to negate
+     * @return the negated predicate
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> negate(final Predicate<T> predicate) {
+        if (predicate instanceof TruePredicate) {
+            return FalsePredicate.falsePredicate();
+        }
+        if (predicate instanceof FalsePredicate) {
+            return TruePredicate.truePredicate();
+        }
+        if (predicate instanceof NullPredicate) {
+            return NotNullPredicate.notNullPredicate();
+        }
+        if (predicate instanceof NotNullPredicate) {
+            return NullPredicate.nullPredicate();
+        }
+        if (predicate instanceof NotPredicate) {
+            return castPredicate(((NotPredicate<T>) predicate).getPredicates()[0]);
+        }
+        return new NotPredicate<>(predicate);
+    }
+
+    /**
+     * Optimizes a tree of predicates into an equivalent, flatter one.
+     * <p>
+     * Nested {@code and}/{@code all} and {@code or}/{@code any} predicates are
+     * flattened, constant operands are folded, negations are simplified and
+     * side-effect free null and type checks are moved ahead of the other operands.
+     * Other predicates are kept as they are.
+     * </p>
+     *
+     * @param <T> the type that the predicate queries
+     * @param predicate  the predicate to optimize
+     * @return the optimized predicate
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> optimizePredicate(final Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        if (predicate instanceof AllPredicate || predicate instanceof AndPredicate) {
+            return junction(((PredicateDecorator<T>) predicate).getPredicates(), true);
+        }
+        if (predicate instanceof AnyPredicate || predicate instanceof OrPredicate) {
+            return junction(((PredicateDecorator<T>) predicate).getPredicates(), false);
+        }
+        if (predicate instanceof NonePredicate) {
+            return negate(junction(((PredicateDecorator<T>) predicate).getPredicates(), false));
+        }
+        if (predicate instanceof NotPredicate) {
+            return negate(optimizePredicate(((PredicateDecorator<T>) predicate).getPredicates()[0]));
+        }
+        return castPredicate(predicate);
+    }
+
+    /**
+     * Optimizes a tree of transformers into an equivalent, flatter one.
+     * <p>
+     * Nested chains are flattened and stripped of no-op transformers, the
+     * predicates of {@code if}, {@code switch} and predicate transformers are
+     * optimized, and branches whose predicate is constant are resolved.
+     * Other transformers are kept as they are.
+     * </p>
+     *
+     * @param <I> the input type
+     * @param <O> the output type
+     * @param transformer  the transformer to optimize
+     * @return the optimized transformer
+     */
+    @SuppressWarnings("unchecked")
+    static <I, O> Transformer<I, O> optimizeTransformer(final Transformer<? super I, ? extends O> transformer) {
+        Objects.requireNonNull(transformer, "transformer");
+        if (transformer instanceof ChainedTransformer) {
+            final List<Transformer<Object, Object>> chain = new ArrayList<>();
+            for (final Transformer<?, ?> link : ((ChainedTransformer<Object>) transformer).getTransformers()) {
+                appendTransformer(chain, optimizeTransformer((Transformer<Object, Object>) link));
+            }
+            switch (chain.size()) {
+            case 0:
+                return (Transformer<I, O>) NOPTransformer.INSTANCE;
+            case 1:
+                return (Transformer<I, O>) chain.get(0);
+            default:
+                final Transformer<Object, Object>[] links = (Transformer<Object, Object>[]) chain.toArray(new Transformer<?, ?>[chain.size()]);
+                return (Transformer<I, O>) new ChainedTransformer<>(links);
+            }
+        }
+        if (transformer instanceof IfTransformer) {
+            final IfTransformer<I, O> ifTransformer = (IfTransformer<I, O>) transformer;
+            final Predicate<I> predicate = optimizePredicate(ifTransformer.getPredicate());
+            if (predicate instanceof TruePredicate) {
+                return optimizeTransformer(ifTransformer.getTrueTransformer());
+            }
+            if (predicate instanceof FalsePredicate) {
+                return optimizeTransformer(ifTransformer.getFalseTransformer());
+            }
+            return new IfTransformer<>(predicate, optimizeTransformer(ifTransformer.getTrueTransformer()),
+                optimizeTransformer(ifTransformer.getFalseTransformer()));
+        }
+        if (transformer instanceof SwitchTransformer) {
+            final SwitchTransformer<I, O> switchTransformer = (SwitchTransformer<I, O>) transformer;
+            final Predicate<? super I>[] predicates = switchTransformer.getPredicates();
+            final Transformer<? super I, ? extends O>[] transformers = switchTransformer.getTransformers();
+            final List<Predicate<I>> cases = new ArrayList<>(predicates.length);
+            final List<Transformer<I, O>> results = new ArrayList<>(predicates.length);
+            Transformer<I, O> defaultTransformer = optimizeTransformer(switchTransformer.getDefaultTransformer());
+            for (int i = 0; i < predicates.length; i++) {
+                final Predicate<I> predicate = optimizePredicate(predicates[i]);
+                if (predicate instanceof TruePredicate) {
+                    defaultTransformer = optimizeTransformer(transformers[i]);
+                    break;
+                }
+                if (!(predicate instanceof FalsePredicate)) {
+                    cases.add(predicate);
+                    results.add(optimizeTransformer(transformers[i]));
+                }
+            }
+            if (cases.isEmpty()) {
+                return defaultTransformer;
+            }
+            return new SwitchTransformer<>((Predicate<I>[]) cases.toArray(new Predicate<?>[cases.size()]),
+                (Transformer<I, O>[]) results.toArray(new Transformer<?, ?>[results.size()]), defaultTransformer);
+        }
+        if (transformer instanceof PredicateTransformer) {
+            return (Transformer<I, O>) new PredicateTransformer<>(optimizePredicate(((PredicateTransformer<I>) transformer).getPredicate()));
+        }
+        return castTransformer(transformer);
+    }
+
+    /**
+     * Restricted constructor.
+     */
+    private FunctorOptimizer() {
+    }
+
+}
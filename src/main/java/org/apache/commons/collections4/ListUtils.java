@@ -18,11 +18,14 @@ package org.apache.commons.collections4;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
 
 import org.apache.commons.collections4.bag.HashBag;
@@ -32,8 +35,7 @@ import org.apache.commons.collections4.list.LazyList;
 import org.apache.commons.collections4.list.PredicatedList;
 import org.apache.commons.collections4.list.TransformedList;
 import org.apache.commons.collections4.list.UnmodifiableList;
-import org.apache.commons.collections4.sequence.CommandVisitor;
-import org.apache.commons.collections4.sequence.EditScript;
+import org.apache.commons.collections4.sequence.RangeCommandVisitor;
 import org.apache.commons.collections4.sequence.SequencesComparator;
 
 /**
@@ -44,54 +46,32 @@ import org.apache.commons.collections4.sequence.SequencesComparator;
 public class ListUtils {
 
     /**
-     * A simple wrapper to use a CharSequence as List.
+     * An element paired with its precomputed sort key.
      */
-    private static final class CharSequenceAsList extends AbstractList<Character> {
-        private final CharSequence sequence;
+    private static final class Keyed<K, E> {
+        private final K key;
+        private final E element;
 
-        CharSequenceAsList(final CharSequence sequence) {
-            this.sequence = sequence;
-        }
-
-        @Override
-        public Character get(final int index) {
-            return Character.valueOf(sequence.charAt(index));
-        }
-
-        @Override
-        public int size() {
-            return sequence.length();
+        private Keyed(final K key, final E element) {
+            this.key = key;
+            this.element = element;
         }
     }
 
     /**
-     * A helper class used to construct the longest common subsequence.
+     * A helper class used to construct the longest common subsequence from the kept ranges.
      */
-    private static final class LcsVisitor<E> implements CommandVisitor<E> {
-        private final ArrayList<E> sequence;
-
-        LcsVisitor() {
-            sequence = new ArrayList<>();
-        }
-
-        public List<E> getSubSequence() {
-            return sequence;
-        }
+    private abstract static class LcsVisitor implements RangeCommandVisitor {
 
         @Override
-        public void visitDeleteCommand(final E object) {
+        public void visitDeleteRange(final int index1, final int length) {
             // noop
         }
 
         @Override
-        public void visitInsertCommand(final E object) {
+        public void visitInsertRange(final int index2, final int length) {
             // noop
         }
-
-        @Override
-        public void visitKeepCommand(final E object) {
-            sequence.add(object);
-        }
     }
 
     /**
@@ -413,8 +393,9 @@ public class ListUtils {
     /**
      * Returns the longest common subsequence (LCS) of two {@link CharSequence} objects.
      * <p>
-     * This is a convenience method for using {@link #longestCommonSubsequence(List, List)}
-     * with {@link CharSequence} instances.
+     * This gives the same result as {@link #longestCommonSubsequence(List, List)}
+     * with {@link CharSequence} instances, but compares the chars directly without
+     * boxing them.
      * </p>
      *
      * @param charSequenceA  the first sequence
@@ -426,12 +407,13 @@ public class ListUtils {
     public static String longestCommonSubsequence(final CharSequence charSequenceA, final CharSequence charSequenceB) {
         Objects.requireNonNull(charSequenceA, "charSequenceA");
         Objects.requireNonNull(charSequenceB, "charSequenceB");
-        final List<Character> lcs = longestCommonSubsequence(new CharSequenceAsList(charSequenceA),
-                new CharSequenceAsList(charSequenceB));
         final StringBuilder sb = new StringBuilder();
-        for (final Character ch : lcs) {
-            sb.append(ch);
-        }
+        SequencesComparator.of(charSequenceA, charSequenceB).visitRanges(new LcsVisitor() {
+            @Override
+            public void visitKeepRange(final int index1, final int index2, final int length) {
+                sb.append(charSequenceA, index1, index1 + length);
+            }
+        });
         return sb.toString();
     }
 
@@ -451,6 +433,12 @@ public class ListUtils {
 
     /**
      * Returns the longest common subsequence (LCS) of two sequences (lists).
+     * <p>
+     * The elements are first interned to int identifiers with {@link Equator#hash(Object)}
+     * and {@link Equator#equate(Object, Object)}, so the comparison itself only compares ints.
+     * As its contract requires, the hash function of the equator must be consistent with
+     * its equality.
+     * </p>
      *
      * @param <E>  the element type
      * @param listA  the first list
@@ -466,11 +454,20 @@ public class ListUtils {
         Objects.requireNonNull(listB, "listB");
         Objects.requireNonNull(equator, "equator");
 
-        final SequencesComparator<E> comparator = new SequencesComparator<>(listA, listB, equator);
-        final EditScript<E> script = comparator.getScript();
-        final LcsVisitor<E> visitor = new LcsVisitor<>();
-        script.visit(visitor);
-        return visitor.getSubSequence();
+        final List<E> lcs = new ArrayList<>();
+        SequencesComparator.<E>builder()
+                .setSequence1(listA)
+                .setSequence2(listB)
+                .setEquator(equator)
+                .setInterning(true)
+                .get()
+                .visitRanges(new LcsVisitor() {
+                    @Override
+                    public void visitKeepRange(final int index1, final int index2, final int length) {
+                        lcs.addAll(listA.subList(index1, index1 + length));
+                    }
+                });
+        return lcs;
     }
 
     /**
@@ -634,6 +631,63 @@ public class ListUtils {
         return CollectionUtils.selectRejected(inputCollection, predicate, new ArrayList<>(inputCollection.size()));
     }
 
+    /**
+     * Sorts a list by the natural order of keys computed from its elements.
+     * <p>
+     * Each key is computed exactly once per element, which is cheaper than a
+     * comparator that transforms both of its arguments on every comparison
+     * when the keys are expensive to compute. The sort is stable.
+     * </p>
+     *
+     * @param <E> the element type
+     * @param <K> the key type
+     * @param list  the list to sort in place, must be modifiable
+     * @param keyTransformer  the transformer computing the key of an element
+     * @throws NullPointerException if the list or the transformer is null
+     * @throws UnsupportedOperationException if the list does not support {@code set}
+     * @since 4.5.1
+     */
+    public static <E, K extends Comparable<? super K>> void sortByKey(final List<E> list,
+            final Transformer<? super E, ? extends K> keyTransformer) {
+        sortByKey(list, keyTransformer, ComparatorUtils.<K>naturalComparator());
+    }
+
+    /**
+     * Sorts a list by keys computed from its elements.
+     * <p>
+     * Each key is computed exactly once per element, which is cheaper than a
+     * comparator that transforms both of its arguments on every comparison
+     * when the keys are expensive to compute. The sort is stable.
+     * </p>
+     *
+     * @param <E> the element type
+     * @param <K> the key type
+     * @param list  the list to sort in place, must be modifiable
+     * @param keyTransformer  the transformer computing the key of an element
+     * @param keyComparator  the comparator of the keys
+     * @throws NullPointerException if the list, the transformer or the comparator is null
+     * @throws UnsupportedOperationException if the list does not support {@code set}
+     * @since 4.5.1
+     */
+    public static <E, K> void sortByKey(final List<E> list, final Transformer<? super E, ? extends K> keyTransformer,
+            final Comparator<? super K> keyComparator) {
+        Objects.requireNonNull(list, "list");
+        Objects.requireNonNull(keyTransformer, "keyTransformer");
+        Objects.requireNonNull(keyComparator, "keyComparator");
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        final Keyed<K, E>[] keyed = new Keyed[list.size()];
+        int i = 0;
+        for (final E element : list) {
+            keyed[i++] = new Keyed<>(keyTransformer.apply(element), element);
+        }
+        Arrays.sort(keyed, (k1, k2) -> keyComparator.compare(k1.key, k2.key));
+        final ListIterator<E> it = list.listIterator();
+        for (final Keyed<K, E> k : keyed) {
+            it.next();
+            it.set(k.element);
+        }
+    }
+
     /**
      * Subtracts all elements in the second list from the first list,
      * placing the results in a new list.
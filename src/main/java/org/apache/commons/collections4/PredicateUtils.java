@@ -18,9 +18,12 @@ package org.apache.commons.collections4;
 
 import java.util.Collection;
 
+import org.apache.commons.collections4.bloomfilter.Hasher;
+import org.apache.commons.collections4.bloomfilter.Shape;
 import org.apache.commons.collections4.functors.AllPredicate;
 import org.apache.commons.collections4.functors.AndPredicate;
 import org.apache.commons.collections4.functors.AnyPredicate;
+import org.apache.commons.collections4.functors.BloomFilterUniquePredicate;
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.functors.ExceptionPredicate;
 import org.apache.commons.collections4.functors.FalsePredicate;
@@ -36,10 +39,12 @@ import org.apache.commons.collections4.functors.NullIsTruePredicate;
 import org.apache.commons.collections4.functors.NullPredicate;
 import org.apache.commons.collections4.functors.OnePredicate;
 import org.apache.commons.collections4.functors.OrPredicate;
+import org.apache.commons.collections4.functors.SortedUniquePredicate;
 import org.apache.commons.collections4.functors.TransformedPredicate;
 import org.apache.commons.collections4.functors.TransformerPredicate;
 import org.apache.commons.collections4.functors.TruePredicate;
 import org.apache.commons.collections4.functors.UniquePredicate;
+import org.apache.commons.collections4.functors.WindowedUniquePredicate;
 
 /**
  * {@code PredicateUtils} provides reference implementations and utilities
@@ -167,6 +172,44 @@ public class PredicateUtils {
         return TransformerPredicate.transformerPredicate(transformer);
     }
 
+    /**
+     * Creates a Predicate that returns true the first time an object is
+     * encountered, remembering the objects in a Bloom filter of the given shape
+     * rather than in a set. Memory is bounded by the shape, but a new object may
+     * be wrongly reported as already seen, with the false positive probability
+     * of the filter. Objects are hashed from their {@code hashCode}.
+     *
+     * @param <T>  the type that the predicate queries
+     * @param shape  the shape of the Bloom filter, may not be null
+     * @return the predicate
+     * @throws NullPointerException if the shape is null
+     * @see BloomFilterUniquePredicate
+     * @since 4.5.1
+     */
+    public static <T> Predicate<T> bloomFilterUniquePredicate(final Shape shape) {
+        return BloomFilterUniquePredicate.bloomFilterUniquePredicate(shape);
+    }
+
+    /**
+     * Creates a Predicate that returns true the first time an object is
+     * encountered, remembering the objects in a Bloom filter of the given shape
+     * rather than in a set. Memory is bounded by the shape, but a new object may
+     * be wrongly reported as already seen, with the false positive probability
+     * of the filter.
+     *
+     * @param <T>  the type that the predicate queries
+     * @param shape  the shape of the Bloom filter, may not be null
+     * @param hasherTransformer  the transformer creating the hasher of an object, may not be null
+     * @return the predicate
+     * @throws NullPointerException if the shape or the transformer is null
+     * @see BloomFilterUniquePredicate
+     * @since 4.5.1
+     */
+    public static <T> Predicate<T> bloomFilterUniquePredicate(final Shape shape,
+            final Transformer<? super T, ? extends Hasher> hasherTransformer) {
+        return BloomFilterUniquePredicate.bloomFilterUniquePredicate(shape, hasherTransformer);
+    }
+
     /**
      * Creates a new Predicate that returns true if one, but not both, of the
      * specified predicates are true. XOR
@@ -460,6 +503,26 @@ public class PredicateUtils {
         return OnePredicate.onePredicate(predicates);
     }
 
+    /**
+     * Optimizes a tree of predicates built by this class into an equivalent,
+     * flatter predicate that is cheaper to evaluate.
+     * <p>
+     * Nested {@code and}/{@code all} and {@code or}/{@code any} predicates are
+     * flattened, constant operands are folded, negations are simplified and
+     * null, instanceof and identity checks are evaluated first. As operands may
+     * be skipped or reordered, the predicates should be free of side effects.
+     * </p>
+     *
+     * @param <T>  the type that the predicate queries
+     * @param predicate  the predicate to optimize, may not be null
+     * @return the optimized predicate
+     * @throws NullPointerException if the predicate is null
+     * @since 4.5.1
+     */
+    public static <T> Predicate<T> optimizedPredicate(final Predicate<? super T> predicate) {
+        return FunctorOptimizer.optimizePredicate(predicate);
+    }
+
     /**
      * Creates a new Predicate that returns true if either of the specified
      * predicates are true.
@@ -476,6 +539,22 @@ public class PredicateUtils {
         return OrPredicate.orPredicate(predicate1, predicate2);
     }
 
+    /**
+     * Creates a Predicate that returns true when an object is not equal to
+     * the previous object received. On sorted input this returns true the
+     * first time each object is encountered, like {@link #uniquePredicate()},
+     * while remembering a single object.
+     *
+     * @param <T>  the type that the predicate queries
+     * @return the predicate
+     * @see SortedUniquePredicate
+     * @since 4.5.1
+     */
+    public static <T> Predicate<T> sortedUniquePredicate() {
+        // must return new instance each time
+        return SortedUniquePredicate.sortedUniquePredicate();
+    }
+
     /**
      * Creates a predicate that transforms the input object before passing it
      * to the predicate.
@@ -519,6 +598,23 @@ public class PredicateUtils {
         return UniquePredicate.uniquePredicate();
     }
 
+    /**
+     * Creates a Predicate that returns true when an object is not equal to
+     * any of the last {@code windowSize} objects received. Older objects are
+     * forgotten, so memory is bounded by the window size.
+     *
+     * @param <T>  the type that the predicate queries
+     * @param windowSize  the number of previous objects to remember, must be positive
+     * @return the predicate
+     * @throws IllegalArgumentException if the window size is not positive
+     * @see WindowedUniquePredicate
+     * @since 4.5.1
+     */
+    public static <T> Predicate<T> windowedUniquePredicate(final int windowSize) {
+        // must return new instance each time
+        return WindowedUniquePredicate.windowedUniquePredicate(windowSize);
+    }
+
     /**
      * Don't allow instances.
      */
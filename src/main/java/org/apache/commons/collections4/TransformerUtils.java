@@ -336,6 +336,27 @@ public class TransformerUtils {
         return ConstantTransformer.nullTransformer();
     }
 
+    /**
+     * Optimizes a tree of transformers built by this class into an equivalent,
+     * flatter transformer that is cheaper to evaluate.
+     * <p>
+     * Nested chains are flattened and stripped of no-op transformers, and the
+     * predicates of {@code if} and {@code switch} transformers are optimized as by
+     * {@link PredicateUtils#optimizedPredicate(Predicate)}, resolving the branches
+     * they select when constant. The functors should be free of side effects.
+     * </p>
+     *
+     * @param <I>  the input type
+     * @param <O>  the output type
+     * @param transformer  the transformer to optimize, may not be null
+     * @return the optimized transformer
+     * @throws NullPointerException if the transformer is null
+     * @since 4.5.1
+     */
+    public static <I, O> Transformer<I, O> optimizedTransformer(final Transformer<? super I, ? extends O> transformer) {
+        return FunctorOptimizer.optimizeTransformer(transformer);
+    }
+
     /**
      * Gets a transformer that returns a {@link String}
      * representation of the input object. This is achieved via the
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.collections4;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.SortedMap;
 
 /**
@@ -27,6 +29,26 @@ import java.util.SortedMap;
  */
 public interface Trie<K, V> extends IterableSortedMap<K, V> {
 
+    /**
+     * Returns an iterator over the entries whose keys are within the given edit distance of the given key, ordered by
+     * distance and then by key (optional operation).
+     * <p>
+     * For String keys, the distance counts the single character insertions, deletions and substitutions needed to
+     * turn one key into the other.
+     * </p>
+     *
+     * @param key  the key to search for, may not be null
+     * @param maxDistance  the maximum edit distance, inclusive
+     * @return an iterator over the matching entries
+     * @throws NullPointerException if the key is null
+     * @throws IllegalArgumentException if maxDistance is negative
+     * @throws UnsupportedOperationException if this trie does not support edit distance search
+     * @since 4.5.1
+     */
+    default Iterator<Map.Entry<K, V>> fuzzyIterator(final K key, final int maxDistance) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns a view of this {@link Trie} of all elements that are prefixed by the given key.
      * <p>
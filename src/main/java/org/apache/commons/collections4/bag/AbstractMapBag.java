@@ -27,6 +27,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.Bag;
 import org.apache.commons.collections4.CollectionUtils;
@@ -111,6 +113,105 @@ public abstract class AbstractMapBag<E> implements Bag<E> {
         }
     }
 
+    /**
+     * Inner class spliterator for the Bag, which splits the entries of the
+     * map and returns the element of each entry as many times as its count.
+     */
+    static class BagSpliterator<E> implements Spliterator<E> {
+        private final AbstractMapBag<E> parent;
+        private final Spliterator<Map.Entry<E, MutableInteger>> entrySpliterator;
+        private final int mods;
+        private E current;
+        private int itemCount;
+        /** The exact number of remaining elements, or -1 once split. */
+        private long remaining;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param parent the parent bag
+         * @param entrySpliterator the spliterator over the entries of the map
+         * @param remaining the exact number of elements, or -1 if unknown
+         */
+        BagSpliterator(final AbstractMapBag<E> parent, final Spliterator<Map.Entry<E, MutableInteger>> entrySpliterator,
+                final long remaining) {
+            this.parent = parent;
+            this.entrySpliterator = entrySpliterator;
+            this.mods = parent.modCount;
+            this.remaining = remaining;
+        }
+
+        private void checkModCount() {
+            if (parent.modCount != mods) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public int characteristics() {
+            return entrySpliterator.characteristics() & ORDERED | (remaining >= 0 ? SIZED : 0);
+        }
+
+        @Override
+        public long estimateSize() {
+            if (remaining >= 0) {
+                return remaining;
+            }
+            // assume the entries of this part hold the average count of the bag
+            final int entries = parent.map.size();
+            final long estimate = entries == 0 ? 0 : entrySpliterator.estimateSize() * parent.size / entries;
+            return estimate + itemCount;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            for (; itemCount > 0; itemCount--) {
+                action.accept(current);
+            }
+            entrySpliterator.forEachRemaining(entry -> {
+                final E key = entry.getKey();
+                for (int i = entry.getValue().value; i > 0; i--) {
+                    action.accept(key);
+                }
+            });
+            if (remaining > 0) {
+                remaining = 0;
+            }
+            checkModCount();
+        }
+
+        private void load(final Map.Entry<E, MutableInteger> entry) {
+            current = entry.getKey();
+            itemCount = entry.getValue().value;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (itemCount == 0 && !entrySpliterator.tryAdvance(this::load)) {
+                return false;
+            }
+            itemCount--;
+            if (remaining > 0) {
+                remaining--;
+            }
+            action.accept(current);
+            checkModCount();
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final Spliterator<Map.Entry<E, MutableInteger>> prefix = entrySpliterator.trySplit();
+            if (prefix == null) {
+                return null;
+            }
+            remaining = -1;
+            return new BagSpliterator<>(parent, prefix, -1);
+        }
+    }
+
     /**
      * Mutable integer class for storing the data.
      */
@@ -526,6 +627,22 @@ public abstract class AbstractMapBag<E> implements Bag<E> {
         return size;
     }
 
+    /**
+     * Creates a {@link Spliterator} over the bag elements. Elements present in
+     * the Bag more than once will be returned repeatedly.
+     * <p>
+     * The spliterator splits the entries of the backing map, so that it splits
+     * as well as the spliterators of the map.
+     * </p>
+     *
+     * @return the spliterator
+     * @since 4.5.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new BagSpliterator<>(this, map.entrySet().spliterator(), size);
+    }
+
     /**
      * Returns an array of all of this bag's elements.
      *
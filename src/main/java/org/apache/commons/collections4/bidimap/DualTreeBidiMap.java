@@ -25,6 +25,8 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -70,8 +72,23 @@ public class DualTreeBidiMap<K, V> extends AbstractDualBidiMap<K, V>
         /** The parent map */
         private final AbstractDualBidiMap<K, V> parent;
 
-        /** The iterator being decorated */
-        private ListIterator<Map.Entry<K, V>> iterator;
+        /** The normal map of the parent, navigated when the direction changes, null if it is not navigable */
+        private final NavigableMap<K, V> map;
+
+        /** The iterator over a copy of the entries, used when the normal map is not navigable */
+        private ListIterator<Map.Entry<K, V>> copy;
+
+        /** The live iterator over the entries in the current direction */
+        private Iterator<Map.Entry<K, V>> iterator;
+
+        /** Whether the iterator runs forward */
+        private boolean forward;
+
+        /** Whether next() or previous() has been called */
+        private boolean moved;
+
+        /** The key last returned, which bounds the iterator when the direction changes */
+        private K lastKey;
 
         /** The last returned entry */
         private Map.Entry<K, V> last;
@@ -82,7 +99,8 @@ public class DualTreeBidiMap<K, V> extends AbstractDualBidiMap<K, V>
          */
         protected BidiOrderedMapIterator(final AbstractDualBidiMap<K, V> parent) {
             this.parent = parent;
-            iterator = new ArrayList<>(parent.entrySet()).listIterator();
+            this.map = parent.normalMap instanceof NavigableMap ? (NavigableMap<K, V>) parent.normalMap : null;
+            reset();
         }
 
         @Override
@@ -105,36 +123,90 @@ public class DualTreeBidiMap<K, V> extends AbstractDualBidiMap<K, V>
 
         @Override
         public boolean hasNext() {
-            return iterator.hasNext();
+            if (map == null) {
+                return copy.hasNext();
+            }
+            if (forward) {
+                return iterator.hasNext();
+            }
+            return last != null || !map.tailMap(lastKey, false).isEmpty();
         }
 
         @Override
         public boolean hasPrevious() {
-            return iterator.hasPrevious();
+            if (map == null) {
+                return copy.hasPrevious();
+            }
+            if (!forward) {
+                return iterator.hasNext();
+            }
+            return moved && (last != null || !map.headMap(lastKey, false).isEmpty());
         }
 
         @Override
         public K next() {
+            if (map == null) {
+                last = copy.next();
+                return last.getKey();
+            }
+            if (!forward) {
+                iterator = map.tailMap(lastKey, last != null).entrySet().iterator();
+                forward = true;
+            }
             last = iterator.next();
-            return last.getKey();
+            lastKey = last.getKey();
+            moved = true;
+            return lastKey;
         }
 
         @Override
         public K previous() {
-            last = iterator.previous();
-            return last.getKey();
+            if (map == null) {
+                last = copy.previous();
+                return last.getKey();
+            }
+            if (forward) {
+                if (!moved) {
+                    throw new NoSuchElementException();
+                }
+                iterator = map.headMap(lastKey, last != null).descendingMap().entrySet().iterator();
+                forward = false;
+            }
+            last = iterator.next();
+            lastKey = last.getKey();
+            return lastKey;
         }
 
         @Override
         public void remove() {
+            if (last == null) {
+                throw new IllegalStateException(
+                        "Iterator remove() can only be called once after next()");
+            }
+            if (map == null) {
+                copy.remove();
+                parent.remove(last.getKey());
+                last = null;
+                return;
+            }
+            // the tree may reuse the removed node for its successor, so read the value first
+            final V value = last.getValue();
             iterator.remove();
-            parent.remove(last.getKey());
+            parent.reverseMap.remove(value);
             last = null;
         }
 
         @Override
         public void reset() {
-            iterator = new ArrayList<>(parent.entrySet()).listIterator();
+            if (map == null) {
+                copy = new ArrayList<>(parent.entrySet()).listIterator();
+                last = null;
+                return;
+            }
+            iterator = map.entrySet().iterator();
+            forward = true;
+            moved = false;
+            lastKey = null;
             last = null;
         }
 
@@ -150,9 +222,12 @@ public class DualTreeBidiMap<K, V> extends AbstractDualBidiMap<K, V>
                         "Cannot use setValue() when the object being set is already in the map");
             }
             final V oldValue = parent.put(last.getKey(), value);
-            // Map.Entry specifies that the behavior is undefined when the backing map
-            // has been modified (as we did with the put), so we also set the value
-            last.setValue(value);
+            if (map == null) {
+                // Map.Entry specifies that the behavior is undefined when the backing map
+                // has been modified (as we did with the put), so we also set the value
+                last.setValue(value);
+            }
+            // otherwise replacing the value of an existing key leaves the tree, and so the iterator, intact
             return oldValue;
         }
 
@@ -348,8 +423,8 @@ public class DualTreeBidiMap<K, V> extends AbstractDualBidiMap<K, V>
     /**
      * Obtains an ordered map iterator.
      * <p>
-     * This implementation copies the elements to an ArrayList in order to
-     * provide the forward/backward behavior.
+     * This implementation walks the underlying {@link TreeMap} directly, so it
+     * does not copy or create entries, and it fails fast on concurrent modification.
      * </p>
      *
      * @return a new ordered map iterator
@@ -23,6 +23,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -97,6 +99,117 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
 
     }
 
+    /**
+     * A spliterator over a range of the contained collections. It splits the
+     * range of collections in halves, and a single collection with its own
+     * spliterator.
+     *
+     * @param <E> the element being held in the collection
+     */
+    private static final class CompositeSpliterator<E> implements Spliterator<E> {
+
+        /** The contained collections */
+        private final List<Collection<E>> collections;
+
+        /** The index of the next collection */
+        private int index;
+
+        /** The index after the last collection */
+        private final int fence;
+
+        /** The spliterator of the collection being traversed, or null */
+        private Spliterator<E> current;
+
+        /** Whether the spliterators of all the collections in the range are ordered */
+        private final boolean ordered;
+
+        /**
+         * Create a Spliterator for a range of collections.
+         *
+         * @param collections  the contained collections
+         * @param index  the index of the first collection
+         * @param fence  the index after the last collection
+         */
+        CompositeSpliterator(final List<Collection<E>> collections, final int index, final int fence) {
+            this.collections = collections;
+            this.index = index;
+            this.fence = fence;
+            boolean ordered = true;
+            for (int i = index; i < fence && ordered; i++) {
+                ordered = collections.get(i).spliterator().hasCharacteristics(ORDERED);
+            }
+            this.ordered = ordered;
+        }
+
+        @Override
+        public int characteristics() {
+            final int characteristics = ordered ? ORDERED : 0;
+            return current == null || current.hasCharacteristics(SIZED) ? characteristics | SIZED : characteristics;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = current == null ? 0 : current.estimateSize();
+            for (int i = index; i < fence; i++) {
+                size += collections.get(i).size();
+            }
+            return size;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            for (; index < fence; index++) {
+                collections.get(index).spliterator().forEachRemaining(action);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            while (true) {
+                if (current == null) {
+                    if (index >= fence) {
+                        return false;
+                    }
+                    current = collections.get(index++).spliterator();
+                }
+                if (current.tryAdvance(action)) {
+                    return true;
+                }
+                current = null;
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if (current != null) {
+                if (index < fence) {
+                    final Spliterator<E> prefix = current;
+                    current = null;
+                    return prefix;
+                }
+                return current.trySplit();
+            }
+            final int remaining = fence - index;
+            if (remaining > 1) {
+                final int mid = index + fence >>> 1;
+                final Spliterator<E> prefix = new CompositeSpliterator<>(collections, index, mid);
+                index = mid;
+                return prefix;
+            }
+            if (remaining == 1) {
+                current = collections.get(index++).spliterator();
+                return current.trySplit();
+            }
+            return null;
+        }
+    }
+
     /** Serialization version */
     private static final long serialVersionUID = 8417515734108306801L;
 
@@ -449,6 +562,21 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         return size;
     }
 
+    /**
+     * Creates a {@link Spliterator} over all the collections in this composite.
+     * <p>
+     * The spliterator splits the list of collections in halves, and then a
+     * single collection with the spliterator of that collection.
+     * </p>
+     *
+     * @return a {@code Spliterator} over the elements in this composite
+     * @since 4.5.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new CompositeSpliterator<>(all, 0, all.size());
+    }
+
     /**
      * Returns an array containing all of the elements in this composite.
      *
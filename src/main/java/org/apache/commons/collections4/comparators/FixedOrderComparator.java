@@ -17,6 +17,7 @@
 package org.apache.commons.collections4.comparators;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -46,12 +47,46 @@ import java.util.Objects;
  * <p>
  * This class is Serializable from Commons Collections 4.0.
  * </p>
+ * <p>
+ * When all the known objects are constants of a single enum type, the positions
+ * are looked up by ordinal rather than through the internal map.
+ * </p>
  *
  * @param <T> the type of objects compared by this comparator
  * @since 3.0
  */
 public class FixedOrderComparator<T> implements Comparator<T>, Serializable {
 
+    /**
+     * The positions of the constants of an enum type, indexed by ordinal.
+     */
+    private static final class EnumPositions {
+
+        /** The enum type, or null if the known objects are not all constants of one enum type. */
+        private final Class<?> type;
+
+        /** The position of each constant, or -1 if it is not known. */
+        private final int[] positions;
+
+        EnumPositions(final Class<?> type, final int[] positions) {
+            this.type = type;
+            this.positions = positions;
+        }
+
+        /**
+         * Gets the position of an object.
+         *
+         * @param obj  the object
+         * @return the position, or -1 if not known or not a constant of the enum type
+         */
+        int positionOf(final Object obj) {
+            return type != null && type.isInstance(obj) ? positions[((Enum<?>) obj).ordinal()] : -1;
+        }
+    }
+
+    /** The positions used when the known objects are not all constants of one enum type. */
+    private static final EnumPositions NO_ENUM_POSITIONS = new EnumPositions(null, null);
+
     /**
      * Enumerates the unknown object behaviors.
      *
@@ -90,6 +125,9 @@ public class FixedOrderComparator<T> implements Comparator<T>, Serializable {
     /** The behavior in the case of an unknown object */
     private UnknownObjectBehavior unknownObjectBehavior = UnknownObjectBehavior.EXCEPTION;
 
+    /** The positions by enum ordinal, computed on the first comparison */
+    private transient EnumPositions enumPositions;
+
     // Constructors
     /**
      * Constructs an empty FixedOrderComparator.
@@ -196,6 +234,18 @@ public class FixedOrderComparator<T> implements Comparator<T>, Serializable {
     @Override
     public int compare(final T obj1, final T obj2) {
         isLocked = true;
+        EnumPositions positions = enumPositions;
+        if (positions == null) {
+            positions = enumPositions();
+            enumPositions = positions;
+        }
+        final int enumPosition1 = positions.positionOf(obj1);
+        if (enumPosition1 >= 0) {
+            final int enumPosition2 = positions.positionOf(obj2);
+            if (enumPosition2 >= 0) {
+                return Integer.compare(enumPosition1, enumPosition2);
+            }
+        }
         final Integer position1 = map.get(obj1);
         final Integer position2 = map.get(obj2);
         if (position1 == null || position2 == null) {
@@ -216,6 +266,35 @@ public class FixedOrderComparator<T> implements Comparator<T>, Serializable {
         return position1.compareTo(position2);
     }
 
+    /**
+     * Computes the positions by ordinal if all the known objects are constants of one enum type.
+     *
+     * @return the positions
+     */
+    private EnumPositions enumPositions() {
+        Class<?> type = null;
+        for (final T obj : map.keySet()) {
+            if (!(obj instanceof Enum)) {
+                return NO_ENUM_POSITIONS;
+            }
+            final Class<?> declaringClass = ((Enum<?>) obj).getDeclaringClass();
+            if (type == null) {
+                type = declaringClass;
+            } else if (type != declaringClass) {
+                return NO_ENUM_POSITIONS;
+            }
+        }
+        if (type == null) {
+            return NO_ENUM_POSITIONS;
+        }
+        final int[] positions = new int[type.getEnumConstants().length];
+        Arrays.fill(positions, -1);
+        for (final Map.Entry<T, Integer> entry : map.entrySet()) {
+            positions[((Enum<?>) entry.getKey()).ordinal()] = entry.getValue();
+        }
+        return new EnumPositions(type, positions);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import java.util.Objects;
+
+import org.apache.commons.collections4.Predicate;
+import org.apache.commons.collections4.Transformer;
+import org.apache.commons.collections4.bloomfilter.EnhancedDoubleHasher;
+import org.apache.commons.collections4.bloomfilter.Hasher;
+import org.apache.commons.collections4.bloomfilter.IndexExtractor;
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.bloomfilter.SimpleBloomFilter;
+
+/**
+ * Predicate implementation that returns true the first time an object is
+ * passed into the predicate, remembering the objects in a Bloom filter.
+ * <p>
+ * Memory is fixed by the {@link Shape} of the filter. The result is approximate:
+ * a new object may be reported as already seen with the false positive
+ * probability of the filter, which grows as objects are added, but an object
+ * already seen is never reported as new.
+ * </p>
+ * <p>
+ * By default objects are hashed from their {@code hashCode}, so objects with
+ * equal hash codes are always treated as duplicates. Supply a transformer
+ * creating a {@link Hasher} from a wider hash to avoid this.
+ * </p>
+ *
+ * @param <T> the type of the input to the predicate.
+ * @since 4.5.1
+ */
+public final class BloomFilterUniquePredicate<T> extends AbstractPredicate<T> {
+
+    /**
+     * Creates the predicate, hashing objects from their {@code hashCode}.
+     *
+     * @param <T> the type that the predicate queries
+     * @param shape  the shape of the Bloom filter, not null
+     * @return the predicate
+     * @throws NullPointerException if the shape is null
+     */
+    public static <T> Predicate<T> bloomFilterUniquePredicate(final Shape shape) {
+        return new BloomFilterUniquePredicate<>(Objects.requireNonNull(shape, "shape"), BloomFilterUniquePredicate::hasher);
+    }
+
+    /**
+     * Creates the predicate.
+     *
+     * @param <T> the type that the predicate queries
+     * @param shape  the shape of the Bloom filter, not null
+     * @param hasherTransformer  the transformer creating the hasher of an object, not null
+     * @return the predicate
+     * @throws NullPointerException if the shape or the transformer is null
+     */
+    public static <T> Predicate<T> bloomFilterUniquePredicate(final Shape shape,
+            final Transformer<? super T, ? extends Hasher> hasherTransformer) {
+        return new BloomFilterUniquePredicate<>(Objects.requireNonNull(shape, "shape"),
+            Objects.requireNonNull(hasherTransformer, "hasherTransformer"));
+    }
+
+    /**
+     * Creates a hasher from the hash code of an object.
+     *
+     * @param object  the object, may be null
+     * @return the hasher
+     */
+    private static Hasher hasher(final Object object) {
+        final long hash = Objects.hashCode(object);
+        return new EnhancedDoubleHasher(mix(hash), mix(hash ^ 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Spreads the bits of a hash (the finalizer of SplitMix64).
+     *
+     * @param hash  the hash
+     * @return the mixed hash
+     */
+    private static long mix(final long hash) {
+        long z = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ z >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return z ^ z >>> 33;
+    }
+
+    /** The filter of the objects seen */
+    private final SimpleBloomFilter iFilter;
+
+    /** The transformer creating the hasher of an object */
+    private final Transformer<? super T, ? extends Hasher> iHasherTransformer;
+
+    /**
+     * Constructor that performs no validation.
+     * Use {@code bloomFilterUniquePredicate} if you want that.
+     *
+     * @param shape  the shape of the Bloom filter
+     * @param hasherTransformer  the transformer creating the hasher of an object
+     */
+    public BloomFilterUniquePredicate(final Shape shape, final Transformer<? super T, ? extends Hasher> hasherTransformer) {
+        iFilter = new SimpleBloomFilter(shape);
+        iHasherTransformer = hasherTransformer;
+    }
+
+    /**
+     * Evaluates the predicate returning true if the input object is not
+     * in the filter, then adds it.
+     *
+     * @param object  the input object
+     * @return true if the object has probably not been seen before
+     */
+    @Override
+    public boolean test(final T object) {
+        final IndexExtractor indices = iHasherTransformer.apply(object).indices(iFilter.getShape());
+        if (iFilter.contains(indices)) {
+            return false;
+        }
+        iFilter.merge(indices);
+        return true;
+    }
+
+}
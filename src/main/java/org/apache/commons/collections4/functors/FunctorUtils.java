@@ -16,8 +16,18 @@
  */
 package org.apache.commons.collections4.functors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -30,6 +40,121 @@ import org.apache.commons.collections4.Predicate;
  */
 final class FunctorUtils {
 
+    /**
+     * A method or constructor of a class resolved as a spread method handle, or the reason why it could not be.
+     */
+    static final class Resolution {
+
+        /** The class. */
+        final Class<?> type;
+
+        /** The spread method handle, or null. */
+        final MethodHandle handle;
+
+        /** Why the method or constructor could not be resolved, or null. */
+        final ReflectiveOperationException failure;
+
+        Resolution(final Class<?> type, final MethodHandle handle, final ReflectiveOperationException failure) {
+            this.type = type;
+            this.handle = handle;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * The name and parameter types of a method or constructor, keying the resolutions of a class.
+     */
+    private static final class Signature {
+
+        /** The method name, or null for a constructor. */
+        private final String name;
+
+        /** The parameter types, or null for none. */
+        private final Class<?>[] paramTypes;
+
+        Signature(final String name, final Class<?>[] paramTypes) {
+            this.name = name;
+            this.paramTypes = paramTypes;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            final Signature other = (Signature) obj;
+            return Objects.equals(name, other.name) && Arrays.equals(parameterTypes(), other.parameterTypes());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name) * 31 + Arrays.hashCode(parameterTypes());
+        }
+
+        private Class<?>[] parameterTypes() {
+            return paramTypes != null ? paramTypes : EMPTY_CLASS_ARRAY;
+        }
+    }
+
+    /** An empty array of classes, standing for no parameter types. */
+    private static final Class<?>[] EMPTY_CLASS_ARRAY = {};
+
+    /**
+     * The primitive types in widening order. A type widens to any later type,
+     * except that nothing widens to {@code char}.
+     */
+    private static final List<Class<?>> PRIMITIVE_WIDENING = Arrays.asList(
+        byte.class, short.class, char.class, int.class, long.class, float.class, double.class);
+
+    /**
+     * The methods and constructors resolved for each class, shared by all the reflective functors.
+     * Failures are cached too, so that bad inputs do not repeat the reflective search.
+     */
+    private static final ClassValue<ConcurrentMap<Signature, Resolution>> RESOLUTIONS = new ClassValue<ConcurrentMap<Signature, Resolution>>() {
+        @Override
+        protected ConcurrentMap<Signature, Resolution> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Tests whether arguments can be passed to parameters of the given types,
+     * as by {@link Method#invoke(Object, Object...)}: a primitive parameter
+     * takes a non-null wrapper that unboxes and widens to it, and any other
+     * parameter takes null or an instance of its type.
+     *
+     * @param paramTypes  the parameter types, may be null for none
+     * @param args  the arguments, may be null for none
+     * @return whether the arguments match the parameters
+     */
+    static boolean argumentsMatch(final Class<?>[] paramTypes, final Object[] args) {
+        final int count = paramTypes != null ? paramTypes.length : 0;
+        if (count != (args != null ? args.length : 0)) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            final Class<?> paramType = paramTypes[i];
+            final Object arg = args[i];
+            if (!paramType.isPrimitive()) {
+                if (arg != null && !paramType.isInstance(arg)) {
+                    return false;
+                }
+            } else if (arg == null) {
+                return false;
+            } else {
+                final Class<?> argType = MethodType.methodType(arg.getClass()).unwrap().returnType();
+                final int from = PRIMITIVE_WIDENING.indexOf(argType);
+                if (argType != paramType && (from < 0 || paramType == char.class || from > PRIMITIVE_WIDENING.indexOf(paramType))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Clones the given array or returns null on null input.
      *
@@ -113,6 +238,85 @@ final class FunctorUtils {
         return clone(transformers);
     }
 
+    /**
+     * Resolves a public constructor of a class, through a cache shared by all the functors.
+     * The method handle is of type {@code (Object[])Object}. The failure is a
+     * {@link NoSuchMethodException} if there is no such public constructor, an
+     * {@link InstantiationException} if the class is abstract, or an
+     * {@link IllegalAccessException} if the constructor cannot be accessed.
+     *
+     * @param type  the class to instantiate
+     * @param paramTypes  the parameter types, may be null for none
+     * @return the resolution
+     */
+    static Resolution resolveConstructor(final Class<?> type, final Class<?>[] paramTypes) {
+        return RESOLUTIONS.get(type).computeIfAbsent(new Signature(null, paramTypes), signature -> {
+            try {
+                final Constructor<?> constructor = type.getConstructor(paramTypes);
+                if (Modifier.isAbstract(type.getModifiers())) {
+                    return new Resolution(type, null, new InstantiationException(type.getName()));
+                }
+                return new Resolution(type, spreadConstructor(constructor), null);
+            } catch (final NoSuchMethodException | IllegalAccessException ex) {
+                return new Resolution(type, null, ex);
+            }
+        });
+    }
+
+    /**
+     * Resolves a public method of a class, through a cache shared by all the functors.
+     * The method handle is of type {@code (Object, Object[])Object}. The failure is a
+     * {@link NoSuchMethodException} if there is no such public method, or an
+     * {@link IllegalAccessException} if the method cannot be accessed.
+     *
+     * @param type  the class of the receiver
+     * @param methodName  the method name
+     * @param paramTypes  the parameter types, may be null for none
+     * @return the resolution
+     */
+    static Resolution resolveMethod(final Class<?> type, final String methodName, final Class<?>[] paramTypes) {
+        return RESOLUTIONS.get(type).computeIfAbsent(new Signature(methodName, paramTypes), signature -> {
+            try {
+                return new Resolution(type, spreadMethod(type.getMethod(methodName, paramTypes)), null);
+            } catch (final NoSuchMethodException | IllegalAccessException ex) {
+                return new Resolution(type, null, ex);
+            }
+        });
+    }
+
+    /**
+     * Creates a public method handle calling the given constructor with the
+     * arguments spread from an array, of type {@code (Object[])Object}.
+     *
+     * @param constructor  the constructor to call
+     * @return the method handle
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    private static MethodHandle spreadConstructor(final Constructor<?> constructor) throws IllegalAccessException {
+        final MethodHandle handle = MethodHandles.publicLookup().unreflectConstructor(constructor).asFixedArity();
+        return handle.asSpreader(Object[].class, handle.type().parameterCount())
+            .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    /**
+     * Creates a public method handle invoking the given method with the
+     * arguments spread from an array, of type {@code (Object, Object[])Object}.
+     * As with {@link Method#invoke(Object, Object...)}, a static method ignores
+     * the receiver and a method returning void returns null.
+     *
+     * @param method  the method to invoke
+     * @return the method handle
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    private static MethodHandle spreadMethod(final Method method) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asSpreader(Object[].class, method.getParameterCount())
+            .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+    }
+
     /**
      * Validate the predicates to ensure that all is well.
      *
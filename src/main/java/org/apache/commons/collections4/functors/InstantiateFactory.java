@@ -16,12 +16,11 @@
  */
 package org.apache.commons.collections4.functors;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
 
 import org.apache.commons.collections4.Factory;
 import org.apache.commons.collections4.FunctorException;
+import org.apache.commons.collections4.functors.FunctorUtils.Resolution;
 
 /**
  * Factory implementation that creates a new object instance by reflection.
@@ -70,8 +69,11 @@ public class InstantiateFactory<T> implements Factory<T> {
     /** The constructor arguments */
     private final Object[] iArgs;
 
-    /** The constructor */
-    private transient Constructor<T> iConstructor;
+    /** Whether the arguments match the parameter types */
+    private final boolean argsMatch;
+
+    /** The constructor resolved as a method handle */
+    private transient Resolution resolution;
 
     /**
      * Constructor that performs no validation.
@@ -83,7 +85,8 @@ public class InstantiateFactory<T> implements Factory<T> {
         iClassToInstantiate = classToInstantiate;
         iParamTypes = null;
         iArgs = null;
-        findConstructor();
+        argsMatch = true;
+        resolution = resolveConstructor();
     }
 
     /**
@@ -98,7 +101,8 @@ public class InstantiateFactory<T> implements Factory<T> {
         iClassToInstantiate = classToInstantiate;
         iParamTypes = paramTypes.clone();
         iArgs = args.clone();
-        findConstructor();
+        argsMatch = FunctorUtils.argumentsMatch(iParamTypes, iArgs);
+        resolution = resolveConstructor();
     }
 
     /**
@@ -109,30 +113,41 @@ public class InstantiateFactory<T> implements Factory<T> {
     @Override
     public T create() {
         // needed for post-serialization
-        if (iConstructor == null) {
-            findConstructor();
+        if (resolution == null) {
+            resolution = resolveConstructor();
+        }
+        if (resolution.failure instanceof InstantiationException) {
+            throw new FunctorException("InstantiateFactory: InstantiationException", resolution.failure);
+        }
+        if (resolution.failure != null) {
+            throw new FunctorException("InstantiateFactory: Constructor must be public", resolution.failure);
+        }
+        if (!argsMatch) {
+            throw new IllegalArgumentException("InstantiateFactory: The arguments do not match the parameters of the constructor");
         }
 
+        final Object result;
         try {
-            return iConstructor.newInstance(iArgs);
-        } catch (final InstantiationException ex) {
-            throw new FunctorException("InstantiateFactory: InstantiationException", ex);
-        } catch (final IllegalAccessException ex) {
-            throw new FunctorException("InstantiateFactory: Constructor must be public", ex);
-        } catch (final InvocationTargetException ex) {
+            // the arguments are known to match, so anything thrown comes from the constructor itself
+            result = resolution.handle.invokeExact(iArgs);
+        } catch (final Throwable ex) {
             throw new FunctorException("InstantiateFactory: Constructor threw an exception", ex);
         }
+        return iClassToInstantiate.cast(result);
     }
 
     /**
-     * Find the Constructor for the class specified.
+     * Resolves the constructor for the class specified.
+     *
+     * @return the resolution
+     * @throws IllegalArgumentException if there is no such public constructor
      */
-    private void findConstructor() {
-        try {
-            iConstructor = iClassToInstantiate.getConstructor(iParamTypes);
-        } catch (final NoSuchMethodException ex) {
+    private Resolution resolveConstructor() {
+        final Resolution resolved = FunctorUtils.resolveConstructor(iClassToInstantiate, iParamTypes);
+        if (resolved.failure instanceof NoSuchMethodException) {
             throw new IllegalArgumentException("InstantiateFactory: The constructor must exist and be public ");
         }
+        return resolved;
     }
 
 }
@@ -16,11 +16,9 @@
  */
 package org.apache.commons.collections4.functors;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-
 import org.apache.commons.collections4.FunctorException;
 import org.apache.commons.collections4.Transformer;
+import org.apache.commons.collections4.functors.FunctorUtils.Resolution;
 
 /**
  * Transformer implementation that creates a new object instance by reflection.
@@ -30,6 +28,11 @@ import org.apache.commons.collections4.Transformer;
  * <a href="https://issues.apache.org/jira/browse/COLLECTIONS-580">COLLECTIONS-580</a>
  * for more details.
  * </p>
+ * <p>
+ * The constructor is looked up once per input class and cached as a method handle,
+ * shared by all the instances calling the same constructor, with a fast path for
+ * inputs of the same class as the previous input.
+ * </p>
  *
  * @param <T> the type of the input and result to the function.
  * @since 3.0
@@ -78,12 +81,19 @@ public class InstantiateTransformer<T> implements Transformer<Class<? extends T>
     /** The constructor arguments */
     private final Object[] iArgs;
 
+    /** Whether the arguments match the parameter types */
+    private final boolean argsMatch;
+
+    /** The constructor resolved for the last input class */
+    private Resolution lastResolution;
+
     /**
      * Constructor for no arg instance.
      */
     private InstantiateTransformer() {
         iParamTypes = null;
         iArgs = null;
+        argsMatch = true;
     }
 
     /**
@@ -98,6 +108,7 @@ public class InstantiateTransformer<T> implements Transformer<Class<? extends T>
     public InstantiateTransformer(final Class<?>[] paramTypes, final Object[] args) {
         iParamTypes = paramTypes != null ? paramTypes.clone() : null;
         iArgs = args != null ? args.clone() : null;
+        argsMatch = FunctorUtils.argumentsMatch(iParamTypes, iArgs);
     }
 
     /**
@@ -105,25 +116,40 @@ public class InstantiateTransformer<T> implements Transformer<Class<? extends T>
      *
      * @param input  the input object to transform
      * @return the transformed result
+     * @throws FunctorException if the constructor does not exist, cannot be called or throws an exception
+     * @throws IllegalArgumentException if the arguments do not match the parameter types of the constructor
      */
     @Override
     public T transform(final Class<? extends T> input) {
-        try {
-            if (input == null) {
-                throw new FunctorException(
-                    "InstantiateTransformer: Input object was not an instanceof Class, it was a null object");
-            }
-            final Constructor<? extends T> con = input.getConstructor(iParamTypes);
-            return con.newInstance(iArgs);
-        } catch (final NoSuchMethodException ex) {
+        if (input == null) {
+            throw new FunctorException(
+                "InstantiateTransformer: Input object was not an instanceof Class, it was a null object");
+        }
+        Resolution resolution = lastResolution;
+        if (resolution == null || resolution.type != input) {
+            resolution = FunctorUtils.resolveConstructor(input, iParamTypes);
+            lastResolution = resolution;
+        }
+        if (resolution.failure instanceof NoSuchMethodException) {
             throw new FunctorException("InstantiateTransformer: The constructor must exist and be public ");
-        } catch (final InstantiationException ex) {
-            throw new FunctorException("InstantiateTransformer: InstantiationException", ex);
-        } catch (final IllegalAccessException ex) {
-            throw new FunctorException("InstantiateTransformer: Constructor must be public", ex);
-        } catch (final InvocationTargetException ex) {
+        }
+        if (resolution.failure instanceof InstantiationException) {
+            throw new FunctorException("InstantiateTransformer: InstantiationException", resolution.failure);
+        }
+        if (resolution.failure != null) {
+            throw new FunctorException("InstantiateTransformer: Constructor must be public", resolution.failure);
+        }
+        if (!argsMatch) {
+            throw new IllegalArgumentException("InstantiateTransformer: The arguments do not match the parameters of the constructor");
+        }
+        final Object result;
+        try {
+            // the arguments are known to match, so anything thrown comes from the constructor itself
+            result = resolution.handle.invokeExact(iArgs);
+        } catch (final Throwable ex) {
             throw new FunctorException("InstantiateTransformer: Constructor threw an exception", ex);
         }
+        return input.cast(result);
     }
 
 }
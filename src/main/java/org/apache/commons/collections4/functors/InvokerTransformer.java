@@ -16,12 +16,11 @@
  */
 package org.apache.commons.collections4.functors;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Objects;
 
 import org.apache.commons.collections4.FunctorException;
 import org.apache.commons.collections4.Transformer;
+import org.apache.commons.collections4.functors.FunctorUtils.Resolution;
 
 /**
  * Transformer implementation that creates a new object instance by reflection.
@@ -31,6 +30,11 @@ import org.apache.commons.collections4.Transformer;
  * <a href="https://issues.apache.org/jira/browse/COLLECTIONS-580">COLLECTIONS-580</a>
  * for more details.
  * </p>
+ * <p>
+ * The method is looked up once per input class and cached as a method handle,
+ * shared by all the instances calling the same method, with a fast path for
+ * inputs of the same class as the previous input.
+ * </p>
  *
  * @param <T> the type of the input to the function.
  * @param <R> the type of the result of the function.
@@ -85,6 +89,12 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
     /** The array of reflection arguments */
     private final Object[] iArgs;
 
+    /** Whether the arguments match the parameter types */
+    private final boolean argsMatch;
+
+    /** The method resolved for the class of the last input */
+    private Resolution lastResolution;
+
     /**
      * Constructor for no arg instance.
      *
@@ -94,6 +104,7 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
         iMethodName = methodName;
         iParamTypes = null;
         iArgs = null;
+        argsMatch = true;
     }
 
     /**
@@ -110,6 +121,7 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
         iMethodName = methodName;
         iParamTypes = paramTypes != null ? paramTypes.clone() : null;
         iArgs = args != null ? args.clone() : null;
+        argsMatch = FunctorUtils.argumentsMatch(iParamTypes, iArgs);
     }
 
     /**
@@ -117,6 +129,8 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
      *
      * @param input  the input object to transform
      * @return the transformed result, null if null input
+     * @throws FunctorException if the method does not exist, cannot be accessed or throws an exception
+     * @throws IllegalArgumentException if the arguments do not match the parameter types of the method
      */
     @Override
     @SuppressWarnings("unchecked")
@@ -124,20 +138,33 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
         if (input == null) {
             return null;
         }
-        try {
-            final Class<?> cls = input.getClass();
-            final Method method = cls.getMethod(iMethodName, iParamTypes);
-            return (R) method.invoke(input, iArgs);
-        } catch (final NoSuchMethodException ex) {
+        final Class<?> cls = input.getClass();
+        Resolution resolution = lastResolution;
+        if (resolution == null || resolution.type != cls) {
+            resolution = FunctorUtils.resolveMethod(cls, iMethodName, iParamTypes);
+            lastResolution = resolution;
+        }
+        if (resolution.failure instanceof NoSuchMethodException) {
             throw new FunctorException("InvokerTransformer: The method '" + iMethodName + "' on '" +
-                                       input.getClass() + "' does not exist");
-        } catch (final IllegalAccessException ex) {
+                                       cls + "' does not exist");
+        }
+        if (resolution.failure != null) {
             throw new FunctorException("InvokerTransformer: The method '" + iMethodName + "' on '" +
-                                       input.getClass() + "' cannot be accessed");
-        } catch (final InvocationTargetException ex) {
+                                       cls + "' cannot be accessed");
+        }
+        if (!argsMatch) {
+            throw new IllegalArgumentException("InvokerTransformer: The arguments do not match the parameters of the method '" +
+                                               iMethodName + "' on '" + cls + "'");
+        }
+        final Object result;
+        try {
+            // the arguments are known to match, so anything thrown comes from the method itself
+            result = resolution.handle.invokeExact(input, iArgs);
+        } catch (final Throwable ex) {
             throw new FunctorException("InvokerTransformer: The method '" + iMethodName + "' on '" +
-                                       input.getClass() + "' threw an exception", ex);
+                                       cls + "' threw an exception", ex);
         }
+        return (R) result;
     }
 
 }
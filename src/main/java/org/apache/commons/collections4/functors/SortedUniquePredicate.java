@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.apache.commons.collections4.Predicate;
+
+/**
+ * Predicate implementation that returns true when an object differs from the
+ * object previously passed into the predicate.
+ * <p>
+ * When the input is sorted, or otherwise has equal objects next to each other,
+ * this returns true the first time each object is seen, like {@link UniquePredicate},
+ * while remembering a single object.
+ * </p>
+ *
+ * @param <T> the type of the input to the predicate.
+ * @since 4.5.1
+ */
+public final class SortedUniquePredicate<T> extends AbstractPredicate<T> implements Serializable {
+
+    /** Serial version UID */
+    private static final long serialVersionUID = 20261019L;
+
+    /**
+     * Creates the predicate.
+     *
+     * @param <T> the type that the predicate queries
+     * @return the predicate
+     */
+    public static <T> Predicate<T> sortedUniquePredicate() {
+        return new SortedUniquePredicate<>();
+    }
+
+    /** Whether an object has been seen */
+    private boolean iSeen;
+
+    /** The previous object */
+    private T iPrevious;
+
+    /**
+     * Constructor that performs no validation.
+     * Use {@code sortedUniquePredicate} if you want that.
+     */
+    public SortedUniquePredicate() {
+    }
+
+    /**
+     * Evaluates the predicate returning true if the input object is not
+     * equal to the previous one.
+     *
+     * @param object  the input object
+     * @return true if the object differs from the previous one
+     */
+    @Override
+    public boolean test(final T object) {
+        if (iSeen && Objects.equals(iPrevious, object)) {
+            return false;
+        }
+        iSeen = true;
+        iPrevious = object;
+        return true;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.collections4.Predicate;
+
+/**
+ * Predicate implementation that returns true when an object is not equal to
+ * any of the objects among the last N passed into the predicate.
+ * <p>
+ * Unlike {@link UniquePredicate}, objects are forgotten once they fall out of
+ * the window, so memory stays bounded by the window size over unbounded input.
+ * </p>
+ *
+ * @param <T> the type of the input to the predicate.
+ * @since 4.5.1
+ */
+public final class WindowedUniquePredicate<T> extends AbstractPredicate<T> implements Serializable {
+
+    /** Serial version UID */
+    private static final long serialVersionUID = 20261019L;
+
+    /**
+     * Creates the predicate.
+     *
+     * @param <T> the type that the predicate queries
+     * @param windowSize  the number of previous objects to remember, must be positive
+     * @return the predicate
+     * @throws IllegalArgumentException if the window size is not positive
+     */
+    public static <T> Predicate<T> windowedUniquePredicate(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        return new WindowedUniquePredicate<>(windowSize);
+    }
+
+    /** The last objects, in a circular buffer */
+    private final Object[] iWindow;
+
+    /** The number of occurrences of each object in the window */
+    private final Map<T, Integer> iCounts = new HashMap<>();
+
+    /** The index of the next slot to write in the window */
+    private int iNext;
+
+    /** The number of objects in the window */
+    private int iSize;
+
+    /**
+     * Constructor that performs no validation.
+     * Use {@code windowedUniquePredicate} if you want that.
+     *
+     * @param windowSize  the number of previous objects to remember
+     */
+    public WindowedUniquePredicate(final int windowSize) {
+        iWindow = new Object[windowSize];
+    }
+
+    /**
+     * Evaluates the predicate returning true if the input object is not
+     * equal to any of the objects in the window.
+     *
+     * @param object  the input object
+     * @return true if the object has not been seen within the window
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean test(final T object) {
+        final boolean unique = !iCounts.containsKey(object);
+        if (iSize == iWindow.length) {
+            iCounts.computeIfPresent((T) iWindow[iNext], (key, count) -> count == 1 ? null : count - 1);
+        } else {
+            iSize++;
+        }
+        iWindow[iNext] = object;
+        iCounts.merge(object, 1, Integer::sum);
+        iNext = iNext + 1 == iWindow.length ? 0 : iNext + 1;
+        return unique;
+    }
+
+}
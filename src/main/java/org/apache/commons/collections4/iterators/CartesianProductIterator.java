@@ -17,10 +17,14 @@
 package org.apache.commons.collections4.iterators;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+
+import org.apache.commons.collections4.IterableUtils;
 
 /**
  * This iterator creates a Cartesian product of the input iterables,
@@ -64,12 +68,48 @@ import java.util.Objects;
  * If any of the input iterables is infinite, the Cartesian product will be
  * infinite.
  * </p>
+ * <p>
+ * The tuples are indexed in the order they are returned, so that the iterator
+ * can report the index of the next tuple with {@link #nextIndex()} and, for
+ * finite iterables, jump to any tuple with {@link #seek(long)}. The product can
+ * be split by index with {@link #spliterator(Iterable...)}, and
+ * {@link #next(Object[])} fills an array instead of creating a list for each tuple.
+ * </p>
  *
  * @param <E> the type of the objects being permuted
  * @since 4.5.0-M3
  */
 public class CartesianProductIterator<E> implements Iterator<List<E>> {
 
+    /**
+     * Creates a {@link Spliterator} over the Cartesian product of finite iterables, in
+     * the order of this iterator. It splits the tuples by index range, so that they can
+     * be generated in parallel, for example with
+     * {@code StreamSupport.stream(CartesianProductIterator.spliterator(iterable1, iterable2), true)}.
+     * Each part iterates the iterables again, so they must not change while it is in use.
+     *
+     * @param <E> the type of the objects being combined
+     * @param iterables the finite iterables to create the Cartesian product from
+     * @return a spliterator over the tuples
+     * @throws NullPointerException if any of the iterables is null
+     * @throws ArithmeticException if the number of tuples does not fit in a long
+     * @since 4.5.1
+     */
+    @SafeVarargs
+    public static <E> Spliterator<List<E>> spliterator(final Iterable<? extends E>... iterables) {
+        Objects.requireNonNull(iterables, "iterables");
+        final List<Iterable<? extends E>> copy = new ArrayList<>(iterables.length);
+        for (final Iterable<? extends E> iterable : iterables) {
+            copy.add(Objects.requireNonNull(iterable, "iterable"));
+        }
+        final long count = new CartesianProductIterator<E>(copy).count();
+        return new IndexRangeSpliterator<>(index -> {
+            final CartesianProductIterator<E> iterator = new CartesianProductIterator<>(copy);
+            iterator.seek(index);
+            return iterator;
+        }, 0, count);
+    }
+
     /**
      * The iterables to create the Cartesian product from.
      */
@@ -85,6 +125,16 @@ public class CartesianProductIterator<E> implements Iterator<List<E>> {
      */
     private List<E> previousTuple;
 
+    /**
+     * The index of the tuple to return next.
+     */
+    private long index;
+
+    /**
+     * The sizes of the iterables, computed when first needed.
+     */
+    private long[] sizes;
+
     /**
      * Constructs a new {@code CartesianProductIterator} instance with given iterables.
      *
@@ -95,10 +145,33 @@ public class CartesianProductIterator<E> implements Iterator<List<E>> {
     public CartesianProductIterator(final Iterable<? extends E>... iterables) {
         Objects.requireNonNull(iterables, "iterables");
         this.iterables = new ArrayList<>(iterables.length);
-        this.iterators = new ArrayList<>(iterables.length);
         for (final Iterable<? extends E> iterable : iterables) {
-            Objects.requireNonNull(iterable, "iterable");
-            this.iterables.add(iterable);
+            this.iterables.add(Objects.requireNonNull(iterable, "iterable"));
+        }
+        this.iterators = openIterators(this.iterables);
+    }
+
+    /**
+     * Constructs a new {@code CartesianProductIterator} instance over a list of
+     * non-null iterables, which it keeps without copying.
+     *
+     * @param iterables the iterables to create the Cartesian product from
+     */
+    private CartesianProductIterator(final List<Iterable<? extends E>> iterables) {
+        this.iterables = iterables;
+        this.iterators = openIterators(iterables);
+    }
+
+    /**
+     * Opens an iterator over each of the iterables.
+     *
+     * @param <E> the type of the objects being combined
+     * @param iterables the iterables to open
+     * @return the iterators, or an empty list if any of the iterables is empty
+     */
+    private static <E> List<Iterator<? extends E>> openIterators(final List<Iterable<? extends E>> iterables) {
+        final List<Iterator<? extends E>> iterators = new ArrayList<>(iterables.size());
+        for (final Iterable<? extends E> iterable : iterables) {
             final Iterator<? extends E> iterator = iterable.iterator();
             if (!iterator.hasNext()) {
                 iterators.clear();
@@ -106,41 +179,31 @@ public class CartesianProductIterator<E> implements Iterator<List<E>> {
             }
             iterators.add(iterator);
         }
+        return iterators;
     }
 
     /**
-     * Returns {@code true} if the iteration has more elements.
+     * Moves the iterators and the previous tuple to the next tuple.
      *
-     * @return true if there are more tuples, otherwise false
-     */
-    @Override
-    public boolean hasNext() {
-        return iterators.stream().anyMatch(Iterator::hasNext);
-    }
-
-    /**
-     * Returns the next tuple of the input iterables.
-     *
-     * @return a list of the input iterables' elements
      * @throws NoSuchElementException if there are no more tuples
      */
-    @Override
-    public List<E> next() {
+    private void advance() {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
+        index++;
         if (previousTuple == null) {
             previousTuple = new ArrayList<>(iterables.size());
             for (final Iterator<? extends E> iterator : iterators) {
                 previousTuple.add(iterator.next());
             }
-            return new ArrayList<>(previousTuple);
+            return;
         }
         for (int i = iterators.size() - 1; i >= 0; i--) {
             Iterator<? extends E> iterator = iterators.get(i);
             if (iterator.hasNext()) {
                 previousTuple.set(i, iterator.next());
-                return new ArrayList<>(previousTuple);
+                return;
             }
             iterator = iterables.get(i).iterator();
             iterators.set(i, iterator);
@@ -149,8 +212,132 @@ public class CartesianProductIterator<E> implements Iterator<List<E>> {
         throw new IllegalStateException("reached unreachable code");
     }
 
+    /**
+     * Gets the number of tuples, iterating each iterable once to count its elements.
+     *
+     * @return the number of tuples
+     * @throws ArithmeticException if the number of tuples does not fit in a long
+     */
+    private long count() {
+        if (iterators.isEmpty()) {
+            return 0;
+        }
+        if (sizes == null) {
+            sizes = new long[iterables.size()];
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = IterableUtils.size(iterables.get(i));
+            }
+        }
+        long count = 1;
+        for (final long size : sizes) {
+            count = Math.multiplyExact(count, size);
+        }
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if the iteration has more elements.
+     *
+     * @return true if there are more tuples, otherwise false
+     */
+    @Override
+    public boolean hasNext() {
+        for (final Iterator<? extends E> iterator : iterators) {
+            if (iterator.hasNext()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the next tuple of the input iterables.
+     *
+     * @return a list of the input iterables' elements
+     * @throws NoSuchElementException if there are no more tuples
+     */
+    @Override
+    public List<E> next() {
+        advance();
+        return new ArrayList<>(previousTuple);
+    }
+
+    /**
+     * Returns the next tuple of the input iterables in an array, in the manner of
+     * {@link java.util.Collection#toArray(Object[])}: the given array is filled if it
+     * is large enough, and followed by {@code null} if it is larger. Passing the same
+     * array on each call avoids creating a list per tuple.
+     *
+     * @param array the array to fill
+     * @return the array holding the tuple, a new one if the given array is too small
+     * @throws NoSuchElementException if there are no more tuples
+     * @throws NullPointerException if array is null
+     * @since 4.5.1
+     */
+    public E[] next(final E[] array) {
+        Objects.requireNonNull(array, "array");
+        advance();
+        return previousTuple.toArray(array);
+    }
+
+    /**
+     * Gets the index of the tuple that {@link #next()} returns, that is the number
+     * of tuples returned so far when iterating from the start.
+     *
+     * @return the index of the next tuple, or the number of tuples once they have all been returned
+     * @since 4.5.1
+     */
+    public long nextIndex() {
+        return index;
+    }
+
     @Override
     public void remove() {
         throw new UnsupportedOperationException("remove");
     }
+
+    /**
+     * Positions this iterator so that {@link #next()} returns the tuple with the given
+     * index, skipping at most the elements of each iterable once rather than going
+     * through the tuples before it. The iterables must be finite: the first call
+     * iterates each of them to count its elements.
+     *
+     * @param index the index of the tuple to return next, from 0 to the number of
+     *        tuples, which leaves the iterator exhausted
+     * @throws IndexOutOfBoundsException if the index is negative or larger than the number of tuples
+     * @throws ArithmeticException if the number of tuples does not fit in a long
+     * @since 4.5.1
+     */
+    public void seek(final long index) {
+        final long count = count();
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count);
+        }
+        this.index = index;
+        if (count == 0) {
+            return;
+        }
+        if (index == 0) {
+            previousTuple = null;
+            for (int i = 0; i < iterables.size(); i++) {
+                iterators.set(i, iterables.get(i).iterator());
+            }
+            return;
+        }
+        // position each iterator just after its element of the previous tuple, which next() moves on from
+        final List<E> tuple = new ArrayList<>(Collections.<E>nCopies(iterables.size(), null));
+        long rest = index - 1;
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            final long digit = rest % sizes[i];
+            rest /= sizes[i];
+            final Iterator<? extends E> iterator = iterables.get(i).iterator();
+            E element = iterator.next();
+            for (long skip = 0; skip < digit; skip++) {
+                element = iterator.next();
+            }
+            iterators.set(i, iterator);
+            tuple.set(i, element);
+        }
+        previousTuple = tuple;
+    }
 }
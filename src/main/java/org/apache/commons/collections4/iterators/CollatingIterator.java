@@ -17,7 +17,6 @@
 package org.apache.commons.collections4.iterators;
 
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -35,6 +34,11 @@ import org.apache.commons.collections4.list.UnmodifiableList;
  * {@code B}, the {@link #next} method on this iterator will return the
  * lesser of {@code A.next()} and {@code B.next()}.
  * </p>
+ * <p>
+ * The next value of each child iterator is kept in a binary heap, so that each
+ * call to {@link #next} costs O(log k) comparisons for k child iterators. Equal
+ * elements are returned in the order of the iterators that produced them.
+ * </p>
  *
  * @param <E> the type of elements returned by this iterator.
  * @since 2.1
@@ -47,11 +51,22 @@ public class CollatingIterator<E> implements Iterator<E> {
     /** The list of {@link Iterator}s to evaluate. */
     private final List<Iterator<? extends E>> iterators;
 
-    /** {@link Iterator#next Next} objects peeked from each iterator. */
-    private List<E> values;
+    /** {@link Iterator#next Next} objects peeked from each iterator, indexed like {@link #iterators}. */
+    private Object[] values;
+
+    /** Binary heap of the indexes of the iterators whose next object is held in {@link #values}. */
+    private int[] heap;
 
-    /** Whether or not each {@link #values} element has been set. */
-    private BitSet valueSet;
+    /** The number of indexes in the {@link #heap}, or -1 until the heap has been filled. */
+    private int heapSize = -1;
+
+    /**
+     * Index of the iterator at the top of the {@link #heap} whose value has been
+     * returned but not yet replaced, or -1. The replacement is fetched lazily by
+     * {@link #next()} so that {@link #hasNext()} never advances a child iterator
+     * and {@link #remove()} still removes the last returned element.
+     */
+    private int pending = -1;
 
     /**
      * Index of the {@link #iterators iterator} from whom the last returned
@@ -178,19 +193,6 @@ public class CollatingIterator<E> implements Iterator<E> {
         return false;
     }
 
-    /**
-     * Returns {@code true} iff any bit in the given set is
-     * {@code true}.
-     */
-    private boolean anyValueSet(final BitSet set) {
-        for (int i = 0; i < set.size(); i++) {
-            if (set.get(i)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Throws {@link IllegalStateException} if iteration has started via
      * {@link #start}.
@@ -203,15 +205,6 @@ public class CollatingIterator<E> implements Iterator<E> {
         }
     }
 
-    /**
-     * Clears the {@link #values} and {@link #valueSet} attributes at position
-     * <em>i</em>.
-     */
-    private void clear(final int i) {
-        values.set(i, null);
-        valueSet.clear(i);
-    }
-
     /**
      * Gets the {@link Comparator} by which collation occurs.
      *
@@ -252,37 +245,42 @@ public class CollatingIterator<E> implements Iterator<E> {
     @Override
     public boolean hasNext() {
         start();
-        return anyValueSet(valueSet) || anyHasNext(iterators);
+        if (heapSize < 0) {
+            return anyHasNext(iterators);
+        }
+        if (pending < 0) {
+            return heapSize > 0;
+        }
+        return heapSize > 1 || iterators.get(pending).hasNext();
     }
 
     /**
-     * Returns the index of the least element in {@link #values},
-     * {@link #set(int) setting} any uninitialized values.
+     * Returns {@code true} iff the next value of the iterator at index <em>i</em>
+     * is collated before the next value of the iterator at index <em>j</em>; ties
+     * go to the iterator with the lower index.
      *
      * @throws NullPointerException if no comparator is set
      */
-    private int least() {
-        int leastIndex = -1;
-        E leastObject = null;
-        for (int i = 0; i < values.size(); i++) {
-            if (!valueSet.get(i)) {
-                set(i);
-            }
-            if (valueSet.get(i)) {
-                if (leastIndex == -1) {
-                    leastIndex = i;
-                    leastObject = values.get(i);
-                } else {
-                    final E curObject = values.get(i);
-                    Objects.requireNonNull(comparator, "You must invoke setComparator() to set a comparator first.");
-                    if (comparator.compare(curObject, leastObject) < 0) {
-                        leastObject = curObject;
-                        leastIndex = i;
-                    }
-                }
+    @SuppressWarnings("unchecked")
+    private boolean less(final int i, final int j) {
+        Objects.requireNonNull(comparator, "You must invoke setComparator() to set a comparator first.");
+        final int cmp = comparator.compare((E) values[i], (E) values[j]);
+        return cmp < 0 || cmp == 0 && i < j;
+    }
+
+    /**
+     * Peeks the first value of every child iterator and builds the {@link #heap}.
+     */
+    private void fill() {
+        heapSize = 0;
+        for (int i = 0; i < iterators.size(); i++) {
+            if (set(i)) {
+                heap[heapSize++] = i;
             }
         }
-        return leastIndex;
+        for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
     }
 
     /**
@@ -296,12 +294,23 @@ public class CollatingIterator<E> implements Iterator<E> {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
-        final int leastIndex = least();
-        if (leastIndex == -1) {
+        if (heapSize < 0) {
+            fill();
+        } else if (pending >= 0) {
+            if (!set(pending)) {
+                heap[0] = heap[--heapSize];
+            }
+            pending = -1;
+            siftDown(0);
+        }
+        if (heapSize == 0) {
             throw new NoSuchElementException();
         }
-        final E val = values.get(leastIndex);
-        clear(leastIndex);
+        final int leastIndex = heap[0];
+        @SuppressWarnings("unchecked")
+        final E val = (E) values[leastIndex];
+        values[leastIndex] = null;
+        pending = leastIndex;
         lastReturned = leastIndex;
         return val;
     }
@@ -321,22 +330,19 @@ public class CollatingIterator<E> implements Iterator<E> {
     }
 
     /**
-     * Sets the {@link #values} and {@link #valueSet} attributes at position
-     * <em>i</em> to the next value of the {@link #iterators iterator} at position
-     * <em>i</em>, or clear them if the <em>i</em><sup>th</sup> iterator has no next
-     * value.
+     * Sets the {@link #values} element at position <em>i</em> to the next value
+     * of the {@link #iterators iterator} at position <em>i</em>, or clears it if
+     * the <em>i</em><sup>th</sup> iterator has no next value.
      *
      * @return {@code false} iff there was no value to set
      */
     private boolean set(final int index) {
         final Iterator<? extends E> it = iterators.get(index);
         if (it.hasNext()) {
-            values.set(index, it.next());
-            valueSet.set(index);
+            values[index] = it.next();
             return true;
         }
-        values.set(index, null);
-        valueSet.clear(index);
+        values[index] = null;
         return false;
     }
 
@@ -370,17 +376,36 @@ public class CollatingIterator<E> implements Iterator<E> {
         iterators.set(index, iterator);
     }
 
+    /**
+     * Moves the iterator index at position <em>start</em> of the {@link #heap}
+     * down until neither of its children is collated before it.
+     */
+    private void siftDown(final int start) {
+        final int index = heap[start];
+        int pos = start;
+        final int half = heapSize >>> 1;
+        while (pos < half) {
+            int child = (pos << 1) + 1;
+            final int right = child + 1;
+            if (right < heapSize && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], index)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = index;
+    }
+
     /**
      * Initializes the collating state if it hasn't been already.
      */
     private void start() {
         if (values == null) {
-            values = new ArrayList<>(iterators.size());
-            valueSet = new BitSet(iterators.size());
-            for (int i = 0; i < iterators.size(); i++) {
-                values.add(null);
-                valueSet.clear(i);
-            }
+            values = new Object[iterators.size()];
+            heap = new int[iterators.size()];
         }
     }
 
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * A spliterator over a range of indices of an indexed sequence, such as the
+ * tuples of a {@link CartesianProductIterator} or the permutations of a
+ * {@link PermutationIterator}. It splits the range in halves, and traverses
+ * with an iterator positioned at the first index of its range.
+ *
+ * @param <T> the type of the elements of the sequence
+ * @since 4.5.1
+ */
+final class IndexRangeSpliterator<T> implements Spliterator<T> {
+
+    /** Creates an iterator whose next element is the element at the given index */
+    private final LongFunction<? extends Iterator<T>> factory;
+
+    /** The index of the next element */
+    private long index;
+
+    /** The index after the last element */
+    private final long fence;
+
+    /** The iterator positioned at the index, or null before the traversal starts */
+    private Iterator<T> iterator;
+
+    /**
+     * Create a Spliterator for a range of indices.
+     *
+     * @param factory  creates an iterator positioned at an index
+     * @param index  the index of the first element
+     * @param fence  the index after the last element
+     */
+    IndexRangeSpliterator(final LongFunction<? extends Iterator<T>> factory, final long index, final long fence) {
+        this.factory = factory;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        if (index >= fence) {
+            return;
+        }
+        if (iterator == null) {
+            iterator = factory.apply(index);
+        }
+        while (index < fence) {
+            index++;
+            action.accept(iterator.next());
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        if (index >= fence) {
+            return false;
+        }
+        if (iterator == null) {
+            iterator = factory.apply(index);
+        }
+        index++;
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final long mid = index + (fence - index >>> 1);
+        if (mid <= index) {
+            return null;
+        }
+        final Spliterator<T> prefix = new IndexRangeSpliterator<>(factory, index, mid);
+        index = mid;
+        iterator = null;
+        return prefix;
+    }
+}
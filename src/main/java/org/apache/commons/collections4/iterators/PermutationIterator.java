@@ -16,15 +16,14 @@
  */
 package org.apache.commons.collections4.iterators;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 
 /**
  * This iterator creates permutations of an input collection, using the
@@ -35,6 +34,13 @@ import java.util.Objects;
  * {@code UnsupportedOperationException}.
  * </p>
  * <p>
+ * The permutations are indexed in the order they are returned, so that the
+ * iterator can report the index of the next permutation with {@link #nextIndex()}
+ * and jump to any permutation with {@link #seek(long)}. The space of permutations
+ * can be split by index with {@link #spliterator(Collection)}, and {@link #next(Object[])}
+ * fills an array instead of creating a list for each permutation.
+ * </p>
+ * <p>
  * NOTE: in case an empty collection is provided, the iterator will
  * return exactly one empty list as result, as 0! = 1.
  * </p>
@@ -44,15 +50,62 @@ import java.util.Objects;
  */
 public class PermutationIterator<E> implements Iterator<List<E>> {
 
+    /**
+     * The largest collection size whose number of permutations fits in a long.
+     */
+    private static final int MAX_COUNTABLE_SIZE = 20;
+
+    /**
+     * Gets the number of permutations of a number of elements.
+     *
+     * @param size  the number of elements
+     * @return size!
+     * @throws IllegalArgumentException if size! does not fit in a long
+     */
+    private static long count(final int size) {
+        if (size > MAX_COUNTABLE_SIZE) {
+            throw new IllegalArgumentException("The number of permutations of " + size + " elements does not fit in a long");
+        }
+        long count = 1;
+        for (int i = 2; i <= size; i++) {
+            count *= i;
+        }
+        return count;
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the permutations of a collection, in the
+     * order of this iterator. It splits the permutations by index range, so that
+     * they can be generated in parallel, for example with
+     * {@code StreamSupport.stream(PermutationIterator.spliterator(collection), true)}.
+     *
+     * @param <E>  the type of the objects being permuted
+     * @param collection  the collection to generate permutations for, copied
+     * @return a spliterator over the permutations
+     * @throws NullPointerException if collection is null
+     * @throws IllegalArgumentException if the collection has more than 20 elements,
+     *         so that the number of permutations does not fit in a long
+     * @since 4.5.1
+     */
+    public static <E> Spliterator<List<E>> spliterator(final Collection<? extends E> collection) {
+        final List<E> elements = new ArrayList<>(Objects.requireNonNull(collection, "collection"));
+        return new IndexRangeSpliterator<>(index -> {
+            final PermutationIterator<E> iterator = new PermutationIterator<>(elements);
+            iterator.seek(index);
+            return iterator;
+        }, 0, count(elements.size()));
+    }
+
     /**
      * Permutation is done on these keys to handle equal objects.
+     * They hold the permutation to return next.
      */
     private final int[] keys;
 
     /**
-     * Mapping between keys and objects.
+     * The objects, the key k standing for the object at index k - 1.
      */
-    private final Map<Integer, E> objectMap;
+    private final Object[] objects;
 
     /**
      * Direction table used in the algorithm:
@@ -64,10 +117,14 @@ public class PermutationIterator<E> implements Iterator<List<E>> {
     private final boolean[] direction;
 
     /**
-     * Next permutation to return. When a permutation is requested
-     * this instance is provided and the next one is computed.
+     * The index of the permutation to return next.
+     */
+    private long index;
+
+    /**
+     * Whether all the permutations have been returned.
      */
-    private List<E> nextPermutation;
+    private boolean exhausted;
 
     /**
      * Standard constructor for this class.
@@ -76,38 +133,19 @@ public class PermutationIterator<E> implements Iterator<List<E>> {
      */
     public PermutationIterator(final Collection<? extends E> collection) {
         Objects.requireNonNull(collection, "collection");
-        keys = new int[collection.size()];
-        direction = new boolean[collection.size()];
-        Arrays.fill(direction, false);
-        int value = 1;
-        objectMap = new HashMap<>();
-        for (final E e : collection) {
-            objectMap.put(Integer.valueOf(value), e);
-            keys[value - 1] = value;
-            value++;
+        objects = collection.toArray();
+        keys = new int[objects.length];
+        direction = new boolean[objects.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i + 1;
         }
-        nextPermutation = new ArrayList<>(collection);
     }
 
     /**
-     * Indicates if there are more permutation available.
-     * @return true if there are more permutations, otherwise false
+     * Moves the keys to the next permutation.
      */
-    @Override
-    public boolean hasNext() {
-        return nextPermutation != null;
-    }
-
-    /**
-     * Returns the next permutation of the input collection.
-     * @return a list of the permutator's elements representing a permutation
-     * @throws NoSuchElementException if there are no more permutations
-     */
-    @Override
-    public List<E> next() {
-        if (!hasNext()) {
-            throw new NoSuchElementException();
-        }
+    private void advance() {
+        index++;
 
         // find the largest mobile integer k
         int indexOfLargestMobileInteger = -1;
@@ -122,9 +160,8 @@ public class PermutationIterator<E> implements Iterator<List<E>> {
             }
         }
         if (largestKey == -1) {
-            final List<E> toReturn = nextPermutation;
-            nextPermutation = null;
-            return toReturn;
+            exhausted = true;
+            return;
         }
 
         // swap k and the adjacent integer it is looking at
@@ -136,22 +173,131 @@ public class PermutationIterator<E> implements Iterator<List<E>> {
         direction[indexOfLargestMobileInteger] = direction[indexOfLargestMobileInteger + offset];
         direction[indexOfLargestMobileInteger + offset] = tmpDirection;
 
-        // reverse the direction of all integers larger than k and build the result
-        final List<E> nextP = new ArrayList<>();
+        // reverse the direction of all integers larger than k
         for (int i = 0; i < keys.length; i++) {
             if (keys[i] > largestKey) {
                 direction[i] = !direction[i];
             }
-            nextP.add(objectMap.get(Integer.valueOf(keys[i])));
         }
-        final List<E> result = nextPermutation;
-        nextPermutation = nextP;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(final int key) {
+        return (E) objects[key - 1];
+    }
+
+    /**
+     * Indicates if there are more permutation available.
+     * @return true if there are more permutations, otherwise false
+     */
+    @Override
+    public boolean hasNext() {
+        return !exhausted;
+    }
+
+    /**
+     * Returns the next permutation of the input collection.
+     * @return a list of the permutator's elements representing a permutation
+     * @throws NoSuchElementException if there are no more permutations
+     */
+    @Override
+    public List<E> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final List<E> result = new ArrayList<>(keys.length);
+        for (final int key : keys) {
+            result.add(get(key));
+        }
+        advance();
         return result;
     }
 
+    /**
+     * Returns the next permutation of the input collection in an array, in the
+     * manner of {@link Collection#toArray(Object[])}: the given array is filled
+     * if it is large enough, and followed by {@code null} if it is larger.
+     * Passing the same array on each call avoids creating a list per permutation.
+     *
+     * @param array  the array to fill
+     * @return the array holding the permutation, a new one if the given array is too small
+     * @throws NoSuchElementException if there are no more permutations
+     * @throws NullPointerException if array is null
+     * @since 4.5.1
+     */
+    @SuppressWarnings("unchecked")
+    public E[] next(final E[] array) {
+        Objects.requireNonNull(array, "array");
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final E[] result = array.length >= keys.length ? array
+                : (E[]) Array.newInstance(array.getClass().getComponentType(), keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = get(keys[i]);
+        }
+        if (result.length > keys.length) {
+            result[keys.length] = null;
+        }
+        advance();
+        return result;
+    }
+
+    /**
+     * Gets the index of the permutation that {@link #next()} returns, that is the
+     * number of permutations returned so far when iterating from the start.
+     *
+     * @return the index of the next permutation, or the number of permutations
+     *         once they have all been returned
+     * @since 4.5.1
+     */
+    public long nextIndex() {
+        return index;
+    }
+
     @Override
     public void remove() {
         throw new UnsupportedOperationException("remove() is not supported");
     }
 
+    /**
+     * Positions this iterator so that {@link #next()} returns the permutation with the
+     * given index, without going through the permutations before it.
+     *
+     * @param index  the index of the permutation to return next, from 0 to the number of
+     *        permutations, which leaves the iterator exhausted
+     * @throws IndexOutOfBoundsException if the index is negative or larger than the number of permutations
+     * @since 4.5.1
+     */
+    public void seek(final long index) {
+        final int size = keys.length;
+        final long count = size > MAX_COUNTABLE_SIZE ? Long.MAX_VALUE : count(size);
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count);
+        }
+        this.index = index;
+        exhausted = index == count && size <= MAX_COUNTABLE_SIZE;
+        if (exhausted) {
+            return;
+        }
+        // the index among the permutations of the keys 1..k - 1 is that among those of 1..k divided by k
+        final long[] indices = new long[size + 1];
+        indices[size] = index;
+        for (int k = size; k > 1; k--) {
+            indices[k - 1] = indices[k] / k;
+        }
+        // insert the keys in increasing order: k sweeps right to left over each even
+        // permutation of the smaller keys, then left to right over each odd one
+        for (int k = 1; k <= size; k++) {
+            final long smaller = indices[k - 1];
+            final int step = (int) (indices[k] % k);
+            final boolean right = (smaller & 1) != 0;
+            final int position = right ? step : k - 1 - step;
+            System.arraycopy(keys, position, keys, position + 1, k - 1 - position);
+            System.arraycopy(direction, position, direction, position + 1, k - 1 - position);
+            keys[position] = k;
+            direction[position] = right;
+        }
+    }
+
 }
@@ -24,6 +24,14 @@ import org.apache.commons.collections4.functors.UniquePredicate;
  * A FilterIterator which only returns "unique" Objects.  Internally,
  * the Iterator maintains a Set of objects it has already encountered,
  * and duplicate Objects are skipped.
+ * <p>
+ * The Set grows with every distinct Object. To bound memory, use a
+ * {@link FilterIterator} with one of
+ * {@link org.apache.commons.collections4.PredicateUtils#sortedUniquePredicate() sortedUniquePredicate},
+ * {@link org.apache.commons.collections4.PredicateUtils#windowedUniquePredicate(int) windowedUniquePredicate} or
+ * {@link org.apache.commons.collections4.PredicateUtils#bloomFilterUniquePredicate(org.apache.commons.collections4.bloomfilter.Shape)
+ * bloomFilterUniquePredicate} instead.
+ * </p>
  *
  * @param <E> the type of elements returned by this iterator.
  * @since 2.1
@@ -28,6 +28,9 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.OrderedIterator;
@@ -223,6 +226,123 @@ public abstract class AbstractLinkedListJava21<E> implements List<E> {
 
     }
 
+    /**
+     * A spliterator over the linked list, binding to the list on first use.
+     * <p>
+     * A linked list cannot be split in the middle without walking to it, so
+     * {@link #trySplit()} copies a batch from the front into an array, making
+     * the batch larger on each split, as {@link java.util.LinkedList} does.
+     * </p>
+     *
+     * @param <E> the type of elements in this spliterator.
+     */
+    static class LinkedListSpliterator<E> implements Spliterator<E> {
+
+        /** The increase of the batch size on each split. */
+        private static final int BATCH_UNIT = 1 << 10;
+
+        /** The largest batch size. */
+        private static final int MAX_BATCH = 1 << 25;
+
+        /** The parent list */
+        private final AbstractLinkedListJava21<E> parent;
+
+        /** The next node, or null until the spliterator is bound to the list */
+        private Node<E> next;
+
+        /** The number of remaining elements, or -1 until bound */
+        private int remaining = -1;
+
+        /** The modification count that the list is expected to have */
+        private int expectedModCount;
+
+        /** The size of the last batch */
+        private int batch;
+
+        /**
+         * Create a Spliterator for a list.
+         *
+         * @param parent  the parent list
+         */
+        LinkedListSpliterator(final AbstractLinkedListJava21<E> parent) {
+            this.parent = parent;
+        }
+
+        private void bind() {
+            if (remaining < 0) {
+                next = parent.header.next;
+                remaining = parent.size;
+                expectedModCount = parent.modCount;
+            }
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkModCount() {
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            bind();
+            return remaining;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            bind();
+            Node<E> node = next;
+            for (int i = remaining; i > 0; i--) {
+                action.accept(node.getValue());
+                node = node.next;
+            }
+            next = node;
+            remaining = 0;
+            checkModCount();
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            bind();
+            if (remaining <= 0) {
+                return false;
+            }
+            final E value = next.getValue();
+            next = next.next;
+            remaining--;
+            action.accept(value);
+            checkModCount();
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            bind();
+            if (remaining <= 1) {
+                return null;
+            }
+            final int n = Math.min(Math.min(batch + BATCH_UNIT, remaining), MAX_BATCH);
+            final Object[] array = new Object[n];
+            Node<E> node = next;
+            for (int i = 0; i < n; i++) {
+                array[i] = node.getValue();
+                node = node.next;
+            }
+            next = node;
+            remaining -= n;
+            batch = n;
+            checkModCount();
+            return Spliterators.spliterator(array, 0, n, ORDERED);
+        }
+    }
+
     /**
      * The sublist implementation for AbstractLinkedListJava21.
      *
@@ -1058,6 +1178,22 @@ public abstract class AbstractLinkedListJava21<E> implements List<E> {
         return size;
     }
 
+    /**
+     * Creates a {@link Spliterator} over the elements in this list.
+     * <p>
+     * The spliterator knows the exact size of the list and splits off
+     * growing batches from the front, so that parallel streams get work
+     * without the list being copied up front.
+     * </p>
+     *
+     * @return a {@code Spliterator} over the elements in this list
+     * @since 4.5.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new LinkedListSpliterator<>(this);
+    }
+
     /**
      * Gets a sublist of the main list.
      *
@@ -0,0 +1,837 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.collections4.OrderedIterator;
+
+/**
+ * A {@code List} implementation that is optimized for fast insertions and
+ * removals at any index in the list, while keeping random access and
+ * iteration close to those of an {@code ArrayList}.
+ * <p>
+ * This list implementation utilises a B+-tree structure internally. The elements
+ * are stored in leaves holding arrays of up to 64 elements, linked to each other
+ * in list order, and the branches record the number of elements below each of
+ * their children. As a result:
+ * </p>
+ * <ul>
+ * <li>{@code get} and {@code set} visit O(log<sub>64</sub> n) nodes, typically
+ * three or four for millions of elements, instead of about log<sub>2</sub> n for
+ * {@link TreeList};</li>
+ * <li>iteration walks the leaf arrays in order, with one pointer step every
+ * few dozen elements;</li>
+ * <li>insertions and removals at any index shift at most one leaf array and
+ * rebalance O(log<sub>64</sub> n) nodes;</li>
+ * <li>memory use is close to that of an array, as there is no object per element.</li>
+ * </ul>
+ * <p>
+ * {@code ArrayList} remains the better choice when elements are only appended
+ * and read. {@code TreeList} is a good choice when the list is small or when
+ * elements are mostly inserted and removed near the iterators.
+ * </p>
+ * <p>
+ * <strong>Note that BTreeList is not synchronized and is not thread-safe.</strong>
+ * </p>
+ *
+ * @param <E> the type of the elements in the list.
+ * @since 4.5.1
+ */
+public class BTreeList<E> extends AbstractList<E> {
+
+    /**
+     * A branch, holding the children of the next level down.
+     */
+    private static final class Branch extends Node {
+
+        /** The children. */
+        final Node[] children = new Node[MAX_CHILDREN];
+
+        /** The number of elements below each child. */
+        final int[] sizes = new int[MAX_CHILDREN];
+
+        /** The number of children. */
+        int count;
+    }
+
+    /**
+     * A list iterator over the leaves.
+     */
+    private final class BTreeListIterator implements ListIterator<E>, OrderedIterator<E> {
+
+        /** The leaf of the next element, or null if it must be looked up again. */
+        private Leaf leaf;
+
+        /** The offset of the next element in the leaf. */
+        private int offset;
+
+        /** The index of the next element to be returned. */
+        private int nextIndex;
+
+        /** The index of the last element returned, or -1. */
+        private int currentIndex = -1;
+
+        /** The modification count that the list is expected to have. */
+        private int expectedModCount = modCount;
+
+        /**
+         * Create a ListIterator for the list.
+         *
+         * @param fromIndex  the index to start at
+         */
+        BTreeListIterator(final int fromIndex) {
+            this.nextIndex = fromIndex;
+        }
+
+        @Override
+        public void add(final E obj) {
+            checkModCount();
+            BTreeList.this.add(nextIndex++, obj);
+            leaf = null;
+            currentIndex = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks the modification count of the list is the value that this
+         * object expects.
+         *
+         * @throws ConcurrentModificationException If the list's modification
+         * count isn't the value that was expected.
+         */
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkModCount();
+            if (!hasNext()) {
+                throw new NoSuchElementException("No element at index " + nextIndex + ".");
+            }
+            if (leaf == null) {
+                seek(nextIndex);
+            }
+            if (offset == leaf.size) {
+                leaf = leaf.next;
+                offset = 0;
+            }
+            currentIndex = nextIndex++;
+            return (E) leaf.elements[offset++];
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkModCount();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("Already at start of list.");
+            }
+            if (leaf == null) {
+                seek(nextIndex);
+            }
+            if (offset == 0) {
+                leaf = leaf.prev;
+                offset = leaf.size;
+            }
+            currentIndex = --nextIndex;
+            return (E) leaf.elements[--offset];
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkModCount();
+            if (currentIndex == -1) {
+                throw new IllegalStateException();
+            }
+            BTreeList.this.remove(currentIndex);
+            if (nextIndex != currentIndex) {
+                // remove() following next()
+                nextIndex--;
+            }
+            // the leaves may have been split or merged, look the next element up again
+            leaf = null;
+            currentIndex = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Positions the iterator before the element at the specified index.
+         *
+         * @param index  the index, up to the size of the list
+         */
+        private void seek(final int index) {
+            int remaining = index;
+            Node node = root;
+            for (int level = height; level > 0; level--) {
+                final Branch branch = (Branch) node;
+                int i = 0;
+                while (i < branch.count - 1 && remaining >= branch.sizes[i]) {
+                    remaining -= branch.sizes[i];
+                    i++;
+                }
+                node = branch.children[i];
+            }
+            leaf = (Leaf) node;
+            offset = remaining;
+        }
+
+        @Override
+        public void set(final E obj) {
+            checkModCount();
+            if (currentIndex == -1) {
+                throw new IllegalStateException();
+            }
+            if (currentIndex == nextIndex) {
+                // set() following previous()
+                leaf.elements[offset] = obj;
+            } else {
+                leaf.elements[offset - 1] = obj;
+            }
+        }
+    }
+
+    /**
+     * A leaf, holding elements.
+     */
+    private static final class Leaf extends Node {
+
+        /** The elements. */
+        final Object[] elements = new Object[MAX_CHILDREN];
+
+        /** The previous leaf in list order. */
+        Leaf prev;
+
+        /** The next leaf in list order. */
+        Leaf next;
+    }
+
+    /**
+     * A node of the tree.
+     */
+    private abstract static class Node {
+
+        /** The number of elements below this node. */
+        int size;
+    }
+
+    /** The maximum number of elements of a leaf, and of children of a branch. */
+    private static final int MAX_CHILDREN = 64;
+
+    /** The number of elements of a leaf, or children of a branch, below which it is rebalanced. */
+    private static final int MIN_CHILDREN = MAX_CHILDREN / 4;
+
+    /** The number of elements of a leaf, or children of a branch, when building a tree. */
+    private static final int BUILD_CHILDREN = MAX_CHILDREN * 3 / 4;
+
+    /**
+     * Inserts a child into a branch, splitting the branch in halves if it is full.
+     * The size of the branch is expected to already count the elements of the child.
+     *
+     * @param branch  the branch
+     * @param pos  the position of the child
+     * @param child  the child
+     * @return the new right half of the branch, or null if it was not split
+     */
+    private static Branch insertChild(final Branch branch, final int pos, final Node child) {
+        if (branch.count < MAX_CHILDREN) {
+            System.arraycopy(branch.children, pos, branch.children, pos + 1, branch.count - pos);
+            System.arraycopy(branch.sizes, pos, branch.sizes, pos + 1, branch.count - pos);
+            branch.children[pos] = child;
+            branch.sizes[pos] = child.size;
+            branch.count++;
+            return null;
+        }
+        final int half = MAX_CHILDREN / 2;
+        final Branch right = new Branch();
+        branch.size -= child.size;
+        moveChildren(branch, half, right, 0, MAX_CHILDREN - half);
+        if (pos <= half) {
+            insertChild(branch, pos, child);
+            branch.size += child.size;
+        } else {
+            insertChild(right, pos - half, child);
+            right.size += child.size;
+        }
+        return right;
+    }
+
+    /**
+     * Inserts an element into a leaf, splitting the leaf if it is full.
+     *
+     * @param leaf  the leaf
+     * @param index  the index in the leaf
+     * @param obj  the element
+     * @return the new right part of the leaf, or null if it was not split
+     */
+    private static Leaf insertElement(final Leaf leaf, final int index, final Object obj) {
+        if (leaf.size < MAX_CHILDREN) {
+            System.arraycopy(leaf.elements, index, leaf.elements, index + 1, leaf.size - index);
+            leaf.elements[index] = obj;
+            leaf.size++;
+            return null;
+        }
+        final Leaf right = new Leaf();
+        right.next = leaf.next;
+        if (right.next != null) {
+            right.next.prev = right;
+        }
+        right.prev = leaf;
+        leaf.next = right;
+        if (index == MAX_CHILDREN && right.next == null) {
+            // appending to the list, keep the last leaf full
+            right.elements[0] = obj;
+            right.size = 1;
+            return right;
+        }
+        final int half = MAX_CHILDREN / 2;
+        moveElements(leaf, half, right, 0, MAX_CHILDREN - half);
+        if (index <= half) {
+            insertElement(leaf, index, obj);
+        } else {
+            insertElement(right, index - half, obj);
+        }
+        return right;
+    }
+
+    /**
+     * Moves the last children of a branch to the start of another branch, or the
+     * first children of a branch to the end of another branch, updating the sizes.
+     *
+     * @param from  the branch to move from
+     * @param fromPos  the position of the first child to move
+     * @param to  the branch to move to
+     * @param toPos  the position to move to, either 0 or the count of the target
+     * @param length  the number of children to move
+     */
+    private static void moveChildren(final Branch from, final int fromPos, final Branch to, final int toPos, final int length) {
+        int moved = 0;
+        for (int i = fromPos; i < fromPos + length; i++) {
+            moved += from.sizes[i];
+        }
+        System.arraycopy(to.children, toPos, to.children, toPos + length, to.count - toPos);
+        System.arraycopy(to.sizes, toPos, to.sizes, toPos + length, to.count - toPos);
+        System.arraycopy(from.children, fromPos, to.children, toPos, length);
+        System.arraycopy(from.sizes, fromPos, to.sizes, toPos, length);
+        to.count += length;
+        to.size += moved;
+        System.arraycopy(from.children, fromPos + length, from.children, fromPos, from.count - fromPos - length);
+        System.arraycopy(from.sizes, fromPos + length, from.sizes, fromPos, from.count - fromPos - length);
+        from.count -= length;
+        from.size -= moved;
+        Arrays.fill(from.children, from.count, from.count + length, null);
+        Arrays.fill(from.sizes, from.count, from.count + length, 0);
+    }
+
+    /**
+     * Moves the last elements of a leaf to the start of another leaf, or the first
+     * elements of a leaf to the end of another leaf.
+     *
+     * @param from  the leaf to move from
+     * @param fromIndex  the index of the first element to move
+     * @param to  the leaf to move to
+     * @param toIndex  the index to move to, either 0 or the size of the target
+     * @param length  the number of elements to move
+     */
+    private static void moveElements(final Leaf from, final int fromIndex, final Leaf to, final int toIndex, final int length) {
+        System.arraycopy(to.elements, toIndex, to.elements, toIndex + length, to.size - toIndex);
+        System.arraycopy(from.elements, fromIndex, to.elements, toIndex, length);
+        to.size += length;
+        System.arraycopy(from.elements, fromIndex + length, from.elements, fromIndex, from.size - fromIndex - length);
+        from.size -= length;
+        Arrays.fill(from.elements, from.size, from.size + length, null);
+    }
+
+    /**
+     * Rebalances an underfull child of a branch with a sibling, merging them if
+     * they fit in a single node, or sharing their children evenly otherwise.
+     *
+     * @param parent  the parent branch
+     * @param pos  the position of the underfull child
+     * @param level  the level of the child, 0 for a leaf
+     */
+    private static void rebalance(final Branch parent, final int pos, final int level) {
+        if (parent.count < 2) {
+            return;
+        }
+        final int left = pos > 0 ? pos - 1 : pos;
+        final int right = left + 1;
+        if (level == 0) {
+            final Leaf a = (Leaf) parent.children[left];
+            final Leaf b = (Leaf) parent.children[right];
+            if (a.size + b.size <= MAX_CHILDREN) {
+                moveElements(b, 0, a, a.size, b.size);
+                a.next = b.next;
+                if (a.next != null) {
+                    a.next.prev = a;
+                }
+                removeChild(parent, right);
+            } else {
+                final int target = (a.size + b.size) / 2;
+                if (a.size > target) {
+                    moveElements(a, target, b, 0, a.size - target);
+                } else {
+                    moveElements(b, 0, a, a.size, target - a.size);
+                }
+                parent.sizes[right] = b.size;
+            }
+            parent.sizes[left] = a.size;
+        } else {
+            final Branch a = (Branch) parent.children[left];
+            final Branch b = (Branch) parent.children[right];
+            if (a.count + b.count <= MAX_CHILDREN) {
+                moveChildren(b, 0, a, a.count, b.count);
+                removeChild(parent, right);
+            } else {
+                final int target = (a.count + b.count) / 2;
+                if (a.count > target) {
+                    moveChildren(a, target, b, 0, a.count - target);
+                } else {
+                    moveChildren(b, 0, a, a.count, target - a.count);
+                }
+                parent.sizes[right] = b.size;
+            }
+            parent.sizes[left] = a.size;
+        }
+    }
+
+    /**
+     * Removes a child from a branch, without changing the size of the branch.
+     *
+     * @param branch  the branch
+     * @param pos  the position of the child
+     */
+    private static void removeChild(final Branch branch, final int pos) {
+        System.arraycopy(branch.children, pos + 1, branch.children, pos, branch.count - pos - 1);
+        System.arraycopy(branch.sizes, pos + 1, branch.sizes, pos, branch.count - pos - 1);
+        branch.count--;
+        branch.children[branch.count] = null;
+        branch.sizes[branch.count] = 0;
+    }
+
+    /** The root of the tree */
+    private Node root;
+
+    /** The number of branch levels above the leaves */
+    private int height;
+
+    /** The current size of the list */
+    private int size;
+
+    /**
+     * Constructs a new empty list.
+     */
+    public BTreeList() {
+        root = new Leaf();
+    }
+
+    /**
+     * Constructs a new list that copies the specified collection.
+     *
+     * @param coll  the collection to copy
+     * @throws NullPointerException if the collection is null
+     */
+    public BTreeList(final Collection<? extends E> coll) {
+        build(coll.toArray());
+    }
+
+    /**
+     * Adds a new element to the list.
+     *
+     * @param index  the index to add before
+     * @param obj  the element to add
+     */
+    @Override
+    public void add(final int index, final E obj) {
+        checkInterval(index, 0, size);
+        modCount++;
+        final Node split = insert(root, height, index, obj);
+        if (split != null) {
+            final Branch branch = new Branch();
+            branch.children[0] = root;
+            branch.sizes[0] = root.size;
+            branch.children[1] = split;
+            branch.sizes[1] = split.size;
+            branch.count = 2;
+            branch.size = size + 1;
+            root = branch;
+            height++;
+        }
+        size++;
+    }
+
+    /**
+     * Builds a balanced tree of the elements, with leaves and branches three quarters full.
+     *
+     * @param array  the elements
+     */
+    private void build(final Object[] array) {
+        final int length = array.length;
+        Node[] nodes = new Node[Math.max(1, (length + BUILD_CHILDREN - 1) / BUILD_CHILDREN)];
+        Leaf prev = null;
+        for (int i = 0, from = 0; i < nodes.length; i++) {
+            final Leaf leaf = new Leaf();
+            leaf.size = (length - from) / (nodes.length - i);
+            System.arraycopy(array, from, leaf.elements, 0, leaf.size);
+            from += leaf.size;
+            leaf.prev = prev;
+            if (prev != null) {
+                prev.next = leaf;
+            }
+            prev = leaf;
+            nodes[i] = leaf;
+        }
+        int levels = 0;
+        while (nodes.length > 1) {
+            final Node[] parents = new Node[(nodes.length + BUILD_CHILDREN - 1) / BUILD_CHILDREN];
+            for (int i = 0, from = 0; i < parents.length; i++) {
+                final Branch branch = new Branch();
+                branch.count = (nodes.length - from) / (parents.length - i);
+                for (int c = 0; c < branch.count; c++) {
+                    final Node child = nodes[from++];
+                    branch.children[c] = child;
+                    branch.sizes[c] = child.size;
+                    branch.size += child.size;
+                }
+                parents[i] = branch;
+            }
+            nodes = parents;
+            levels++;
+        }
+        root = nodes[0];
+        height = levels;
+        size = length;
+    }
+
+    /**
+     * Checks whether the index is valid.
+     *
+     * @param index  the index to check
+     * @param startIndex  the first allowed index
+     * @param endIndex  the last allowed index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    private void checkInterval(final int index, final int startIndex, final int endIndex) {
+        if (index < startIndex || index > endIndex) {
+            throw new IndexOutOfBoundsException("Invalid index:" + index + ", size=" + size());
+        }
+    }
+
+    /**
+     * Clears the list, removing all entries.
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        root = new Leaf();
+        height = 0;
+        size = 0;
+    }
+
+    /**
+     * Searches for the presence of an object in the list.
+     *
+     * @param object  the object to check
+     * @return true if the object is found
+     */
+    @Override
+    public boolean contains(final Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    /**
+     * Gets the first leaf.
+     *
+     * @return the first leaf
+     */
+    private Leaf firstLeaf() {
+        Node node = root;
+        for (int level = height; level > 0; level--) {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param index  the index to retrieve
+     * @return the element at the specified index
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        checkInterval(index, 0, size - 1);
+        int remaining = index;
+        Node node = root;
+        for (int level = height; level > 0; level--) {
+            final Branch branch = (Branch) node;
+            int i = 0;
+            while (remaining >= branch.sizes[i]) {
+                remaining -= branch.sizes[i];
+                i++;
+            }
+            node = branch.children[i];
+        }
+        return (E) ((Leaf) node).elements[remaining];
+    }
+
+    /**
+     * Searches for the index of an object in the list.
+     *
+     * @param object  the object to search
+     * @return the index of the object, -1 if not found
+     */
+    @Override
+    public int indexOf(final Object object) {
+        int base = 0;
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            final Object[] elements = leaf.elements;
+            for (int i = 0; i < leaf.size; i++) {
+                if (object == null ? elements[i] == null : object.equals(elements[i])) {
+                    return base + i;
+                }
+            }
+            base += leaf.size;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts an element below a node.
+     *
+     * @param node  the node
+     * @param level  the level of the node, 0 for a leaf
+     * @param index  the index relative to the node
+     * @param obj  the element
+     * @return the new right part of the node, or null if it was not split
+     */
+    private Node insert(final Node node, final int level, final int index, final Object obj) {
+        if (level == 0) {
+            return insertElement((Leaf) node, index, obj);
+        }
+        final Branch branch = (Branch) node;
+        int remaining = index;
+        int i = 0;
+        while (i < branch.count - 1 && remaining > branch.sizes[i]) {
+            remaining -= branch.sizes[i];
+            i++;
+        }
+        final Node child = branch.children[i];
+        final Node split = insert(child, level - 1, remaining, obj);
+        branch.sizes[i] = child.size;
+        branch.size++;
+        return split == null ? null : insertChild(branch, i + 1, split);
+    }
+
+    /**
+     * Gets an iterator over the list.
+     *
+     * @return an iterator over the list
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Searches for the last index of an object in the list.
+     *
+     * @param object  the object to search
+     * @return the last index of the object, -1 if not found
+     */
+    @Override
+    public int lastIndexOf(final Object object) {
+        Node node = root;
+        for (int level = height; level > 0; level--) {
+            final Branch branch = (Branch) node;
+            node = branch.children[branch.count - 1];
+        }
+        int end = size;
+        for (Leaf leaf = (Leaf) node; leaf != null; leaf = leaf.prev) {
+            end -= leaf.size;
+            final Object[] elements = leaf.elements;
+            for (int i = leaf.size - 1; i >= 0; i--) {
+                if (object == null ? elements[i] == null : object.equals(elements[i])) {
+                    return end + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a ListIterator over the list.
+     *
+     * @return the new iterator
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Gets a ListIterator over the list.
+     *
+     * @param fromIndex  the index to start from
+     * @return the new iterator
+     */
+    @Override
+    public ListIterator<E> listIterator(final int fromIndex) {
+        checkInterval(fromIndex, 0, size);
+        return new BTreeListIterator(fromIndex);
+    }
+
+    /**
+     * Removes the element at the specified index.
+     *
+     * @param index  the index to remove
+     * @return the previous object at that index
+     */
+    @Override
+    public E remove(final int index) {
+        checkInterval(index, 0, size - 1);
+        modCount++;
+        final E result = removeElement(root, height, index);
+        size--;
+        if (height > 0 && ((Branch) root).count == 1) {
+            root = ((Branch) root).children[0];
+            height--;
+        }
+        return result;
+    }
+
+    /**
+     * Removes an element below a node.
+     *
+     * @param node  the node
+     * @param level  the level of the node, 0 for a leaf
+     * @param index  the index relative to the node
+     * @return the removed element
+     */
+    @SuppressWarnings("unchecked")
+    private E removeElement(final Node node, final int level, final int index) {
+        if (level == 0) {
+            final Leaf leaf = (Leaf) node;
+            final E result = (E) leaf.elements[index];
+            System.arraycopy(leaf.elements, index + 1, leaf.elements, index, leaf.size - index - 1);
+            leaf.elements[--leaf.size] = null;
+            return result;
+        }
+        final Branch branch = (Branch) node;
+        int remaining = index;
+        int i = 0;
+        while (remaining >= branch.sizes[i]) {
+            remaining -= branch.sizes[i];
+            i++;
+        }
+        final Node child = branch.children[i];
+        final E result = removeElement(child, level - 1, remaining);
+        branch.sizes[i]--;
+        branch.size--;
+        if ((level == 1 ? child.size : ((Branch) child).count) < MIN_CHILDREN) {
+            rebalance(branch, i, level - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Sets the element at the specified index.
+     *
+     * @param index  the index to set
+     * @param obj  the object to store at the specified index
+     * @return the previous object at that index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(final int index, final E obj) {
+        checkInterval(index, 0, size - 1);
+        int remaining = index;
+        Node node = root;
+        for (int level = height; level > 0; level--) {
+            final Branch branch = (Branch) node;
+            int i = 0;
+            while (remaining >= branch.sizes[i]) {
+                remaining -= branch.sizes[i];
+                i++;
+            }
+            node = branch.children[i];
+        }
+        final Object[] elements = ((Leaf) node).elements;
+        final E result = (E) elements[remaining];
+        elements[remaining] = obj;
+        return result;
+    }
+
+    /**
+     * Gets the current size of the list.
+     *
+     * @return the current size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Converts the list into an array.
+     *
+     * @return the list as an array
+     */
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        int pos = 0;
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            System.arraycopy(leaf.elements, 0, array, pos, leaf.size);
+            pos += leaf.size;
+        }
+        return array;
+    }
+
+}
@@ -25,6 +25,8 @@ import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.OrderedIterator;
@@ -425,6 +427,111 @@ public class TreeList<E> extends AbstractList<E> {
             return ret;
         }
 
+        /**
+         * Joins two trees around a middle node, either tree being null when empty.
+         * This operation is destructive and runs in O(1 + |h<sub>1</sub> - h<sub>2</sub>|) time,
+         * where h<sub>1</sub> and h<sub>2</sub> are the heights of the trees: the middle node
+         * replaces the subtree of the taller tree, along its inner edge, of the height of the
+         * other tree, with that subtree and the other tree as children.
+         * <p>
+         * The threads of the nodes next to the middle node must already point to it,
+         * and the threads of the middle node are kept on a side without tree.
+         * </p>
+         *
+         * @param <E> the type of the elements in the list.
+         * @param first  the root of the first tree
+         * @param firstSize  the number of elements in the first tree
+         * @param middle  the middle node, detached from any tree
+         * @param second  the root of the second tree
+         * @return the root of the joined tree
+         */
+        private static <E> AVLNode<E> join(final AVLNode<E> first, final int firstSize, final AVLNode<E> middle,
+                final AVLNode<E> second) {
+            final int firstHeight = middle.getHeight(first);
+            final int secondHeight = middle.getHeight(second);
+            // a thread of the middle node is kept when there is nothing on its side
+            final AVLNode<E> previous = middle.leftIsPrevious ? middle.left : null;
+            final AVLNode<E> next = middle.rightIsNext ? middle.right : null;
+            final Deque<AVLNode<E>> sAncestors = new ArrayDeque<>();
+            if (secondHeight > firstHeight + 1) {
+                // navigate left from the root of the second tree to a subtree, s,
+                // no taller than the first tree plus one
+                AVLNode<E> s = second;
+                int sAbsolutePosition = s.relativePosition;
+                int sParentAbsolutePosition = 0;
+                while (s != null && s.height > firstHeight + 1) {
+                    sParentAbsolutePosition = sAbsolutePosition;
+                    sAncestors.push(s);
+                    s = s.getLeftSubTree();
+                    if (s != null) {
+                        sAbsolutePosition += s.relativePosition;
+                    }
+                }
+                if (first != null) {
+                    first.relativePosition -= firstSize;
+                }
+                if (s != null) {
+                    s.relativePosition = sAbsolutePosition + 1;
+                }
+                middle.setLeft(first, previous);
+                middle.setRight(s, sAncestors.peek());
+                middle.relativePosition = -sParentAbsolutePosition - 1;
+                second.relativePosition += firstSize + 1;
+                s = middle;
+                while (!sAncestors.isEmpty()) {
+                    final AVLNode<E> sAncestor = sAncestors.pop();
+                    sAncestor.setLeft(s, null);
+                    s = sAncestor.balance();
+                }
+                return s;
+            }
+            // navigate right from the root of the first tree to a subtree, s,
+            // no taller than the second tree plus one
+            AVLNode<E> s = first;
+            int sAbsolutePosition = s == null ? 0 : s.relativePosition;
+            int sParentAbsolutePosition = 0;
+            while (s != null && s.height > secondHeight + 1) {
+                sParentAbsolutePosition = sAbsolutePosition;
+                sAncestors.push(s);
+                s = s.getRightSubTree();
+                if (s != null) {
+                    sAbsolutePosition += s.relativePosition;
+                }
+            }
+            if (s != null) {
+                s.relativePosition = sAbsolutePosition - firstSize;
+            }
+            if (second != null) {
+                second.relativePosition++;
+            }
+            middle.setLeft(s, sAncestors.isEmpty() ? previous : sAncestors.peek());
+            middle.setRight(second, next);
+            middle.relativePosition = firstSize - sParentAbsolutePosition;
+            s = middle;
+            while (!sAncestors.isEmpty()) {
+                final AVLNode<E> sAncestor = sAncestors.pop();
+                sAncestor.setRight(s, null);
+                s = sAncestor.balance();
+            }
+            return s;
+        }
+
+        /**
+         * Joins two trees, either of which may be null when empty.
+         *
+         * @param <E> the type of the elements in the list.
+         * @param first  the root of the first tree
+         * @param firstSize  the number of elements in the first tree
+         * @param second  the root of the second tree
+         * @return the root of the joined tree
+         */
+        private static <E> AVLNode<E> join(final AVLNode<E> first, final int firstSize, final AVLNode<E> second) {
+            if (first == null) {
+                return second;
+            }
+            return second == null ? first : first.addAll(second, firstSize);
+        }
+
         /**
          * Gets the rightmost child of this node.
          *
@@ -662,6 +769,70 @@ public class TreeList<E> extends AbstractList<E> {
             this.value = obj;
         }
 
+        /**
+         * Splits this tree in two trees, the first one holding the elements before
+         * the given index and the second one the others. This operation is destructive
+         * and runs in O(log n) time: the descent detaches the nodes on the path to the
+         * index, and joins each of them with its subtree on the far side of the index
+         * to the matching part, the heights of the parts growing along the way.
+         *
+         * @param index
+         *            the number of elements of the first tree
+         * @param currentSize
+         *            the number of elements in this AVL tree
+         * @return the roots of the two trees, null for an empty tree
+         */
+        private SplitTrees<E> split(final int index, final int currentSize) {
+            final SplitTrees<E> parts = new SplitTrees<>();
+            splitPath(index, currentSize, parts);
+            // the threads at the new ends still point to the other part
+            if (parts.left != null) {
+                parts.left.max().setRight(null, null);
+            }
+            if (parts.right != null) {
+                parts.right.min().setLeft(null, null);
+            }
+            return parts;
+        }
+
+        /**
+         * Splits this tree in two trees, leaving the threads at the new ends unchanged.
+         *
+         * @param index
+         *            the number of elements of the first tree
+         * @param currentSize
+         *            the number of elements in this AVL tree
+         * @param parts
+         *            receives the roots of the two trees, null for an empty tree
+         */
+        private void splitPath(final int index, final int currentSize, final SplitTrees<E> parts) {
+            if (index == 0 || index == currentSize) {
+                parts.left = index == 0 ? null : this;
+                parts.right = index == 0 ? this : null;
+                return;
+            }
+            // detach both subtrees, as trees of their own, and this node; the threads
+            // to this node are kept, as this node is joined back next to them
+            final int leftSize = relativePosition;
+            final int rightSize = currentSize - leftSize - 1;
+            final AVLNode<E> leftTree = getLeftSubTree();
+            final AVLNode<E> rightTree = getRightSubTree();
+            if (leftTree != null) {
+                leftTree.relativePosition += leftSize;
+            }
+            if (rightTree != null) {
+                rightTree.relativePosition--;
+            }
+            relativePosition = 0;
+            if (index <= leftSize) {
+                leftTree.splitPath(index, leftSize, parts);
+                parts.right = join(parts.right, leftSize - index, this, rightTree);
+                return;
+            }
+            rightTree.splitPath(index - leftSize - 1, rightSize, parts);
+            parts.left = join(leftTree, leftSize, this, parts.left);
+        }
+
         /**
          * Stores the node and its children into the array specified.
          *
@@ -900,6 +1071,117 @@ public class TreeList<E> extends AbstractList<E> {
         }
     }
 
+    /**
+     * The two trees that a split produces.
+     */
+    private static final class SplitTrees<E> {
+        /** The root of the tree before the index, null if empty */
+        private AVLNode<E> left;
+        /** The root of the tree from the index on, null if empty */
+        private AVLNode<E> right;
+    }
+
+    /**
+     * A spliterator over a range of the list, splitting the range in halves,
+     * which in the balanced tree are subtrees of about the same size.
+     * Each part looks its first node up once, then follows the threads.
+     */
+    private static final class TreeListSpliterator<E> implements Spliterator<E> {
+        /** The parent list */
+        private final TreeList<E> parent;
+        /** The index of the next element */
+        private int index;
+        /** The index after the last element */
+        private final int fence;
+        /** The next node, or null if it must be looked up */
+        private AVLNode<E> next;
+        /** The modification count that the list is expected to have */
+        private final int expectedModCount;
+
+        /**
+         * Create a Spliterator for a range of a list.
+         *
+         * @param parent  the parent list
+         * @param index  the index of the first element
+         * @param fence  the index after the last element
+         * @param next  the node of the first element, or null
+         * @param expectedModCount  the modification count expected
+         */
+        TreeListSpliterator(final TreeList<E> parent, final int index, final int fence, final AVLNode<E> next,
+                final int expectedModCount) {
+            this.parent = parent;
+            this.index = index;
+            this.fence = fence;
+            this.next = next;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkModCount() {
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (index < fence) {
+                AVLNode<E> node = next == null ? parent.root.get(index) : next;
+                for (; index < fence; index++) {
+                    action.accept(node.getValue());
+                    node = node.next();
+                }
+                next = null;
+            }
+            checkModCount();
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= fence) {
+                return false;
+            }
+            if (next == null) {
+                next = parent.root.get(index);
+            }
+            final E value = next.getValue();
+            next = next.next();
+            index++;
+            action.accept(value);
+            checkModCount();
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int mid = index + fence >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            final Spliterator<E> prefix = new TreeListSpliterator<>(parent, index, mid, next, expectedModCount);
+            index = mid;
+            next = null;
+            return prefix;
+        }
+    }
+
+    /**
+     * The number of elements below which range insertions and removals go element
+     * by element, which is faster than splitting and joining the tree.
+     */
+    private static final int BULK_THRESHOLD = 32;
+
     /** The root node in the AVL tree */
     private AVLNode<E> root;
 
@@ -968,6 +1250,51 @@ public class TreeList<E> extends AbstractList<E> {
         return true;
     }
 
+    /**
+     * Inserts all the elements in the specified collection at the specified index,
+     * in the order that they are returned by the specified collection's Iterator.
+     * <p>
+     * This method runs in O(n + log m) time, where m is the size of this list
+     * and n is the size of {@code c}: the collection is built into a tree,
+     * which is joined between the two parts of this list.
+     * </p>
+     *
+     * @param index  the index at which to insert the first element
+     * @param c  the collection to be added to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws NullPointerException if the specified collection is null
+     * @since 4.5.1
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(final int index, final Collection<? extends E> c) {
+        checkInterval(index, 0, size());
+        if (c.isEmpty()) {
+            return false;
+        }
+        final int cSize = c.size();
+        if (cSize < BULK_THRESHOLD && root != null) {
+            // copy first, as the collection may be a view of this list
+            int i = index;
+            for (final Object obj : c.toArray()) {
+                add(i++, (E) obj);
+            }
+            return true;
+        }
+        // build the tree first, as the collection may be a view of this list
+        final AVLNode<E> cTree = new AVLNode<>(c);
+        modCount++;
+        if (root == null) {
+            root = cTree;
+        } else {
+            final SplitTrees<E> parts = root.split(index, size);
+            root = AVLNode.join(AVLNode.join(parts.left, index, cTree), index + cSize, parts.right);
+        }
+        size += cSize;
+        return true;
+    }
+
     /**
      * Checks whether the index is valid.
      *
@@ -1041,6 +1368,35 @@ public class TreeList<E> extends AbstractList<E> {
         return listIterator(0);
     }
 
+    /**
+     * Moves all the elements of another list to the end of this list, leaving
+     * the other list empty.
+     * <p>
+     * This method runs in O(log(m + n)) time, where m is the size of this list
+     * and n is the size of the other list, as the two trees are joined.
+     * </p>
+     *
+     * @param other  the list whose elements to move
+     * @throws NullPointerException if the other list is null
+     * @throws IllegalArgumentException if the other list is this list
+     * @since 4.5.1
+     */
+    @SuppressWarnings("unchecked")
+    public void join(final TreeList<? extends E> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot join a list to itself");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        modCount++;
+        other.modCount++;
+        root = AVLNode.join(root, size, (AVLNode<E>) other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
     /**
      * Gets a ListIterator over the list.
      *
@@ -1082,6 +1438,35 @@ public class TreeList<E> extends AbstractList<E> {
         return result;
     }
 
+    /**
+     * Removes the elements from {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive, as used by {@code subList(fromIndex, toIndex).clear()}.
+     * <p>
+     * This method runs in O(log n) time, whatever the number of elements removed,
+     * as the tree is split around the range and the outer parts are joined.
+     * </p>
+     *
+     * @param fromIndex  the index of the first element to remove
+     * @param toIndex  the index after the last element to remove
+     * @since 4.5.1
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        checkInterval(fromIndex, 0, size());
+        checkInterval(toIndex, fromIndex, size());
+        if (toIndex - fromIndex < BULK_THRESHOLD) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                remove(fromIndex);
+            }
+            return;
+        }
+        modCount++;
+        final SplitTrees<E> tail = root.split(toIndex, size);
+        final SplitTrees<E> head = tail.left.split(fromIndex, toIndex);
+        root = AVLNode.join(head.left, fromIndex, tail.right);
+        size -= toIndex - fromIndex;
+    }
+
     /**
      * Sets the element at the specified index.
      *
@@ -1109,6 +1494,49 @@ public class TreeList<E> extends AbstractList<E> {
         return size;
     }
 
+    /**
+     * Removes the elements from the specified index to the end of this list and
+     * returns them in a new list.
+     * <p>
+     * This method runs in O(log n) time, as the tree is split rather than copied.
+     * </p>
+     *
+     * @param fromIndex  the index of the first element to move to the new list
+     * @return a new list of the elements from the index to the end of this list
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @since 4.5.1
+     */
+    public TreeList<E> split(final int fromIndex) {
+        checkInterval(fromIndex, 0, size());
+        final TreeList<E> tail = new TreeList<>();
+        if (fromIndex == size) {
+            return tail;
+        }
+        modCount++;
+        final SplitTrees<E> parts = root.split(fromIndex, size);
+        root = parts.left;
+        tail.root = parts.right;
+        tail.size = size - fromIndex;
+        size = fromIndex;
+        return tail;
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the elements in this list.
+     * <p>
+     * The spliterator splits its range in halves without traversing the list,
+     * and each part looks its first element up in O(log n) time, so that
+     * parallel streams scale with the number of parts.
+     * </p>
+     *
+     * @return a {@code Spliterator} over the elements in this list
+     * @since 4.5.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new TreeListSpliterator<>(this, 0, size, null, modCount);
+    }
+
     /**
      * Converts the list into an array.
      *
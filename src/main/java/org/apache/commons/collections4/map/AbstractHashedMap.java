@@ -30,6 +30,9 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableMap;
@@ -121,6 +124,11 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         public int size() {
             return parent.size();
         }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return parent.createEntrySetSpliterator();
+        }
     }
 
     /**
@@ -393,6 +401,144 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         }
     }
 
+    /**
+     * A spliterator over a range of the buckets of the map, binding to the
+     * map on first use. It splits the range of buckets in halves, so that
+     * each part holds about half of the entries of a well-spread map.
+     *
+     * @param <K> the type of the keys in the map
+     * @param <V> the type of the values in the map
+     * @param <E> the type of elements returned by the spliterator
+     */
+    static class HashSpliterator<K, V, E> implements Spliterator<E> {
+
+        /** The parent map */
+        private final AbstractHashedMap<K, V> parent;
+
+        /** The function extracting the element from an entry */
+        private final Function<? super HashEntry<K, V>, ? extends E> extractor;
+
+        /** The characteristics of the spliterator other than SIZED */
+        private final int characteristics;
+
+        /** The next entry in the current bucket, or null */
+        private HashEntry<K, V> current;
+
+        /** The index of the next bucket */
+        private int index;
+
+        /** The index after the last bucket, or -1 until bound */
+        private int fence;
+
+        /** The estimated number of remaining entries */
+        private int estimate;
+
+        /** The modification count expected */
+        private int expectedModCount;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param parent  the parent map
+         * @param index  the index of the first bucket
+         * @param fence  the index after the last bucket, or -1 for all the buckets
+         * @param estimate  the estimated number of entries
+         * @param expectedModCount  the modification count expected
+         * @param extractor  the function extracting the element from an entry
+         * @param characteristics  the characteristics other than SIZED
+         */
+        HashSpliterator(final AbstractHashedMap<K, V> parent, final int index, final int fence, final int estimate,
+                final int expectedModCount, final Function<? super HashEntry<K, V>, ? extends E> extractor,
+                final int characteristics) {
+            this.parent = parent;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModCount = expectedModCount;
+            this.extractor = extractor;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public int characteristics() {
+            return fence < 0 || estimate == parent.size ? characteristics | SIZED : characteristics;
+        }
+
+        private void checkModCount() {
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            getFence();
+            return estimate;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            final HashEntry<K, V>[] data = parent.data;
+            HashEntry<K, V> entry = current;
+            current = null;
+            int i = index;
+            index = hi;
+            while (true) {
+                for (; entry != null; entry = entry.next) {
+                    action.accept(extractor.apply(entry));
+                }
+                if (i >= hi) {
+                    break;
+                }
+                entry = data[i++];
+            }
+            checkModCount();
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = parent.data.length;
+                estimate = parent.size;
+                expectedModCount = parent.modCount;
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            final HashEntry<K, V>[] data = parent.data;
+            while (current != null || index < hi) {
+                if (current == null) {
+                    current = data[index++];
+                } else {
+                    final HashEntry<K, V> entry = current;
+                    current = entry.next;
+                    action.accept(extractor.apply(entry));
+                    checkModCount();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence();
+            final int lo = index;
+            final int mid = lo + hi >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            estimate >>>= 1;
+            return new HashSpliterator<>(parent, lo, mid, estimate, expectedModCount, extractor, characteristics);
+        }
+    }
+
     /**
      * KeySet implementation.
      *
@@ -438,6 +584,11 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         public int size() {
             return parent.size();
         }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return parent.createKeySetSpliterator();
+        }
     }
 
     /**
@@ -501,6 +652,11 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         public int size() {
             return parent.size();
         }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return parent.createValuesSpliterator();
+        }
     }
 
     /**
@@ -875,6 +1031,18 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         return new EntrySetIterator<>(this);
     }
 
+    /**
+     * Creates an entry set spliterator.
+     * Subclasses that override {@link #createEntrySetIterator()} must override this too,
+     * as this spliterator walks the table directly.
+     *
+     * @return the entrySet spliterator
+     * @since 4.5.1
+     */
+    protected Spliterator<Map.Entry<K, V>> createEntrySetSpliterator() {
+        return new HashSpliterator<>(this, 0, -1, 0, 0, entry -> entry, Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a key set iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -888,6 +1056,18 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         return new KeySetIterator<>(this);
     }
 
+    /**
+     * Creates a key set spliterator.
+     * Subclasses that override {@link #createKeySetIterator()} must override this too,
+     * as this spliterator walks the table directly.
+     *
+     * @return the keySet spliterator
+     * @since 4.5.1
+     */
+    protected Spliterator<K> createKeySetSpliterator() {
+        return new HashSpliterator<>(this, 0, -1, 0, 0, HashEntry::getKey, Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a values iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -901,6 +1081,18 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         return new ValuesIterator<>(this);
     }
 
+    /**
+     * Creates a values spliterator.
+     * Subclasses that override {@link #createValuesIterator()} must override this too,
+     * as this spliterator walks the table directly.
+     *
+     * @return the values spliterator
+     * @since 4.5.1
+     */
+    protected Spliterator<V> createValuesSpliterator() {
+        return new HashSpliterator<>(this, 0, -1, 0, 0, HashEntry::getValue, 0);
+    }
+
     /**
      * Kills an entry ready for the garbage collector.
      * <p>
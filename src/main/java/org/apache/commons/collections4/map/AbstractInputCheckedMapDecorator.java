@@ -21,7 +21,10 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
 import org.apache.commons.collections4.iterators.AbstractIteratorDecorator;
+import org.apache.commons.collections4.iterators.AbstractMapIteratorDecorator;
 import org.apache.commons.collections4.keyvalue.AbstractMapEntryDecorator;
 import org.apache.commons.collections4.set.AbstractSetDecorator;
 
@@ -127,6 +130,21 @@ abstract class AbstractInputCheckedMapDecorator<K, V>
         }
     }
 
+    /**
+     * Implements a map iterator that checks additions via setValue.
+     */
+    private final class MapIteratorWithCheck extends AbstractMapIteratorDecorator<K, V> {
+
+        protected MapIteratorWithCheck(final MapIterator<K, V> iterator) {
+            super(iterator);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            return getMapIterator().setValue(checkSetValue(value));
+        }
+    }
+
     /**
      * Implements a map entry that checks additions via setValue.
      */
@@ -190,6 +208,21 @@ abstract class AbstractInputCheckedMapDecorator<K, V>
         return map.entrySet();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The map iterator checks additions via setValue in the same way as the entry set.
+     * </p>
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        final MapIterator<K, V> it = super.mapIterator();
+        if (map instanceof IterableMap && isSetValueChecking()) {
+            return new MapIteratorWithCheck(it);
+        }
+        return it;
+    }
+
     /**
      * Hook method called to determine if {@code checkSetValue} has any effect.
      * <p>
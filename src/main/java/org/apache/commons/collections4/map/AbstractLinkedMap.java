@@ -21,6 +21,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.collections4.OrderedIterator;
 import org.apache.commons.collections4.OrderedMap;
@@ -508,6 +510,22 @@ public abstract class AbstractLinkedMap<K, V> extends AbstractHashedMap<K, V> im
         return new EntrySetIterator<>(this);
     }
 
+    /**
+     * Creates an entry set spliterator in iteration order.
+     * <p>
+     * The links cannot be cut in the middle without walking them, so the
+     * spliterator follows the iterator and splits by copying batches of
+     * elements into arrays. Parallel streams only gain on costly per-element work.
+     * </p>
+     *
+     * @return the entrySet spliterator
+     * @since 4.5.1
+     */
+    @Override
+    protected Spliterator<Map.Entry<K, V>> createEntrySetSpliterator() {
+        return Spliterators.spliterator(entrySet(), Spliterator.ORDERED | Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a key set iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -522,6 +540,18 @@ public abstract class AbstractLinkedMap<K, V> extends AbstractHashedMap<K, V> im
         return new KeySetIterator<>(this);
     }
 
+    /**
+     * Creates a key set spliterator in iteration order.
+     * Like {@link #createEntrySetSpliterator()}, it splits by copying batches.
+     *
+     * @return the keySet spliterator
+     * @since 4.5.1
+     */
+    @Override
+    protected Spliterator<K> createKeySetSpliterator() {
+        return Spliterators.spliterator(keySet(), Spliterator.ORDERED | Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a values iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -536,6 +566,18 @@ public abstract class AbstractLinkedMap<K, V> extends AbstractHashedMap<K, V> im
         return new ValuesIterator<>(this);
     }
 
+    /**
+     * Creates a values spliterator in iteration order.
+     * Like {@link #createEntrySetSpliterator()}, it splits by copying batches.
+     *
+     * @return the values spliterator
+     * @since 4.5.1
+     */
+    @Override
+    protected Spliterator<V> createValuesSpliterator() {
+        return Spliterators.spliterator(values(), Spliterator.ORDERED);
+    }
+
     /**
      * Gets the {@code after} field from a {@code LinkEntry}.
      * Used in subclasses that have no visibility of the field.
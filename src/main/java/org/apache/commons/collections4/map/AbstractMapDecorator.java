@@ -21,6 +21,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+
 /**
  * Provides a base decorator that enables additional functionality to be added
  * to a Map via decoration.
@@ -35,6 +38,12 @@ import java.util.Set;
  * implementation it would provide a loophole around the validation.
  * But, you might want that loophole, so this class is kept simple.
  * </p>
+ * <p>
+ * In the same way, {@link #mapIterator()} returns the map iterator of the
+ * wrapped map when that is an {@link IterableMap}, so that no entries are
+ * created. Subclasses that override {@link #entrySet()} should override
+ * {@code mapIterator()} as well.
+ * </p>
  *
  * @param <K> the type of the keys in the map
  * @param <V> the type of the values in the map
@@ -119,6 +128,24 @@ public abstract class AbstractMapDecorator<K, V> extends AbstractIterableMap<K,
         return decorated().keySet();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns the map iterator of the decorated map if it
+     * is an {@link IterableMap}, otherwise an adapter over {@link #entrySet()}.
+     * </p>
+     *
+     * @since 4.5.1
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        final Map<K, V> decorated = decorated();
+        if (decorated instanceof IterableMap) {
+            return ((IterableMap<K, V>) decorated).mapIterator();
+        }
+        return super.mapIterator();
+    }
+
     @Override
     public V put(final K key, final V value) {
         return decorated().put(key, value);
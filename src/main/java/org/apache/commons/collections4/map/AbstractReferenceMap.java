@@ -32,6 +32,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.collections4.MapIterator;
 import org.apache.commons.collections4.keyvalue.DefaultMapEntry;
@@ -669,6 +671,16 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
      */
     private transient ReferenceQueue<Object> queue;
 
+    /**
+     * The maximum number of references purged before each operation, 0 when unbounded.
+     */
+    private transient int purgeBatchSize;
+
+    /**
+     * The number of stale mappings purged.
+     */
+    private transient long purgeCount;
+
     /**
      * Constructor used during deserialization.
      */
@@ -768,6 +780,18 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return new ReferenceEntrySetIterator<>(this);
     }
 
+    /**
+     * Creates an entry set spliterator backed by the iterator, which skips cleared references,
+     * so that the size is not known in advance.
+     *
+     * @return the entrySet spliterator
+     * @since 4.5.1
+     */
+    @Override
+    protected Spliterator<Map.Entry<K, V>> createEntrySetSpliterator() {
+        return Spliterators.spliteratorUnknownSize(createEntrySetIterator(), Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a key set iterator.
      *
@@ -778,6 +802,18 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return new ReferenceKeySetIterator<>(this);
     }
 
+    /**
+     * Creates a key set spliterator backed by the iterator, which skips cleared references,
+     * so that the size is not known in advance.
+     *
+     * @return the keySet spliterator
+     * @since 4.5.1
+     */
+    @Override
+    protected Spliterator<K> createKeySetSpliterator() {
+        return Spliterators.spliteratorUnknownSize(createKeySetIterator(), Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a values iterator.
      *
@@ -788,6 +824,18 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return new ReferenceValuesIterator<>(this);
     }
 
+    /**
+     * Creates a values spliterator backed by the iterator, which skips cleared references,
+     * so that the size is not known in advance.
+     *
+     * @return the values spliterator
+     * @since 4.5.1
+     */
+    @Override
+    protected Spliterator<V> createValuesSpliterator() {
+        return Spliterators.spliteratorUnknownSize(createValuesIterator(), 0);
+    }
+
     /**
      * Replaces the superclass method to read the state of this class.
      * <p>
@@ -922,6 +970,28 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return super.getEntry(key);
     }
 
+    /**
+     * Gets the maximum number of collected references processed before each operation.
+     *
+     * @return the batch size, 0 when all the collected references are processed
+     * @see #setPurgeBatchSize(int)
+     * @since 4.5.1
+     */
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    /**
+     * Gets the number of stale mappings removed from this map since its creation,
+     * because their key or value was garbage collected.
+     *
+     * @return the number of purged mappings
+     * @since 4.5.1
+     */
+    public long getPurgeCount() {
+        return purgeCount;
+    }
+
     /**
      * Gets the hash code for a MapEntry.
      * Subclasses can override this, for example to use the identityHashCode.
@@ -1033,6 +1103,36 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         }
     }
 
+    /**
+     * Purges at most the given number of collected references from this map.
+     * <p>
+     * This lets the stale mappings be removed a batch at a time, for instance when the map
+     * is idle. Like {@link #purge()}, this method is not synchronized: a background thread
+     * may only call it while holding the lock that guards every other access to the map.
+     * </p>
+     *
+     * @param maxReferences  the maximum number of references to process
+     * @return the number of references processed, less than {@code maxReferences} once
+     *   no collected reference is left
+     * @throws IllegalArgumentException if {@code maxReferences} is negative
+     * @since 4.5.1
+     */
+    public int purge(final int maxReferences) {
+        if (maxReferences < 0) {
+            throw new IllegalArgumentException("maxReferences must not be negative: " + maxReferences);
+        }
+        int count = 0;
+        while (count < maxReferences) {
+            final Reference<?> ref = queue.poll();
+            if (ref == null) {
+                break;
+            }
+            purge(ref);
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Purges the specified reference.
      *
@@ -1055,6 +1155,7 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
                     previous.next = entry.next;
                 }
                 size--;
+                purgeCount++;
                 refEntry.onPurge();
                 return;
             }
@@ -1071,20 +1172,31 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
     /**
      * Purges stale mappings from this map before read operations.
      * <p>
-     * This implementation calls {@link #purge()} to maintain a consistent state.
+     * This implementation calls {@link #purge()} to maintain a consistent state,
+     * or {@link #purge(int)} when a {@link #setPurgeBatchSize(int) purge batch size} is set.
+     * </p>
      */
     protected void purgeBeforeRead() {
-        purge();
+        if (purgeBatchSize > 0) {
+            purge(purgeBatchSize);
+        } else {
+            purge();
+        }
     }
 
     /**
      * Purges stale mappings from this map before write operations.
      * <p>
-     * This implementation calls {@link #purge()} to maintain a consistent state.
+     * This implementation calls {@link #purge()} to maintain a consistent state,
+     * or {@link #purge(int)} when a {@link #setPurgeBatchSize(int) purge batch size} is set.
      * </p>
      */
     protected void purgeBeforeWrite() {
-        purge();
+        if (purgeBatchSize > 0) {
+            purge(purgeBatchSize);
+        } else {
+            purge();
+        }
     }
 
     /**
@@ -1119,6 +1231,31 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return super.remove(key);
     }
 
+    /**
+     * Sets the maximum number of collected references processed before each operation.
+     * <p>
+     * By default all the references collected since the previous operation are processed,
+     * which can make a single operation slow after a garbage collection released many keys
+     * or values. With a positive batch size the work is spread over the following operations
+     * instead, at the cost of the stale mappings left being counted by {@link #size()} and
+     * visited, then skipped, by the iterators until they are purged. Call {@link #purge(int)}
+     * to catch up, for instance when the map is idle.
+     * </p>
+     * <p>
+     * The batch size is not serialized.
+     * </p>
+     *
+     * @param purgeBatchSize  the batch size, 0 to process all the collected references
+     * @throws IllegalArgumentException if the batch size is negative
+     * @since 4.5.1
+     */
+    public void setPurgeBatchSize(final int purgeBatchSize) {
+        if (purgeBatchSize < 0) {
+            throw new IllegalArgumentException("purgeBatchSize must not be negative: " + purgeBatchSize);
+        }
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
     /**
      * Gets the size of the map.
      *
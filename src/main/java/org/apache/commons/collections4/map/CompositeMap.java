@@ -20,10 +20,15 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.ResettableIterator;
 import org.apache.commons.collections4.collection.CompositeCollection;
+import org.apache.commons.collections4.iterators.EntrySetMapIterator;
 import org.apache.commons.collections4.set.CompositeSet;
 
 /**
@@ -47,6 +52,86 @@ import org.apache.commons.collections4.set.CompositeSet;
  */
 public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Serializable {
 
+    /**
+     * MapIterator that chains the map iterators of the composited maps, in the
+     * same order as {@link #entrySet()}.
+     */
+    private final class CompositeMapIterator implements MapIterator<K, V>, ResettableIterator<K> {
+
+        /** The composited maps when the iterator was created */
+        private final Map<K, V>[] maps = composite;
+
+        /** The index of the next map to iterate, counting down */
+        private int index;
+
+        /** The iterator over the current map */
+        private MapIterator<K, V> iterator;
+
+        /** The iterator that returned the last key */
+        private MapIterator<K, V> last;
+
+        CompositeMapIterator() {
+            reset();
+        }
+
+        private MapIterator<K, V> current() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            return last;
+        }
+
+        @Override
+        public K getKey() {
+            return current().getKey();
+        }
+
+        @Override
+        public V getValue() {
+            return current().getValue();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (iterator == null || !iterator.hasNext()) {
+                if (index < 0) {
+                    return false;
+                }
+                final Map<K, V> map = maps[index--];
+                iterator = map instanceof IterableMap ? ((IterableMap<K, V>) map).mapIterator() : new EntrySetMapIterator<>(map);
+            }
+            return true;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = iterator;
+            return last.next();
+        }
+
+        @Override
+        public void remove() {
+            current().remove();
+            last = null;
+        }
+
+        @Override
+        public void reset() {
+            index = maps.length - 1;
+            iterator = null;
+            last = null;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            return current().setValue(value);
+        }
+
+    }
+
     /**
      * This interface allows definition for all of the indeterminate
      * mutators in a CompositeMap, as well as providing a hook for
@@ -399,6 +484,22 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
         return keys;
     }
 
+    /**
+     * Gets a MapIterator over the composited maps, in the same order as
+     * {@link #entrySet()}.
+     * <p>
+     * Composited maps that are {@link IterableMap}s are walked with their own
+     * map iterator, so no entries are created for them.
+     * </p>
+     *
+     * @return the map iterator
+     * @since 4.5.1
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        return new CompositeMapIterator();
+    }
+
     /**
      * Associates the specified value with the specified key in this map
      * (optional operation).  If the map previously contained a mapping for
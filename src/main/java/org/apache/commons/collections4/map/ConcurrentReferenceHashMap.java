@@ -21,12 +21,6 @@
 
 package org.apache.commons.collections4.map;
 
-/*
- * Written by Doug Lea with assistance from members of JCP JSR-166
- * Expert Group and released to the public domain, as explained at
- * http://creativecommons.org/licenses/publicdomain
- */
-
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
@@ -34,7 +28,6 @@ import java.lang.ref.WeakReference;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.EnumSet;
@@ -47,12 +40,15 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+
 /**
  * An advanced hash map supporting configurable garbage collection semantics of keys and values, optional referential-equality, full concurrency of retrievals,
  * and adjustable expected concurrency for updates.
@@ -66,7 +62,7 @@ import java.util.function.Supplier;
  * other words, this map will not prevent a key from being discarded by the garbage collector. Once a key has been discarded by the collector, the corresponding
  * entry is no longer visible to this map; however, the entry may occupy space until a future map operation decides to reclaim it. For this reason, summary
  * functions such as {@code size} and {@code isEmpty} might return a value greater than the observed number of entries. In order to support a high level of
- * concurrency, stale entries are only reclaimed during blocking (usually mutating) operations.
+ * concurrency, stale entries are only reclaimed during mutating operations, or by {@link #purgeStaleEntries()}.
  * </p>
  * <p>
  * Enabling soft keys allows entries in this map to remain until their space is absolutely needed by the garbage collector. This is unlike weak keys which can
@@ -97,13 +93,11 @@ import java.util.function.Supplier;
  * {@link ConcurrentModificationException}. However, iterators are designed to be used by only one thread at a time.
  * </p>
  * <p>
- * The allowed concurrency among update operations is guided by the optional {@code concurrencyLevel} constructor argument (default
- * {@value #DEFAULT_CONCURRENCY_LEVEL}), which is used as a hint for internal sizing. The map is internally partitioned to try to permit the indicated number of
- * concurrent updates without contention. Because placement in hash tables is essentially random, the actual concurrency will vary. Ideally, you should choose a
- * value to accommodate as many threads as will ever concurrently modify the map. Using a significantly higher value than you need can waste space and time, and
- * a significantly lower value can lead to thread contention. But overestimates and underestimates within an order of magnitude do not usually have much
- * noticeable impact. A value of one is appropriate when it is known that only one thread will modify and all others will only read. Also, resizing this or any
- * other kind of hash map is a relatively slow operation, so, when possible, it is a good idea that you provide estimates of expected map sizes in constructors.
+ * The map stores references to its keys and values in a {@link java.util.concurrent.ConcurrentHashMap}, which it relies on for concurrency: retrievals
+ * take no lock, an update locks at most the single bin of the table its key falls in, and resizing is shared among the updating threads instead of
+ * blocking them. The optional {@code concurrencyLevel} constructor argument (default {@value #DEFAULT_CONCURRENCY_LEVEL}) is only used as a hint for
+ * the initial sizing. Also, resizing this or any other kind of hash map is a relatively slow operation, so, when possible, it is a good idea that you
+ * provide estimates of expected map sizes in constructors.
  * </p>
  * <p>
  * This class and its views and iterators implement all of the <em>optional</em> methods of the {@link Map} and {@link Iterator} interfaces.
@@ -112,14 +106,15 @@ import java.util.function.Supplier;
  * Like {@link Hashtable} but unlike {@link HashMap}, this class does <em>not</em> allow {@code null} to be used as a key or value.
  * </p>
  * <p>
- * Provenance: Copied and edited from Apache Groovy git master at commit 77dc80a7512ceb2168b1bc866c3d0c69b002fe11; via Doug Lea, Jason T. Greene, with
- * assistance from members of JCP JSR-166, and Hazelcast.
+ * Provenance: The API and its documentation were originally copied and edited from Apache Groovy git master at commit
+ * 77dc80a7512ceb2168b1bc866c3d0c69b002fe11; via Doug Lea, Jason T. Greene, with assistance from members of JCP JSR-166, and Hazelcast. The segmented hash
+ * table of that implementation has since been replaced by the {@link ConcurrentHashMap} described above.
  * </p>
  *
  * @param <K> the type of keys maintained by this map.
  * @param <V> the type of mapped values.
  */
-public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, IterableMap<K, V> {
 
     /**
      * Builds new ConcurrentReferenceHashMap instances.
@@ -191,7 +186,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
         }
 
         /**
-         * Sets the estimated number of concurrently updating threads. The implementation performs internal sizing to try to accommodate this many threads.
+         * Sets the estimated number of concurrently updating threads, used as a hint for the initial sizing.
          *
          * @param concurrencyLevel estimated number of concurrently updating threads
          * @return this instance.
@@ -329,24 +324,21 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
     }
 
-    /**
-     * The basic strategy is to subdivide the table among Segments, each of which itself is a concurrently readable hash table.
-     */
     private final class CachedEntryIterator extends HashIterator implements Iterator<Entry<K, V>> {
         private final InitializableEntry<K, V> entry = new InitializableEntry<>();
 
         @Override
         public Entry<K, V> next() {
-            final HashEntry<K, V> e = super.nextEntry();
-            return entry.init(e.key(), e.value());
+            nextEntry();
+            return entry.init(currentKey, currentValue);
         }
     }
 
     private final class EntryIterator extends HashIterator implements Iterator<Entry<K, V>> {
         @Override
         public Entry<K, V> next() {
-            final HashEntry<K, V> e = super.nextEntry();
-            return new WriteThroughEntry(e.key(), e.value());
+            nextEntry();
+            return new WriteThroughEntry(currentKey, currentValue);
         }
     }
 
@@ -397,117 +389,29 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
         }
     }
 
-    /**
-     * ConcurrentReferenceHashMap list entry. Note that this is never exported out as a user-visible Map.Entry.
-     * <p>
-     * Because the value field is volatile, not final, it is legal wrt the Java Memory Model for an unsynchronized reader to see null instead of initial value
-     * when read via a data race. Although a reordering leading to this is not likely to ever actually occur, the Segment.readValueUnderLock method is used as a
-     * backup in case a null (pre-initialized) value is ever seen in an unsynchronized access method.
-     * </p>
-     */
-    private static final class HashEntry<K, V> {
-
-        @SuppressWarnings("unchecked")
-        static <K, V> HashEntry<K, V>[] newArray(final int i) {
-            return new HashEntry[i];
-        }
-
-        private final Object keyRef;
-        private final int hash;
-        private volatile Object valueRef;
-        private final HashEntry<K, V> next;
-
-        HashEntry(final K key, final int hash, final HashEntry<K, V> next, final V value, final ReferenceType keyType, final ReferenceType valueType,
-                final ReferenceQueue<Object> refQueue) {
-            this.hash = hash;
-            this.next = next;
-            this.keyRef = newKeyReference(key, keyType, refQueue);
-            this.valueRef = newValueReference(value, valueType, refQueue);
-        }
-
-        @SuppressWarnings("unchecked")
-        V dereferenceValue(final Object value) {
-            if (value instanceof KeyReference) {
-                return ((Reference<V>) value).get();
-            }
-            return (V) value;
-        }
-
-        @SuppressWarnings("unchecked")
-        K key() {
-            if (keyRef instanceof KeyReference) {
-                return ((Reference<K>) keyRef).get();
-            }
-            return (K) keyRef;
-        }
-
-        Object newKeyReference(final K key, final ReferenceType keyType, final ReferenceQueue<Object> refQueue) {
-            if (keyType == ReferenceType.WEAK) {
-                return new WeakKeyReference<>(key, hash, refQueue);
-            }
-            if (keyType == ReferenceType.SOFT) {
-                return new SoftKeyReference<>(key, hash, refQueue);
-            }
-
-            return key;
-        }
-
-        Object newValueReference(final V value, final ReferenceType valueType, final ReferenceQueue<Object> refQueue) {
-            if (valueType == ReferenceType.WEAK) {
-                return new WeakValueReference<>(value, keyRef, hash, refQueue);
-            }
-            if (valueType == ReferenceType.SOFT) {
-                return new SoftValueReference<>(value, keyRef, hash, refQueue);
-            }
-
-            return value;
-        }
-
-        void setValue(final V value, final ReferenceType valueType, final ReferenceQueue<Object> refQueue) {
-            this.valueRef = newValueReference(value, valueType, refQueue);
-        }
-
-        V value() {
-            return dereferenceValue(valueRef);
-        }
-    }
-
     private abstract class HashIterator {
-        private int nextSegmentIndex;
-        private int nextTableIndex;
-        private HashEntry<K, V>[] currentTable;
-        private HashEntry<K, V> nextEntry;
-        private HashEntry<K, V> lastReturned;
-        // Strong reference to weak key (prevents gc)
-        private K currentKey;
+        private final Iterator<Entry<Object, Object>> iterator = map.entrySet().iterator();
+        private K nextKey;
+        private V nextValue;
+        // Strong references to the weak key and value returned last (prevents gc)
+        K currentKey;
+        V currentValue;
 
         private HashIterator() {
-            nextSegmentIndex = segments.length - 1;
-            nextTableIndex = -1;
             advance();
         }
 
         final void advance() {
-            if (nextEntry != null && (nextEntry = nextEntry.next) != null) {
-                return;
-            }
-            while (nextTableIndex >= 0) {
-                if ((nextEntry = currentTable[nextTableIndex--]) != null) {
+            while (iterator.hasNext()) {
+                final Entry<Object, Object> e = iterator.next();
+                nextKey = keyOf(e.getKey());
+                nextValue = valueOf(e.getValue());
+                if /* Skip GC'd keys and values */ (nextKey != null && nextValue != null) {
                     return;
                 }
             }
-            while (nextSegmentIndex >= 0) {
-                final Segment<K, V> seg = segments[nextSegmentIndex--];
-                if (seg.count != 0) {
-                    currentTable = seg.table;
-                    for (int j = currentTable.length - 1; j >= 0; --j) {
-                        if ((nextEntry = currentTable[j]) != null) {
-                            nextTableIndex = j - 1;
-                            return;
-                        }
-                    }
-                }
-            }
+            nextKey = null;
+            nextValue = null;
         }
 
         public boolean hasMoreElements() {
@@ -515,33 +419,61 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
         }
 
         public boolean hasNext() {
-            while (nextEntry != null) {
-                if (nextEntry.key() != null) {
-                    return true;
-                }
-                advance();
-            }
-            return false;
+            return nextKey != null;
         }
 
-        HashEntry<K, V> nextEntry() {
-            do {
-                if (nextEntry == null) {
-                    throw new NoSuchElementException();
-                }
-                lastReturned = nextEntry;
-                currentKey = lastReturned.key();
-                advance();
-            } while /* Skip GC'd keys */ (currentKey == null);
-            return lastReturned;
+        final void nextEntry() {
+            if (nextKey == null) {
+                throw new NoSuchElementException();
+            }
+            currentKey = nextKey;
+            currentValue = nextValue;
+            advance();
         }
 
         public void remove() {
-            if (lastReturned == null) {
+            if (currentKey == null) {
                 throw new IllegalStateException();
             }
             ConcurrentReferenceHashMap.this.remove(currentKey);
-            lastReturned = null;
+            currentKey = null;
+            currentValue = null;
+        }
+    }
+
+    private final class HashMapIterator extends HashIterator implements MapIterator<K, V> {
+        @Override
+        public K getKey() {
+            if (currentKey == null) {
+                throw new IllegalStateException();
+            }
+            return currentKey;
+        }
+
+        @Override
+        public V getValue() {
+            if (currentKey == null) {
+                throw new IllegalStateException();
+            }
+            return currentValue;
+        }
+
+        @Override
+        public K next() {
+            nextEntry();
+            return currentKey;
+        }
+
+        /**
+         * Sets the value and writes it through to the map, with the same caveats as {@link WriteThroughEntry#setValue(Object)}.
+         */
+        @Override
+        public V setValue(final V value) {
+            Objects.requireNonNull(value, "value");
+            final V v = getValue();
+            ConcurrentReferenceHashMap.this.put(currentKey, value);
+            currentValue = value;
+            return v;
         }
     }
 
@@ -574,19 +506,27 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     private final class KeyIterator extends HashIterator implements Iterator<K>, Enumeration<K> {
         @Override
         public K next() {
-            return super.nextEntry().key();
+            nextEntry();
+            return currentKey;
         }
 
         @Override
         public K nextElement() {
-            return super.nextEntry().key();
+            return next();
         }
     }
 
-    private interface KeyReference {
-        int keyHash();
+    /**
+     * A key of the underlying map standing for a key of this map: a reference to the key, or a holder comparing keys by identity.
+     */
+    private interface KeyHolder {
 
-        Object keyRef();
+        /**
+         * Gets the key.
+         *
+         * @return the key, {@code null} once collected.
+         */
+        Object key();
     }
 
     private final class KeySet extends AbstractSet<K> {
@@ -650,472 +590,6 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
         SOFT
     }
 
-    /**
-     * Segments are specialized versions of hash tables. This subclasses from ReentrantLock opportunistically, just to simplify some locking and avoid separate
-     * construction.
-     * <p>
-     * Segments maintain a table of entry lists that are ALWAYS kept in a consistent state, so they can be read without locking. Next fields of nodes are
-     * immutable (final). All list additions are performed at the front of each bin. This makes it easy to check changes, and also fast to traverse. When nodes
-     * would otherwise be changed, new nodes are created to replace them. This works well for hash tables since the bin lists tend to be short. (The average
-     * length is less than two for the default load factor threshold.)
-     * </p>
-     * <p>
-     * Read operations can thus proceed without locking, but rely on selected uses of volatiles to ensure that completed write operations performed by other
-     * threads are noticed. For most purposes, the "count" field, tracking the number of elements, serves as that volatile variable ensuring visibility. This is
-     * convenient because this field needs to be read in many read operations anyway:
-     * </p>
-     * <ul>
-     * <li>All (unsynchronized) read operations must first read the "count" field, and should not look at table entries if it is 0.</li>
-     * <li>All (synchronized) write operations should write to the "count" field after structurally changing any bin. The operations must not take any action
-     * that could even momentarily cause a concurrent read operation to see inconsistent data. This is made easier by the nature of the read operations in Map.
-     * For example, no operation can reveal that the table has grown but the threshold has not yet been updated, so there are no atomicity requirements for this
-     * with respect to reads.</li>
-     * </ul>
-     * <p>
-     * As a guide, all critical volatile reads and writes to the count field are marked in code comments.
-     * </p>
-     *
-     * @param <K> the type of keys maintained by this Segment.
-     * @param <V> the type of mapped values.
-     */
-    private static final class Segment<K, V> extends ReentrantLock {
-
-        private static final long serialVersionUID = 1L;
-
-        @SuppressWarnings("unchecked")
-        static <K, V> Segment<K, V>[] newArray(final int i) {
-            return new Segment[i];
-        }
-
-        /**
-         * The number of elements in this segment's region.
-         */
-        // @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification =
-        // "I trust Doug Lea's technical decision")
-        private transient volatile int count;
-
-        /**
-         * Number of updates that alter the size of the table. This is used during bulk-read methods to make sure they see a consistent snapshot: If modCounts
-         * change during a traversal of segments computing size or checking containsValue, then we might have an inconsistent view of state so (usually) we must
-         * retry.
-         */
-        // @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification =
-        // "I trust Doug Lea's technical decision")
-        private transient int modCount;
-
-        /**
-         * The table is rehashed when its size exceeds this threshold. (The value of this field is always <code>(int)(capacity *
-         * loadFactor)</code>.)
-         */
-        private transient int threshold;
-
-        /**
-         * The per-segment table.
-         */
-        private transient volatile HashEntry<K, V>[] table;
-
-        /**
-         * The load factor for the hash table. Even though this value is same for all segments, it is replicated to avoid needing links to outer object.
-         */
-        private final float loadFactor;
-
-        /**
-         * The collected weak-key reference queue for this segment. This should be (re)initialized whenever table is assigned,
-         */
-        private transient volatile ReferenceQueue<Object> refQueue;
-
-        private final ReferenceType keyType;
-
-        private final ReferenceType valueType;
-
-        private final boolean identityComparisons;
-
-        Segment(final int initialCapacity, final float loadFactor, final ReferenceType keyType, final ReferenceType valueType,
-                final boolean identityComparisons) {
-            this.loadFactor = loadFactor;
-            this.keyType = keyType;
-            this.valueType = valueType;
-            this.identityComparisons = identityComparisons;
-            setTable(HashEntry.<K, V>newArray(initialCapacity));
-        }
-
-        V apply(final K key, final int hash, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-            lock();
-            try {
-                final V oldValue = get(key, hash);
-                final V newValue = remappingFunction.apply(key, oldValue);
-
-                if (newValue == null) {
-                    // delete mapping
-                    if (oldValue != null) {
-                        // something to remove
-                        removeInternal(key, hash, oldValue, false);
-                    }
-                    return null;
-                }
-                // add or replace old mapping
-                putInternal(key, hash, newValue, null, false);
-                return newValue;
-            } finally {
-                unlock();
-            }
-        }
-
-        V applyIfPresent(final K key, final int hash, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-            lock();
-            try {
-                final V oldValue = get(key, hash);
-                if (oldValue == null) {
-                    return null;
-                }
-
-                final V newValue = remappingFunction.apply(key, oldValue);
-
-                if (newValue == null) {
-                    removeInternal(key, hash, oldValue, false);
-                    return null;
-                }
-                putInternal(key, hash, newValue, null, false);
-                return newValue;
-            } finally {
-                unlock();
-            }
-        }
-
-        void clear() {
-            if (count != 0) {
-                lock();
-                try {
-                    final HashEntry<K, V>[] tab = table;
-                    Arrays.fill(tab, null);
-                    ++modCount;
-                    // replace the reference queue to avoid unnecessary stale cleanups
-                    refQueue = new ReferenceQueue<>();
-                    // write-volatile
-                    count = 0;
-                } finally {
-                    unlock();
-                }
-            }
-        }
-
-        boolean containsKey(final Object key, final int hash) {
-            // read-volatile
-            if (count != 0) {
-                HashEntry<K, V> e = getFirst(hash);
-                while (e != null) {
-                    if (e.hash == hash && keyEq(key, e.key())) {
-                        return true;
-                    }
-                    e = e.next;
-                }
-            }
-            return false;
-        }
-
-        boolean containsValue(final Object value) {
-            // read-volatile
-            if (count != 0) {
-                final HashEntry<K, V>[] tab = table;
-                final int len = tab.length;
-                for (int i = 0; i < len; i++) {
-                    for (HashEntry<K, V> e = tab[i]; e != null; e = e.next) {
-                        final Object opaque = e.valueRef;
-                        final V v;
-                        if (opaque == null) {
-                            // recheck
-                            v = readValueUnderLock(e);
-                        } else {
-                            v = e.dereferenceValue(opaque);
-                        }
-                        if (Objects.equals(value, v)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-            return false;
-        }
-
-        /* Specialized implementations of map methods */
-        V get(final Object key, final int hash) {
-            // read-volatile
-            if (count != 0) {
-                HashEntry<K, V> e = getFirst(hash);
-                while (e != null) {
-                    if (e.hash == hash && keyEq(key, e.key())) {
-                        final Object opaque = e.valueRef;
-                        if (opaque != null) {
-                            return e.dereferenceValue(opaque);
-                        }
-                        // recheck
-                        return readValueUnderLock(e);
-                    }
-                    e = e.next;
-                }
-            }
-            return null;
-        }
-
-        /**
-         * Gets properly casted first entry of bin for given hash.
-         */
-        HashEntry<K, V> getFirst(final int hash) {
-            final HashEntry<K, V>[] tab = table;
-            return tab[hash & tab.length - 1];
-        }
-
-        V getValue(final K key, final V value, final Function<? super K, ? extends V> function) {
-            return value != null ? value : function.apply(key);
-        }
-
-        private boolean keyEq(final Object src, final Object dest) {
-            return identityComparisons ? src == dest : Objects.equals(src, dest);
-        }
-
-        HashEntry<K, V> newHashEntry(final K key, final int hash, final HashEntry<K, V> next, final V value) {
-            return new HashEntry<>(key, hash, next, value, keyType, valueType, refQueue);
-        }
-
-        /**
-         * This method must be called with exactly one of <code>value</code> and <code>function</code> non-null.
-         **/
-        V put(final K key, final int hash, final V value, final Function<? super K, ? extends V> function, final boolean onlyIfAbsent) {
-            lock();
-            try {
-                return putInternal(key, hash, value, function, onlyIfAbsent);
-            } finally {
-                unlock();
-            }
-        }
-
-        private V putInternal(final K key, final int hash, final V value, final Function<? super K, ? extends V> function, final boolean onlyIfAbsent) {
-            removeStale();
-            int c = count;
-            // ensure capacity
-            if (c++ > threshold) {
-                final int reduced = rehash();
-                // adjust from possible weak cleanups
-                if (reduced > 0) {
-                    // write-volatile
-                    count = (c -= reduced) - 1;
-                }
-            }
-            final HashEntry<K, V>[] tab = table;
-            final int index = hash & tab.length - 1;
-            final HashEntry<K, V> first = tab[index];
-            HashEntry<K, V> e = first;
-            while (e != null && (e.hash != hash || !keyEq(key, e.key()))) {
-                e = e.next;
-            }
-            final V resultValue;
-            if (e != null) {
-                resultValue = e.value();
-                if (!onlyIfAbsent) {
-                    e.setValue(getValue(key, value, function), valueType, refQueue);
-                }
-            } else {
-                final V v = getValue(key, value, function);
-                resultValue = function != null ? v : null;
-
-                if (v != null) {
-                    ++modCount;
-                    tab[index] = newHashEntry(key, hash, first, v);
-                    // write-volatile
-                    count = c;
-                }
-            }
-            return resultValue;
-        }
-
-        /**
-         * Reads value field of an entry under lock. Called if value field ever appears to be null. This is possible only if a compiler happens to reorder a
-         * HashEntry initialization with its table assignment, which is legal under memory model but is not known to ever occur.
-         */
-        V readValueUnderLock(final HashEntry<K, V> e) {
-            lock();
-            try {
-                removeStale();
-                return e.value();
-            } finally {
-                unlock();
-            }
-        }
-
-        int rehash() {
-            final HashEntry<K, V>[] oldTable = table;
-            final int oldCapacity = oldTable.length;
-            if (oldCapacity >= MAXIMUM_CAPACITY) {
-                return 0;
-            }
-            //
-            // Reclassify nodes in each list to new Map. Because we are using power-of-two expansion, the elements from each bin must either stay at the same
-            // index, or move with a power of two offset. We eliminate unnecessary node creation by catching cases where old nodes can be reused because their
-            // next fields won't change. Statistically, at the default threshold, only about one-sixth of them need cloning when a table doubles. The nodes they
-            // replace will be garbage collectable as soon as they are no longer referenced by any reader thread that may be in the midst of traversing table
-            // right now.
-            //
-            final HashEntry<K, V>[] newTable = HashEntry.newArray(oldCapacity << 1);
-            threshold = (int) (newTable.length * loadFactor);
-            final int sizeMask = newTable.length - 1;
-            int reduce = 0;
-            for (int i = 0; i < oldCapacity; i++) {
-                // We need to guarantee that any existing reads of old Map can
-                // proceed. So we cannot yet null out each bin.
-                final HashEntry<K, V> e = oldTable[i];
-                if (e != null) {
-                    final HashEntry<K, V> next = e.next;
-                    final int idx = e.hash & sizeMask;
-                    // Single node on list
-                    if (next == null) {
-                        newTable[idx] = e;
-                    } else {
-                        // Reuse trailing consecutive sequence at same slot
-                        HashEntry<K, V> lastRun = e;
-                        int lastIdx = idx;
-                        for (HashEntry<K, V> last = next; last != null; last = last.next) {
-                            final int k = last.hash & sizeMask;
-                            if (k != lastIdx) {
-                                lastIdx = k;
-                                lastRun = last;
-                            }
-                        }
-                        newTable[lastIdx] = lastRun;
-                        // Clone all remaining nodes
-                        for (HashEntry<K, V> p = e; p != lastRun; p = p.next) {
-                            // Skip GC'd weak refs
-                            final K key = p.key();
-                            if (key == null) {
-                                reduce++;
-                                continue;
-                            }
-                            final int k = p.hash & sizeMask;
-                            final HashEntry<K, V> n = newTable[k];
-                            newTable[k] = newHashEntry(key, p.hash, n, p.value());
-                        }
-                    }
-                }
-            }
-            table = newTable;
-            return reduce;
-        }
-
-        /**
-         * Removes match on key only if value is null, else match both.
-         */
-        V remove(final Object key, final int hash, final Object value, final boolean refRemove) {
-            lock();
-            try {
-                return removeInternal(key, hash, value, refRemove);
-            } finally {
-                unlock();
-            }
-        }
-
-        private V removeInternal(final Object key, final int hash, final Object value, final boolean refRemove) {
-            if (!refRemove) {
-                removeStale();
-            }
-            int c = count - 1;
-            final HashEntry<K, V>[] tab = table;
-            final int index = hash & tab.length - 1;
-            final HashEntry<K, V> first = tab[index];
-            HashEntry<K, V> e = first;
-            // a ref remove operation compares the Reference instance
-            while (e != null && key != e.keyRef && (refRemove || hash != e.hash || !keyEq(key, e.key()))) {
-                e = e.next;
-            }
-
-            V oldValue = null;
-            if (e != null) {
-                final V v = e.value();
-                if (value == null || value.equals(v)) {
-                    oldValue = v;
-                    // All entries following removed node can stay
-                    // in list, but all preceding ones need to be
-                    // cloned.
-                    ++modCount;
-                    HashEntry<K, V> newFirst = e.next;
-                    for (HashEntry<K, V> p = first; p != e; p = p.next) {
-                        final K pKey = p.key();
-                        // Skip GC'd keys
-                        if (pKey == null) {
-                            c--;
-                            continue;
-                        }
-                        newFirst = newHashEntry(pKey, p.hash, newFirst, p.value());
-                    }
-                    tab[index] = newFirst;
-                    // write-volatile
-                    count = c;
-                }
-            }
-            return oldValue;
-        }
-
-        void removeStale() {
-            KeyReference ref;
-            while ((ref = (KeyReference) refQueue.poll()) != null) {
-                remove(ref.keyRef(), ref.keyHash(), null, true);
-            }
-        }
-
-        V replace(final K key, final int hash, final V newValue) {
-            lock();
-            try {
-                return replaceInternal(key, hash, newValue);
-            } finally {
-                unlock();
-            }
-        }
-
-        boolean replace(final K key, final int hash, final V oldValue, final V newValue) {
-            lock();
-            try {
-                return replaceInternal2(key, hash, oldValue, newValue);
-            } finally {
-                unlock();
-            }
-        }
-
-        private V replaceInternal(final K key, final int hash, final V newValue) {
-            removeStale();
-            HashEntry<K, V> e = getFirst(hash);
-            while (e != null && (e.hash != hash || !keyEq(key, e.key()))) {
-                e = e.next;
-            }
-            V oldValue = null;
-            if (e != null) {
-                oldValue = e.value();
-                e.setValue(newValue, valueType, refQueue);
-            }
-            return oldValue;
-        }
-
-        private boolean replaceInternal2(final K key, final int hash, final V oldValue, final V newValue) {
-            removeStale();
-            HashEntry<K, V> e = getFirst(hash);
-            while (e != null && (e.hash != hash || !keyEq(key, e.key()))) {
-                e = e.next;
-            }
-            boolean replaced = false;
-            if (e != null && Objects.equals(oldValue, e.value())) {
-                replaced = true;
-                e.setValue(newValue, valueType, refQueue);
-            }
-            return replaced;
-        }
-
-        /**
-         * Sets table to new HashEntry array. Call only while holding lock or in constructor.
-         */
-        void setTable(final HashEntry<K, V>[] newTable) {
-            threshold = (int) (newTable.length * loadFactor);
-            table = newTable;
-            refQueue = new ReferenceQueue<>();
-        }
-    }
-
     private static class SimpleEntry<K, V> implements Entry<K, V> {
 
         private static boolean eq(final Object o1, final Object o2) {
@@ -1171,56 +645,88 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     /**
      * A soft-key reference which stores the key hash needed for reclamation.
      */
-    private static final class SoftKeyReference<K> extends SoftReference<K> implements KeyReference {
+    private static final class SoftKeyReference<K> extends SoftReference<K> implements KeyHolder {
 
         private final int hash;
+        private final boolean identity;
 
-        SoftKeyReference(final K key, final int hash, final ReferenceQueue<Object> refQueue) {
+        SoftKeyReference(final K key, final int hash, final boolean identity, final ReferenceQueue<Object> refQueue) {
             super(key, refQueue);
             this.hash = hash;
+            this.identity = identity;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return keyEquals(this, identity, obj);
         }
 
         @Override
-        public int keyHash() {
+        public int hashCode() {
             return hash;
         }
 
         @Override
-        public Object keyRef() {
-            return this;
+        public Object key() {
+            return get();
         }
     }
 
-    private static final class SoftValueReference<V> extends SoftReference<V> implements KeyReference {
-        private final Object keyRef;
-        private final int hash;
+    private static final class SoftValueReference<V> extends SoftReference<V> implements ValueReference {
+        private final Object mapKey;
 
-        SoftValueReference(final V value, final Object keyRef, final int hash, final ReferenceQueue<Object> refQueue) {
+        SoftValueReference(final V value, final Object mapKey, final ReferenceQueue<Object> refQueue) {
             super(value, refQueue);
-            this.keyRef = keyRef;
+            this.mapKey = mapKey;
+        }
+
+        @Override
+        public Object mapKey() {
+            return mapKey;
+        }
+    }
+
+    /**
+     * A strong key compared by identity, also used to look up keys held by references.
+     */
+    private static final class StrongKey implements KeyHolder {
+
+        private final Object key;
+        private final int hash;
+        private final boolean identity;
+
+        StrongKey(final Object key, final int hash, final boolean identity) {
+            this.key = key;
             this.hash = hash;
+            this.identity = identity;
         }
 
         @Override
-        public int keyHash() {
+        public boolean equals(final Object obj) {
+            return keyEquals(this, identity, obj);
+        }
+
+        @Override
+        public int hashCode() {
             return hash;
         }
 
         @Override
-        public Object keyRef() {
-            return keyRef;
+        public Object key() {
+            return key;
         }
     }
 
     private final class ValueIterator extends HashIterator implements Iterator<V>, Enumeration<V> {
         @Override
         public V next() {
-            return super.nextEntry().value();
+            nextEntry();
+            return currentValue;
         }
 
         @Override
         public V nextElement() {
-            return super.nextEntry().value();
+            return next();
         }
     }
 
@@ -1251,46 +757,59 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
         }
     }
 
+    /**
+     * A reference to a value, which knows the key of the underlying map needed for reclamation.
+     */
+    private interface ValueReference {
+
+        /**
+         * Gets the key of the underlying map the value is mapped to.
+         *
+         * @return the key of the underlying map.
+         */
+        Object mapKey();
+    }
+
     /**
      * A weak-key reference which stores the key hash needed for reclamation.
      */
-    private static final class WeakKeyReference<K> extends WeakReference<K> implements KeyReference {
+    private static final class WeakKeyReference<K> extends WeakReference<K> implements KeyHolder {
         private final int hash;
+        private final boolean identity;
 
-        WeakKeyReference(final K key, final int hash, final ReferenceQueue<Object> refQueue) {
+        WeakKeyReference(final K key, final int hash, final boolean identity, final ReferenceQueue<Object> refQueue) {
             super(key, refQueue);
             this.hash = hash;
+            this.identity = identity;
         }
 
         @Override
-        public int keyHash() {
+        public boolean equals(final Object obj) {
+            return keyEquals(this, identity, obj);
+        }
+
+        @Override
+        public int hashCode() {
             return hash;
         }
 
         @Override
-        public Object keyRef() {
-            return this;
+        public Object key() {
+            return get();
         }
     }
 
-    private static final class WeakValueReference<V> extends WeakReference<V> implements KeyReference {
-        private final Object keyRef;
-        private final int hash;
+    private static final class WeakValueReference<V> extends WeakReference<V> implements ValueReference {
+        private final Object mapKey;
 
-        WeakValueReference(final V value, final Object keyRef, final int hash, final ReferenceQueue<Object> refQueue) {
+        WeakValueReference(final V value, final Object mapKey, final ReferenceQueue<Object> refQueue) {
             super(value, refQueue);
-            this.keyRef = keyRef;
-            this.hash = hash;
-        }
-
-        @Override
-        public int keyHash() {
-            return hash;
+            this.mapKey = mapKey;
         }
 
         @Override
-        public Object keyRef() {
-            return keyRef;
+        public Object mapKey() {
+            return mapKey;
         }
     }
 
@@ -1344,17 +863,6 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     private static final int MAXIMUM_CAPACITY = 1 << 30;
 
-    /**
-     * The maximum number of segments to allow; used to bound constructor arguments.
-     */
-    private static final int MAX_SEGMENTS = 1 << 16;
-
-    /**
-     * Number of unsynchronized retries in size and containsValue methods before resorting to locking. This is used to avoid unbounded retries if tables undergo
-     * continuous modification which would make it impossible to obtain an accurate result.
-     */
-    private static final int RETRIES_BEFORE_LOCK = 2;
-
     /**
      * Creates a new Builder.
      * <p>
@@ -1382,35 +890,76 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     }
 
     /**
-     * Applies a supplemental hash function to a given hashCode, which defends against poor quality hash functions. This is critical because
-     * ConcurrentReferenceHashMap uses power-of-two length hash tables, that otherwise encounter collisions for hashCodes that do not differ in lower or upper
-     * bits.
+     * Tests whether a key of the underlying map stands for the same key as another one.
+     *
+     * @param holder   the key of the underlying map.
+     * @param identity whether keys are compared by identity.
+     * @param obj      the other key of the underlying map.
+     * @return whether the keys are equal.
      */
-    private static int hash(int h) {
-        // Spread bits to regularize both segment and index locations,
-        // using variant of single-word Wang/Jenkins hash.
-        h += h << 15 ^ 0xffffcd7d;
-        h ^= h >>> 10;
-        h += h << 3;
-        h ^= h >>> 6;
-        h += (h << 2) + (h << 14);
-        return h ^ h >>> 16;
+    private static boolean keyEquals(final KeyHolder holder, final boolean identity, final Object obj) {
+        if (holder == obj) {
+            return true;
+        }
+        if (!(obj instanceof KeyHolder) || holder.hashCode() != obj.hashCode()) {
+            return false;
+        }
+        // a collected key only equals its own reference, so that it can be purged
+        final Object key = holder.key();
+        final Object otherKey = ((KeyHolder) obj).key();
+        if (key == null || otherKey == null) {
+            return false;
+        }
+        return identity ? key == otherKey : key.equals(otherKey);
     }
 
     /**
-     * Mask value for indexing into segments. The upper bits of a key's hash code are used to choose the segment.
+     * Gets the key of this map a key of the underlying map stands for.
+     *
+     * @param mapKey the key of the underlying map.
+     * @return the key, {@code null} once collected.
      */
-    private final int segmentMask;
+    @SuppressWarnings("unchecked")
+    private static <K> K keyOf(final Object mapKey) {
+        return (K) (mapKey instanceof KeyHolder ? ((KeyHolder) mapKey).key() : mapKey);
+    }
+
+    /**
+     * Gets the key of the underlying map under which a value of the underlying map is stored. A reference to a value knows it; otherwise the value does not
+     * need it, and the given key used to find the value is returned.
+     *
+     * @param mapKey   the key of the underlying map used to find the value.
+     * @param mapValue the value of the underlying map, may be null.
+     * @return the key of the underlying map under which the value is stored.
+     */
+    private static Object storedKey(final Object mapKey, final Object mapValue) {
+        return mapValue instanceof ValueReference ? ((ValueReference) mapValue).mapKey() : mapKey;
+    }
+
+    /**
+     * Gets the value of this map a value of the underlying map stands for.
+     *
+     * @param mapValue the value of the underlying map, may be null.
+     * @return the value, {@code null} once collected or if {@code mapValue} is null.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V valueOf(final Object mapValue) {
+        return (V) (mapValue instanceof ValueReference ? ((Reference<?>) mapValue).get() : mapValue);
+    }
 
     /**
-     * Shift value for indexing within segments.
+     * The underlying map, from the keys, or references to the keys, to the values, or references to the values.
      */
-    private final int segmentShift;
+    private final ConcurrentHashMap<Object, Object> map;
 
     /**
-     * The segments, each of which is a specialized hash table
+     * The queue of the references whose key or value was collected.
      */
-    private final Segment<K, V>[] segments;
+    private final ReferenceQueue<Object> refQueue = new ReferenceQueue<>();
+
+    private final ReferenceType keyType;
+
+    private final ReferenceType valueType;
 
     private final boolean identityComparisons;
 
@@ -1429,46 +978,21 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      * @param initialCapacity  the initial capacity. The implementation performs internal sizing to accommodate this many elements.
      * @param loadFactor       the load factor threshold, used to control resizing. Resizing may be performed when the average number of elements per bin
      *                         exceeds this threshold.
-     * @param concurrencyLevel the estimated number of concurrently updating threads. The implementation performs internal sizing to try to accommodate this
-     *                         many threads.
+     * @param concurrencyLevel the estimated number of concurrently updating threads, used as a hint for the initial sizing.
      * @param keyType          the reference type to use for keys.
      * @param valueType        the reference type to use for values.
      * @param options          the behavioral options.
      * @throws IllegalArgumentException if the initial capacity is negative or the load factor or concurrencyLevel are nonpositive.
      */
-    private ConcurrentReferenceHashMap(int initialCapacity, final float loadFactor, int concurrencyLevel, final ReferenceType keyType,
+    private ConcurrentReferenceHashMap(final int initialCapacity, final float loadFactor, final int concurrencyLevel, final ReferenceType keyType,
             final ReferenceType valueType, final EnumSet<Option> options) {
         if (!(loadFactor > 0) || initialCapacity < 0 || concurrencyLevel <= 0) {
             throw new IllegalArgumentException();
         }
-        if (concurrencyLevel > MAX_SEGMENTS) {
-            concurrencyLevel = MAX_SEGMENTS;
-        }
-        // Find power-of-two sizes best matching arguments
-        int sshift = 0;
-        int ssize = 1;
-        while (ssize < concurrencyLevel) {
-            ++sshift;
-            ssize <<= 1;
-        }
-        segmentShift = 32 - sshift;
-        segmentMask = ssize - 1;
-        this.segments = Segment.newArray(ssize);
-        if (initialCapacity > MAXIMUM_CAPACITY) {
-            initialCapacity = MAXIMUM_CAPACITY;
-        }
-        int c = initialCapacity / ssize;
-        if (c * ssize < initialCapacity) {
-            ++c;
-        }
-        int cap = 1;
-        while (cap < c) {
-            cap <<= 1;
-        }
-        identityComparisons = options != null && options.contains(Option.IDENTITY_COMPARISONS);
-        for (int i = 0; i < this.segments.length; ++i) {
-            this.segments[i] = new Segment<>(cap, loadFactor, keyType, valueType, identityComparisons);
-        }
+        this.map = new ConcurrentHashMap<>(Math.min(initialCapacity, MAXIMUM_CAPACITY), loadFactor, concurrencyLevel);
+        this.keyType = keyType;
+        this.valueType = valueType;
+        this.identityComparisons = options != null && options.contains(Option.IDENTITY_COMPARISONS);
     }
 
     /**
@@ -1476,63 +1000,70 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public void clear() {
-        for (final Segment<K, V> segment : segments) {
-            segment.clear();
-        }
+        map.clear();
+        purgeStaleEntries();
     }
 
     @Override
     public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(remappingFunction);
-
-        final int hash = hashOf(key);
-        final Segment<K, V> segment = segmentFor(hash);
-        return segment.apply(key, hash, remappingFunction);
+        final Object[] result = new Object[1];
+        update(key, (mapKey, v) -> {
+            final V newValue = remappingFunction.apply(key, valueOf(v));
+            result[0] = newValue;
+            return newValue == null ? null : newMapValue(mapKey, newValue);
+        });
+        return valueOf(result[0]);
     }
 
     /**
-     * The default implementation is equivalent to the following steps for this {@code map}, then returning the current value or {@code null} if now absent:
-     *
-     * <pre>{@code
-     * if (map.get(key) == null) {
-     *     V newValue = mappingFunction.apply(key);
-     *     if (newValue != null)
-     *         return map.putIfAbsent(key, newValue);
-     * }
-     * }</pre>
-     * <p>
-     * The default implementation may retry these steps when multiple threads attempt updates including potentially calling the mapping function multiple times.
-     * </p>
+     * {@inheritDoc}
      * <p>
-     * This implementation assumes that the ConcurrentMap cannot contain null values and {@code get()} returning null unambiguously means the key is absent.
-     * Implementations which support null values <strong>must</strong> override this default implementation.
+     * The mapping function is applied at most once, atomically with the insertion of its result. Looking up a key already present takes no lock.
      * </p>
+     *
+     * @throws NullPointerException if the specified key or mappingFunction is null
      */
     @Override
     public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(mappingFunction);
-
-        final int hash = hashOf(key);
-        final Segment<K, V> segment = segmentFor(hash);
-        final V v = segment.get(key, hash);
-        return v == null ? segment.put(key, hash, null, mappingFunction, true) : v;
+        final V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        final Object[] result = new Object[1];
+        update(key, (mapKey, v) -> {
+            final V oldValue = valueOf(v);
+            if (oldValue != null) {
+                result[0] = oldValue;
+                return v;
+            }
+            final V newValue = mappingFunction.apply(key);
+            result[0] = newValue;
+            return newValue == null ? null : newMapValue(mapKey, newValue);
+        });
+        return valueOf(result[0]);
     }
 
     @Override
     public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(remappingFunction);
-
-        final int hash = hashOf(key);
-        final Segment<K, V> segment = segmentFor(hash);
-        final V v = segment.get(key, hash);
-        if (v == null) {
-            return null;
-        }
-
-        return segmentFor(hash).applyIfPresent(key, hash, remappingFunction);
+        purgeStaleEntries();
+        final Object[] result = new Object[1];
+        map.computeIfPresent(lookupKey(key), (k, v) -> {
+            final V oldValue = valueOf(v);
+            if (oldValue == null) {
+                // the value was collected
+                return null;
+            }
+            final V newValue = remappingFunction.apply(key, oldValue);
+            result[0] = newValue;
+            return newValue == null ? null : newMapValue(storedKey(k, v), newValue);
+        });
+        return valueOf(result[0]);
     }
 
     /**
@@ -1544,8 +1075,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public boolean containsKey(final Object key) {
-        final int hash = hashOf(key);
-        return segmentFor(hash).containsKey(key, hash);
+        return get(key) != null;
     }
 
     /**
@@ -1559,52 +1089,12 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     @Override
     public boolean containsValue(final Object value) {
         Objects.requireNonNull(value, "value");
-        // See explanation of modCount use above
-        final Segment<K, V>[] segments = this.segments;
-        final int[] mc = new int[segments.length];
-        // Try a few times without locking
-        for (int k = 0; k < RETRIES_BEFORE_LOCK; ++k) {
-            // final int sum = 0;
-            int mcsum = 0;
-            for (int i = 0; i < segments.length; ++i) {
-                // final int c = segments[i].count;
-                mcsum += mc[i] = segments[i].modCount;
-                if (segments[i].containsValue(value)) {
-                    return true;
-                }
-            }
-            boolean cleanSweep = true;
-            if (mcsum != 0) {
-                for (int i = 0; i < segments.length; ++i) {
-                    // final int c = segments[i].count;
-                    if (mc[i] != segments[i].modCount) {
-                        cleanSweep = false;
-                        break;
-                    }
-                }
-            }
-            if (cleanSweep) {
-                return false;
-            }
-        }
-        // Resort to locking all segments
-        for (final Segment<K, V> segment : segments) {
-            segment.lock();
-        }
-        boolean found = false;
-        try {
-            for (final Segment<K, V> segment : segments) {
-                if (segment.containsValue(value)) {
-                    found = true;
-                    break;
-                }
-            }
-        } finally {
-            for (final Segment<K, V> segment : segments) {
-                segment.unlock();
+        for (final Object mapValue : map.values()) {
+            if (value.equals(valueOf(mapValue))) {
+                return true;
             }
         }
-        return found;
+        return false;
     }
 
     /**
@@ -1634,12 +1124,14 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public V get(final Object key) {
-        final int hash = hashOf(key);
-        return segmentFor(hash).get(key, hash);
+        if (keyType == ReferenceType.STRONG && !identityComparisons) {
+            return valueOf(map.get(key));
+        }
+        return valueOf(map.get(new StrongKey(key, hashOf(key), identityComparisons)));
     }
 
     private int hashOf(final Object key) {
-        return hash(identityComparisons ? System.identityHashCode(key) : key.hashCode());
+        return identityComparisons ? System.identityHashCode(key) : key.hashCode();
     }
 
     /**
@@ -1649,31 +1141,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public boolean isEmpty() {
-        final Segment<K, V>[] segments = this.segments;
-        //
-        // We keep track of per-segment modCounts to avoid ABA problems in which an element in one segment was added and in another removed during traversal, in
-        // which case the table was never actually empty at any point. Note the similar use of modCounts in the size() and containsValue() methods, which are
-        // the only other methods also susceptible to ABA problems.
-        //
-        final int[] mc = new int[segments.length];
-        int mcsum = 0;
-        for (int i = 0; i < segments.length; ++i) {
-            if (segments[i].count != 0) {
-                return false;
-            }
-            mcsum += mc[i] = segments[i].modCount;
-        }
-        // If mcsum happens to be zero, then we know we got a snapshot
-        // before any modifications at all were made. This is
-        // probably common enough to bother tracking.
-        if (mcsum != 0) {
-            for (int i = 0; i < segments.length; ++i) {
-                if (segments[i].count != 0 || mc[i] != segments[i].modCount) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return map.isEmpty();
     }
 
     /**
@@ -1692,16 +1160,79 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     }
 
     /**
-     * Removes any stale entries whose keys have been finalized. Use of this method is normally not necessary since stale entries are automatically removed
-     * lazily, when blocking operations are required. However, there are some cases where this operation should be performed eagerly, such as cleaning up old
-     * references to a ClassLoader in a multi-classloader environment.
-     * <p>
-     * Note: this method will acquire locks one at a time across all segments of this table, so this method should be used sparingly.
-     * </p>
+     * Gets a {@link MapIterator} over this map. Like the iterators of the views, it is "weakly consistent", and it keeps strong references to the last key
+     * and value it returned. Unlike the entry set iterator, it does not create an entry per mapping.
+     *
+     * @return a map iterator.
+     * @since 4.5.1
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        return new HashMapIterator();
+    }
+
+    /**
+     * Gets the key of the underlying map used to look up a key. Unlike {@link #newMapKey(Object)}, it never creates a reference registered with the reference
+     * queue, so it must not be stored in the underlying map, except for strong keys for which both are the same.
+     *
+     * @param key the key.
+     * @return the key of the underlying map.
+     */
+    private Object lookupKey(final Object key) {
+        if (keyType == ReferenceType.STRONG && !identityComparisons) {
+            return key;
+        }
+        return new StrongKey(key, hashOf(key), identityComparisons);
+    }
+
+    /**
+     * Creates the key of the underlying map storing a key.
+     *
+     * @param key the key.
+     * @return the key of the underlying map.
+     */
+    private Object newMapKey(final K key) {
+        switch (keyType) {
+        case WEAK:
+            return new WeakKeyReference<>(key, hashOf(key), identityComparisons, refQueue);
+        case SOFT:
+            return new SoftKeyReference<>(key, hashOf(key), identityComparisons, refQueue);
+        default:
+            return identityComparisons ? new StrongKey(key, hashOf(key), true) : key;
+        }
+    }
+
+    /**
+     * Creates the value of the underlying map storing a value.
+     *
+     * @param mapKey the key of the underlying map the value is mapped to.
+     * @param value  the value.
+     * @return the value of the underlying map.
+     */
+    private Object newMapValue(final Object mapKey, final V value) {
+        switch (valueType) {
+        case WEAK:
+            return new WeakValueReference<>(value, mapKey, refQueue);
+        case SOFT:
+            return new SoftValueReference<>(value, mapKey, refQueue);
+        default:
+            return value;
+        }
+    }
+
+    /**
+     * Removes any stale entries whose keys or values have been finalized. Use of this method is normally not necessary since stale entries are automatically
+     * removed lazily, when mutating operations are performed. However, there are some cases where this operation should be performed eagerly, such as
+     * cleaning up old references to a ClassLoader in a multi-classloader environment.
      */
     public void purgeStaleEntries() {
-        for (final Segment<K, V> segment : segments) {
-            segment.removeStale();
+        Reference<?> ref;
+        while ((ref = refQueue.poll()) != null) {
+            if (ref instanceof ValueReference) {
+                map.remove(((ValueReference) ref).mapKey(), ref);
+            } else {
+                map.remove(ref);
+            }
         }
     }
 
@@ -1720,8 +1251,16 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     public V put(final K key, final V value) {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(value, "value");
-        final int hash = hashOf(key);
-        return segmentFor(hash).put(key, hash, value, null, false);
+        if (keyType == ReferenceType.STRONG && valueType == ReferenceType.STRONG) {
+            purgeStaleEntries();
+            return valueOf(map.put(lookupKey(key), value));
+        }
+        final Object[] result = new Object[1];
+        update(key, (mapKey, v) -> {
+            result[0] = v;
+            return newMapValue(mapKey, value);
+        });
+        return valueOf(result[0]);
     }
 
     /**
@@ -1746,8 +1285,20 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     @Override
     public V putIfAbsent(final K key, final V value) {
         Objects.requireNonNull(value, "value");
-        final int hash = hashOf(key);
-        return segmentFor(hash).put(key, hash, value, null, true);
+        final V oldValue = get(key);
+        if (oldValue != null) {
+            return oldValue;
+        }
+        final Object[] result = new Object[1];
+        update(key, (mapKey, v) -> {
+            final V currentValue = valueOf(v);
+            if (currentValue != null) {
+                result[0] = currentValue;
+                return v;
+            }
+            return newMapValue(mapKey, value);
+        });
+        return valueOf(result[0]);
     }
 
     /**
@@ -1759,8 +1310,9 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public V remove(final Object key) {
-        final int hash = hashOf(key);
-        return segmentFor(hash).remove(key, hash, null, false);
+        final Object mapKey = lookupKey(key);
+        purgeStaleEntries();
+        return valueOf(map.remove(mapKey));
     }
 
     /**
@@ -1770,11 +1322,20 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public boolean remove(final Object key, final Object value) {
-        final int hash = hashOf(key);
+        final Object mapKey = lookupKey(key);
         if (value == null) {
             return false;
         }
-        return segmentFor(hash).remove(key, hash, value, false) != null;
+        purgeStaleEntries();
+        final boolean[] removed = new boolean[1];
+        map.computeIfPresent(mapKey, (k, v) -> {
+            if (value.equals(valueOf(v))) {
+                removed[0] = true;
+                return null;
+            }
+            return v;
+        });
+        return removed[0];
     }
 
     /**
@@ -1786,8 +1347,18 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     @Override
     public V replace(final K key, final V value) {
         Objects.requireNonNull(value, "value");
-        final int hash = hashOf(key);
-        return segmentFor(hash).replace(key, hash, value);
+        final Object mapKey = lookupKey(key);
+        purgeStaleEntries();
+        final Object[] result = new Object[1];
+        map.computeIfPresent(mapKey, (k, v) -> {
+            final V oldValue = valueOf(v);
+            if (oldValue == null) {
+                return v;
+            }
+            result[0] = oldValue;
+            return newMapValue(storedKey(k, v), value);
+        });
+        return valueOf(result[0]);
     }
 
     /**
@@ -1799,18 +1370,17 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
     public boolean replace(final K key, final V oldValue, final V newValue) {
         Objects.requireNonNull(oldValue, "oldValue");
         Objects.requireNonNull(newValue, "newValue");
-        final int hash = hashOf(key);
-        return segmentFor(hash).replace(key, hash, oldValue, newValue);
-    }
-
-    /**
-     * Returns the segment that should be used for key with given hash
-     *
-     * @param hash the hash code for the key
-     * @return the segment
-     */
-    private Segment<K, V> segmentFor(final int hash) {
-        return segments[hash >>> segmentShift & segmentMask];
+        final Object mapKey = lookupKey(key);
+        purgeStaleEntries();
+        final boolean[] replaced = new boolean[1];
+        map.computeIfPresent(mapKey, (k, v) -> {
+            if (oldValue.equals(valueOf(v))) {
+                replaced[0] = true;
+                return newMapValue(storedKey(k, v), newValue);
+            }
+            return v;
+        });
+        return replaced[0];
     }
 
     /**
@@ -1821,48 +1391,29 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
      */
     @Override
     public int size() {
-        final Segment<K, V>[] segments = this.segments;
-        long sum = 0;
-        long check = 0;
-        final int[] mc = new int[segments.length];
-        // Try a few times to get accurate count. On failure due to
-        // continuous async changes in table, resort to locking.
-        for (int k = 0; k < RETRIES_BEFORE_LOCK; ++k) {
-            check = 0;
-            sum = 0;
-            int mcsum = 0;
-            for (int i = 0; i < segments.length; ++i) {
-                sum += segments[i].count;
-                mcsum += mc[i] = segments[i].modCount;
-            }
-            if (mcsum != 0) {
-                for (int i = 0; i < segments.length; ++i) {
-                    check += segments[i].count;
-                    if (mc[i] != segments[i].modCount) {
-                        // force retry
-                        check = -1;
-                        break;
-                    }
-                }
-            }
-            if (check == sum) {
-                break;
-            }
-        }
-        if (check != sum) {
-            // Resort to locking all segments
-            sum = 0;
-            for (final Segment<K, V> segment : segments) {
-                segment.lock();
-            }
-            for (final Segment<K, V> segment : segments) {
-                sum += segment.count;
-            }
-            for (final Segment<K, V> segment : segments) {
-                segment.unlock();
-            }
+        return map.size();
+    }
+
+    /**
+     * Updates the mapping of a key atomically, like {@link ConcurrentHashMap#compute(Object, BiFunction)}, but stores a new key of the underlying map,
+     * registered with the reference queue, only if the key is absent. A present key is updated in place, so that no reference is created.
+     *
+     * @param key      the key.
+     * @param function computes the new value of the underlying map, or {@code null} for none, from the key of the underlying map the value is to be stored
+     *                 under and the current value of the underlying map, or {@code null} if none. It is applied once.
+     */
+    private void update(final K key, final BiFunction<Object, Object, Object> function) {
+        final Object lookupKey = lookupKey(key);
+        purgeStaleEntries();
+        final boolean[] applied = new boolean[1];
+        map.computeIfPresent(lookupKey, (k, v) -> {
+            applied[0] = true;
+            return function.apply(storedKey(k, v), v);
+        });
+        if (!applied[0]) {
+            final Object mapKey = newMapKey(key);
+            map.compute(mapKey, (k, v) -> function.apply(storedKey(k, v), v));
         }
-        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
     }
 
     /**
@@ -25,7 +25,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.collections4.BoundedMap;
+import org.apache.commons.collections4.MapIterator;
 import org.apache.commons.collections4.collection.UnmodifiableCollection;
+import org.apache.commons.collections4.iterators.AbstractMapIteratorDecorator;
 import org.apache.commons.collections4.set.UnmodifiableSet;
 
 /**
@@ -111,6 +113,24 @@ public class FixedSizeMap<K, V>
         return UnmodifiableSet.unmodifiableSet(set);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As for the entry set, the map iterator allows {@code setValue} but not {@code remove}.
+     * </p>
+     *
+     * @since 4.5.1
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        return new AbstractMapIteratorDecorator<K, V>(super.mapIterator()) {
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Map is fixed size");
+            }
+        };
+    }
+
     @Override
     public int maxSize() {
         return size();
@@ -0,0 +1,1088 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.keyvalue.AbstractMapEntry;
+import org.apache.commons.collections4.keyvalue.MultiKey;
+
+/**
+ * A {@code Map} implementation that uses a fixed number of keys, between two and
+ * five, to map the value.
+ * <p>
+ * Like {@link MultiKeyMap}, the main interface of this map is made of the additional
+ * map-style methods, which provide {@code get}, {@code containsKey}, {@code put} and
+ * {@code removeMultiKey} for individual keys. Unlike {@link MultiKeyMap}, none of
+ * them creates any object: the keys of all the mappings are stored flat in a single
+ * array, next to an array of values and an array of cached hash codes, and are
+ * looked up by open addressing with linear probing. Removals shift the following
+ * mappings back instead of leaving tombstones, so lookups never slow down as
+ * mappings are replaced.
+ * </p>
+ * <p>
+ * The number of keys, or arity, is fixed when the map is created, and the map-style
+ * methods taking a different number of keys throw an {@code IllegalArgumentException}.
+ * The keys may be {@code null}.
+ * </p>
+ * <p>
+ * The normal map methods take in and return a {@link MultiKey}, which is only created
+ * when iterating or when using the normal map methods. Using a {@code MultiKey} of
+ * another size in {@code put()} throws an {@code IllegalArgumentException}, and using
+ * {@code null} as the key in {@code put()} throws a {@code NullPointerException}.
+ * </p>
+ * <p>
+ * <strong>Note that FlatMultiKeyMap is not synchronized and is not thread-safe.</strong>
+ * </p>
+ *
+ * @param <K> the type of the keys in this map
+ * @param <V> the type of the values in this map
+ * @since 4.5.1
+ */
+public class FlatMultiKeyMap<K, V> extends AbstractMap<MultiKey<? extends K>, V>
+        implements IterableMap<MultiKey<? extends K>, V>, Serializable {
+
+    /**
+     * Entry returned by the entry set iterator; its value writes through to the map.
+     */
+    private final class FlatEntry extends AbstractMapEntry<MultiKey<? extends K>, V> {
+
+        FlatEntry(final MultiKey<? extends K> key, final V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            FlatMultiKeyMap.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * EntrySet implementation.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<MultiKey<? extends K>, V>> {
+
+        @Override
+        public void clear() {
+            FlatMultiKeyMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+            final int slot = find(entry.getKey());
+            return slot >= 0 && Objects.equals(values[slot], entry.getValue());
+        }
+
+        @Override
+        public Iterator<Map.Entry<MultiKey<? extends K>, V>> iterator() {
+            return new EntrySetIterator();
+        }
+
+        @Override
+        public boolean remove(final Object obj) {
+            if (!contains(obj)) {
+                return false;
+            }
+            FlatMultiKeyMap.this.remove(((Map.Entry<?, ?>) obj).getKey());
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * EntrySet iterator.
+     */
+    private final class EntrySetIterator extends SlotIterator implements Iterator<Map.Entry<MultiKey<? extends K>, V>> {
+
+        @Override
+        public Map.Entry<MultiKey<? extends K>, V> next() {
+            nextMapping();
+            return new FlatEntry(currentKey(), currentValue());
+        }
+    }
+
+    /**
+     * MapIterator implementation; only {@link #next()} and {@link #getKey()} create a key.
+     */
+    private final class FlatMapIterator extends SlotIterator implements MapIterator<MultiKey<? extends K>, V> {
+
+        @Override
+        public MultiKey<? extends K> getKey() {
+            checkCurrent();
+            return currentKey();
+        }
+
+        @Override
+        public V getValue() {
+            checkCurrent();
+            return currentValue();
+        }
+
+        @Override
+        public MultiKey<? extends K> next() {
+            nextMapping();
+            return currentKey();
+        }
+
+        @Override
+        public V setValue(final V value) {
+            checkCurrent();
+            final V old = currentValue();
+            if (slot >= 0) {
+                values[slot] = value;
+            } else {
+                moved[arity] = value;
+                putKeys(moved[0], moved[1], arity > 2 ? moved[2] : null, arity > 3 ? moved[3] : null,
+                        arity > 4 ? moved[4] : null, value);
+            }
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            if (slot >= 0 || moved != null) {
+                return "Iterator[" + getKey() + "=" + getValue() + "]";
+            }
+            return "Iterator[]";
+        }
+    }
+
+    /**
+     * Base iterator, scanning the slots from the last one down to the first one.
+     * <p>
+     * Removing a mapping may move a mapping not yet scanned, from the start of the
+     * table, into a slot already scanned; such mappings are copied aside and returned
+     * once the scan is complete.
+     * </p>
+     */
+    private abstract class SlotIterator {
+
+        /** The slots below this index remain to be scanned. */
+        int index = hashes.length;
+
+        /** The slot of the last returned mapping, or -1. */
+        int slot = -1;
+
+        /** The last returned mapping when it was copied aside, or null. */
+        Object[] moved;
+
+        /** The mappings copied aside, as their keys followed by their value. */
+        private List<Object[]> movedMappings;
+
+        /** The modification count expected. */
+        private int expectedModCount = modCount;
+
+        void addMoved(final int from) {
+            if (movedMappings == null) {
+                movedMappings = new ArrayList<>();
+            }
+            final Object[] mapping = Arrays.copyOfRange(keys, from * arity, from * arity + arity + 1);
+            mapping[arity] = values[from];
+            movedMappings.add(mapping);
+        }
+
+        void checkCurrent() {
+            if (slot < 0 && moved == null) {
+                throw new IllegalStateException(AbstractHashedMap.GETKEY_INVALID);
+            }
+        }
+
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        MultiKey<? extends K> currentKey() {
+            return slot >= 0 ? keyAt(slot) : newMultiKey(moved, 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        V currentValue() {
+            return (V) (slot >= 0 ? values[slot] : moved[arity]);
+        }
+
+        public boolean hasNext() {
+            while (index > 0 && hashes[index - 1] == 0) {
+                index--;
+            }
+            return index > 0 || movedMappings != null && !movedMappings.isEmpty();
+        }
+
+        void nextMapping() {
+            checkModCount();
+            if (!hasNext()) {
+                throw new NoSuchElementException(AbstractHashedMap.NO_NEXT_ENTRY);
+            }
+            if (index > 0) {
+                slot = --index;
+                moved = null;
+            } else {
+                slot = -1;
+                moved = movedMappings.remove(movedMappings.size() - 1);
+            }
+        }
+
+        public void remove() {
+            if (slot < 0 && moved == null) {
+                throw new IllegalStateException(AbstractHashedMap.REMOVE_INVALID);
+            }
+            checkModCount();
+            if (slot >= 0) {
+                removeSlot(slot, this);
+            } else {
+                removeKeys(moved[0], moved[1], arity > 2 ? moved[2] : null, arity > 3 ? moved[3] : null,
+                        arity > 4 ? moved[4] : null);
+            }
+            slot = -1;
+            moved = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /** Serialization version */
+    private static final long serialVersionUID = 20261019L;
+
+    /** The default expected size, used when none is given. */
+    private static final int DEFAULT_EXPECTED_SIZE = 12;
+
+    /** The minimum capacity. */
+    private static final int MINIMUM_CAPACITY = 4;
+
+    /** The maximum length of an array. */
+    private static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /** The golden ratio multiplier, spreading the hash codes over the upper bits. */
+    private static final int SPREAD = 0x9E3779B9;
+
+    /**
+     * Gets the capacity needed to hold the expected number of mappings below the load factor of 3/4.
+     *
+     * @param expectedSize the expected number of mappings
+     * @param maximumCapacity the maximum capacity
+     * @return the capacity, a power of two
+     */
+    private static int capacityFor(final int expectedSize, final int maximumCapacity) {
+        final long needed = expectedSize + (expectedSize + 2L) / 3;
+        if (needed >= maximumCapacity) {
+            return maximumCapacity;
+        }
+        return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    /** The number of keys of each mapping. */
+    private final int arity;
+
+    /** The spread hash codes of the mappings, zero for an empty slot. */
+    private transient int[] hashes;
+
+    /** The keys of the mappings, {@code arity} per slot. */
+    private transient Object[] keys;
+
+    /** The values of the mappings. */
+    private transient Object[] values;
+
+    /** The number of mappings. */
+    private transient int size;
+
+    /** The shift giving the home slot from the upper bits of a spread hash code. */
+    private transient int shift;
+
+    /** The number of mappings above which the table grows. */
+    private transient int threshold;
+
+    /** Modification count for iterators. */
+    private transient int modCount;
+
+    /** Entry set. */
+    private transient EntrySet entrySet;
+
+    /**
+     * Constructs a new, empty map with the given number of keys per mapping.
+     *
+     * @param arity  the number of keys of each mapping, from 2 to 5
+     * @throws IllegalArgumentException if the arity is out of range
+     */
+    public FlatMultiKeyMap(final int arity) {
+        this(arity, DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Constructs a new, empty map with the given number of keys per mapping, sized
+     * to hold the expected number of mappings without growing.
+     *
+     * @param arity  the number of keys of each mapping, from 2 to 5
+     * @param expectedSize  the expected number of mappings
+     * @throws IllegalArgumentException if the arity is out of range or the expected size is negative
+     */
+    public FlatMultiKeyMap(final int arity, final int expectedSize) {
+        if (arity < 2 || arity > 5) {
+            throw new IllegalArgumentException("Arity must be from 2 to 5, but was " + arity);
+        }
+        this.arity = arity;
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        allocate(capacityFor(expectedSize, maximumCapacity()));
+    }
+
+    /**
+     * Allocates an empty table.
+     *
+     * @param capacity  the number of slots, a power of two
+     */
+    private void allocate(final int capacity) {
+        hashes = new int[capacity];
+        keys = new Object[capacity * arity];
+        values = new Object[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = capacity == maximumCapacity() ? capacity - 1 : capacity - (capacity >>> 2);
+    }
+
+    /**
+     * Checks the number of keys passed to a map-style method.
+     *
+     * @param count  the number of keys
+     * @throws IllegalArgumentException if it differs from the arity
+     */
+    private void checkArity(final int count) {
+        if (count != arity) {
+            throw new IllegalArgumentException("This map has " + arity + " keys per mapping, not " + count);
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(hashes, 0);
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+        modCount++;
+    }
+
+    /**
+     * Checks whether the map contains the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @return true if the map contains the key
+     * @throws IllegalArgumentException if the arity of the map is not 2
+     */
+    public boolean containsKey(final Object key1, final Object key2) {
+        checkArity(2);
+        return find(key1, key2, null, null, null) >= 0;
+    }
+
+    /**
+     * Checks whether the map contains the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @return true if the map contains the key
+     * @throws IllegalArgumentException if the arity of the map is not 3
+     */
+    public boolean containsKey(final Object key1, final Object key2, final Object key3) {
+        checkArity(3);
+        return find(key1, key2, key3, null, null) >= 0;
+    }
+
+    /**
+     * Checks whether the map contains the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @return true if the map contains the key
+     * @throws IllegalArgumentException if the arity of the map is not 4
+     */
+    public boolean containsKey(final Object key1, final Object key2, final Object key3, final Object key4) {
+        checkArity(4);
+        return find(key1, key2, key3, key4, null) >= 0;
+    }
+
+    /**
+     * Checks whether the map contains the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return true if the map contains the key
+     * @throws IllegalArgumentException if the arity of the map is not 5
+     */
+    public boolean containsKey(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5) {
+        checkArity(5);
+        return find(key1, key2, key3, key4, key5) >= 0;
+    }
+
+    /**
+     * Checks whether the map contains the specified {@link MultiKey}.
+     *
+     * @param key  the key to search for
+     * @return true if the map contains the key
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Checks whether the map contains the specified value.
+     *
+     * @param value  the value to search for
+     * @return true if the map contains the value
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int slot = 0; slot < hashes.length; slot++) {
+            if (hashes[slot] != 0 && Objects.equals(values[slot], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the entrySet view of the map.
+     * Changes made to the view affect this map.
+     * <p>
+     * The entries, and their {@link MultiKey} keys, are created during the iteration.
+     * The {@link #mapIterator()} avoids creating the entries.
+     * </p>
+     *
+     * @return the entrySet view
+     */
+    @Override
+    public Set<Map.Entry<MultiKey<? extends K>, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Finds the slot of the specified {@link MultiKey}.
+     *
+     * @param key  the key to search for
+     * @return the slot, or a negative value if not found
+     */
+    private int find(final Object key) {
+        if (!(key instanceof MultiKey) || ((MultiKey<?>) key).size() != arity) {
+            return -1;
+        }
+        final MultiKey<?> multi = (MultiKey<?>) key;
+        return find(multi.getKey(0), multi.getKey(1), keyOf(multi, 2), keyOf(multi, 3), keyOf(multi, 4));
+    }
+
+    /**
+     * Finds the slot of a multi-key, the keys beyond the arity being ignored.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return the slot, or {@code -1 - slot} of the empty slot ending the probe if not found
+     */
+    private int find(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5) {
+        final int hash = hash(key1, key2, key3, key4, key5);
+        final int[] hashes = this.hashes;
+        final int mask = hashes.length - 1;
+        int slot = hash >>> shift;
+        while (true) {
+            final int h = hashes[slot];
+            if (h == 0) {
+                return -1 - slot;
+            }
+            if (h == hash && isEqualKey(slot, key1, key2, key3, key4, key5)) {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+    }
+
+    /**
+     * Gets the value mapped to the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @return the mapped value, null if no match
+     * @throws IllegalArgumentException if the arity of the map is not 2
+     */
+    public V get(final Object key1, final Object key2) {
+        checkArity(2);
+        return valueAt(find(key1, key2, null, null, null));
+    }
+
+    /**
+     * Gets the value mapped to the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @return the mapped value, null if no match
+     * @throws IllegalArgumentException if the arity of the map is not 3
+     */
+    public V get(final Object key1, final Object key2, final Object key3) {
+        checkArity(3);
+        return valueAt(find(key1, key2, key3, null, null));
+    }
+
+    /**
+     * Gets the value mapped to the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @return the mapped value, null if no match
+     * @throws IllegalArgumentException if the arity of the map is not 4
+     */
+    public V get(final Object key1, final Object key2, final Object key3, final Object key4) {
+        checkArity(4);
+        return valueAt(find(key1, key2, key3, key4, null));
+    }
+
+    /**
+     * Gets the value mapped to the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return the mapped value, null if no match
+     * @throws IllegalArgumentException if the arity of the map is not 5
+     */
+    public V get(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5) {
+        checkArity(5);
+        return valueAt(find(key1, key2, key3, key4, key5));
+    }
+
+    /**
+     * Gets the value mapped to the specified {@link MultiKey}.
+     *
+     * @param key  the key
+     * @return the mapped value, null if no match
+     */
+    @Override
+    public V get(final Object key) {
+        return valueAt(find(key));
+    }
+
+    /**
+     * Gets the number of keys of each mapping.
+     *
+     * @return the arity, from 2 to 5
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Grows the table and rehashes the mappings.
+     *
+     * @throws IllegalStateException if the table cannot grow any more
+     */
+    private void grow() {
+        final int capacity = hashes.length;
+        if (capacity >= maximumCapacity()) {
+            throw new IllegalStateException("Map is full: " + size + " mappings");
+        }
+        final int[] oldHashes = hashes;
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity << 1);
+        final int mask = hashes.length - 1;
+        for (int from = 0; from < capacity; from++) {
+            final int h = oldHashes[from];
+            if (h != 0) {
+                int slot = h >>> shift;
+                while (hashes[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                hashes[slot] = h;
+                System.arraycopy(oldKeys, from * arity, keys, slot * arity, arity);
+                values[slot] = oldValues[from];
+            }
+        }
+    }
+
+    /**
+     * Gets the spread hash code of a multi-key, the keys beyond the arity being ignored.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return the hash code, never zero
+     */
+    private int hash(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5) {
+        int h = 31 * Objects.hashCode(key1) + Objects.hashCode(key2);
+        if (arity > 2) {
+            h = 31 * h + Objects.hashCode(key3);
+            if (arity > 3) {
+                h = 31 * h + Objects.hashCode(key4);
+                if (arity > 4) {
+                    h = 31 * h + Objects.hashCode(key5);
+                }
+            }
+        }
+        h *= SPREAD;
+        return h == 0 ? SPREAD : h;
+    }
+
+    /**
+     * Compares the keys of a slot with a multi-key, the keys beyond the arity being ignored.
+     *
+     * @param slot  the slot
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return true if the keys are equal
+     */
+    private boolean isEqualKey(final int slot, final Object key1, final Object key2, final Object key3,
+            final Object key4, final Object key5) {
+        final Object[] keys = this.keys;
+        final int base = slot * arity;
+        return Objects.equals(keys[base], key1) && Objects.equals(keys[base + 1], key2)
+                && (arity < 3 || Objects.equals(keys[base + 2], key3))
+                && (arity < 4 || Objects.equals(keys[base + 3], key4))
+                && (arity < 5 || Objects.equals(keys[base + 4], key5));
+    }
+
+    /**
+     * Gets the key at the specified slot.
+     *
+     * @param slot  the slot
+     * @return a new {@link MultiKey}
+     */
+    private MultiKey<? extends K> keyAt(final int slot) {
+        return newMultiKey(keys, slot * arity);
+    }
+
+    /**
+     * Gets a key of a {@link MultiKey}, or null beyond its size.
+     *
+     * @param key  the multi-key
+     * @param index  the index of the key
+     * @return the key
+     */
+    private Object keyOf(final MultiKey<?> key, final int index) {
+        return index < arity ? key.getKey(index) : null;
+    }
+
+    /**
+     * Gets the maximum capacity, the largest power of two for which the keys fit in an array.
+     *
+     * @return the maximum capacity
+     */
+    private int maximumCapacity() {
+        return Integer.highestOneBit(MAXIMUM_ARRAY_LENGTH / arity);
+    }
+
+    /**
+     * Gets a map iterator over the map.
+     * <p>
+     * The iterator creates a {@link MultiKey} only in {@code next()} and {@code getKey()},
+     * and reads and writes the values in place.
+     * </p>
+     *
+     * @return the map iterator
+     */
+    @Override
+    public MapIterator<MultiKey<? extends K>, V> mapIterator() {
+        return new FlatMapIterator();
+    }
+
+    /**
+     * Creates a {@link MultiKey} of the keys stored from an offset, through the constructor
+     * of the arity so that its keys array has the common class of the keys.
+     *
+     * @param source  the array of keys
+     * @param offset  the index of the first key
+     * @return a new {@link MultiKey}
+     */
+    @SuppressWarnings("unchecked")
+    private MultiKey<? extends K> newMultiKey(final Object[] source, final int offset) {
+        final K key1 = (K) source[offset];
+        final K key2 = (K) source[offset + 1];
+        switch (arity) {
+        case 2:
+            return new MultiKey<>(key1, key2);
+        case 3:
+            return new MultiKey<>(key1, key2, (K) source[offset + 2]);
+        case 4:
+            return new MultiKey<>(key1, key2, (K) source[offset + 2], (K) source[offset + 3]);
+        default:
+            return new MultiKey<>(key1, key2, (K) source[offset + 2], (K) source[offset + 3], (K) source[offset + 4]);
+        }
+    }
+
+    /**
+     * Puts the key and value into the map, where the key must be a non-null
+     * {@link MultiKey} object of the arity of the map.
+     *
+     * @param key  the non-null MultiKey object
+     * @param value  the value to store
+     * @return the value previously mapped to this multi-key, null if none
+     * @throws NullPointerException if the key is null
+     * @throws IllegalArgumentException if the size of the key is not the arity of the map
+     */
+    @Override
+    public V put(final MultiKey<? extends K> key, final V value) {
+        Objects.requireNonNull(key, "key");
+        checkArity(key.size());
+        return putKeys(key.getKey(0), key.getKey(1), keyOf(key, 2), keyOf(key, 3), keyOf(key, 4), value);
+    }
+
+    /**
+     * Stores the value against the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param value  the value to store
+     * @return the value previously mapped to this combined key, null if none
+     * @throws IllegalArgumentException if the arity of the map is not 2
+     */
+    public V put(final K key1, final K key2, final V value) {
+        checkArity(2);
+        return putKeys(key1, key2, null, null, null, value);
+    }
+
+    /**
+     * Stores the value against the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param value  the value to store
+     * @return the value previously mapped to this combined key, null if none
+     * @throws IllegalArgumentException if the arity of the map is not 3
+     */
+    public V put(final K key1, final K key2, final K key3, final V value) {
+        checkArity(3);
+        return putKeys(key1, key2, key3, null, null, value);
+    }
+
+    /**
+     * Stores the value against the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param value  the value to store
+     * @return the value previously mapped to this combined key, null if none
+     * @throws IllegalArgumentException if the arity of the map is not 4
+     */
+    public V put(final K key1, final K key2, final K key3, final K key4, final V value) {
+        checkArity(4);
+        return putKeys(key1, key2, key3, key4, null, value);
+    }
+
+    /**
+     * Stores the value against the specified multi-key.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @param value  the value to store
+     * @return the value previously mapped to this combined key, null if none
+     * @throws IllegalArgumentException if the arity of the map is not 5
+     */
+    public V put(final K key1, final K key2, final K key3, final K key4, final K key5, final V value) {
+        checkArity(5);
+        return putKeys(key1, key2, key3, key4, key5, value);
+    }
+
+    /**
+     * Stores the value against a multi-key, the keys beyond the arity being ignored.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @param value  the value to store
+     * @return the value previously mapped to this combined key, null if none
+     */
+    private V putKeys(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5,
+            final V value) {
+        int slot = find(key1, key2, key3, key4, key5);
+        if (slot >= 0) {
+            final V old = valueAt(slot);
+            values[slot] = value;
+            return old;
+        }
+        if (size >= threshold) {
+            grow();
+            slot = find(key1, key2, key3, key4, key5);
+        }
+        slot = -1 - slot;
+        hashes[slot] = hash(key1, key2, key3, key4, key5);
+        final int base = slot * arity;
+        keys[base] = key1;
+        keys[base + 1] = key2;
+        if (arity > 2) {
+            keys[base + 2] = key3;
+            if (arity > 3) {
+                keys[base + 3] = key4;
+                if (arity > 4) {
+                    keys[base + 4] = key5;
+                }
+            }
+        }
+        values[slot] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Deserializes the map in using a custom routine.
+     *
+     * @param in  the input stream
+     * @throws IOException if an error occurs while reading from the stream
+     * @throws ClassNotFoundException if an object read from the stream cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (arity < 2 || arity > 5) {
+            throw new IOException("Invalid arity: " + arity);
+        }
+        final int mappings = in.readInt();
+        if (mappings < 0) {
+            throw new IOException("Invalid size: " + mappings);
+        }
+        allocate(capacityFor(mappings, maximumCapacity()));
+        final Object[] mapping = new Object[5];
+        for (int i = 0; i < mappings; i++) {
+            for (int k = 0; k < arity; k++) {
+                mapping[k] = in.readObject();
+            }
+            putKeys(mapping[0], mapping[1], mapping[2], mapping[3], mapping[4], (V) in.readObject());
+        }
+    }
+
+    /**
+     * Removes the specified {@link MultiKey} from this map.
+     *
+     * @param key  the mapping to remove
+     * @return the value mapped to the removed key, null if key not in map
+     */
+    @Override
+    public V remove(final Object key) {
+        final int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        final V old = valueAt(slot);
+        removeSlot(slot, null);
+        return old;
+    }
+
+    /**
+     * Removes a multi-key, the keys beyond the arity being ignored.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return the value mapped to the removed key, null if key not in map
+     */
+    private V removeKeys(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5) {
+        final int slot = find(key1, key2, key3, key4, key5);
+        if (slot < 0) {
+            return null;
+        }
+        final V old = valueAt(slot);
+        removeSlot(slot, null);
+        return old;
+    }
+
+    /**
+     * Removes the specified multi-key from this map.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @return the value mapped to the removed key, null if key not in map
+     * @throws IllegalArgumentException if the arity of the map is not 2
+     */
+    public V removeMultiKey(final Object key1, final Object key2) {
+        checkArity(2);
+        return removeKeys(key1, key2, null, null, null);
+    }
+
+    /**
+     * Removes the specified multi-key from this map.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @return the value mapped to the removed key, null if key not in map
+     * @throws IllegalArgumentException if the arity of the map is not 3
+     */
+    public V removeMultiKey(final Object key1, final Object key2, final Object key3) {
+        checkArity(3);
+        return removeKeys(key1, key2, key3, null, null);
+    }
+
+    /**
+     * Removes the specified multi-key from this map.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @return the value mapped to the removed key, null if key not in map
+     * @throws IllegalArgumentException if the arity of the map is not 4
+     */
+    public V removeMultiKey(final Object key1, final Object key2, final Object key3, final Object key4) {
+        checkArity(4);
+        return removeKeys(key1, key2, key3, key4, null);
+    }
+
+    /**
+     * Removes the specified multi-key from this map.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @param key4  the fourth key
+     * @param key5  the fifth key
+     * @return the value mapped to the removed key, null if key not in map
+     * @throws IllegalArgumentException if the arity of the map is not 5
+     */
+    public V removeMultiKey(final Object key1, final Object key2, final Object key3, final Object key4, final Object key5) {
+        checkArity(5);
+        return removeKeys(key1, key2, key3, key4, key5);
+    }
+
+    /**
+     * Removes the mapping at a slot, shifting back the following mappings of its
+     * probe sequence that may move.
+     *
+     * @param slot  the slot to empty
+     * @param iterator  the iterator removing the mapping, or null
+     */
+    private void removeSlot(final int slot, final SlotIterator iterator) {
+        final int mask = hashes.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = next + 1 & mask;
+            final int h = hashes[next];
+            if (h == 0) {
+                break;
+            }
+            final int home = h >>> shift;
+            // the mapping stays if its home slot lies cyclically in (hole, next]
+            if (hole <= next ? hole < home && home <= next : hole < home || home <= next) {
+                continue;
+            }
+            if (iterator != null && next < iterator.index && hole >= iterator.index) {
+                iterator.addMoved(next);
+            }
+            hashes[hole] = h;
+            System.arraycopy(keys, next * arity, keys, hole * arity, arity);
+            values[hole] = values[next];
+            hole = next;
+        }
+        hashes[hole] = 0;
+        Arrays.fill(keys, hole * arity, hole * arity + arity, null);
+        values[hole] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Gets the size of the map.
+     *
+     * @return the size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int slot) {
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out the target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int slot = 0; slot < hashes.length; slot++) {
+            if (hashes[slot] != 0) {
+                final int base = slot * arity;
+                for (int k = 0; k < arity; k++) {
+                    out.writeObject(keys[base + k]);
+                }
+                out.writeObject(values[slot]);
+            }
+        }
+    }
+
+}
@@ -28,6 +28,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.collections4.MapIterator;
+
 /**
  * Decorates a {@code Map} to evict expired entries once their expiration
  * time has been reached.
@@ -411,6 +413,18 @@ public class PassiveExpiringMap<K, V>
         return super.keySet();
     }
 
+    /**
+     * All expired entries are removed from the map prior to returning the map iterator.
+     * {@inheritDoc}
+     *
+     * @since 4.5.1
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        removeAllExpired(now());
+        return super.mapIterator();
+    }
+
     /**
      * The current time in milliseconds.
      */
@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import org.apache.commons.collections4.KeyValue;
+import org.apache.commons.collections4.MapIterator;
 
 /**
  * A StaticBucketMap is an efficient, thread-safe implementation of
@@ -133,6 +134,13 @@ public final class StaticBucketMap<K, V> extends AbstractIterableMap<K, V> {
             return false;
         }
 
+        protected Map.Entry<K, V> current() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            return last;
+        }
+
         protected Map.Entry<K, V> nextEntry() {
             if (!hasNext()) {
                 throw new NoSuchElementException();
@@ -150,6 +158,33 @@ public final class StaticBucketMap<K, V> extends AbstractIterableMap<K, V> {
         }
     }
 
+    /**
+     * MapIterator over the nodes themselves, so that no entries are created.
+     */
+    private final class BucketMapIterator extends BaseIterator implements MapIterator<K, V> {
+
+        @Override
+        public K getKey() {
+            return current().getKey();
+        }
+
+        @Override
+        public V getValue() {
+            return current().getValue();
+        }
+
+        @Override
+        public K next() {
+            return nextEntry().getKey();
+        }
+
+        @Override
+        public V setValue(final V value) {
+            return current().setValue(value);
+        }
+
+    }
+
     private final class EntryIterator extends BaseIterator implements Iterator<Map.Entry<K, V>> {
 
         @Override
@@ -611,6 +646,21 @@ public final class StaticBucketMap<K, V> extends AbstractIterableMap<K, V> {
         return new KeySet();
     }
 
+    /**
+     * Gets a MapIterator over the map.
+     * <p>
+     * The iterator walks the nodes of each bucket directly, so unlike
+     * {@link #entrySet()} it does not create an entry per mapping.
+     * </p>
+     *
+     * @return the map iterator
+     * @since 4.5.1
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        return new BucketMapIterator();
+    }
+
     /**
      * Puts a new key value mapping into the map.
      *
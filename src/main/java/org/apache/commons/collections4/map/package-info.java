@@ -30,6 +30,7 @@
  *   <li>CompositeMap - map that combines multiple maps into a single view
  *   <li>HashedMap - general purpose HashMap replacement supporting MapIterator
  *   <li>Flat3Map - designed for good performance at size 3 or less
+ *   <li>FlatMultiKeyMap - map of a fixed number of keys to the value, stored flat in open addressed arrays
  *   <li>LinkedMap - a hash map that maintains insertion order, supporting OrderedMapIterator
  *   <li>LRUMap - a hash map that maintains a maximum size by removing the least recently used entries
  *   <li>MultiKeyMap - map that provides special methods for using more than one key to access the value
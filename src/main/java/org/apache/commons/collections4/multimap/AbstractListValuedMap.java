@@ -16,6 +16,7 @@
  */
 package org.apache.commons.collections4.multimap;
 
+import java.util.AbstractList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -68,6 +69,7 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
                 iterator = list.listIterator();
             }
             iterator.add(value);
+            updateSize(1);
         }
 
         @Override
@@ -103,6 +105,7 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
         @Override
         public void remove() {
             iterator.remove();
+            updateSize(-1);
             if (values.isEmpty()) {
                 getMap().remove(key);
             }
@@ -132,6 +135,7 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
                 getMap().put(key, list);
             }
             list.add(index, value);
+            updateSize(1);
         }
 
         @Override
@@ -142,10 +146,14 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
                 final boolean changed = list.addAll(index, c);
                 if (changed) {
                     getMap().put(key, list);
+                    updateSize(list.size());
                 }
                 return changed;
             }
-            return list.addAll(index, c);
+            final int before = list.size();
+            final boolean changed = list.addAll(index, c);
+            updateSize(list.size() - before);
+            return changed;
         }
 
         @Override
@@ -204,6 +212,7 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
         public V remove(final int index) {
             final List<V> list = ListUtils.emptyIfNull(getMapping());
             final V value = list.remove(index);
+            updateSize(-1);
             if (list.isEmpty()) {
                 AbstractListValuedMap.this.remove(key);
             }
@@ -219,7 +228,48 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
         @Override
         public List<V> subList(final int fromIndex, final int toIndex) {
             final List<V> list = ListUtils.emptyIfNull(getMapping());
-            return list.subList(fromIndex, toIndex);
+            return new WrappedSubList(list.subList(fromIndex, toIndex));
+        }
+
+    }
+
+    /**
+     * Sub list view to keep the total size of the map up to date on modification.
+     */
+    private final class WrappedSubList extends AbstractList<V> {
+
+        private final List<V> subList;
+
+        WrappedSubList(final List<V> subList) {
+            this.subList = subList;
+        }
+
+        @Override
+        public void add(final int index, final V value) {
+            subList.add(index, value);
+            updateSize(1);
+        }
+
+        @Override
+        public V get(final int index) {
+            return subList.get(index);
+        }
+
+        @Override
+        public V remove(final int index) {
+            final V value = subList.remove(index);
+            updateSize(-1);
+            return value;
+        }
+
+        @Override
+        public V set(final int index, final V value) {
+            return subList.set(index, value);
+        }
+
+        @Override
+        public int size() {
+            return subList.size();
         }
 
     }
@@ -277,7 +327,11 @@ public abstract class AbstractListValuedMap<K, V> extends AbstractMultiValuedMap
      */
     @Override
     public List<V> remove(final Object key) {
-        return ListUtils.emptyIfNull(getMap().remove(key));
+        final List<V> list = getMap().remove(key);
+        if (list != null) {
+            updateSize(-list.size());
+        }
+        return ListUtils.emptyIfNull(list);
     }
 
     @Override
@@ -101,16 +101,26 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
          */
         final class AsMapEntrySetIterator extends AbstractIteratorDecorator<Map.Entry<K, Collection<V>>> {
 
+            private Map.Entry<K, Collection<V>> last;
+
             AsMapEntrySetIterator(final Iterator<Map.Entry<K, Collection<V>>> iterator) {
                 super(iterator);
             }
 
             @Override
             public Map.Entry<K, Collection<V>> next() {
-                final Map.Entry<K, Collection<V>> entry = super.next();
-                final K key = entry.getKey();
+                last = super.next();
+                final K key = last.getKey();
                 return new UnmodifiableMapEntry<>(key, wrappedCollection(key));
             }
+
+            @Override
+            public void remove() {
+                final int removed = last == null ? 0 : last.getValue().size();
+                super.remove();
+                updateSize(-removed);
+                last = null;
+            }
         }
 
         final transient Map<K, Collection<V>> map;
@@ -167,6 +177,7 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
                 return null;
             }
 
+            updateSize(-collection.size());
             final Collection<V> output = createCollection();
             output.addAll(collection);
             collection.clear();
@@ -215,6 +226,70 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
 
     }
 
+    /**
+     * Inner class that provides the key set view, keeping the total size up to date on removal.
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public void clear() {
+            AbstractMultiValuedMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return getMap().containsKey(o);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new KeySetIterator();
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            AbstractMultiValuedMap.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return getMap().size();
+        }
+    }
+
+    /**
+     * Inner class that provides the key set iterator.
+     */
+    private final class KeySetIterator implements Iterator<K> {
+
+        private final Iterator<? extends Map.Entry<K, ? extends Collection<V>>> iterator = getMap().entrySet().iterator();
+
+        private Map.Entry<K, ? extends Collection<V>> last;
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public K next() {
+            last = iterator.next();
+            return last.getKey();
+        }
+
+        @Override
+        public void remove() {
+            final int removed = last == null ? 0 : last.getValue().size();
+            iterator.remove();
+            updateSize(-removed);
+            last = null;
+        }
+    }
+
     /**
      * Inner class that provides a MultiSet<K> keys view.
      */
@@ -398,6 +473,7 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
         @Override
         public void remove() {
             iterator.remove();
+            updateSize(-1);
             if (values.isEmpty()) {
                 AbstractMultiValuedMap.this.remove(key);
             }
@@ -408,6 +484,9 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
      * Wrapped collection to handle add and remove on the collection returned
      * by get(object).
      * <p>
+     * All modifications are reported to the map to keep its total size up to date.
+     * </p>
+     * <p>
      * Currently, the wrapped collection is not cached and has to be retrieved
      * from the underlying map. This is safe, but not very efficient and
      * should be improved in subsequent releases. For this purpose, the
@@ -429,7 +508,11 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
                 coll = createCollection();
                 AbstractMultiValuedMap.this.map.put(key, coll);
             }
-            return coll.add(value);
+            if (coll.add(value)) {
+                updateSize(1);
+                return true;
+            }
+            return false;
         }
 
         @Override
@@ -439,13 +522,17 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
                 coll = createCollection();
                 AbstractMultiValuedMap.this.map.put(key, coll);
             }
-            return coll.addAll(other);
+            final int before = coll.size();
+            final boolean changed = coll.addAll(other);
+            updateSize(coll.size() - before);
+            return changed;
         }
 
         @Override
         public void clear() {
             final Collection<V> coll = getMapping();
             if (coll != null) {
+                updateSize(-coll.size());
                 coll.clear();
                 AbstractMultiValuedMap.this.remove(key);
             }
@@ -490,6 +577,9 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
             }
 
             final boolean result = coll.remove(item);
+            if (result) {
+                updateSize(-1);
+            }
             if (coll.isEmpty()) {
                 AbstractMultiValuedMap.this.remove(key);
             }
@@ -503,7 +593,9 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
                 return false;
             }
 
+            final int before = coll.size();
             final boolean result = coll.removeAll(c);
+            updateSize(coll.size() - before);
             if (coll.isEmpty()) {
                 AbstractMultiValuedMap.this.remove(key);
             }
@@ -517,7 +609,9 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
                 return false;
             }
 
+            final int before = coll.size();
             final boolean result = coll.retainAll(c);
+            updateSize(coll.size() - before);
             if (coll.isEmpty()) {
                 AbstractMultiValuedMap.this.remove(key);
             }
@@ -572,6 +666,12 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
     /** The AsMap view */
     private transient AsMap asMapView;
 
+    /** The KeySet view */
+    private transient KeySet keySetView;
+
+    /** The total number of values, kept up to date by all modifications */
+    private transient int totalSize;
+
     /** The map used to store the data */
     private transient Map<K, Collection<V>> map;
 
@@ -590,6 +690,7 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
     @SuppressWarnings("unchecked")
     protected AbstractMultiValuedMap(final Map<K, ? extends Collection<V>> map) {
         this.map = (Map<K, Collection<V>>) Objects.requireNonNull(map, "map");
+        totalSize = countValues();
     }
 
     @Override
@@ -600,6 +701,7 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
     @Override
     public void clear() {
         getMap().clear();
+        totalSize = 0;
     }
 
     @Override
@@ -618,6 +720,19 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
         return values().contains(value);
     }
 
+    /**
+     * Counts the values of all the collections of the underlying map.
+     *
+     * @return the total number of values
+     */
+    private int countValues() {
+        int count = 0;
+        for (final Collection<V> col : map.values()) {
+            count += col.size();
+        }
+        return count;
+    }
+
     /**
      * Creates a new Collection typed for a given subclass.
      *
@@ -733,7 +848,7 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
 
     @Override
     public Set<K> keySet() {
-        return getMap().keySet();
+        return keySetView != null ? keySetView : (keySetView = new KeySet());
     }
 
     @Override
@@ -761,11 +876,16 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
             coll = createCollection();
             if (coll.add(value)) {
                 map.put(key, coll);
+                totalSize++;
                 return true;
             }
             return false;
         }
-        return coll.add(value);
+        if (coll.add(value)) {
+            totalSize++;
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -843,7 +963,11 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
      */
     @Override
     public Collection<V> remove(final Object key) {
-        return CollectionUtils.emptyIfNull(getMap().remove(key));
+        final Collection<V> coll = getMap().remove(key);
+        if (coll != null) {
+            totalSize -= coll.size();
+        }
+        return CollectionUtils.emptyIfNull(coll);
     }
 
     /**
@@ -866,6 +990,9 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
             return false;
         }
         final boolean changed = coll.remove(value);
+        if (changed) {
+            totalSize--;
+        }
         if (coll.isEmpty()) {
             getMap().remove(key);
         }
@@ -882,26 +1009,22 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
     @SuppressWarnings("unchecked")
     protected void setMap(final Map<K, ? extends Collection<V>> map) {
         this.map = (Map<K, Collection<V>>) map;
+        totalSize = countValues();
     }
 
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation does <strong>not</strong> cache the total size
-     * of the multivalued map, but rather calculates it by iterating
-     * over the entries of the underlying map.
+     * This implementation caches the total size of the multivalued map,
+     * which is kept up to date by all modifications made through this map,
+     * its views and the collections returned by {@link #get(Object)}.
+     * Subclasses modifying the collections of the underlying map directly
+     * must report the changes with {@link #updateSize(int)}.
+     * </p>
      */
     @Override
     public int size() {
-        // the total size should be cached to improve performance
-        // but this requires that all modifications of the multimap
-        // (including the wrapped collections and entry/value
-        // collections) are tracked.
-        int size = 0;
-        for (final Collection<V> col : getMap().values()) {
-            size += col.size();
-        }
-        return size;
+        return totalSize;
     }
 
     @Override
@@ -909,6 +1032,17 @@ public abstract class AbstractMultiValuedMap<K, V> implements MultiValuedMap<K,
         return getMap().toString();
     }
 
+    /**
+     * Adjusts the cached total size of the multivalued map after the
+     * collections of the underlying map have been modified directly.
+     *
+     * @param delta the change in the number of values
+     * @since 4.5.1
+     */
+    protected void updateSize(final int delta) {
+        totalSize += delta;
+    }
+
     /**
      * Gets a collection containing all the values in the map.
      * <p>
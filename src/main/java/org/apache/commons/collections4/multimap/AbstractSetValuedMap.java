@@ -123,7 +123,11 @@ public abstract class AbstractSetValuedMap<K, V> extends AbstractMultiValuedMap<
      */
     @Override
     public Set<V> remove(final Object key) {
-        return SetUtils.emptyIfNull(getMap().remove(key));
+        final Set<V> set = getMap().remove(key);
+        if (set != null) {
+            updateSize(-set.size());
+        }
+        return SetUtils.emptyIfNull(set);
     }
 
     @Override
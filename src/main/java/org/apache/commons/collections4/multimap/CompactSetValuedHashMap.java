@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+/**
+ * Implements a {@code SetValuedMap}, using a {@link HashMap} to provide data
+ * storage and compact sets as value collections.
+ * <p>
+ * A compact set stores a single value inline, up to eight values in a small
+ * array, and is only promoted to a {@link HashSet} beyond that. When most keys
+ * map to one or a few values, this uses several times less memory than a
+ * {@link HashSetValuedHashMap}, at the cost of linear lookups within the
+ * values of a key while the values are stored in an array.
+ * </p>
+ * <p>
+ * <strong>Note that CompactSetValuedHashMap is not synchronized and is not
+ * thread-safe.</strong> If you wish to use this map from multiple threads
+ * concurrently, you must use appropriate synchronization. This class may throw
+ * exceptions when accessed by concurrent threads without synchronization.
+ * </p>
+ *
+ * @param <K> the type of the keys in this map
+ * @param <V> the type of the values in this map
+ * @since 4.5.1
+ */
+public class CompactSetValuedHashMap<K, V> extends AbstractSetValuedMap<K, V>
+    implements Serializable {
+
+    /**
+     * A set storing a single value inline, a few values in an array, and more
+     * values in a {@link HashSet}.
+     *
+     * @param <V> the type of the values
+     */
+    private static final class CompactSet<V> extends AbstractSet<V> {
+
+        /** The maximum number of values stored in an array. */
+        private static final int MAX_ARRAY_SIZE = 8;
+
+        /** The single value, the array of values or the HashSet of values. */
+        private Object data;
+
+        /** The number of values, or -1 once the values are stored in a HashSet. */
+        private int size;
+
+        /** The number of changes to the values stored inline or in the array, for the fail-fast iterator. */
+        private int modCount;
+
+        @Override
+        public boolean add(final V value) {
+            if (size < 0) {
+                return hashSet().add(value);
+            }
+            if (indexOf(value) >= 0) {
+                return false;
+            }
+            if (size == 0) {
+                data = value;
+                size = 1;
+            } else if (size == 1) {
+                data = new Object[] { data, value, null, null };
+                size = 2;
+            } else if (size == MAX_ARRAY_SIZE) {
+                final Object[] array = (Object[]) data;
+                final HashSet<Object> set = new HashSet<>(Arrays.asList(array));
+                set.add(value);
+                data = set;
+                size = -1;
+            } else {
+                Object[] array = (Object[]) data;
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, MAX_ARRAY_SIZE);
+                    data = array;
+                }
+                array[size++] = value;
+            }
+            modCount++;
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            data = null;
+            size = 0;
+            modCount++;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return size < 0 ? hashSet().contains(o) : indexOf(o) >= 0;
+        }
+
+        /**
+         * Gets a value stored inline or in the array.
+         *
+         * @param index the index of the value
+         * @return the value
+         */
+        @SuppressWarnings("unchecked")
+        private V get(final int index) {
+            return (V) (size == 1 ? data : ((Object[]) data)[index]);
+        }
+
+        @SuppressWarnings("unchecked")
+        private HashSet<V> hashSet() {
+            return (HashSet<V>) data;
+        }
+
+        /**
+         * Finds a value stored inline or in the array.
+         *
+         * @param o the value to find
+         * @return the index of the value, or -1 if absent
+         */
+        private int indexOf(final Object o) {
+            if (size == 1) {
+                return Objects.equals(data, o) ? 0 : -1;
+            }
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(((Object[]) data)[i], o)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            if (size < 0) {
+                return hashSet().iterator();
+            }
+            return new Iterator<V>() {
+
+                private int cursor;
+
+                private int last = -1;
+
+                private int expectedModCount = modCount;
+
+                private void checkModCount() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    checkModCount();
+                    return cursor < size;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    last = cursor++;
+                    return get(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    checkModCount();
+                    removeAt(last);
+                    expectedModCount = modCount;
+                    cursor = last;
+                    last = -1;
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (size < 0) {
+                return hashSet().remove(o);
+            }
+            final int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            removeAt(index);
+            return true;
+        }
+
+        /**
+         * Removes a value stored inline or in the array, keeping the order of the
+         * other values.
+         *
+         * @param index the index of the value
+         */
+        private void removeAt(final int index) {
+            modCount++;
+            if (size == 1) {
+                data = null;
+                size = 0;
+                return;
+            }
+            final Object[] array = (Object[]) data;
+            System.arraycopy(array, index + 1, array, index, size - index - 1);
+            array[--size] = null;
+            if (size == 1) {
+                data = array[0];
+            }
+        }
+
+        @Override
+        public int size() {
+            return size < 0 ? hashSet().size() : size;
+        }
+    }
+
+    /** Serialization Version */
+    private static final long serialVersionUID = 20261019L;
+
+    /**
+     * The initial map capacity used when none specified in constructor.
+     */
+    private static final int DEFAULT_INITIAL_MAP_CAPACITY = 16;
+
+    /**
+     * Creates an empty CompactSetValuedHashMap with the default initial
+     * map capacity (16).
+     */
+    public CompactSetValuedHashMap() {
+        this(DEFAULT_INITIAL_MAP_CAPACITY);
+    }
+
+    /**
+     * Creates an empty CompactSetValuedHashMap with the specified initial
+     * map capacity.
+     *
+     * @param initialMapCapacity  the initial hashmap capacity
+     */
+    public CompactSetValuedHashMap(final int initialMapCapacity) {
+        super(new HashMap<>(initialMapCapacity));
+    }
+
+    /**
+     * Creates a CompactSetValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map a {@code Map} to copy into this map
+     */
+    public CompactSetValuedHashMap(final Map<? extends K, ? extends V> map) {
+        this(map.size());
+        super.putAll(map);
+    }
+
+    /**
+     * Creates a CompactSetValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map a {@code MultiValuedMap} to copy into this map
+     */
+    public CompactSetValuedHashMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        this(map.keySet().size());
+        super.putAll(map);
+    }
+
+    @Override
+    protected Set<V> createCollection() {
+        return new CompactSet<>();
+    }
+
+    /**
+     * Deserializes an instance from an ObjectInputStream.
+     *
+     * @param in The source ObjectInputStream.
+     * @throws IOException            Any of the usual Input/Output related exceptions.
+     * @throws ClassNotFoundException A class of a serialized object cannot be found.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        setMap(new HashMap<>());
+        doReadObject(in);
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out the target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        doWriteObject(out);
+    }
+
+}
@@ -0,0 +1,849 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.MultiSet;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.keyvalue.AbstractMapEntry;
+import org.apache.commons.collections4.keyvalue.UnmodifiableMapEntry;
+import org.apache.commons.collections4.multiset.AbstractMultiSet;
+import org.apache.commons.collections4.multiset.UnmodifiableMultiSet;
+
+/**
+ * Implements a thread-safe {@code SetValuedMap}, using a {@link ConcurrentHashMap}
+ * to provide data storage and concurrent sets as value collections.
+ * <p>
+ * The {@link #put(Object, Object) put}, {@link #putAll(Object, Iterable) putAll},
+ * {@link #remove(Object) remove} and {@link #removeMapping(Object, Object) removeMapping}
+ * operations are atomic for each key: the set of values of a key is only modified
+ * while the key is locked in the underlying map, and a key is removed in the same
+ * atomic step as its last value. Retrievals do not block, and the views and their
+ * iterators are weakly consistent, like those of {@link ConcurrentHashMap}: they never
+ * throw {@link java.util.ConcurrentModificationException} and may or may not reflect
+ * modifications made after their creation.
+ * </p>
+ * <p>
+ * Like {@link ConcurrentHashMap}, this map does not allow {@code null} keys or values.
+ * The {@link #size()} is maintained in a {@link LongAdder}, so that it is cheap to
+ * compute but only exact in the absence of concurrent updates.
+ * </p>
+ *
+ * @param <K> the type of the keys in this map
+ * @param <V> the type of the values in this map
+ * @since 4.5.1
+ */
+public class ConcurrentSetValuedHashMap<K, V> implements SetValuedMap<K, V>, Serializable {
+
+    /**
+     * Inner class that provides the AsMap view.
+     */
+    private final class AsMap extends AbstractMap<K, Collection<V>> {
+
+        @Override
+        public void clear() {
+            ConcurrentSetValuedHashMap.this.clear();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return ConcurrentSetValuedHashMap.this.containsKey(key);
+        }
+
+        @Override
+        public Set<Map.Entry<K, Collection<V>>> entrySet() {
+            return new AbstractSet<Map.Entry<K, Collection<V>>>() {
+
+                @Override
+                public void clear() {
+                    ConcurrentSetValuedHashMap.this.clear();
+                }
+
+                @Override
+                public Iterator<Map.Entry<K, Collection<V>>> iterator() {
+                    final Iterator<K> keyIterator = keySet().iterator();
+                    return new Iterator<Map.Entry<K, Collection<V>>>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return keyIterator.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<K, Collection<V>> next() {
+                            final K key = keyIterator.next();
+                            return new UnmodifiableMapEntry<>(key, get(key));
+                        }
+
+                        @Override
+                        public void remove() {
+                            keyIterator.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+
+        @Override
+        public Collection<V> get(final Object key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            final K k = (K) key;
+            return ConcurrentSetValuedHashMap.this.get(k);
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return ConcurrentSetValuedHashMap.this.keySet();
+        }
+
+        @Override
+        public Collection<V> remove(final Object key) {
+            final Set<V> removed = ConcurrentSetValuedHashMap.this.remove(key);
+            return removed.isEmpty() ? null : removed;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * Inner class that provides the Entry<K, V> view.
+     */
+    private final class Entries extends AbstractCollection<Entry<K, V>> {
+
+        @Override
+        public void clear() {
+            ConcurrentSetValuedHashMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return containsMapping(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return removeMapping(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentSetValuedHashMap.this.size();
+        }
+    }
+
+    /**
+     * Inner class that iterates over all the mappings, removing them through the map.
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private final Iterator<Map.Entry<K, Set<V>>> keyIterator = map.entrySet().iterator();
+
+        private Iterator<V> valueIterator = IteratorUtils.emptyIterator();
+
+        private K key;
+
+        private K lastKey;
+
+        private V lastValue;
+
+        K getKey() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            return lastKey;
+        }
+
+        V getValue() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            return lastValue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!valueIterator.hasNext()) {
+                if (!keyIterator.hasNext()) {
+                    return false;
+                }
+                final Map.Entry<K, Set<V>> entry = keyIterator.next();
+                key = entry.getKey();
+                valueIterator = entry.getValue().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            nextKey();
+            return new AbstractMapEntry<K, V>(lastKey, lastValue) {
+
+                @Override
+                public V setValue(final V value) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        /**
+         * Advances to the next mapping.
+         *
+         * @return the key of the next mapping
+         */
+        K nextKey() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastValue = valueIterator.next();
+            lastKey = key;
+            return lastKey;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            removeMapping(lastKey, lastValue);
+            lastKey = null;
+            lastValue = null;
+        }
+    }
+
+    /**
+     * Inner class that provides the key set view.
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public void clear() {
+            ConcurrentSetValuedHashMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            final Iterator<K> iterator = map.keySet().iterator();
+            return new Iterator<K>() {
+
+                private K last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    last = iterator.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    ConcurrentSetValuedHashMap.this.remove(last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return !ConcurrentSetValuedHashMap.this.remove(o).isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * Inner class that provides a MultiSet<K> keys view.
+     */
+    private final class KeysMultiSet extends AbstractMultiSet<K> {
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        protected Iterator<MultiSet.Entry<K>> createEntrySetIterator() {
+            return IteratorUtils.transformedIterator(map.entrySet().iterator(),
+                mapEntry -> new AbstractMultiSet.AbstractEntry<K>() {
+
+                    @Override
+                    public int getCount() {
+                        return mapEntry.getValue().size();
+                    }
+
+                    @Override
+                    public K getElement() {
+                        return mapEntry.getKey();
+                    }
+                });
+        }
+
+        @Override
+        public int getCount(final Object object) {
+            final Set<V> values = object == null ? null : map.get(object);
+            return values == null ? 0 : values.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentSetValuedHashMap.this.size();
+        }
+
+        @Override
+        protected int uniqueElements() {
+            return map.size();
+        }
+    }
+
+    /**
+     * Inner class that provides the values view.
+     */
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public void clear() {
+            ConcurrentSetValuedHashMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final EntryIterator iterator = new EntryIterator();
+            return new Iterator<V>() {
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    iterator.nextKey();
+                    return iterator.getValue();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentSetValuedHashMap.this.size();
+        }
+    }
+
+    /**
+     * Set view of the values of a key, modifying them through the map.
+     */
+    private final class ValueSet extends AbstractSet<V> {
+
+        private final K key;
+
+        ValueSet(final K key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean add(final V value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends V> c) {
+            return putAll(key, c);
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentSetValuedHashMap.this.remove(key);
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsMapping(key, o);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final Set<V> values = key == null ? null : map.get(key);
+            if (values == null) {
+                return IteratorUtils.emptyIterator();
+            }
+            final Iterator<V> iterator = values.iterator();
+            return new Iterator<V>() {
+
+                private V last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    last = iterator.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    removeMapping(key, last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return removeMapping(key, o);
+        }
+
+        @Override
+        public int size() {
+            final Set<V> values = key == null ? null : map.get(key);
+            return values == null ? 0 : values.size();
+        }
+    }
+
+    /** Serialization Version */
+    private static final long serialVersionUID = 20261019L;
+
+    /** The map used to store the data. */
+    private final ConcurrentHashMap<K, Set<V>> map;
+
+    /** The total number of values. */
+    private final LongAdder totalSize = new LongAdder();
+
+    /** The AsMap view */
+    private transient AsMap asMapView;
+
+    /** The EntryValues view */
+    private transient Entries entriesView;
+
+    /** The KeyMultiSet view */
+    private transient MultiSet<K> keysMultiSetView;
+
+    /** The KeySet view */
+    private transient KeySet keySetView;
+
+    /** The values view */
+    private transient Values valuesView;
+
+    /**
+     * Creates an empty ConcurrentSetValuedHashMap with the default initial map capacity (16).
+     */
+    public ConcurrentSetValuedHashMap() {
+        map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates an empty ConcurrentSetValuedHashMap with the specified initial map capacity.
+     *
+     * @param initialMapCapacity  the initial map capacity
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public ConcurrentSetValuedHashMap(final int initialMapCapacity) {
+        map = new ConcurrentHashMap<>(initialMapCapacity);
+    }
+
+    /**
+     * Creates a ConcurrentSetValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map a {@code Map} to copy into this map
+     * @throws NullPointerException if the map, or any of its keys or values, is null
+     */
+    public ConcurrentSetValuedHashMap(final Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    /**
+     * Creates a ConcurrentSetValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map a {@code MultiValuedMap} to copy into this map
+     * @throws NullPointerException if the map, or any of its keys or values, is null
+     */
+    public ConcurrentSetValuedHashMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        this(map.keySet().size());
+        putAll(map);
+    }
+
+    @Override
+    public Map<K, Collection<V>> asMap() {
+        return asMapView != null ? asMapView : (asMapView = new AsMap());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The keys are removed one at a time, so mappings added concurrently may remain.
+     * </p>
+     */
+    @Override
+    public void clear() {
+        for (final K key : map.keySet()) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key != null && map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsMapping(final Object key, final Object value) {
+        final Set<V> values = key == null ? null : map.get(key);
+        return values != null && value != null && values.contains(value);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        if (value != null) {
+            for (final Set<V> values : map.values()) {
+                if (values.contains(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a new value set.
+     *
+     * @return a new concurrent set
+     */
+    private Set<V> createSet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public Collection<Entry<K, V>> entries() {
+        return entriesView != null ? entriesView : (entriesView = new Entries());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof MultiValuedMap) {
+            return asMap().equals(((MultiValuedMap<?, ?>) obj).asMap());
+        }
+        return false;
+    }
+
+    /**
+     * Gets a view of the set of values associated with the specified key,
+     * which is empty when the mapping is not present. Modifications of the
+     * view are made atomically through this map.
+     *
+     * @param key the key to retrieve
+     * @return the {@code Set} of values, will return an empty {@code Set} for no mapping
+     */
+    @Override
+    public Set<V> get(final K key) {
+        return new ValueSet(key);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns an unmodifiable {@link MultiSet} view of the keys, with the
+     * number of values of each key as its count.
+     *
+     * @return a multiset view of the key mapping contained in this map
+     */
+    @Override
+    public MultiSet<K> keys() {
+        if (keysMultiSetView == null) {
+            keysMultiSetView = UnmodifiableMultiSet.unmodifiableMultiSet(new KeysMultiSet());
+        }
+        return keysMultiSetView;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySetView != null ? keySetView : (keySetView = new KeySet());
+    }
+
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        final EntryIterator iterator = new EntryIterator();
+        return new MapIterator<K, V>() {
+
+            @Override
+            public K getKey() {
+                return iterator.getKey();
+            }
+
+            @Override
+            public V getValue() {
+                return iterator.getValue();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public K next() {
+                return iterator.nextKey();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+
+            @Override
+            public V setValue(final V value) {
+                iterator.getValue();
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Atomically adds the value to the set associated with the specified key.
+     *
+     * @param key the key to store against
+     * @param value the value to add to the set at the key
+     * @return true if the map changed
+     * @throws NullPointerException if the key or value is null
+     */
+    @Override
+    public boolean put(final K key, final V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        final Set<V> values = map.get(key);
+        if (values != null && values.contains(value)) {
+            return false;
+        }
+        final boolean[] changed = new boolean[1];
+        map.compute(key, (k, set) -> {
+            final Set<V> result = set != null ? set : createSet();
+            if (result.add(value)) {
+                totalSize.increment();
+                changed[0] = true;
+            }
+            return result;
+        });
+        return changed[0];
+    }
+
+    /**
+     * Atomically adds Iterable values to the set associated with the specified key.
+     *
+     * @param key the key to store against
+     * @param values the values to add to the set at the key, may not be null
+     * @return true if this map changed
+     * @throws NullPointerException if the key, values, or any of the values is null
+     */
+    @Override
+    public boolean putAll(final K key, final Iterable<? extends V> values) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(values, "values");
+        // check the values before the update, which must not fail halfway
+        final List<V> list = new ArrayList<>();
+        for (final V value : values) {
+            list.add(Objects.requireNonNull(value, "value"));
+        }
+        final int[] added = new int[1];
+        map.compute(key, (k, set) -> {
+            final Set<V> result = set != null ? set : createSet();
+            for (final V value : list) {
+                if (result.add(value)) {
+                    added[0]++;
+                }
+            }
+            return result.isEmpty() ? null : result;
+        });
+        totalSize.add(added[0]);
+        return added[0] > 0;
+    }
+
+    @Override
+    public boolean putAll(final Map<? extends K, ? extends V> map) {
+        Objects.requireNonNull(map, "map");
+        boolean changed = false;
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            changed |= put(entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean putAll(final MultiValuedMap<? extends K, ? extends V> map) {
+        Objects.requireNonNull(map, "map");
+        boolean changed = false;
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entries()) {
+            changed |= put(entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+
+    /**
+     * Atomically removes all values associated with the specified key.
+     *
+     * @param key  the key to remove values from
+     * @return the {@code Set} of values removed, will return an empty,
+     *   unmodifiable set for no mapping found
+     */
+    @Override
+    public Set<V> remove(final Object key) {
+        final Set<V> removed = key == null ? null : map.remove(key);
+        if (removed == null) {
+            return Collections.emptySet();
+        }
+        // no update can reach the set once it has been removed from the map
+        totalSize.add(-removed.size());
+        return removed;
+    }
+
+    /**
+     * Atomically removes a specific key/value mapping from the map, and the
+     * key itself if this was its last value.
+     *
+     * @param key the key to remove from
+     * @param value the value to remove
+     * @return true if the mapping was removed, false otherwise
+     */
+    @Override
+    public boolean removeMapping(final Object key, final Object value) {
+        if (!containsMapping(key, value)) {
+            return false;
+        }
+        final boolean[] changed = new boolean[1];
+        @SuppressWarnings("unchecked")
+        final K k = (K) key;
+        map.computeIfPresent(k, (ignored, set) -> {
+            if (set.remove(value)) {
+                totalSize.decrement();
+                changed[0] = true;
+            }
+            return set.isEmpty() ? null : set;
+        });
+        return changed[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The total size is maintained in a {@link LongAdder}, so this method does not
+     * iterate over the values, but is only exact in the absence of concurrent updates.
+     * </p>
+     */
+    @Override
+    public int size() {
+        final long sum = totalSize.sum();
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, sum));
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return valuesView != null ? valuesView : (valuesView = new Values());
+    }
+
+}
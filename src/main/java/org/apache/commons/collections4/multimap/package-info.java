@@ -23,6 +23,8 @@
  * <ul>
  *   <li>ArrayListValuedHashMap - ListValuedMap implementation using a HashMap/ArrayList
  *   <li>HashSetValuedHashMap   - SetValuedMap implementation using a HashMap/HashSet
+ *   <li>CompactSetValuedHashMap - SetValuedMap implementation using a HashMap and compact sets storing few values inline
+ *   <li>ConcurrentSetValuedHashMap - thread-safe SetValuedMap implementation using a ConcurrentHashMap and concurrent sets
  * </ul>
  * <p>
  * The following decorators are provided in the package:
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multiset;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implements a thread-safe {@code MultiSet}, using a {@link ConcurrentHashMap}
+ * of striped {@link LongAdder} counters to provide the data storage.
+ * <p>
+ * Adding occurrences of an element already present takes no lock and, thanks to
+ * the striped counters, scales across cores even when many threads count the same
+ * element. Removing occurrences locks the element in the underlying map, so that
+ * counts never become negative and an element is dropped once its count reaches
+ * zero, without losing occurrences added concurrently.
+ * </p>
+ * <p>
+ * The counts, the {@link #size()} and the views are weakly consistent: they
+ * never throw {@link java.util.ConcurrentModificationException}, and may or may
+ * not reflect modifications made while they are computed or iterated. Operations
+ * built from several steps, such as {@link #setCount(Object, int)}, are not atomic.
+ * Like {@link ConcurrentHashMap}, this multiset does not allow {@code null} elements.
+ * </p>
+ *
+ * @param <E> the type held in the multiset
+ * @since 4.5.1
+ */
+public class ConcurrentHashMultiSet<E> extends AbstractMultiSet<E> implements Serializable {
+
+    /**
+     * Counts the occurrences of an element.
+     */
+    private static final class Counter extends LongAdder {
+
+        private static final long serialVersionUID = 20261019L;
+
+        /**
+         * Set, while the element is locked, once the counter has been removed from the map;
+         * occurrences added to a detached counter are moved to the current counter of the element.
+         */
+        volatile boolean detached;
+    }
+
+    /**
+     * Iterates over the entries with a positive count.
+     */
+    private final class EntrySetIterator implements Iterator<Entry<E>> {
+
+        private final Iterator<Map.Entry<E, Counter>> iterator = map.entrySet().iterator();
+
+        private Entry<E> next;
+
+        private E last;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && iterator.hasNext()) {
+                final Map.Entry<E, Counter> mapEntry = iterator.next();
+                final E element = mapEntry.getKey();
+                if (count(mapEntry.getValue()) > 0) {
+                    next = new AbstractEntry<E>() {
+
+                        @Override
+                        public int getCount() {
+                            return ConcurrentHashMultiSet.this.getCount(element);
+                        }
+
+                        @Override
+                        public E getElement() {
+                            return element;
+                        }
+                    };
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<E> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<E> result = next;
+            next = null;
+            last = result.getElement();
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException("Iterator remove() can only be called once after next()");
+            }
+            ConcurrentHashMultiSet.this.remove(last, Integer.MAX_VALUE);
+            last = null;
+        }
+    }
+
+    /** Serial version lock */
+    private static final long serialVersionUID = 20261019L;
+
+    /**
+     * Reads a counter as an {@code int} count.
+     *
+     * @param counter the counter
+     * @return the count
+     */
+    private static int count(final LongAdder counter) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, counter.sum()));
+    }
+
+    /** The counters of the elements. */
+    private transient ConcurrentHashMap<E, Counter> map;
+
+    /** The total number of occurrences. */
+    private transient LongAdder totalSize;
+
+    /**
+     * Constructs an empty {@link ConcurrentHashMultiSet}.
+     */
+    public ConcurrentHashMultiSet() {
+        map = new ConcurrentHashMap<>();
+        totalSize = new LongAdder();
+    }
+
+    /**
+     * Constructs a multiset containing all the members of the given collection.
+     *
+     * @param coll  a collection to copy into this multiset
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    public ConcurrentHashMultiSet(final Collection<? extends E> coll) {
+        this();
+        addAll(coll);
+    }
+
+    @Override
+    public boolean add(final E object) {
+        increment(object, 1);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned count may not account for occurrences concurrently added or removed.
+     * </p>
+     *
+     * @throws NullPointerException if the object is null
+     */
+    @Override
+    public int add(final E object, final int occurrences) {
+        Objects.requireNonNull(object, "object");
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative.");
+        }
+        final int oldCount = getCount(object);
+        if (occurrences > 0) {
+            increment(object, occurrences);
+        }
+        return oldCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E cast(final Object object) {
+        return (E) object;
+    }
+
+    /**
+     * Removes the elements one at a time, so occurrences added concurrently may remain.
+     */
+    @Override
+    public void clear() {
+        for (final E element : map.keySet()) {
+            remove(element, Integer.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return getCount(object) > 0;
+    }
+
+    @Override
+    protected Iterator<Entry<E>> createEntrySetIterator() {
+        return new EntrySetIterator();
+    }
+
+    @Override
+    public int getCount(final Object object) {
+        final Counter counter = object == null ? null : map.get(object);
+        return counter == null ? 0 : count(counter);
+    }
+
+    /**
+     * Adds occurrences of an element without lock when the element is present.
+     *
+     * @param object the element
+     * @param occurrences the positive number of occurrences to add
+     */
+    private void increment(final E object, final int occurrences) {
+        Counter counter = map.get(Objects.requireNonNull(object, "object"));
+        if (counter == null) {
+            counter = map.computeIfAbsent(object, k -> new Counter());
+        }
+        counter.add(occurrences);
+        totalSize.add(occurrences);
+        if (counter.detached) {
+            moveDetached(object, counter);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Moves the occurrences added to a detached counter to the current counter of the element.
+     *
+     * @param object the element
+     * @param detached the detached counter
+     */
+    private void moveDetached(final E object, final Counter detached) {
+        map.compute(object, (k, current) -> {
+            final long residual = detached.sum();
+            if (residual <= 0) {
+                return current;
+            }
+            detached.add(-residual);
+            final Counter target = current != null ? current : new Counter();
+            target.add(residual);
+            return target;
+        });
+    }
+
+    /**
+     * Deserializes the multiset in using a custom routine.
+     *
+     * @param in the input stream
+     * @throws IOException if an error occurs while reading from the stream
+     * @throws ClassNotFoundException if an object read from the stream cannot be loaded
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        map = new ConcurrentHashMap<>();
+        totalSize = new LongAdder();
+        super.doReadObject(in);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The removal is atomic with respect to other removals of the same element.
+     * </p>
+     */
+    @Override
+    public int remove(final Object object, final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative.");
+        }
+        if (object == null || occurrences == 0) {
+            return getCount(object);
+        }
+        final long[] oldCount = new long[1];
+        map.computeIfPresent(cast(object), (k, counter) -> {
+            final long count = Math.max(0, counter.sum());
+            final long removed = Math.min(count, occurrences);
+            oldCount[0] = count;
+            counter.add(-removed);
+            totalSize.add(-removed);
+            if (count > removed) {
+                return counter;
+            }
+            // occurrences added after the count was read are moved to a new counter
+            counter.detached = true;
+            final long residual = counter.sum();
+            if (residual <= 0) {
+                return null;
+            }
+            counter.add(-residual);
+            final Counter replacement = new Counter();
+            replacement.add(residual);
+            return replacement;
+        });
+        return (int) Math.min(Integer.MAX_VALUE, oldCount[0]);
+    }
+
+    @Override
+    public int size() {
+        return count(totalSize);
+    }
+
+    @Override
+    protected int uniqueElements() {
+        return map.size();
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out the target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        super.doWriteObject(out);
+    }
+
+}
@@ -0,0 +1,522 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multiset;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.collections4.MultiSet;
+
+/**
+ * Implements {@code MultiSet} with an open addressing hash table, storing the
+ * elements in an array and their counts in a parallel {@code int[]}.
+ * <p>
+ * Unlike {@link HashMultiSet}, this implementation allocates no object per
+ * distinct element: adding an element already present only increments a
+ * primitive counter, which makes it well suited for counting the frequencies
+ * of large streams of elements.
+ * </p>
+ * <p>
+ * <strong>Note that OpenHashMultiSet is not synchronized and is not thread-safe.</strong>
+ * See {@link ConcurrentHashMultiSet} for a thread-safe implementation.
+ * </p>
+ *
+ * @param <E> the type held in the multiset
+ * @since 4.5.1
+ */
+public class OpenHashMultiSet<E> extends AbstractMultiSet<E> implements Serializable {
+
+    /**
+     * Iterates over the slots of the table, reading the counts from the table.
+     */
+    private abstract class AbstractSlotIterator<T> implements Iterator<T> {
+
+        /** The next slot to visit. */
+        int nextSlot;
+
+        /** The slot of the last returned entry, or -1. */
+        int lastSlot = -1;
+
+        /** The expected modification count. */
+        int expectedModCount = modCount;
+
+        void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextSlot < elements.length && !isLive(elements[nextSlot])) {
+                nextSlot++;
+            }
+            return nextSlot < elements.length;
+        }
+
+        /**
+         * Advances to the next slot holding an element.
+         *
+         * @return the slot
+         */
+        int nextSlot() {
+            checkModCount();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = nextSlot++;
+            return lastSlot;
+        }
+
+        @Override
+        public void remove() {
+            checkModCount();
+            if (lastSlot < 0) {
+                throw new IllegalStateException("Iterator remove() can only be called once after next()");
+            }
+            removeSlot(lastSlot);
+            lastSlot = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Iterates over the entries of the multiset.
+     */
+    private final class EntrySetIterator extends AbstractSlotIterator<Entry<E>> {
+
+        @Override
+        public Entry<E> next() {
+            final int slot = nextSlot();
+            final Object element = elements[slot];
+            return new AbstractEntry<E>() {
+
+                @Override
+                public int getCount() {
+                    return elements[slot] == element ? counts[slot] : 0;
+                }
+
+                @Override
+                public E getElement() {
+                    return unmask(element);
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the elements of the multiset, repeating each element as many times as its count.
+     */
+    private final class MultiSetIterator extends AbstractSlotIterator<E> {
+
+        /** The number of remaining occurrences of the current element. */
+        private int itemCount;
+
+        /** The slot of the current element. */
+        private int currentSlot = -1;
+
+        @Override
+        public boolean hasNext() {
+            return itemCount > 0 || super.hasNext();
+        }
+
+        @Override
+        public E next() {
+            checkModCount();
+            if (itemCount == 0) {
+                currentSlot = nextSlot();
+                itemCount = counts[currentSlot];
+            }
+            itemCount--;
+            lastSlot = currentSlot;
+            return unmask(elements[currentSlot]);
+        }
+
+        @Override
+        public void remove() {
+            checkModCount();
+            if (lastSlot < 0) {
+                throw new IllegalStateException();
+            }
+            if (counts[lastSlot] > 1) {
+                counts[lastSlot]--;
+                size--;
+                modCount++;
+            } else {
+                removeSlot(lastSlot);
+            }
+            lastSlot = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /** Serial version lock */
+    private static final long serialVersionUID = 20261019L;
+
+    /** The default number of slots. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The maximum number of slots. */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Stands for the {@code null} element in the table. */
+    private static final Object NULL_ELEMENT = new Object();
+
+    /** Marks a slot whose element was removed, so that probing continues past it. */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * Computes the number of slots needed to hold the given number of elements.
+     *
+     * @param expectedElements the number of elements
+     * @return a power of two
+     */
+    private static int capacityFor(final int expectedElements) {
+        final long needed = Math.max(DEFAULT_CAPACITY, (long) expectedElements * 3 / 2 + 1);
+        return needed >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return (h ^ h >>> 16) * 0x9E3779B9;
+    }
+
+    private static boolean isLive(final Object slotElement) {
+        return slotElement != null && slotElement != REMOVED;
+    }
+
+    private static Object mask(final Object object) {
+        return object == null ? NULL_ELEMENT : object;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E unmask(final Object element) {
+        return element == NULL_ELEMENT ? null : (E) element;
+    }
+
+    /** The elements, {@code null} for empty slots. */
+    private transient Object[] elements;
+
+    /** The count of the element in the same slot. */
+    private transient int[] counts;
+
+    /** The shift applied to the hash to get a slot. */
+    private transient int shift;
+
+    /** The total number of occurrences. */
+    private transient int size;
+
+    /** The number of distinct elements. */
+    private transient int unique;
+
+    /** The number of slots holding an element or marked as removed. */
+    private transient int used;
+
+    /** The modification count for fail fast iterators. */
+    private transient int modCount;
+
+    /**
+     * Constructs an empty {@link OpenHashMultiSet}.
+     */
+    public OpenHashMultiSet() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a multiset containing all the members of the given collection.
+     *
+     * @param coll  a collection to copy into this multiset
+     */
+    public OpenHashMultiSet(final Collection<? extends E> coll) {
+        this();
+        addAll(coll);
+    }
+
+    /**
+     * Constructs an empty {@link OpenHashMultiSet} able to hold the given
+     * number of distinct elements without resizing.
+     *
+     * @param expectedUniqueElements  the expected number of distinct elements
+     * @throws IllegalArgumentException if the number of elements is negative
+     */
+    public OpenHashMultiSet(final int expectedUniqueElements) {
+        if (expectedUniqueElements < 0) {
+            throw new IllegalArgumentException("Expected unique elements must not be negative.");
+        }
+        allocate(capacityFor(expectedUniqueElements));
+    }
+
+    @Override
+    public int add(final E object, final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative.");
+        }
+        final Object key = mask(object);
+        final int hash = hash(key);
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            final int oldCount = counts[slot];
+            if (occurrences > 0) {
+                counts[slot] = oldCount + occurrences;
+                size += occurrences;
+                modCount++;
+            }
+            return oldCount;
+        }
+        if (occurrences > 0) {
+            if (used >= maxUsed()) {
+                // rehash in place when removed slots make up most of the used ones
+                allocateAndRehash(unique >= used / 2 ? Math.min(MAXIMUM_CAPACITY, elements.length << 1) : elements.length);
+            }
+            slot = insertionSlot(hash);
+            if (elements[slot] == null) {
+                used++;
+            }
+            elements[slot] = key;
+            counts[slot] = occurrences;
+            unique++;
+            size += occurrences;
+            modCount++;
+        }
+        return 0;
+    }
+
+    /**
+     * Allocates an empty table.
+     *
+     * @param capacity the number of slots, a power of two
+     */
+    private void allocate(final int capacity) {
+        elements = new Object[capacity];
+        counts = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        used = 0;
+    }
+
+    /**
+     * Allocates a table and inserts the current elements again, dropping the removed slots.
+     *
+     * @param capacity the number of slots, a power of two
+     */
+    private void allocateAndRehash(final int capacity) {
+        final Object[] oldElements = elements;
+        final int[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldElements.length; i++) {
+            final Object key = oldElements[i];
+            if (isLive(key)) {
+                final int slot = insertionSlot(hash(key));
+                elements[slot] = key;
+                counts[slot] = oldCounts[i];
+                used++;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(elements, null);
+        Arrays.fill(counts, 0);
+        size = 0;
+        unique = 0;
+        used = 0;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        final Object key = mask(object);
+        return find(key, hash(key)) >= 0;
+    }
+
+    @Override
+    protected Iterator<Entry<E>> createEntrySetIterator() {
+        return new EntrySetIterator();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof MultiSet)) {
+            return false;
+        }
+        final MultiSet<?> other = (MultiSet<?>) object;
+        if (other.size() != size) {
+            return false;
+        }
+        for (int i = 0; i < elements.length; i++) {
+            final Object key = elements[i];
+            if (isLive(key) && other.getCount(unmask(key)) != counts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the slot of an element.
+     *
+     * @param key the masked element
+     * @param hash the hash of the element
+     * @return the slot, or -1 if absent
+     */
+    private int find(final Object key, final int hash) {
+        final int mask = elements.length - 1;
+        for (int slot = hash >>> shift;; slot = slot + 1 & mask) {
+            final Object candidate = elements[slot];
+            if (candidate == null) {
+                return -1;
+            }
+            if (candidate == key || candidate != REMOVED && key.equals(candidate)) {
+                return slot;
+            }
+        }
+    }
+
+    @Override
+    public int getCount(final Object object) {
+        final Object key = mask(object);
+        final int slot = find(key, hash(key));
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    @Override
+    public int hashCode() {
+        int total = 0;
+        for (int i = 0; i < elements.length; i++) {
+            final Object key = elements[i];
+            if (isLive(key)) {
+                total += (key == NULL_ELEMENT ? 0 : key.hashCode()) ^ counts[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Finds the slot where to insert an absent element: the first removed or empty slot.
+     *
+     * @param hash the hash of the element
+     * @return the slot
+     */
+    private int insertionSlot(final int hash) {
+        final int mask = elements.length - 1;
+        int slot = hash >>> shift;
+        while (isLive(elements[slot])) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return unique == 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new MultiSetIterator();
+    }
+
+    /**
+     * Gets the number of used slots above which the table is resized, keeping probe sequences short.
+     *
+     * @return the maximum number of used slots
+     */
+    private int maxUsed() {
+        return elements.length == MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY - 1 : elements.length / 3 * 2;
+    }
+
+    /**
+     * Deserializes the multiset in using a custom routine.
+     *
+     * @param in the input stream
+     * @throws IOException if an error occurs while reading from the stream
+     * @throws ClassNotFoundException if an object read from the stream cannot be loaded
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        allocate(DEFAULT_CAPACITY);
+        super.doReadObject(in);
+    }
+
+    @Override
+    public int remove(final Object object, final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative.");
+        }
+        final Object key = mask(object);
+        final int slot = find(key, hash(key));
+        if (slot < 0) {
+            return 0;
+        }
+        final int oldCount = counts[slot];
+        if (occurrences > 0) {
+            if (occurrences < oldCount) {
+                counts[slot] = oldCount - occurrences;
+                size -= occurrences;
+                modCount++;
+            } else {
+                removeSlot(slot);
+            }
+        }
+        return oldCount;
+    }
+
+    /**
+     * Removes all the occurrences of the element in a slot.
+     *
+     * @param slot the slot
+     */
+    private void removeSlot(final int slot) {
+        size -= counts[slot];
+        unique--;
+        elements[slot] = REMOVED;
+        counts[slot] = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected int uniqueElements() {
+        return unique;
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out the target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        super.doWriteObject(out);
+    }
+
+}
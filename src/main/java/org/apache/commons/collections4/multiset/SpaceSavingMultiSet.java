@@ -0,0 +1,651 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multiset;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Implements an approximate {@code MultiSet} of bounded size that tracks the most
+ * frequent elements of a stream, using the <em>Space-Saving</em> algorithm of
+ * Metwally, Agrawal and El Abbadi.
+ * <p>
+ * At most {@link #getCapacity() capacity} elements are monitored, each with a counter.
+ * Adding an element that is not monitored while all counters are in use replaces the
+ * element with the smallest count, and the new element inherits that count as its
+ * {@link #getError(Object) error}. The counts are therefore estimates, with the following
+ * guarantees as long as no occurrence is removed, where {@code N} is the {@link #size()},
+ * the total number of occurrences added:
+ * </p>
+ * <ul>
+ *   <li>the count of a monitored element never underestimates its true count, and
+ *       overestimates it by at most its error;</li>
+ *   <li>the errors, and the true count of any element that is not monitored, are at most
+ *       {@link #getErrorBound()}, itself at most {@code N / capacity};</li>
+ *   <li>every element occurring more than {@code N / capacity} times is monitored.</li>
+ * </ul>
+ * <p>
+ * The counters are kept in buckets of equal counts ordered by count, so that adding a
+ * single occurrence takes constant time and memory never grows past the capacity.
+ * The {@link #entrySet()}, {@link #uniqueSet()} and {@link #iterator()} views iterate
+ * in decreasing order of count, the heavy hitters first.
+ * </p>
+ * <p>
+ * Removing occurrences is supported, but voids the guarantees above for the
+ * removed occurrences.
+ * </p>
+ * <p>
+ * This multiset is not synchronized and its iterators are fail-fast.
+ * </p>
+ *
+ * @param <E> the type held in the multiset
+ * @since 4.5.1
+ */
+public class SpaceSavingMultiSet<E> extends AbstractMultiSet<E> implements Serializable {
+
+    /**
+     * The counters sharing the same count, linked in order of count.
+     */
+    private static final class Bucket {
+
+        /** The count of the counters in the bucket. */
+        long count;
+
+        /** The first counter of the bucket. */
+        Counter head;
+
+        /** The bucket with the next smaller count. */
+        Bucket prev;
+
+        /** The bucket with the next greater count. */
+        Bucket next;
+
+        Bucket(final long count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * Monitors an element.
+     */
+    private static final class Counter {
+
+        /** The element, masked when {@code null}. */
+        Object element;
+
+        /** The count the element inherited when it replaced another one. */
+        long error;
+
+        /** The bucket of the counter. */
+        Bucket bucket;
+
+        /** The previous counter of the bucket. */
+        Counter prev;
+
+        /** The next counter of the bucket. */
+        Counter next;
+    }
+
+    /**
+     * Iterates over a snapshot of the counters in decreasing order of count, which
+     * modifications made through the iterator cannot reorder.
+     *
+     * @param <T> the type of the iterated objects
+     */
+    private abstract class AbstractCounterIterator<T> implements Iterator<T> {
+
+        /** The counters, in decreasing order of count. */
+        final Counter[] order = new Counter[counters.size()];
+
+        /** The elements of the counters, to detect counters reused for another element. */
+        final Object[] elements = new Object[order.length];
+
+        int nextIndex;
+
+        /** The index of the counter last returned, -1 when it was removed. */
+        int lastIndex = -1;
+
+        int expectedModCount = modCount;
+
+        AbstractCounterIterator() {
+            int i = 0;
+            for (Bucket bucket = max; bucket != null; bucket = bucket.prev) {
+                for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                    order[i] = counter;
+                    elements[i++] = counter.element;
+                }
+            }
+        }
+
+        void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < order.length;
+        }
+
+        /**
+         * Advances to the next counter.
+         *
+         * @return the index of the counter
+         */
+        int nextIndex() {
+            checkModCount();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = nextIndex++;
+            return lastIndex;
+        }
+
+        @Override
+        public void remove() {
+            checkModCount();
+            if (lastIndex < 0) {
+                throw new IllegalStateException("Iterator remove() can only be called once after next()");
+            }
+            removeCounter(order[lastIndex]);
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Iterates over the entries in decreasing order of count.
+     */
+    private final class EntrySetIterator extends AbstractCounterIterator<Entry<E>> {
+
+        @Override
+        public Entry<E> next() {
+            final int index = nextIndex();
+            final Counter counter = order[index];
+            final Object element = elements[index];
+            return new AbstractEntry<E>() {
+
+                @Override
+                public int getCount() {
+                    return counter.element == element && counter.bucket != null ? toInt(counter.bucket.count) : 0;
+                }
+
+                @Override
+                public E getElement() {
+                    return unmask(element);
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the elements in decreasing order of count, repeating each element as many times as its count.
+     */
+    private final class MultiSetIterator extends AbstractCounterIterator<E> {
+
+        /** The number of remaining occurrences of the current element. */
+        private long itemCount;
+
+        /** The index of the current counter. */
+        private int currentIndex = -1;
+
+        @Override
+        public boolean hasNext() {
+            return itemCount > 0 || super.hasNext();
+        }
+
+        @Override
+        public E next() {
+            checkModCount();
+            if (itemCount == 0) {
+                currentIndex = nextIndex();
+                itemCount = order[currentIndex].bucket.count;
+            }
+            itemCount--;
+            lastIndex = currentIndex;
+            return unmask(elements[currentIndex]);
+        }
+
+        @Override
+        public void remove() {
+            checkModCount();
+            if (lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            final Counter counter = order[lastIndex];
+            if (counter.bucket.count > 1) {
+                moveDown(counter, counter.bucket.count - 1);
+                total--;
+            } else {
+                removeCounter(counter);
+            }
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /** Serial version lock */
+    private static final long serialVersionUID = 20261019L;
+
+    /** Stands for the {@code null} element in the counters. */
+    private static final Object NULL_ELEMENT = new Object();
+
+    private static Object mask(final Object object) {
+        return object == null ? NULL_ELEMENT : object;
+    }
+
+    private static int toInt(final long value) {
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+
+    /** The maximum number of monitored elements. */
+    private final int capacity;
+
+    /** The counters of the monitored elements. */
+    private transient Map<Object, Counter> counters;
+
+    /** The bucket with the smallest count. */
+    private transient Bucket min;
+
+    /** The bucket with the greatest count. */
+    private transient Bucket max;
+
+    /** The sum of the counts. */
+    private transient long total;
+
+    /** The modification count for fail fast iterators. */
+    private transient int modCount;
+
+    /**
+     * Constructs an empty multiset monitoring at most the given number of elements.
+     *
+     * @param capacity  the maximum number of monitored elements, must be positive
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public SpaceSavingMultiSet(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+        this.capacity = capacity;
+        counters = new HashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An element that is not monitored while all the counters are in use replaces the element
+     * with the smallest count.
+     * </p>
+     */
+    @Override
+    public int add(final E object, final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative.");
+        }
+        final Object key = mask(object);
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            final long oldCount = counter.bucket.count;
+            if (occurrences > 0) {
+                moveUp(counter, oldCount + occurrences);
+                total += occurrences;
+            }
+            return toInt(oldCount);
+        }
+        if (occurrences == 0) {
+            return 0;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter();
+            counter.element = key;
+            counters.put(key, counter);
+            insert(counter, occurrences);
+        } else {
+            // replace the element with the smallest count, which becomes the error of the new one
+            counter = min.head;
+            counters.remove(counter.element);
+            counter.element = key;
+            counter.error = min.count;
+            counters.put(key, counter);
+            moveUp(counter, min.count + occurrences);
+        }
+        total += occurrences;
+        return 0;
+    }
+
+    /**
+     * Adds a counter to the bucket of the given count, created after or before a bucket as needed.
+     *
+     * @param counter the detached counter
+     * @param count the count of the counter
+     * @param neighbor the bucket of that count, or the bucket to link the new one to
+     * @param after whether a new bucket is linked after the neighbor
+     */
+    private void attach(final Counter counter, final long count, final Bucket neighbor, final boolean after) {
+        Bucket bucket = neighbor;
+        if (bucket == null || bucket.count != count) {
+            bucket = new Bucket(count);
+            if (neighbor == null) {
+                min = bucket;
+                max = bucket;
+            } else if (after) {
+                bucket.prev = neighbor;
+                bucket.next = neighbor.next;
+                if (neighbor.next != null) {
+                    neighbor.next.prev = bucket;
+                } else {
+                    max = bucket;
+                }
+                neighbor.next = bucket;
+            } else {
+                bucket.next = neighbor;
+                bucket.prev = neighbor.prev;
+                if (neighbor.prev != null) {
+                    neighbor.prev.next = bucket;
+                } else {
+                    min = bucket;
+                }
+                neighbor.prev = bucket;
+            }
+        }
+        counter.bucket = bucket;
+        counter.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.prev = counter;
+        }
+        bucket.head = counter;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        counters.clear();
+        min = null;
+        max = null;
+        total = 0;
+    }
+
+    @Override
+    protected Iterator<Entry<E>> createEntrySetIterator() {
+        return new EntrySetIterator();
+    }
+
+    /**
+     * Removes a counter from its bucket, and the bucket from the buckets when it becomes empty.
+     *
+     * @param counter the counter
+     */
+    private void detach(final Counter counter) {
+        final Bucket bucket = counter.bucket;
+        if (counter.prev != null) {
+            counter.prev.next = counter.next;
+        } else {
+            bucket.head = counter.next;
+        }
+        if (counter.next != null) {
+            counter.next.prev = counter.prev;
+        }
+        counter.prev = null;
+        counter.next = null;
+        counter.bucket = null;
+        if (bucket.head == null) {
+            if (bucket.prev != null) {
+                bucket.prev.next = bucket.next;
+            } else {
+                min = bucket.next;
+            }
+            if (bucket.next != null) {
+                bucket.next.prev = bucket.prev;
+            } else {
+                max = bucket.prev;
+            }
+        }
+    }
+
+    @Override
+    public int getCount(final Object object) {
+        final Counter counter = counters.get(mask(object));
+        return counter == null ? 0 : toInt(counter.bucket.count);
+    }
+
+    /**
+     * Gets the maximum number of elements this multiset monitors.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the maximum overestimation of the count of an element, that is the count
+     * it inherited when it was last added while not being monitored.
+     * <p>
+     * As long as no occurrence is removed, the true count of a monitored element lies
+     * between {@code getCount(object) - getError(object)} and {@code getCount(object)}.
+     * </p>
+     *
+     * @param object the element to look up
+     * @return the error of the count of the element, 0 if it is not monitored
+     */
+    public int getError(final Object object) {
+        final Counter counter = counters.get(mask(object));
+        return counter == null ? 0 : toInt(counter.error);
+    }
+
+    /**
+     * Gets the bound on the errors of the counts and on the true count of any element
+     * that is not monitored: the smallest count once all the counters are in use, 0 before.
+     * <p>
+     * As long as no occurrence is removed, the bound is at most {@code size() / getCapacity()}.
+     * </p>
+     *
+     * @return the error bound
+     */
+    public int getErrorBound() {
+        return isFull() ? toInt(min.count) : 0;
+    }
+
+    /**
+     * Adds a new counter, searching its bucket from the smallest count.
+     *
+     * @param counter the detached counter
+     * @param count the count of the counter
+     */
+    private void insert(final Counter counter, final long count) {
+        modCount++;
+        if (min == null || count < min.count) {
+            attach(counter, count, min, false);
+            return;
+        }
+        Bucket cursor = min;
+        while (cursor.next != null && cursor.next.count <= count) {
+            cursor = cursor.next;
+        }
+        attach(counter, count, cursor, true);
+    }
+
+    /**
+     * Returns whether all the counters are in use, so that adding an element that is not
+     * monitored replaces another one.
+     *
+     * @return true if the multiset monitors as many elements as its capacity
+     */
+    public boolean isFull() {
+        return counters.size() >= capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The elements are returned in decreasing order of count.
+     * </p>
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new MultiSetIterator();
+    }
+
+    /**
+     * Moves a counter to a smaller count, searching its bucket from its current one.
+     *
+     * @param counter the counter
+     * @param count the new count, positive
+     */
+    private void moveDown(final Counter counter, final long count) {
+        modCount++;
+        counter.error = Math.min(counter.error, count);
+        final Bucket bucket = counter.bucket;
+        Bucket cursor = bucket;
+        while (cursor.prev != null && cursor.prev.count >= count) {
+            cursor = cursor.prev;
+        }
+        if (cursor == bucket && counter.prev == null && counter.next == null) {
+            // alone in its bucket, which keeps its place in the order
+            bucket.count = count;
+            return;
+        }
+        detach(counter);
+        attach(counter, count, cursor, false);
+    }
+
+    /**
+     * Moves a counter to a greater count, searching its bucket from its current one.
+     *
+     * @param counter the counter
+     * @param count the new count
+     */
+    private void moveUp(final Counter counter, final long count) {
+        modCount++;
+        final Bucket bucket = counter.bucket;
+        Bucket cursor = bucket;
+        while (cursor.next != null && cursor.next.count <= count) {
+            cursor = cursor.next;
+        }
+        if (cursor == bucket && counter.prev == null && counter.next == null) {
+            // alone in its bucket, which keeps its place in the order
+            bucket.count = count;
+            return;
+        }
+        detach(counter);
+        attach(counter, count, cursor, true);
+    }
+
+    /**
+     * Deserializes the multiset in using a custom routine.
+     *
+     * @param in the input stream
+     * @throws IOException if an error occurs while reading from the stream
+     * @throws ClassNotFoundException if an object read from the stream cannot be loaded
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        counters = new HashMap<>();
+        final int entries = in.readInt();
+        for (int i = 0; i < entries; i++) {
+            final Object key = mask(in.readObject());
+            final long count = in.readLong();
+            final Counter counter = new Counter();
+            counter.element = key;
+            counter.error = in.readLong();
+            counters.put(key, counter);
+            insert(counter, count);
+            total += count;
+        }
+    }
+
+    @Override
+    public int remove(final Object object, final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative.");
+        }
+        final Counter counter = counters.get(mask(object));
+        if (counter == null) {
+            return 0;
+        }
+        final long oldCount = counter.bucket.count;
+        if (occurrences > 0) {
+            if (occurrences < oldCount) {
+                moveDown(counter, oldCount - occurrences);
+                total -= occurrences;
+            } else {
+                removeCounter(counter);
+            }
+        }
+        return toInt(oldCount);
+    }
+
+    /**
+     * Stops monitoring the element of a counter.
+     *
+     * @param counter the counter
+     */
+    private void removeCounter(final Counter counter) {
+        modCount++;
+        total -= counter.bucket.count;
+        counters.remove(counter.element);
+        detach(counter);
+    }
+
+    /**
+     * Gets the sum of the counts, which is the total number of occurrences added
+     * as long as no occurrence is removed.
+     *
+     * @return the sum of the counts, capped to {@link Integer#MAX_VALUE}
+     */
+    @Override
+    public int size() {
+        return toInt(total);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unmask(final Object element) {
+        return element == NULL_ELEMENT ? null : (E) element;
+    }
+
+    @Override
+    protected int uniqueElements() {
+        return counters.size();
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out the target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(counters.size());
+        for (Bucket bucket = max; bucket != null; bucket = bucket.prev) {
+            for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                out.writeObject(unmask(counter.element));
+                out.writeLong(bucket.count);
+                out.writeLong(counter.error);
+            }
+        }
+    }
+
+}
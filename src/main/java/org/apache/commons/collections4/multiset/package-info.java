@@ -23,6 +23,9 @@
  * The following implementations are provided in the package:
  * <ul>
  *   <li>HashMultiSet - implementation that uses a HashMap to store the data
+ *   <li>OpenHashMultiSet - implementation that stores the elements and their counts in open addressing arrays
+ *   <li>ConcurrentHashMultiSet - thread-safe implementation that uses a ConcurrentHashMap of striped counters
+ *   <li>SpaceSavingMultiSet - approximate implementation of bounded size that tracks the most frequent elements
  * </ul>
  * <p>
  * The following decorators are provided in the package:
@@ -23,10 +23,13 @@ import java.io.Serializable;
 import java.util.AbstractCollection;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.BoundedCollection;
 
@@ -53,6 +56,94 @@ import org.apache.commons.collections4.BoundedCollection;
 public class CircularFifoQueue<E> extends AbstractCollection<E>
     implements Queue<E>, BoundedCollection<E>, Serializable {
 
+    /**
+     * A spliterator over a range of the queue, binding to the queue on first
+     * use. It splits the range in halves, mapping each position in the queue
+     * to its array index directly. It throws a
+     * {@link ConcurrentModificationException} if the queue is modified after
+     * binding.
+     */
+    private final class QueueSpliterator implements Spliterator<E> {
+
+        /** The position in the queue of the next element. */
+        private int index;
+
+        /** The position after the last element, or -1 until bound. */
+        private int fence;
+
+        /** The modification count of the queue when bound. */
+        private int expectedModCount;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param index the position in the queue of the first element.
+         * @param fence the position after the last element, or -1 for the whole queue.
+         * @param expectedModCount the modification count of the queue when bound.
+         */
+        QueueSpliterator(final int index, final int fence, final int expectedModCount) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            for (; index < hi; index++) {
+                action.accept(elements[arrayIndex(index)]);
+            }
+            checkForComodification();
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size();
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= getFence()) {
+                return false;
+            }
+            action.accept(elements[arrayIndex(index++)]);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int lo = index;
+            final int mid = lo + getFence() >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new QueueSpliterator(lo, mid, expectedModCount);
+        }
+    }
+
     /** Serialization version. */
     private static final long serialVersionUID = -8423413834657610406L;
 
@@ -74,6 +165,9 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
     /** Flag to indicate if the queue is currently full. */
     private transient boolean full;
 
+    /** The number of structural modifications, checked by the spliterators. */
+    private transient int modCount;
+
     /** Capacity of the queue. */
     private final int maxElements;
 
@@ -127,6 +221,7 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
             remove();
         }
 
+        modCount++;
         elements[end++] = element;
 
         if (end >= maxElements) {
@@ -140,11 +235,23 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
         return true;
     }
 
+    /**
+     * Gets the array index of the element at the given position in the queue.
+     *
+     * @param index the position in the queue.
+     * @return the array index.
+     */
+    private int arrayIndex(final int index) {
+        final int i = start + index;
+        return i < maxElements ? i : i - maxElements;
+    }
+
     /**
      * Clears this queue.
      */
     @Override
     public void clear() {
+        modCount++;
         full = false;
         start = 0;
         end = 0;
@@ -299,6 +406,7 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
                     }
                 }
 
+                modCount++;
                 lastReturnedIndex = -1;
                 end = decrement(end);
                 elements[end] = null;
@@ -380,6 +488,7 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
 
         final E element = elements[start];
         if (null != element) {
+            modCount++;
             elements[start++] = null;
 
             if (start >= maxElements) {
@@ -410,6 +519,21 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
         return size;
     }
 
+    /**
+     * Creates a {@link Spliterator} over the elements in this queue.
+     * <p>
+     * The spliterator splits its range in halves without copying, so that
+     * parallel streams scale with the number of parts.
+     * </p>
+     *
+     * @return a {@code Spliterator} over the elements in this queue
+     * @since 4.5.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new QueueSpliterator(0, -1, 0);
+    }
+
     /**
      * Serializes this object to an ObjectOutputStream.
      *
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free first-in first-out queue of {@code int} values with a fixed
+ * size that replaces its oldest value if full, for handing values from
+ * producer threads to a single consumer thread without boxing.
+ * <p>
+ * This is the {@code int} counterpart of {@link ConcurrentCircularFifoQueue}:
+ * offers always succeed and never block, discarding the least recently added
+ * value when full. A queue is created either for a single producer thread or
+ * for any number of producer threads; in both cases only one thread at a time
+ * may consume, with {@link #remove()}, {@link #drainTo(int[], int, int)} or {@link #clear()}.
+ * </p>
+ *
+ * @since 4.5.1
+ */
+public final class ConcurrentCircularFifoIntQueue {
+
+    /**
+     * Creates a queue for any number of producer threads and a single consumer thread.
+     *
+     * @param size  the maximum number of values, must be greater than 0
+     * @return a new queue
+     * @throws IllegalArgumentException if the size is less than 1
+     */
+    public static ConcurrentCircularFifoIntQueue multiProducerQueue(final int size) {
+        return new ConcurrentCircularFifoIntQueue(size, true);
+    }
+
+    /**
+     * Creates a queue for a single producer thread and a single consumer thread.
+     *
+     * @param size  the maximum number of values, must be greater than 0
+     * @return a new queue
+     * @throws IllegalArgumentException if the size is less than 1
+     */
+    public static ConcurrentCircularFifoIntQueue singleProducerQueue(final int size) {
+        return new ConcurrentCircularFifoIntQueue(size, false);
+    }
+
+    /** The coordination of producers and consumer. */
+    private final RingSequencer sequencer;
+
+    /** The slots. */
+    private final AtomicIntegerArray values;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param size  the maximum number of values
+     * @param multiProducer  whether several threads may produce concurrently
+     */
+    private ConcurrentCircularFifoIntQueue(final int size, final boolean multiProducer) {
+        sequencer = new RingSequencer(size, multiProducer);
+        values = new AtomicIntegerArray(size);
+    }
+
+    /**
+     * Removes all the values. Must only be called by the consumer.
+     */
+    public void clear() {
+        sequencer.clear();
+    }
+
+    /**
+     * Removes available values into the given array, stopping at a value that
+     * is not yet completely written. Must only be called by the consumer.
+     *
+     * @param array  the array to fill
+     * @return the number of values removed
+     * @throws NullPointerException if the array is null
+     */
+    public int drainTo(final int[] array) {
+        return drainTo(array, 0, array.length);
+    }
+
+    /**
+     * Removes up to {@code length} available values into the given array,
+     * starting at {@code offset}, stopping at a value that is not yet completely
+     * written. Must only be called by the consumer.
+     *
+     * @param array  the array to fill
+     * @param offset  the index of the first value in the array
+     * @param length  the maximum number of values to remove
+     * @return the number of values removed
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public int drainTo(final int[] array, final int offset, final int length) {
+        Objects.requireNonNull(array, "array");
+        RingSequencer.checkRange(array.length, offset, length);
+        return sequencer.drain(length, (index, position) -> array[offset + position] = values.get(index));
+    }
+
+    /**
+     * Returns true if this queue is empty; false otherwise.
+     *
+     * @return true if this queue is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the maximum size of the queue.
+     *
+     * @return the maximum number of values the queue can hold
+     */
+    public int maxSize() {
+        return sequencer.capacity();
+    }
+
+    /**
+     * Adds the given value to this queue. If the queue is full, the least
+     * recently added value is discarded.
+     *
+     * @param value  the value to add
+     */
+    public void offer(final int value) {
+        write(sequencer.claim(1), value);
+    }
+
+    /**
+     * Adds all the given values, in order, claiming their positions at once.
+     *
+     * @param array  the values to add
+     * @throws NullPointerException if the array is null
+     */
+    public void offerAll(final int[] array) {
+        offerAll(array, 0, array.length);
+    }
+
+    /**
+     * Adds {@code length} values from the given array, starting at {@code offset},
+     * claiming their positions at once. If the queue overflows, the least
+     * recently added values are discarded.
+     *
+     * @param array  the values to add
+     * @param offset  the index of the first value in the array
+     * @param length  the number of values to add
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public void offerAll(final int[] array, final int offset, final int length) {
+        Objects.requireNonNull(array, "array");
+        RingSequencer.checkRange(array.length, offset, length);
+        if (length == 0) {
+            return;
+        }
+        sequencer.publish(length, (index, position) -> values.set(index, array[offset + position]));
+    }
+
+    /**
+     * Removes and returns the oldest value. Must only be called by the consumer.
+     *
+     * @return the oldest value
+     * @throws NoSuchElementException if the queue is empty or its oldest value is not yet completely written
+     */
+    public int remove() {
+        while (true) {
+            final long ticket = sequencer.acquire();
+            if (ticket < 0) {
+                throw new NoSuchElementException("queue is empty");
+            }
+            final int value = values.get(sequencer.index(ticket));
+            if (sequencer.release(ticket)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values stored in the queue.
+     *
+     * @return this queue's size
+     */
+    public int size() {
+        return sequencer.size();
+    }
+
+    /**
+     * Writes a value to the slot of a claimed ticket.
+     *
+     * @param ticket  the ticket
+     * @param value  the value
+     */
+    private void write(final long ticket, final int value) {
+        if (sequencer.beginWrite(ticket)) {
+            values.set(sequencer.index(ticket), value);
+            sequencer.endWrite(ticket);
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.collections4.BoundedCollection;
+
+/**
+ * A lock-free first-in first-out queue with a fixed size that replaces its
+ * oldest element if full, for handing elements from producer threads to a
+ * single consumer thread.
+ * <p>
+ * Like {@link CircularFifoQueue}, offering an element to a full queue discards
+ * the least recently added element, so offers always succeed and never block.
+ * A queue is created either for a single producer thread or for any number of
+ * producer threads; in both cases only one thread at a time may consume, with
+ * {@link #poll()}, {@link #remove()}, {@link #drainTo(Collection, int)} or {@link #clear()}.
+ * </p>
+ * <p>
+ * The batch operations {@link #offerAll(Collection)} and {@link #drainTo(Collection, int)}
+ * claim or consume a run of elements with a single atomic update.
+ * </p>
+ * <p>
+ * The iterator is weakly consistent: it returns a snapshot of the elements
+ * present when it is created and does not support removal.
+ * Removed elements stay referenced by the queue until their slot is reused.
+ * This queue prevents null objects from being added.
+ * </p>
+ *
+ * @param <E> the type of elements in this collection
+ * @since 4.5.1
+ */
+public final class ConcurrentCircularFifoQueue<E> extends AbstractQueue<E> implements BoundedCollection<E> {
+
+    /**
+     * Creates a queue for any number of producer threads and a single consumer thread.
+     *
+     * @param <E> the type of elements in the queue
+     * @param size  the maximum number of elements, must be greater than 0
+     * @return a new queue
+     * @throws IllegalArgumentException if the size is less than 1
+     */
+    public static <E> ConcurrentCircularFifoQueue<E> multiProducerQueue(final int size) {
+        return new ConcurrentCircularFifoQueue<>(size, true);
+    }
+
+    /**
+     * Creates a queue for a single producer thread and a single consumer thread.
+     *
+     * @param <E> the type of elements in the queue
+     * @param size  the maximum number of elements, must be greater than 0
+     * @return a new queue
+     * @throws IllegalArgumentException if the size is less than 1
+     */
+    public static <E> ConcurrentCircularFifoQueue<E> singleProducerQueue(final int size) {
+        return new ConcurrentCircularFifoQueue<>(size, false);
+    }
+
+    /** The coordination of producers and consumer. */
+    private final RingSequencer sequencer;
+
+    /** The slots. */
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param size  the maximum number of elements
+     * @param multiProducer  whether several threads may produce concurrently
+     */
+    private ConcurrentCircularFifoQueue(final int size, final boolean multiProducer) {
+        sequencer = new RingSequencer(size, multiProducer);
+        elements = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Adds all the elements of the given collection, in iteration order,
+     * claiming their positions at once.
+     *
+     * @param collection  the elements to add
+     * @return true if the collection was not empty
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    @Override
+    public boolean addAll(final Collection<? extends E> collection) {
+        offerAll(collection);
+        return !collection.isEmpty();
+    }
+
+    /**
+     * Removes all the elements. Must only be called by the consumer.
+     */
+    @Override
+    public void clear() {
+        sequencer.clear();
+    }
+
+    /**
+     * Removes all the available elements, adding them to the given collection,
+     * stopping at an element that is not yet completely written.
+     * Must only be called by the consumer.
+     *
+     * @param collection  the collection to add the elements to
+     * @return the number of elements removed
+     * @throws NullPointerException if the collection is null
+     */
+    public int drainTo(final Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes up to the given number of available elements, adding them to the
+     * given collection, stopping at an element that is not yet completely written.
+     * Must only be called by the consumer.
+     *
+     * @param collection  the collection to add the elements to
+     * @param maxElements  the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException if the collection is null
+     */
+    public int drainTo(final Collection<? super E> collection, final int maxElements) {
+        Objects.requireNonNull(collection, "collection");
+        final List<E> buffer = new ArrayList<>();
+        final int count = sequencer.drain(maxElements, (index, position) -> {
+            final E element = elements.get(index);
+            if (position < buffer.size()) {
+                buffer.set(position, element);
+            } else {
+                buffer.add(element);
+            }
+        });
+        collection.addAll(buffer.subList(0, count));
+        return count;
+    }
+
+    /**
+     * Returns {@code false}, as offers never fail but discard the oldest element.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isFull() {
+        return false;
+    }
+
+    /**
+     * Returns a snapshot iterator over the elements, oldest first.
+     *
+     * @return an iterator that does not support removal
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final long tail = sequencer.tail();
+        final List<E> snapshot = new ArrayList<>();
+        for (long ticket = Math.max(sequencer.head(), tail - sequencer.capacity()); ticket < tail; ticket++) {
+            final int index = sequencer.index(ticket);
+            if (sequencer.isWritten(ticket, index)) {
+                final E element = elements.get(index);
+                if (sequencer.isWritten(ticket, index) && ticket >= sequencer.head()) {
+                    snapshot.add(element);
+                }
+            }
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /**
+     * Gets the maximum size of the queue.
+     *
+     * @return the maximum number of elements the queue can hold
+     */
+    @Override
+    public int maxSize() {
+        return sequencer.capacity();
+    }
+
+    /**
+     * Adds the given element to this queue. If the queue is full, the least
+     * recently added element is discarded.
+     *
+     * @param element  the element to add
+     * @return true, always
+     * @throws NullPointerException if the given element is null
+     */
+    @Override
+    public boolean offer(final E element) {
+        Objects.requireNonNull(element, "element");
+        write(sequencer.claim(1), element);
+        return true;
+    }
+
+    /**
+     * Adds all the elements of the given collection, in iteration order,
+     * claiming their positions at once. If the queue overflows, the least
+     * recently added elements are discarded.
+     *
+     * @param collection  the elements to add
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    @SuppressWarnings("unchecked")
+    public void offerAll(final Collection<? extends E> collection) {
+        final Object[] array = collection.toArray();
+        for (final Object element : array) {
+            Objects.requireNonNull(element, "element");
+        }
+        if (array.length == 0) {
+            return;
+        }
+        sequencer.publish(array.length, (index, position) -> elements.set(index, (E) array[position]));
+    }
+
+    /**
+     * Returns the oldest element without removing it. Must only be called by the consumer.
+     *
+     * @return the oldest element, or null if the queue is empty or the oldest element is not yet completely written
+     */
+    @Override
+    public E peek() {
+        while (true) {
+            final long ticket = sequencer.acquire();
+            if (ticket < 0) {
+                return null;
+            }
+            final int index = sequencer.index(ticket);
+            final E element = elements.get(index);
+            if (sequencer.isWritten(ticket, index)) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the oldest element. Must only be called by the consumer.
+     *
+     * @return the oldest element, or null if the queue is empty or the oldest element is not yet completely written
+     */
+    @Override
+    public E poll() {
+        while (true) {
+            final long ticket = sequencer.acquire();
+            if (ticket < 0) {
+                return null;
+            }
+            final E element = elements.get(sequencer.index(ticket));
+            if (sequencer.release(ticket)) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements stored in the queue.
+     *
+     * @return this queue's size
+     */
+    @Override
+    public int size() {
+        return sequencer.size();
+    }
+
+    /**
+     * Writes an element to the slot of a claimed ticket.
+     *
+     * @param ticket  the ticket
+     * @param element  the element
+     */
+    private void write(final long ticket, final E element) {
+        if (sequencer.beginWrite(ticket)) {
+            elements.set(sequencer.index(ticket), element);
+            sequencer.endWrite(ticket);
+        }
+    }
+
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coordinates the producers and the single consumer of a bounded ring buffer
+ * that overwrites its oldest element when full, without locks.
+ * <p>
+ * Every element offered takes a ticket, its position in the sequence of all
+ * elements ever offered. The tail is the next ticket to give out and the head
+ * the next ticket to consume; a producer that would exceed the capacity moves
+ * the head past the oldest tickets itself. The slot of a ticket also records
+ * which ticket was last written there, odd while the write is in progress and
+ * even once it is complete, so the consumer can tell whether the value it read
+ * is complete and still current, and producers never overwrite a newer value.
+ * </p>
+ * <p>
+ * The consumer never waits: a ticket that was claimed but whose value is not
+ * yet written ends the run of values available to it, as if the queue ended
+ * there. A producer only waits when it laps another producer that is still
+ * writing to the same slot.
+ * </p>
+ * <p>
+ * The head and tail are kept far apart in one array so that they do not share
+ * a cache line.
+ * </p>
+ */
+final class RingSequencer {
+
+    /**
+     * Reads the value of a slot on behalf of the consumer.
+     */
+    @FunctionalInterface
+    interface SlotReader {
+
+        /**
+         * Reads the value of a slot, which may be read again if the run of values is retried.
+         *
+         * @param index  the index of the slot
+         * @param position  the position of the value in the run being consumed
+         */
+        void read(int index, int position);
+
+    }
+
+    /**
+     * Writes values to slots on behalf of a producer.
+     */
+    @FunctionalInterface
+    interface SlotWriter {
+
+        /**
+         * Writes a value to a slot.
+         *
+         * @param index  the index of the slot
+         * @param position  the position of the value in the run being published
+         */
+        void write(int index, int position);
+
+    }
+
+    /**
+     * Checks that a range lies within an array.
+     *
+     * @param arrayLength  the length of the array
+     * @param offset  the start of the range
+     * @param length  the length of the range
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    static void checkRange(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+        }
+    }
+
+    /** The number of longs between the padded indices. */
+    private static final int PAD = 16;
+
+    /** The position of the head in the indices. */
+    private static final int HEAD = PAD;
+
+    /** The position of the tail in the indices. */
+    private static final int TAIL = 2 * PAD;
+
+    /** The head and tail, padded. */
+    private final AtomicLongArray indices = new AtomicLongArray(3 * PAD);
+
+    /** The sequence of each slot: twice the last ticket written, plus 1 during a write, plus 2 after. */
+    private final AtomicLongArray sequences;
+
+    /** The capacity of the ring. */
+    private final int capacity;
+
+    /** Whether several threads may produce concurrently. */
+    private final boolean multiProducer;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param capacity  the capacity of the ring
+     * @param multiProducer  whether several threads may produce concurrently
+     * @throws IllegalArgumentException if the capacity is less than 1
+     */
+    RingSequencer(final int capacity, final boolean multiProducer) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The size must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.multiProducer = multiProducer;
+        sequences = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Gets the next ticket to consume, if its value is written.
+     *
+     * @return the head, or -1 if the queue is empty or the value of the head is not yet written
+     */
+    long acquire() {
+        while (true) {
+            final long head = indices.get(HEAD);
+            if (head >= indices.get(TAIL)) {
+                return -1;
+            }
+            if (isWritten(head, index(head))) {
+                return head;
+            }
+            if (indices.get(HEAD) == head) {
+                // claimed but not yet written, as a value is only evicted after the head moves past it
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Moves the head forward, consuming tickets.
+     *
+     * @param head  the current head
+     * @param newHead  the new head
+     * @return false if the head moved in the meantime
+     */
+    private boolean advance(final long head, final long newHead) {
+        return indices.compareAndSet(HEAD, head, newHead);
+    }
+
+    /**
+     * Starts writing a ticket to its slot.
+     *
+     * @param ticket  the ticket
+     * @return false if a newer ticket was already written to the slot, so the value must be dropped
+     */
+    boolean beginWrite(final long ticket) {
+        final int index = index(ticket);
+        final long writing = 2 * ticket + 1;
+        while (true) {
+            final long sequence = sequences.get(index);
+            if (sequence >= writing) {
+                return false;
+            }
+            if ((sequence & 1) == 0) {
+                if (sequences.compareAndSet(index, sequence, writing)) {
+                    return true;
+                }
+            } else {
+                // an older ticket is being written to the slot
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Gets the capacity of the ring.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Takes consecutive tickets, evicting the oldest elements to make room for them.
+     *
+     * @param count  the number of tickets
+     * @return the first ticket
+     */
+    long claim(final int count) {
+        final long first;
+        if (multiProducer) {
+            first = indices.getAndAdd(TAIL, count);
+        } else {
+            first = indices.get(TAIL);
+            indices.lazySet(TAIL, first + count);
+        }
+        final long limit = first + count - capacity;
+        long head = indices.get(HEAD);
+        while (head < limit && !indices.compareAndSet(HEAD, head, limit)) {
+            head = indices.get(HEAD);
+        }
+        return first;
+    }
+
+    /**
+     * Consumes all the tickets given out so far.
+     */
+    void clear() {
+        long head = indices.get(HEAD);
+        while (!advance(head, Math.max(head, indices.get(TAIL)))) {
+            head = indices.get(HEAD);
+        }
+    }
+
+    /**
+     * Consumes the run of written values at the head, up to a maximum.
+     * Each value is passed to the reader before its ticket is consumed.
+     *
+     * @param maxCount  the maximum number of values to consume
+     * @param reader  the reader of the slots
+     * @return the number of values consumed
+     */
+    int drain(final int maxCount, final SlotReader reader) {
+        while (true) {
+            final long head = indices.get(HEAD);
+            final int available = (int) Math.min(Math.min(indices.get(TAIL) - head, capacity), maxCount);
+            if (available <= 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < available) {
+                final long ticket = head + count;
+                final int index = index(ticket);
+                if (!isWritten(ticket, index)) {
+                    break;
+                }
+                reader.read(index, count);
+                if (!isWritten(ticket, index)) {
+                    break;
+                }
+                count++;
+            }
+            if (count == 0) {
+                if (indices.get(HEAD) == head) {
+                    // the value of the head is not yet written
+                    return 0;
+                }
+            } else if (advance(head, head + count)) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Completes writing a ticket to its slot.
+     *
+     * @param ticket  the ticket
+     */
+    void endWrite(final long ticket) {
+        sequences.set(index(ticket), 2 * ticket + 2);
+    }
+
+    /**
+     * Gets the next ticket to consume.
+     *
+     * @return the head
+     */
+    long head() {
+        return indices.get(HEAD);
+    }
+
+    /**
+     * Gets the slot of a ticket.
+     *
+     * @param ticket  the ticket
+     * @return the index of the slot
+     */
+    int index(final long ticket) {
+        return (int) (ticket % capacity);
+    }
+
+    /**
+     * Tests whether the slot of a ticket holds its complete value.
+     *
+     * @param ticket  the ticket
+     * @param index  the index of the slot
+     * @return true if the value of the ticket is complete
+     */
+    boolean isWritten(final long ticket, final int index) {
+        return sequences.get(index) == 2 * ticket + 2;
+    }
+
+    /**
+     * Claims consecutive tickets and writes their values, skipping those evicted at once
+     * when there are more values than the capacity.
+     *
+     * @param count  the number of values, greater than 0
+     * @param writer  the writer of the slots
+     */
+    void publish(final int count, final SlotWriter writer) {
+        final long first = claim(count);
+        for (int position = Math.max(0, count - capacity); position < count; position++) {
+            final long ticket = first + position;
+            if (beginWrite(ticket)) {
+                writer.write(index(ticket), position);
+                endWrite(ticket);
+            }
+        }
+    }
+
+    /**
+     * Consumes a ticket returned by {@link #acquire()} once its value has been read.
+     *
+     * @param ticket  the ticket
+     * @return false if the value read may be stale and the ticket must be acquired again
+     */
+    boolean release(final long ticket) {
+        return isWritten(ticket, index(ticket)) && advance(ticket, ticket + 1);
+    }
+
+    /**
+     * Gets the number of elements, between zero and the capacity.
+     *
+     * @return the size
+     */
+    int size() {
+        final long head = indices.get(HEAD);
+        final long size = indices.get(TAIL) - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * Gets the next ticket to give out.
+     *
+     * @return the tail
+     */
+    long tail() {
+        return indices.get(TAIL);
+    }
+
+}
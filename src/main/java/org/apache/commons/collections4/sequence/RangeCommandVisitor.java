@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.sequence;
+
+/**
+ * This interface should be implemented by user objects to walk through the
+ * differences between two sequences as ranges of commands.
+ * <p>
+ * It is the compact counterpart of {@link CommandVisitor}: instead of one call
+ * per element, consecutive {@link KeepCommand keep}, {@link DeleteCommand delete}
+ * or {@link InsertCommand insert} commands are coalesced into a single call
+ * describing a range of indices in the compared sequences. A
+ * {@link SequencesComparator#visitRanges(RangeCommandVisitor) SequencesComparator}
+ * calls the methods of this interface in order as the comparison discovers the
+ * commands, so no edit script is ever built and the memory used does not depend
+ * on the number of commands.
+ * </p>
+ * <p>
+ * Two consecutive calls never describe the same kind of command, and each range
+ * starts where the previous range of the same sequence ended.
+ * </p>
+ *
+ * @see SequencesComparator
+ * @see CommandVisitor
+ * @since 4.5.1
+ */
+public interface RangeCommandVisitor {
+
+    /**
+     * Method called when a range of delete commands is encountered.
+     *
+     * @param index1  index of the first deleted object in the first sequence
+     * @param length  number of deleted objects, strictly positive
+     */
+    void visitDeleteRange(int index1, int length);
+
+    /**
+     * Method called when a range of insert commands is encountered.
+     *
+     * @param index2  index of the first inserted object in the second sequence
+     * @param length  number of inserted objects, strictly positive
+     */
+    void visitInsertRange(int index2, int length);
+
+    /**
+     * Method called when a range of keep commands is encountered.
+     *
+     * @param index1  index of the first kept object in the first sequence
+     * @param index2  index of the first kept object in the second sequence
+     * @param length  number of kept objects, strictly positive
+     */
+    void visitKeepRange(int index1, int index2, int length);
+
+}
@@ -16,7 +16,12 @@
  */
 package org.apache.commons.collections4.sequence;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.apache.commons.collections4.Equator;
 import org.apache.commons.collections4.functors.DefaultEquator;
@@ -51,6 +56,19 @@ import org.apache.commons.collections4.functors.DefaultEquator;
  * {@link EditCommand commands}
  * needed to transform the first sequence into the second one.
  * </p>
+ * <p>
+ * The common prefix and suffix of the sequences are always matched before running the algorithm. Large inputs can
+ * additionally be tuned through a {@link Builder}: a cost limit trades the minimality of the script for a bounded
+ * running time on very different sequences, elements can be interned to int identifiers so the algorithm compares
+ * primitives instead of calling the {@link Equator}, and the {@link Algorithm#PATIENCE patience} or
+ * {@link Algorithm#HUNT_SZYMANSKI Hunt-Szymanski} strategies can be used instead of plain Myers. Character sequences
+ * can be compared directly with {@link #of(CharSequence, CharSequence)}.
+ * </p>
+ * <p>
+ * Besides {@link #getScript()}, the differences can be streamed to a {@link CommandVisitor} with
+ * {@link #visitScript(CommandVisitor)}, or to a {@link RangeCommandVisitor} with
+ * {@link #visitRanges(RangeCommandVisitor)}, without building any script.
+ * </p>
  *
  * @param <T> the type of elements in the lists.
  * @see EditScript
@@ -60,6 +78,342 @@ import org.apache.commons.collections4.functors.DefaultEquator;
  */
 public class SequencesComparator<T> {
 
+    /**
+     * The strategies available to compute an edit script.
+     *
+     * @since 4.5.1
+     */
+    public enum Algorithm {
+
+        /**
+         * The Myers O(ND) algorithm, which finds a shortest edit script unless a cost limit is set.
+         */
+        MYERS,
+
+        /**
+         * The patience diff algorithm: elements occurring exactly once in both sequences are matched first, along their
+         * longest increasing subsequence, and the gaps between these anchors are compared recursively, falling back to
+         * Myers when a gap has no unique common element. The script is not always the shortest, but it is usually
+         * closer to what a human reader expects and cheaper to compute on large, very different inputs. This strategy
+         * always interns elements.
+         */
+        PATIENCE,
+
+        /**
+         * The Hunt-Szymanski algorithm, which finds a longest common subsequence, and thus a shortest edit script, in
+         * O((r + n) log n) time where r is the number of pairs of equal elements between the two sequences. It is
+         * much faster than Myers when few elements match, for example when comparing sequences of mostly distinct
+         * lines, but its time and memory grow with r and it should not be used on sequences with many repeated
+         * elements. This strategy always interns elements.
+         */
+        HUNT_SZYMANSKI
+    }
+
+    /**
+     * Builds new {@link SequencesComparator} instances.
+     * <p>
+     * The default values are:
+     * </p>
+     * <ul>
+     * <li>algorithm: {@link Algorithm#MYERS}</li>
+     * <li>cost limit: none</li>
+     * <li>equator: {@link DefaultEquator}</li>
+     * <li>interning: {@code false}</li>
+     * </ul>
+     *
+     * @param <T> the type of elements in the lists.
+     * @since 4.5.1
+     */
+    public static class Builder<T> implements Supplier<SequencesComparator<T>> {
+
+        private List<T> sequence1;
+        private List<T> sequence2;
+        private Equator<? super T> equator = DefaultEquator.defaultEquator();
+        private Algorithm algorithm = Algorithm.MYERS;
+        private int costLimit = Integer.MAX_VALUE;
+        private boolean interning;
+
+        /**
+         * Constructs a new instance.
+         */
+        public Builder() {
+            // empty
+        }
+
+        /**
+         * Builds a new {@link SequencesComparator}.
+         *
+         * @return a new {@link SequencesComparator}.
+         * @throws NullPointerException if a sequence, the equator or the algorithm is null
+         */
+        @Override
+        public SequencesComparator<T> get() {
+            return new SequencesComparator<>(Objects.requireNonNull(sequence1, "sequence1"), Objects.requireNonNull(sequence2, "sequence2"),
+                    Objects.requireNonNull(equator, "equator"), Objects.requireNonNull(algorithm, "algorithm"), costLimit, interning);
+        }
+
+        /**
+         * Sets the algorithm used to compute the edit script.
+         *
+         * @param algorithm the algorithm.
+         * @return this instance.
+         */
+        public Builder<T> setAlgorithm(final Algorithm algorithm) {
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        /**
+         * Sets the number of differences after which the Myers search stops looking for a shortest script.
+         * <p>
+         * When the search for the middle of a script reaches this many differences, it gives up and splits the
+         * sequences at the point where the furthest reaching path got to, as GNU diff does when a comparison is
+         * "too expensive". The resulting script is valid but may contain more modifications than necessary; in
+         * exchange the cost of each search is bounded by {@code costLimit} times the length of the sequences.
+         * </p>
+         *
+         * @param costLimit the number of differences, strictly positive.
+         * @return this instance.
+         * @throws IllegalArgumentException if costLimit is not strictly positive
+         */
+        public Builder<T> setCostLimit(final int costLimit) {
+            if (costLimit <= 0) {
+                throw new IllegalArgumentException("costLimit must be strictly positive: " + costLimit);
+            }
+            this.costLimit = costLimit;
+            return this;
+        }
+
+        /**
+         * Sets the equator used for testing object equality.
+         *
+         * @param equator the equator.
+         * @return this instance.
+         */
+        public Builder<T> setEquator(final Equator<? super T> equator) {
+            this.equator = equator;
+            return this;
+        }
+
+        /**
+         * Sets whether the elements are interned before the comparison.
+         * <p>
+         * Interning maps every element to an int identifier, using {@link Equator#hash(Object)} and
+         * {@link Equator#equate(Object, Object)} once per element, so the algorithm itself only compares ints. This
+         * speeds up comparisons with expensive equators or long sequences, but requires the equator to be consistent
+         * with its hash function and transitive. The first sequence is interned first, so an element of the second
+         * sequence is still compared as the second argument of the equator to equal elements of the first sequence.
+         * </p>
+         *
+         * @param interning whether the elements are interned.
+         * @return this instance.
+         */
+        public Builder<T> setInterning(final boolean interning) {
+            this.interning = interning;
+            return this;
+        }
+
+        /**
+         * Sets the first sequence to be compared.
+         *
+         * @param sequence1 the first sequence.
+         * @return this instance.
+         */
+        public Builder<T> setSequence1(final List<T> sequence1) {
+            this.sequence1 = sequence1;
+            return this;
+        }
+
+        /**
+         * Sets the second sequence to be compared.
+         *
+         * @param sequence2 the second sequence.
+         * @return this instance.
+         */
+        public Builder<T> setSequence2(final List<T> sequence2) {
+            this.sequence2 = sequence2;
+            return this;
+        }
+    }
+
+    /**
+     * A list view of a {@link CharSequence}.
+     */
+    private static final class CharSequenceAsList extends AbstractList<Character> {
+
+        private final CharSequence sequence;
+
+        CharSequenceAsList(final CharSequence sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public Character get(final int index) {
+            return Character.valueOf(sequence.charAt(index));
+        }
+
+        @Override
+        public int size() {
+            return sequence.length();
+        }
+    }
+
+    /**
+     * Maps elements to dense int identifiers, equal elements getting the same identifier.
+     *
+     * @param <T> the type of elements.
+     */
+    private static final class Interner<T> {
+
+        private final Equator<? super T> equator;
+        private final List<T> representatives = new ArrayList<>();
+        private final int[] table;
+        private final int[] hashes;
+        private final int mask;
+
+        Interner(final Equator<? super T> equator, final int expectedSize) {
+            this.equator = equator;
+            int capacity = 2;
+            while (capacity < 2 * expectedSize && capacity < 1 << 30) {
+                capacity <<= 1;
+            }
+            table = new int[capacity];
+            hashes = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Gets the identifier of an element, comparing it to previously interned elements as
+         * {@code equator.equate(previous, element)}.
+         *
+         * @param element  the element to intern
+         * @return the identifier of the element
+         */
+        int intern(final T element) {
+            int hash = equator.hash(element);
+            hash ^= hash >>> 16;
+            int index = hash & mask;
+            while (table[index] != 0) {
+                final int id = table[index] - 1;
+                if (hashes[index] == hash && equator.equate(representatives.get(id), element)) {
+                    return id;
+                }
+                index = index + 1 & mask;
+            }
+            final int id = representatives.size();
+            representatives.add(element);
+            table[index] = id + 1;
+            hashes[index] = hash;
+            return id;
+        }
+
+        int size() {
+            return representatives.size();
+        }
+    }
+
+    /**
+     * Coalesces the commands found by the comparison into ranges for a {@link RangeCommandVisitor}.
+     */
+    private static final class RangeSink implements Sink {
+
+        private static final int NONE = 0;
+        private static final int KEEP = 1;
+        private static final int DELETE = 2;
+        private static final int INSERT = 3;
+
+        private final RangeCommandVisitor visitor;
+        private int pending = NONE;
+        private int pendingIndex1;
+        private int pendingIndex2;
+        private int pendingLength;
+
+        RangeSink(final RangeCommandVisitor visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void delete(final int index1) {
+            if (pending != DELETE) {
+                flush();
+                pending = DELETE;
+                pendingIndex1 = index1;
+            }
+            ++pendingLength;
+        }
+
+        /**
+         * Passes the pending range, if any, to the visitor.
+         */
+        void flush() {
+            switch (pending) {
+            case KEEP:
+                visitor.visitKeepRange(pendingIndex1, pendingIndex2, pendingLength);
+                break;
+            case DELETE:
+                visitor.visitDeleteRange(pendingIndex1, pendingLength);
+                break;
+            case INSERT:
+                visitor.visitInsertRange(pendingIndex2, pendingLength);
+                break;
+            default:
+                break;
+            }
+            pending = NONE;
+            pendingLength = 0;
+        }
+
+        @Override
+        public void insert(final int index2) {
+            if (pending != INSERT) {
+                flush();
+                pending = INSERT;
+                pendingIndex2 = index2;
+            }
+            ++pendingLength;
+        }
+
+        @Override
+        public void keep(final int index1, final int index2, final int length) {
+            if (pending != KEEP) {
+                flush();
+                pending = KEEP;
+                pendingIndex1 = index1;
+                pendingIndex2 = index2;
+            }
+            pendingLength += length;
+        }
+    }
+
+    /**
+     * Receives the commands of an edit script, in order, as the comparison finds them.
+     */
+    private interface Sink {
+
+        /**
+         * Receives a delete command.
+         *
+         * @param index1  the index of the deleted object in the first sequence
+         */
+        void delete(int index1);
+
+        /**
+         * Receives an insert command.
+         *
+         * @param index2  the index of the inserted object in the second sequence
+         */
+        void insert(int index2);
+
+        /**
+         * Receives a range of keep commands.
+         *
+         * @param index1  the index of the first kept object in the first sequence
+         * @param index2  the index of the first kept object in the second sequence
+         * @param length  the number of kept objects
+         */
+        void keep(int index1, int index2, int length);
+    }
+
     /**
      * This class is a simple placeholder to hold the end part of a path
      * under construction in a {@link SequencesComparator SequencesComparator}.
@@ -124,11 +478,71 @@ public class SequencesComparator<T> {
 
     /** The equator used for testing object equality. */
     private final Equator<? super T> equator;
+
+    /** The algorithm used to compute the edit script. */
+    private final Algorithm algorithm;
+
+    /** The number of differences after which the Myers search is cut short. */
+    private final int costLimit;
+
+    /** The interned identifiers of the first sequence, or null if the elements are not interned. */
+    private final int[] ids1;
+
+    /** The interned identifiers of the second sequence, or null if the elements are not interned. */
+    private final int[] ids2;
+
+    /** The number of distinct interned identifiers. */
+    private final int idCount;
+
     /** Temporary variables. */
     private final int[] vDown;
 
     private final int[] vUp;
 
+    /** Temporary variables of the patience algorithm, allocated on first use. */
+    private int[] counts1;
+
+    private int[] counts2;
+
+    private int[] positions2;
+
+    /**
+     * Creates a new Builder.
+     *
+     * @param <T> the type of elements in the lists.
+     * @return a new Builder.
+     * @since 4.5.1
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates a new instance comparing the chars of two {@link CharSequence}s.
+     * <p>
+     * The chars are compared as primitives, without boxing them or calling an {@link Equator}. The edit script and
+     * visitors still see the chars as {@link Character} objects, while {@link #visitRanges(RangeCommandVisitor)} gives
+     * char indices without creating any object.
+     * </p>
+     *
+     * @param sequence1  first sequence to be compared
+     * @param sequence2  second sequence to be compared
+     * @return a new SequencesComparator
+     * @throws NullPointerException if either sequence is null
+     * @since 4.5.1
+     */
+    public static SequencesComparator<Character> of(final CharSequence sequence1, final CharSequence sequence2) {
+        return new SequencesComparator<>(Objects.requireNonNull(sequence1, "sequence1"), Objects.requireNonNull(sequence2, "sequence2"));
+    }
+
+    private static int[] toIds(final CharSequence sequence) {
+        final int[] ids = new int[sequence.length()];
+        for (int i = 0; i < ids.length; ++i) {
+            ids[i] = sequence.charAt(i);
+        }
+        return ids;
+    }
+
     /**
      * Simple constructor.
      * <p>
@@ -161,15 +575,55 @@ public class SequencesComparator<T> {
      * @param equator  the equator to use for testing object equality
      */
     public SequencesComparator(final List<T> sequence1, final List<T> sequence2, final Equator<? super T> equator) {
+        this(sequence1, sequence2, equator, Algorithm.MYERS, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Constructs a new instance from the values of a {@link Builder}.
+     */
+    private SequencesComparator(final List<T> sequence1, final List<T> sequence2, final Equator<? super T> equator,
+                                final Algorithm algorithm, final int costLimit, final boolean interning) {
         this.sequence1 = sequence1;
         this.sequence2 = sequence2;
         this.equator = equator;
+        this.algorithm = algorithm;
+        this.costLimit = costLimit;
+
+        if (interning || algorithm != Algorithm.MYERS) {
+            final Interner<T> interner = new Interner<>(equator, sequence1.size() + sequence2.size());
+            ids1 = intern(interner, sequence1);
+            ids2 = intern(interner, sequence2);
+            idCount = interner.size();
+        } else {
+            ids1 = null;
+            ids2 = null;
+            idCount = 0;
+        }
 
         final int size = sequence1.size() + sequence2.size() + 2;
         vDown = new int[size];
         vUp   = new int[size];
     }
 
+    /**
+     * Constructs a new instance comparing chars, which are their own identifiers.
+     */
+    @SuppressWarnings("unchecked")
+    private SequencesComparator(final CharSequence sequence1, final CharSequence sequence2) {
+        this.sequence1 = (List<T>) new CharSequenceAsList(sequence1);
+        this.sequence2 = (List<T>) new CharSequenceAsList(sequence2);
+        this.equator = DefaultEquator.defaultEquator();
+        this.algorithm = Algorithm.MYERS;
+        this.costLimit = Integer.MAX_VALUE;
+        this.ids1 = toIds(sequence1);
+        this.ids2 = toIds(sequence2);
+        this.idCount = Character.MAX_VALUE + 1;
+
+        final int size = sequence1.length() + sequence2.length() + 2;
+        vDown = new int[size];
+        vUp   = new int[size];
+    }
+
     /**
      * Build an edit script.
      *
@@ -177,10 +631,10 @@ public class SequencesComparator<T> {
      * @param end1  the end of the first sequence to be compared
      * @param start2  the start of the second sequence to be compared
      * @param end2  the end of the second sequence to be compared
-     * @param script the edited script
+     * @param sink  the receiver of the commands
      */
     private void buildScript(final int start1, final int end1, final int start2, final int end2,
-                             final EditScript<T> script) {
+                             final Sink sink) {
 
         final Snake middle = getMiddleSnake(start1, end1, start2, end2);
 
@@ -191,15 +645,15 @@ public class SequencesComparator<T> {
             int i = start1;
             int j = start2;
             while (i < end1 || j < end2) {
-                if (i < end1 && j < end2 && equator.equate(sequence1.get(i), sequence2.get(j))) {
-                    script.append(new KeepCommand<>(sequence1.get(i)));
+                if (i < end1 && j < end2 && equate(i, j)) {
+                    sink.keep(i, j, 1);
                     ++i;
                     ++j;
                 } else if (end1 - start1 > end2 - start2) {
-                    script.append(new DeleteCommand<>(sequence1.get(i)));
+                    sink.delete(i);
                     ++i;
                 } else {
-                    script.append(new InsertCommand<>(sequence2.get(j)));
+                    sink.insert(j);
                     ++j;
                 }
             }
@@ -208,13 +662,13 @@ public class SequencesComparator<T> {
 
             buildScript(start1, middle.getStart(),
                         start2, middle.getStart() - middle.getDiag(),
-                        script);
-            for (int i = middle.getStart(); i < middle.getEnd(); ++i) {
-                script.append(new KeepCommand<>(sequence1.get(i)));
+                        sink);
+            if (middle.getEnd() > middle.getStart()) {
+                sink.keep(middle.getStart(), middle.getStart() - middle.getDiag(), middle.getEnd() - middle.getStart());
             }
             buildScript(middle.getEnd(), end1,
                         middle.getEnd() - middle.getDiag(), end2,
-                        script);
+                        sink);
         }
     }
 
@@ -231,12 +685,68 @@ public class SequencesComparator<T> {
         int end = start;
         while (end - diag < end2
                 && end < end1
-                && equator.equate(sequence1.get(end), sequence2.get(end - diag))) {
+                && equate(end, end - diag)) {
             ++end;
         }
         return new Snake(start, end, diag);
     }
 
+    /**
+     * Compares two subsequences of the main sequences, matching their common prefix and suffix before running the
+     * configured algorithm on the remaining elements.
+     *
+     * @param start1  the start of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the start of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param sink  the receiver of the commands
+     */
+    private void diff(int start1, int end1, int start2, int end2, final Sink sink) {
+        final int prefixStart1 = start1;
+        while (start1 < end1 && start2 < end2 && equate(start1, start2)) {
+            ++start1;
+            ++start2;
+        }
+        if (start1 > prefixStart1) {
+            sink.keep(prefixStart1, start2 - start1 + prefixStart1, start1 - prefixStart1);
+        }
+        final int suffixEnd1 = end1;
+        while (start1 < end1 && start2 < end2 && equate(end1 - 1, end2 - 1)) {
+            --end1;
+            --end2;
+        }
+
+        switch (algorithm) {
+        case PATIENCE:
+            patience(start1, end1, start2, end2, sink);
+            break;
+        case HUNT_SZYMANSKI:
+            huntSzymanski(start1, end1, start2, end2, sink);
+            break;
+        default:
+            buildScript(start1, end1, start2, end2, sink);
+            break;
+        }
+
+        if (suffixEnd1 > end1) {
+            sink.keep(end1, end2, suffixEnd1 - end1);
+        }
+    }
+
+    /**
+     * Tests whether two elements of the main sequences are equal.
+     *
+     * @param index1  the index in the first sequence
+     * @param index2  the index in the second sequence
+     * @return whether the elements are equal
+     */
+    private boolean equate(final int index1, final int index2) {
+        if (ids1 != null) {
+            return ids1[index1] == ids2[index2];
+        }
+        return equator.equate(sequence1.get(index1), sequence2.get(index2));
+    }
+
     /**
      * Gets the middle snake corresponding to two subsequences of the
      * main sequences.
@@ -283,7 +793,7 @@ public class SequencesComparator<T> {
                 int x = vDown[i];
                 int y = x - start1 + start2 - k;
 
-                while (x < end1 && y < end2 && equator.equate(sequence1.get(x), sequence2.get(y))) {
+                while (x < end1 && y < end2 && equate(x, y)) {
                     vDown[i] = ++x;
                     ++y;
                 }
@@ -305,7 +815,7 @@ public class SequencesComparator<T> {
 
                 int x = vUp[i] - 1;
                 int y = x - start1 + start2 - k;
-                while (x >= start1 && y >= start2 && equator.equate(sequence1.get(x), sequence2.get(y))) {
+                while (x >= start1 && y >= start2 && equate(x, y)) {
                     vUp[i] = x--;
                     y--;
                 }
@@ -314,6 +824,13 @@ public class SequencesComparator<T> {
                     return buildSnake(vUp[i], k + start1 - start2, end1, end2);
                 }
             }
+
+            if (d >= costLimit) {
+                final Snake split = getSplit(start1, end1, start2, end2, d, offset, delta);
+                if (split != null) {
+                    return split;
+                }
+            }
         }
 
         // this should not happen
@@ -335,7 +852,324 @@ public class SequencesComparator<T> {
      */
     public EditScript<T> getScript() {
         final EditScript<T> script = new EditScript<>();
-        buildScript(0, sequence1.size(), 0, sequence2.size(), script);
+        visitScript(new CommandVisitor<T>() {
+
+            @Override
+            public void visitDeleteCommand(final T object) {
+                script.append(new DeleteCommand<>(object));
+            }
+
+            @Override
+            public void visitInsertCommand(final T object) {
+                script.append(new InsertCommand<>(object));
+            }
+
+            @Override
+            public void visitKeepCommand(final T object) {
+                script.append(new KeepCommand<>(object));
+            }
+        });
         return script;
     }
+
+    /**
+     * Gets the point where to split two subsequences when the Myers search has become too expensive.
+     * <p>
+     * This is the end of the forward path which got the furthest, or the start of the backward path which got the
+     * furthest, whichever made the most progress.
+     * </p>
+     *
+     * @param start1  the start of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the start of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param d  the number of differences reached by the search
+     * @param offset  the offset of the diagonals in the temporary variables
+     * @param delta  the difference between the lengths of the subsequences
+     * @return an empty snake at the split point, or null if no path made any progress
+     */
+    private Snake getSplit(final int start1, final int end1, final int start2, final int end2,
+                           final int d, final int offset, final int delta) {
+        int bestX = 0;
+        int bestY = 0;
+        int bestProgress = 0;
+        for (int k = -d; k <= d; k += 2) {
+            final int x = vDown[k + offset];
+            final int y = x - start1 + start2 - k;
+            final int progress = x - start1 + y - start2;
+            if (x <= end1 && y >= start2 && y <= end2 && progress > bestProgress) {
+                bestX = x;
+                bestY = y;
+                bestProgress = progress;
+            }
+        }
+        for (int k = delta - d; k <= delta + d; k += 2) {
+            final int x = vUp[k + offset - delta];
+            final int y = x - start1 + start2 - k;
+            final int progress = end1 - x + end2 - y;
+            if (x >= start1 && x <= end1 && y >= start2 && y <= end2 && progress > bestProgress) {
+                bestX = x;
+                bestY = y;
+                bestProgress = progress;
+            }
+        }
+        // the split must be strictly inside the subsequences so that both halves get smaller
+        if (bestProgress == 0 || bestProgress == end1 - start1 + end2 - start2) {
+            return null;
+        }
+        return new Snake(bestX, bestX, bestX - bestY);
+    }
+
+    /**
+     * Builds an edit script with the Hunt-Szymanski algorithm.
+     *
+     * @param start1  the start of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the start of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param sink  the receiver of the commands
+     */
+    private void huntSzymanski(final int start1, final int end1, final int start2, final int end2, final Sink sink) {
+        if (start1 == end1 || start2 == end2) {
+            buildScript(start1, end1, start2, end2, sink);
+            return;
+        }
+
+        // positions of each element in the second subsequence, grouped by identifier
+        final int[] firstPosition = new int[idCount + 1];
+        for (int j = start2; j < end2; ++j) {
+            ++firstPosition[ids2[j] + 1];
+        }
+        for (int id = 0; id < idCount; ++id) {
+            firstPosition[id + 1] += firstPosition[id];
+        }
+        final int[] positions = new int[end2 - start2];
+        final int[] fill = firstPosition.clone();
+        for (int j = start2; j < end2; ++j) {
+            positions[fill[ids2[j]]++] = j;
+        }
+
+        // thresholds[t] is the smallest end in the second subsequence of a common subsequence of length t + 1,
+        // the matches are chained through the match arrays to rebuild that subsequence
+        final int[] thresholds = new int[Math.min(end1 - start1, end2 - start2)];
+        final int[] thresholdMatches = new int[thresholds.length];
+        int[] matchIndex1 = new int[16];
+        int[] matchIndex2 = new int[16];
+        int[] matchPrevious = new int[16];
+        int matchCount = 0;
+        int length = 0;
+        for (int i = start1; i < end1; ++i) {
+            final int id = ids1[i];
+            for (int p = firstPosition[id + 1] - 1; p >= firstPosition[id]; --p) {
+                final int j = positions[p];
+                int low = 0;
+                int high = length;
+                while (low < high) {
+                    final int middle = low + high >>> 1;
+                    if (thresholds[middle] < j) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                if (low < length && thresholds[low] == j) {
+                    continue;
+                }
+                if (matchCount == matchIndex1.length) {
+                    matchIndex1 = Arrays.copyOf(matchIndex1, matchCount * 2);
+                    matchIndex2 = Arrays.copyOf(matchIndex2, matchCount * 2);
+                    matchPrevious = Arrays.copyOf(matchPrevious, matchCount * 2);
+                }
+                matchIndex1[matchCount] = i;
+                matchIndex2[matchCount] = j;
+                matchPrevious[matchCount] = low > 0 ? thresholdMatches[low - 1] : -1;
+                thresholds[low] = j;
+                thresholdMatches[low] = matchCount;
+                ++matchCount;
+                if (low == length) {
+                    ++length;
+                }
+            }
+        }
+
+        final int[] lcs = new int[length];
+        int m = length > 0 ? thresholdMatches[length - 1] : -1;
+        for (int l = length - 1; l >= 0; --l) {
+            lcs[l] = m;
+            m = matchPrevious[m];
+        }
+        int next1 = start1;
+        int next2 = start2;
+        for (final int match : lcs) {
+            for (; next1 < matchIndex1[match]; ++next1) {
+                sink.delete(next1);
+            }
+            for (; next2 < matchIndex2[match]; ++next2) {
+                sink.insert(next2);
+            }
+            sink.keep(next1++, next2++, 1);
+        }
+        for (; next1 < end1; ++next1) {
+            sink.delete(next1);
+        }
+        for (; next2 < end2; ++next2) {
+            sink.insert(next2);
+        }
+    }
+
+    /**
+     * Interns the elements of a sequence.
+     *
+     * @param interner  the interner to use
+     * @param sequence  the sequence to intern
+     * @return the identifiers of the elements of the sequence
+     */
+    private int[] intern(final Interner<T> interner, final List<T> sequence) {
+        final int[] ids = new int[sequence.size()];
+        int i = 0;
+        for (final T element : sequence) {
+            ids[i++] = interner.intern(element);
+        }
+        return ids;
+    }
+
+    /**
+     * Builds an edit script with the patience algorithm.
+     *
+     * @param start1  the start of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the start of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param sink  the receiver of the commands
+     */
+    private void patience(final int start1, final int end1, final int start2, final int end2, final Sink sink) {
+        if (start1 == end1 || start2 == end2) {
+            buildScript(start1, end1, start2, end2, sink);
+            return;
+        }
+        if (counts1 == null) {
+            counts1 = new int[idCount];
+            counts2 = new int[idCount];
+            positions2 = new int[idCount];
+        }
+
+        // find the elements occurring exactly once in both subsequences
+        for (int i = start1; i < end1; ++i) {
+            ++counts1[ids1[i]];
+        }
+        for (int j = start2; j < end2; ++j) {
+            ++counts2[ids2[j]];
+            positions2[ids2[j]] = j;
+        }
+        final int[] unique1 = new int[Math.min(end1 - start1, end2 - start2)];
+        final int[] unique2 = new int[unique1.length];
+        int uniqueCount = 0;
+        for (int i = start1; i < end1; ++i) {
+            final int id = ids1[i];
+            if (counts1[id] == 1 && counts2[id] == 1) {
+                unique1[uniqueCount] = i;
+                unique2[uniqueCount] = positions2[id];
+                ++uniqueCount;
+            }
+        }
+        for (int i = start1; i < end1; ++i) {
+            counts1[ids1[i]] = 0;
+        }
+        for (int j = start2; j < end2; ++j) {
+            counts2[ids2[j]] = 0;
+        }
+        if (uniqueCount == 0) {
+            buildScript(start1, end1, start2, end2, sink);
+            return;
+        }
+
+        // patience sorting: longest increasing subsequence of the positions in the second subsequence
+        final int[] tails = new int[uniqueCount];
+        final int[] previous = new int[uniqueCount];
+        int length = 0;
+        for (int u = 0; u < uniqueCount; ++u) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int middle = low + high >>> 1;
+                if (unique2[tails[middle]] < unique2[u]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[u] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = u;
+            if (low == length) {
+                ++length;
+            }
+        }
+        final int[] anchors = new int[length];
+        int unique = tails[length - 1];
+        for (int a = length - 1; a >= 0; --a) {
+            anchors[a] = unique;
+            unique = previous[unique];
+        }
+
+        // compare the gaps between the anchors
+        int next1 = start1;
+        int next2 = start2;
+        for (final int anchor : anchors) {
+            diff(next1, unique1[anchor], next2, unique2[anchor], sink);
+            sink.keep(unique1[anchor], unique2[anchor], 1);
+            next1 = unique1[anchor] + 1;
+            next2 = unique2[anchor] + 1;
+        }
+        diff(next1, end1, next2, end2, sink);
+    }
+
+    /**
+     * Visits the differences between the two sequences as ranges of commands.
+     * <p>
+     * The commands are passed to the visitor in order as soon as they are found, consecutive commands of the same kind
+     * being coalesced into a single range, so neither the script nor the individual commands are ever allocated. This
+     * is the most compact way to process the differences between very large sequences.
+     * </p>
+     *
+     * @param visitor  the visitor that will receive the ranges of commands
+     * @since 4.5.1
+     */
+    public void visitRanges(final RangeCommandVisitor visitor) {
+        final RangeSink sink = new RangeSink(visitor);
+        diff(0, sequence1.size(), 0, sequence2.size(), sink);
+        sink.flush();
+    }
+
+    /**
+     * Visits the edit script without building it.
+     * <p>
+     * The commands are passed to the visitor in order as soon as they are found, which gives the same calls as
+     * {@code getScript().visit(visitor)} without allocating the script and its commands. The same guarantees apply to
+     * the objects given to the visitor as to the objects embedded in the commands of {@link #getScript()}.
+     * </p>
+     *
+     * @param visitor  the visitor that will visit all commands in turn
+     * @since 4.5.1
+     */
+    public void visitScript(final CommandVisitor<T> visitor) {
+        diff(0, sequence1.size(), 0, sequence2.size(), new Sink() {
+
+            @Override
+            public void delete(final int index1) {
+                visitor.visitDeleteCommand(sequence1.get(index1));
+            }
+
+            @Override
+            public void insert(final int index2) {
+                visitor.visitInsertCommand(sequence2.get(index2));
+            }
+
+            @Override
+            public void keep(final int index1, final int index2, final int length) {
+                for (int i = index1; i < index1 + length; ++i) {
+                    visitor.visitKeepCommand(sequence1.get(i));
+                }
+            }
+        });
+    }
 }
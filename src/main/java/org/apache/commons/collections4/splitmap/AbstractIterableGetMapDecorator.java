@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import org.apache.commons.collections4.IterableGet;
+import org.apache.commons.collections4.IterableMap;
 import org.apache.commons.collections4.MapIterator;
 import org.apache.commons.collections4.map.EntrySetToMapIteratorAdapter;
 
@@ -107,10 +108,18 @@ public class AbstractIterableGetMapDecorator<K, V> implements IterableGet<K, V>
 
     /**
      * Gets a MapIterator over this Get.
+     * <p>
+     * This is the map iterator of the decorated map if it is an {@link IterableMap},
+     * so that no entries are created.
+     * </p>
      * @return MapIterator&lt;K, V&gt;
      */
     @Override
     public MapIterator<K, V> mapIterator() {
+        final Map<K, V> decorated = decorated();
+        if (decorated instanceof IterableMap) {
+            return ((IterableMap<K, V>) decorated).mapIterator();
+        }
         return new EntrySetToMapIteratorAdapter<>(entrySet());
     }
 
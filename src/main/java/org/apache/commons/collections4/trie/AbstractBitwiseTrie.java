@@ -215,6 +215,17 @@ public abstract class AbstractBitwiseTrie<K, V> extends AbstractMap<K, V>
         return keyAnalyzer.lengthInBits(key);
     }
 
+    /**
+     * Returns the length of the given key in elements.
+     *
+     * @param key  the key, may be null
+     * @return the number of elements of the key, 0 for null
+     * @see KeyAnalyzer#bitsPerElement()
+     */
+    final int lengthInElements(final K key) {
+        return lengthInBits(key) / keyAnalyzer.bitsPerElement();
+    }
+
     @Override
     public String toString() {
         final StringBuilder buffer = new StringBuilder();
@@ -22,6 +22,8 @@ import java.io.ObjectOutputStream;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -32,6 +34,8 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.collections4.OrderedMapIterator;
 import org.apache.commons.collections4.Trie;
@@ -341,7 +345,150 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         public int size() {
             return AbstractPatriciaTrie.this.size();
         }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
+        }
     }
+
+    /**
+     * Iterates the entries within a maximum edit distance of a key, ordered by distance and then by key.
+     * <p>
+     * The search is run as an iterative deepening walk over the PATRICIA tree: pass {@code d} only returns the entries at
+     * exactly distance {@code d}, which keeps the output ordered while producing it lazily. While descending, the rows of
+     * the Levenshtein table are computed once for the elements all keys of a subtree share, and the subtree is skipped as
+     * soon as the smallest value of the last row exceeds the distance of the current pass.
+     * </p>
+     * <p>
+     * The elements a subtree shares are derived from the bit index of its node, so keys that only differ by trailing
+     * elements with all bits set to 0 (for example NUL characters) are not told apart.
+     * </p>
+     */
+    private final class FuzzyIterator implements Iterator<Map.Entry<K, V>> {
+
+        /** A pending step of the walk: the link from a parent node to a child node. */
+        private final class Step {
+
+            private final TrieEntry<K, V> parent;
+            private final TrieEntry<K, V> child;
+            private final int depth;
+
+            Step(final TrieEntry<K, V> parent, final TrieEntry<K, V> child, final int depth) {
+                this.parent = parent;
+                this.child = child;
+                this.depth = depth;
+            }
+        }
+
+        private final K key;
+        private final int keyLength;
+        private final int maxDistance;
+        private final ArrayDeque<Step> steps = new ArrayDeque<>();
+        private final int expectedModCount = modCount;
+        private int[][] rows;
+        private int distance;
+        private TrieEntry<K, V> next;
+
+        FuzzyIterator(final K key, final int maxDistance) {
+            this.key = key;
+            this.keyLength = lengthInElements(key);
+            this.maxDistance = maxDistance;
+            this.rows = new int[keyLength + maxDistance + 1][];
+            final int[] first = new int[keyLength + 1];
+            for (int i = 0; i <= keyLength; i++) {
+                first[i] = i;
+            }
+            rows[0] = first;
+            steps.push(new Step(root, root.left, 0));
+            next = findNext();
+        }
+
+        /**
+         * Fills the rows of the Levenshtein table up to {@code toDepth}, reading the elements of {@code other}.
+         *
+         * @return whether the last computed row may still lead to a key within the distance of the current pass
+         */
+        private boolean extend(final K other, final int fromDepth, final int toDepth) {
+            for (int depth = fromDepth + 1; depth <= toDepth; depth++) {
+                if (depth == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                int[] row = rows[depth];
+                if (row == null) {
+                    row = new int[keyLength + 1];
+                    rows[depth] = row;
+                }
+                final int[] previous = rows[depth - 1];
+                row[0] = depth;
+                int min = depth;
+                for (int i = 1; i <= keyLength; i++) {
+                    final int cost = getKeyAnalyzer().isElementEqual(key, i - 1, other, depth - 1) ? 0 : 1;
+                    final int value = Math.min(Math.min(previous[i] + 1, row[i - 1] + 1), previous[i - 1] + cost);
+                    row[i] = value;
+                    min = Math.min(min, value);
+                }
+                if (min > distance) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private TrieEntry<K, V> findNext() {
+            while (true) {
+                while (!steps.isEmpty()) {
+                    final Step step = steps.pop();
+                    final TrieEntry<K, V> child = step.child;
+                    if (child.bitIndex <= step.parent.bitIndex) {
+                        // an uplink, the child is one of the stored entries
+                        if (!child.isEmpty() && matches(child.key, step.depth)) {
+                            return child;
+                        }
+                        continue;
+                    }
+                    // all the keys below child share the elements before its bit index
+                    final int depth = Math.max(step.depth, Math.min(child.bitIndex / bitsPerElement(), lengthInElements(child.key)));
+                    if (extend(child.key, step.depth, depth)) {
+                        steps.push(new Step(child, child.right, depth));
+                        steps.push(new Step(child, child.left, depth));
+                    }
+                }
+                if (distance == maxDistance) {
+                    return null;
+                }
+                distance++;
+                steps.push(new Step(root, root.left, 0));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        private boolean matches(final K other, final int depth) {
+            final int length = lengthInElements(other);
+            if (length > depth && !extend(other, depth, length)) {
+                return false;
+            }
+            return rows[length][keyLength] == distance;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            final TrieEntry<K, V> current = next;
+            next = findNext();
+            return current;
+        }
+    }
+
     /**
      * This is a key set view of the {@link org.apache.commons.collections4.Trie} as returned by {@link Map#keySet()}.
      */
@@ -383,6 +530,11 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         public int size() {
             return AbstractPatriciaTrie.this.size();
         }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
+        }
     }
     /**
      * A prefix {@link RangeEntrySet} view of the {@link org.apache.commons.collections4.Trie}.
@@ -1221,6 +1373,11 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         public int size() {
             return AbstractPatriciaTrie.this.size();
         }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.ORDERED);
+        }
     }
 
     private static final long serialVersionUID = 5155253417231339498L;
@@ -1538,6 +1695,36 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         return node.right;
     }
 
+    /**
+     * Returns an iterator over the entries whose keys are within the given edit distance of the given key, ordered by
+     * distance and then by key.
+     * <p>
+     * The distance is the Levenshtein distance over the elements of the keys, as defined by
+     * {@link KeyAnalyzer#bitsPerElement()} and {@link KeyAnalyzer#isElementEqual(Object, int, Object, int)}; for
+     * String keys it counts the single character insertions, deletions and substitutions needed to turn one key into
+     * the other. Subtrees that cannot contain a key within the distance are never visited, and the entries are found
+     * lazily as the iterator is consumed.
+     * </p>
+     * <p>
+     * The iterator is fail-fast and does not support {@link Iterator#remove()}.
+     * </p>
+     *
+     * @param key  the key to search for, may not be null
+     * @param maxDistance  the maximum edit distance, inclusive
+     * @return an iterator over the matching entries
+     * @throws NullPointerException if the key is null
+     * @throws IllegalArgumentException if maxDistance is negative
+     * @since 4.5.1
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> fuzzyIterator(final K key, final int maxDistance) {
+        Objects.requireNonNull(key, "key");
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance must not be negative: " + maxDistance);
+        }
+        return new FuzzyIterator(key, maxDistance);
+    }
+
     @Override
     public V get(final Object k) {
         final TrieEntry<K, V> entry = getEntry(k);
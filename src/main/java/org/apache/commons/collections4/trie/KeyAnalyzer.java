@@ -139,6 +139,28 @@ public abstract class KeyAnalyzer<K> implements Comparator<K>, Serializable {
      */
     public abstract boolean isBitSet(K key, int bitIndex, int lengthInBits);
 
+    /**
+     * Tests whether the element at {@code index} in {@code key} is equal to the element at {@code otherIndex}
+     * in {@code other}, where an element is a run of {@link #bitsPerElement()} bits, for example a character of a String.
+     * <p>
+     * This is used by element-wise algorithms such as edit distance searches. The default implementation compares the
+     * two elements with {@link #bitIndex(Object, int, int, Object, int, int)}; subclasses are encouraged to override it
+     * with a direct comparison.
+     * </p>
+     *
+     * @param key  the key to check
+     * @param index  the element index in the key
+     * @param other  the other key to check
+     * @param otherIndex  the element index in the other key
+     * @return {@code true} if both elements have the same bits
+     * @since 4.5.1
+     */
+    public boolean isElementEqual(final K key, final int index, final K other, final int otherIndex) {
+        final int bitsPerElement = bitsPerElement();
+        final int bitIndex = bitIndex(key, index * bitsPerElement, bitsPerElement, other, otherIndex * bitsPerElement, bitsPerElement);
+        return isEqualBitKey(bitIndex) || isNullBitKey(bitIndex);
+    }
+
     /**
      * Determines whether or not the given prefix (from offset to length) is a prefix of the given key.
      *
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -28,7 +29,10 @@ import java.util.SortedMap;
 import org.apache.commons.collections4.OrderedMapIterator;
 import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.Unmodifiable;
+import org.apache.commons.collections4.iterators.TransformIterator;
+import org.apache.commons.collections4.iterators.UnmodifiableIterator;
 import org.apache.commons.collections4.iterators.UnmodifiableOrderedMapIterator;
+import org.apache.commons.collections4.keyvalue.UnmodifiableMapEntry;
 
 /**
  * An unmodifiable {@link Trie}.
@@ -112,6 +116,12 @@ public class UnmodifiableTrie<K, V> implements Trie<K, V>, Serializable, Unmodif
         return delegate.firstKey();
     }
 
+    @Override
+    public Iterator<Map.Entry<K, V>> fuzzyIterator(final K key, final int maxDistance) {
+        return UnmodifiableIterator.unmodifiableIterator(
+            new TransformIterator<>(delegate.fuzzyIterator(key, maxDistance), UnmodifiableMapEntry::new));
+    }
+
     @Override
     public V get(final Object key) {
         return delegate.get(key);
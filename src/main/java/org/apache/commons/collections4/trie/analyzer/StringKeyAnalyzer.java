@@ -129,6 +129,11 @@ public class StringKeyAnalyzer extends KeyAnalyzer<String> {
         return (key.charAt(index) & mask(bit)) != 0;
     }
 
+    @Override
+    public boolean isElementEqual(final String key, final int index, final String other, final int otherIndex) {
+        return key.charAt(index) == other.charAt(otherIndex);
+    }
+
     @Override
     public boolean isPrefix(final String prefix, final int offsetInBits,
                             final int lengthInBits, final String key) {
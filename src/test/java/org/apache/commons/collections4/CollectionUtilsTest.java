@@ -41,10 +41,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Random;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.collections4.bag.HashBag;
 import org.apache.commons.collections4.collection.PredicatedCollection;
@@ -1570,6 +1573,58 @@ class CollectionUtilsTest extends MockTestCase {
         assertThrows(NullPointerException.class, () -> CollectionUtils.maxSize(null));
     }
 
+    @Test
+    void testParallelSetOperations() {
+        final Random random = new Random(42);
+        final List<Integer> a = new ArrayList<>();
+        final List<Integer> b = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            a.add(random.nextInt(1000) == 0 ? null : random.nextInt(20_000));
+            b.add(random.nextInt(1000) == 0 ? null : random.nextInt(20_000));
+        }
+        final Executor executor = ForkJoinPool.commonPool();
+        assertEquals(new HashBag<>(CollectionUtils.union(a, b)), new HashBag<>(CollectionUtils.parallelUnion(a, b, executor)));
+        assertEquals(new HashBag<>(CollectionUtils.intersection(a, b)),
+                new HashBag<>(CollectionUtils.parallelIntersection(a, b, executor)));
+        assertEquals(new HashBag<>(CollectionUtils.disjunction(a, b)),
+                new HashBag<>(CollectionUtils.parallelDisjunction(a, b, executor)));
+        assertEquals(CollectionUtils.subtract(a, b), CollectionUtils.parallelSubtract(a, b, executor));
+        assertEquals(CollectionUtils.subtract(b, a), CollectionUtils.parallelSubtract(b, a, executor));
+        assertFalse(CollectionUtils.parallelIsEqualCollection(a, b, executor));
+        final List<Integer> shuffled = new ArrayList<>(a);
+        Collections.shuffle(shuffled, random);
+        assertTrue(CollectionUtils.parallelIsEqualCollection(a, shuffled, executor));
+        shuffled.set(0, -1);
+        assertFalse(CollectionUtils.parallelIsEqualCollection(a, shuffled, executor));
+    }
+
+    @Test
+    void testParallelSetOperationsNull() {
+        final Executor executor = ForkJoinPool.commonPool();
+        assertThrows(NullPointerException.class, () -> CollectionUtils.parallelUnion(null, collectionA, executor));
+        assertThrows(NullPointerException.class, () -> CollectionUtils.parallelIntersection(collectionA, null, executor));
+        assertThrows(NullPointerException.class, () -> CollectionUtils.parallelDisjunction(collectionA, collectionB, null));
+        assertThrows(NullPointerException.class, () -> CollectionUtils.parallelSubtract(null, collectionB, executor));
+        assertThrows(NullPointerException.class, () -> CollectionUtils.parallelIsEqualCollection(collectionA, collectionB, null));
+    }
+
+    @Test
+    void testParallelSetOperationsSmall() {
+        final Executor executor = Runnable::run;
+        final Map<Integer, Integer> union = CollectionUtils.getCardinalityMap(CollectionUtils.parallelUnion(iterableA, iterableC, executor));
+        assertEquals(CollectionUtils.getCardinalityMap(CollectionUtils.union(iterableA, iterableC)), union);
+        final Map<Integer, Integer> intersection = CollectionUtils.getCardinalityMap(
+                CollectionUtils.parallelIntersection(iterableA, iterableC, executor));
+        assertEquals(CollectionUtils.getCardinalityMap(CollectionUtils.intersection(iterableA, iterableC)), intersection);
+        final Map<Integer, Integer> disjunction = CollectionUtils.getCardinalityMap(
+                CollectionUtils.parallelDisjunction(iterableA, iterableC, executor));
+        assertEquals(CollectionUtils.getCardinalityMap(CollectionUtils.disjunction(iterableA, iterableC)), disjunction);
+        assertEquals(CollectionUtils.subtract(iterableA, iterableC), CollectionUtils.parallelSubtract(iterableA, iterableC, executor));
+        assertTrue(CollectionUtils.parallelIsEqualCollection(collectionA, collectionA, executor));
+        assertTrue(CollectionUtils.parallelIsEqualCollection(Collections.emptyList(), Collections.emptySet(), executor));
+        assertTrue(CollectionUtils.parallelUnion(Collections.emptyList(), Collections.emptyList(), executor).isEmpty());
+    }
+
     @Test
     void testPermutations() {
         final List<Integer> sample = collectionA.subList(0, 5);
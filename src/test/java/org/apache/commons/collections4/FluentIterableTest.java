@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,8 +33,12 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+import org.apache.commons.collections4.bloomfilter.Shape;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -287,6 +292,57 @@ class FluentIterableTest {
                 "expecting NullPointerException");
     }
 
+    @Test
+    void testFusedPipeline() {
+        final List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            source.add(i % 97);
+        }
+        final AtomicInteger transformed = new AtomicInteger();
+        final FluentIterable<Integer> pipeline = FluentIterable.of(source)
+                .filter(EVEN)
+                .transform(i -> {
+                    transformed.incrementAndGet();
+                    return i * 3;
+                })
+                .unique()
+                .skip(2)
+                .limit(20)
+                .unmodifiable();
+        // the iterators of the decorated view define the expected results
+        final List<Integer> expected = IteratorUtils.toList(pipeline.iterator());
+        assertEquals(20, expected.size());
+
+        transformed.set(0);
+        assertEquals(expected, pipeline.toList());
+        // the traversal stops at the limit without transforming further elements
+        final int perTraversal = transformed.get();
+        assertTrue(perTraversal < 500);
+
+        final List<Integer> copy = new ArrayList<>();
+        pipeline.copyInto(copy);
+        assertEquals(expected, copy);
+        final List<Integer> visited = new ArrayList<>();
+        pipeline.forEach(visited::add);
+        assertEquals(expected, visited);
+        assertEquals(expected.size(), pipeline.size());
+        assertEquals(expected.get(7), pipeline.get(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> pipeline.get(expected.size()));
+        assertTrue(pipeline.contains(expected.get(19)));
+        assertFalse(pipeline.contains(-1));
+        assertTrue(pipeline.anyMatch(i -> i == expected.get(3)));
+        assertTrue(pipeline.allMatch(i -> i % 6 == 0));
+        assertFalse(pipeline.allMatch(i -> i < expected.get(10)));
+        assertFalse(pipeline.isEmpty());
+        assertTrue(pipeline.filter(i -> i < 0).isEmpty());
+        assertEquals(expected, pipeline.stream().collect(Collectors.toList()));
+
+        // an empty limit never pulls an element
+        transformed.set(0);
+        assertEquals(0, FluentIterable.of(source).transform(i -> transformed.incrementAndGet()).limit(0).size());
+        assertEquals(0, transformed.get());
+    }
+
     @Test
     void testGet() {
         assertEquals(2, FluentIterable.of(iterableEven).get(0).intValue());
@@ -380,6 +436,44 @@ class FluentIterableTest {
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    void testStream() {
+        final List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            source.add(i);
+        }
+        final FluentIterable<Integer> pipeline = FluentIterable.of(source).filter(EVEN).transform(i -> i / 2);
+        final List<Integer> expected = pipeline.toList();
+        assertEquals(50_000, expected.size());
+        assertEquals(expected, pipeline.stream().collect(Collectors.toList()));
+        assertEquals(expected, pipeline.parallelStream().collect(Collectors.toList()));
+        assertEquals(source.size(), FluentIterable.of(source).transform(i -> i * 2).parallelStream().count());
+        // pipelines with state are split into batches
+        assertEquals(expected.subList(10, 40_010), pipeline.skip(10).limit(40_000).parallelStream().collect(Collectors.toList()));
+        assertEquals(Arrays.asList(1, 2, 3, 4), FluentIterable.of(iterableA).unique().parallelStream().collect(Collectors.toList()));
+        assertEquals(Arrays.asList(1, 3), FluentIterable.of(iterableOdd).limit(2).stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testUnmodifiableSpliterator() {
+        final List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+        final Spliterator<Integer> spliterator = FluentIterable.of(source).unmodifiable().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, spliterator.getExactSizeIfKnown());
+
+        final Spliterator<Integer> sorted = FluentIterable.of(new TreeSet<>(source)).unmodifiable().spliterator();
+        assertTrue(sorted.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED | Spliterator.DISTINCT));
+        assertNull(sorted.getComparator());
+        assertThrows(IllegalStateException.class, () -> FluentIterable.of(source).unmodifiable().filter(EVEN).spliterator().getComparator());
+    }
+
     @Test
     void testToArray() {
         final Long[] arr = {1L, 2L, 3L, 4L, 5L};
@@ -425,6 +519,27 @@ class FluentIterableTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    void testUniqueModes() {
+        final List<Integer> sorted = Arrays.asList(1, 1, 2, 3, 3, 3, 4, 5, 5);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), FluentIterable.of(sorted).uniqueSorted().toList());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), IteratorUtils.toList(FluentIterable.of(sorted).uniqueSorted().iterator()));
+        assertEquals(Arrays.asList(1, 2, 1), FluentIterable.of(1, 2, 2, 1).uniqueSorted().toList());
+
+        final FluentIterable<Integer> windowed = FluentIterable.of(1, 2, 1, 3, 4, 5, 1, 1).uniqueWindowed(3);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 1), windowed.toList());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 1), windowed.toList());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 1), IteratorUtils.toList(windowed.iterator()));
+        assertEquals(6, windowed.size());
+        assertThrows(IllegalArgumentException.class, () -> FluentIterable.of(1).uniqueWindowed(0));
+
+        final FluentIterable<Integer> approximate = FluentIterable.of(iterableA).uniqueApproximate(Shape.fromNP(100, 0.01));
+        assertEquals(Arrays.asList(1, 2, 3, 4), approximate.toList());
+        assertEquals(Arrays.asList(1, 2, 3, 4), IteratorUtils.toList(approximate.iterator()));
+        assertEquals(Arrays.asList(1, 2), approximate.limit(2).toList());
+        assertThrows(NullPointerException.class, () -> FluentIterable.of(1).uniqueApproximate(null));
+    }
+
     @Test
     void testUnmodifiable() {
         final FluentIterable<Integer> iterable1 = FluentIterable.of(iterableA).unmodifiable();
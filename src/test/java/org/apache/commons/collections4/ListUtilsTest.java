@@ -29,8 +29,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.list.PredicatedList;
@@ -315,6 +318,43 @@ class ListUtilsTest {
         assertEquals(0, lcs.length());
     }
 
+    @Test
+    void testLongestCommonSubsequenceWithEquator() {
+        final Equator<String> caseInsensitive = new Equator<String>() {
+
+            @Override
+            public boolean equate(final String o1, final String o2) {
+                return o1.equalsIgnoreCase(o2);
+            }
+
+            @Override
+            public int hash(final String o) {
+                return o.toLowerCase(Locale.ROOT).hashCode();
+            }
+        };
+        final List<String> lcs = ListUtils.longestCommonSubsequence(Arrays.asList("a", "B", "c", "D", "e"),
+                Arrays.asList("A", "x", "b", "D", "y", "E"), caseInsensitive);
+        assertEquals(Arrays.asList("a", "B", "D", "e"), lcs);
+        final Random random = new Random(4356234L);
+        for (int n = 0; n < 20; n++) {
+            final StringBuilder a = new StringBuilder();
+            final StringBuilder b = new StringBuilder();
+            for (int i = random.nextInt(100); i > 0; i--) {
+                a.append((char) ('a' + random.nextInt(4)));
+            }
+            for (int i = random.nextInt(100); i > 0; i--) {
+                b.append((char) ('a' + random.nextInt(4)));
+            }
+            final List<Character> listA = new ArrayList<>();
+            final List<Character> listB = new ArrayList<>();
+            a.chars().forEach(c -> listA.add((char) c));
+            b.chars().forEach(c -> listB.add((char) c));
+            final StringBuilder expected = new StringBuilder();
+            ListUtils.longestCommonSubsequence(listA, listB).forEach(expected::append);
+            assertEquals(expected.toString(), ListUtils.longestCommonSubsequence(a, b));
+        }
+    }
+
     @Test
     @SuppressWarnings("boxing") // OK in test code
     void testPartition() {
@@ -428,6 +468,33 @@ class ListUtilsTest {
         assertTrue(output1.contains(4L));
     }
 
+    @Test
+    void testSortByKey() {
+        final List<String> list = new ArrayList<>(Arrays.asList("ccc", "a", "bb", "dd", "e", "ffff"));
+        final int[] calls = new int[1];
+        ListUtils.sortByKey(list, s -> {
+            calls[0]++;
+            return s.length();
+        });
+        assertEquals(Arrays.asList("a", "e", "bb", "dd", "ccc", "ffff"), list);
+        assertEquals(6, calls[0]);
+        ListUtils.sortByKey(list, s -> s.charAt(0), Collections.reverseOrder());
+        assertEquals(Arrays.asList("ffff", "e", "dd", "ccc", "bb", "a"), list);
+
+        final Random random = new Random(46);
+        final List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            numbers.add(random.nextInt(100));
+        }
+        final List<Integer> expected = new ArrayList<>(numbers);
+        expected.sort(Comparator.comparing(n -> n % 10));
+        ListUtils.sortByKey(numbers, n -> n % 10);
+        assertEquals(expected, numbers);
+
+        assertThrows(NullPointerException.class, () -> ListUtils.sortByKey(null, s -> s.toString()));
+        assertThrows(UnsupportedOperationException.class, () -> ListUtils.sortByKey(Collections.unmodifiableList(list), String::length));
+    }
+
     @Test
     void testSubtract() {
         final List<String> list = new ArrayList<>();
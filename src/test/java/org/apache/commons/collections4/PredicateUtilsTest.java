@@ -16,6 +16,7 @@
  */
 package org.apache.commons.collections4;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -30,12 +31,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
 
+import org.apache.commons.collections4.bloomfilter.EnhancedDoubleHasher;
+import org.apache.commons.collections4.bloomfilter.Shape;
 import org.apache.commons.collections4.functors.AbstractPredicateTest;
 import org.apache.commons.collections4.functors.AllPredicate;
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.functors.ExceptionPredicate;
 import org.apache.commons.collections4.functors.FalsePredicate;
+import org.apache.commons.collections4.functors.InstanceofPredicate;
 import org.apache.commons.collections4.functors.NotNullPredicate;
 import org.apache.commons.collections4.functors.NullPredicate;
 import org.apache.commons.collections4.functors.TruePredicate;
@@ -226,6 +232,29 @@ class PredicateUtilsTest extends AbstractPredicateTest {
         assertThrows(FunctorException.class, () -> PredicateUtils.asPredicate(TransformerUtils.nopTransformer()).evaluate(null));
     }
 
+    @Test
+    void testBloomFilterUniquePredicate() {
+        final Predicate<Integer> p = PredicateUtils.bloomFilterUniquePredicate(Shape.fromNP(10_000, 0.001));
+        int accepted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (p.test(i)) {
+                accepted++;
+            }
+        }
+        // false positives only ever reject new elements
+        assertTrue(accepted > 9_900, "accepted " + accepted);
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(p.test(i));
+        }
+        final Predicate<String> q = PredicateUtils.bloomFilterUniquePredicate(Shape.fromKM(3, 64),
+            s -> new EnhancedDoubleHasher(s.length(), 1));
+        assertTrue(q.test("a"));
+        assertFalse(q.test("b"));
+        assertTrue(q.test("bb"));
+        assertThrows(NullPointerException.class, () -> PredicateUtils.bloomFilterUniquePredicate(null));
+        assertThrows(NullPointerException.class, () -> PredicateUtils.bloomFilterUniquePredicate(Shape.fromKM(3, 64), null));
+    }
+
     @Test
     void testEitherPredicate() {
         assertFalse(PredicateUtils.eitherPredicate(TruePredicate.truePredicate(), TruePredicate.truePredicate()).evaluate(null));
@@ -546,6 +575,42 @@ class PredicateUtilsTest extends AbstractPredicateTest {
         assertThrows(NullPointerException.class, () -> PredicateUtils.onePredicate(Arrays.asList(null, null)));
     }
 
+    @Test
+    void testOptimizedPredicate() {
+        final Predicate<Object> isOne = PredicateUtils.equalPredicate(1);
+        final Predicate<Object> isTwo = PredicateUtils.equalPredicate(2);
+        final Predicate<Object> tree = PredicateUtils.allPredicate(
+            PredicateUtils.andPredicate(isOne, PredicateUtils.truePredicate()),
+            PredicateUtils.allPredicate(PredicateUtils.notPredicate(PredicateUtils.notPredicate(isTwo)),
+                PredicateUtils.instanceofPredicate(Integer.class)),
+            PredicateUtils.notPredicate(PredicateUtils.nullPredicate()));
+        final Predicate<Object> optimized = PredicateUtils.optimizedPredicate(tree);
+        assertTrue(optimized instanceof AllPredicate);
+        final Predicate<?>[] operands = ((AllPredicate<Object>) optimized).getPredicates();
+        assertEquals(Arrays.asList(InstanceofPredicate.class, NotNullPredicate.class, EqualPredicate.class, EqualPredicate.class),
+            Arrays.stream(operands).map(Object::getClass).collect(Collectors.toList()));
+        assertSame(isTwo, operands[3]);
+        assertSame(FalsePredicate.falsePredicate(),
+            PredicateUtils.optimizedPredicate(PredicateUtils.andPredicate(isOne, PredicateUtils.orPredicate(
+                PredicateUtils.falsePredicate(), PredicateUtils.nonePredicate(PredicateUtils.truePredicate(), isTwo)))));
+        assertSame(isOne, PredicateUtils.optimizedPredicate(PredicateUtils.anyPredicate(PredicateUtils.falsePredicate(), isOne)));
+        assertSame(NullPredicate.nullPredicate(), PredicateUtils.optimizedPredicate(PredicateUtils.notPredicate(PredicateUtils.notNullPredicate())));
+        assertThrows(NullPointerException.class, () -> PredicateUtils.optimizedPredicate(null));
+    }
+
+    @Test
+    void testOptimizedPredicateRandomTrees() {
+        final Random random = new Random(45);
+        final Object[] inputs = { null, 1, 2, 3, "1", "x" };
+        for (int i = 0; i < 2_000; i++) {
+            final Predicate<Object> tree = randomPredicate(random, 4);
+            final Predicate<Object> optimized = PredicateUtils.optimizedPredicate(tree);
+            for (final Object input : inputs) {
+                assertEquals(tree.test(input), optimized.test(input), () -> tree + " on " + input);
+            }
+        }
+    }
+
     @Test
     void testOrPredicate() {
         assertTrue(PredicateUtils.orPredicate(TruePredicate.truePredicate(), TruePredicate.truePredicate()).evaluate(null));
@@ -563,6 +628,40 @@ class PredicateUtilsTest extends AbstractPredicateTest {
      * Test that all Predicate singletons hold singleton pattern in
      * serialization/deserialization process.
      */
+    @SuppressWarnings("unchecked")
+    private Predicate<Object> randomPredicate(final Random random, final int depth) {
+        final int kind = random.nextInt(depth > 0 ? 13 : 7);
+        switch (kind) {
+        case 0:
+            return PredicateUtils.truePredicate();
+        case 1:
+            return PredicateUtils.falsePredicate();
+        case 2:
+            return PredicateUtils.nullPredicate();
+        case 3:
+            return PredicateUtils.notNullPredicate();
+        case 4:
+            return PredicateUtils.instanceofPredicate(random.nextBoolean() ? Integer.class : String.class);
+        case 5:
+            return PredicateUtils.equalPredicate(random.nextInt(3) + 1);
+        case 6:
+            return PredicateUtils.equalPredicate("1");
+        case 7:
+            return PredicateUtils.notPredicate(randomPredicate(random, depth - 1));
+        case 8:
+            return PredicateUtils.andPredicate(randomPredicate(random, depth - 1), randomPredicate(random, depth - 1));
+        case 9:
+            return PredicateUtils.orPredicate(randomPredicate(random, depth - 1), randomPredicate(random, depth - 1));
+        default:
+            final Predicate<Object>[] operands = new Predicate[random.nextInt(4) + 2];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = randomPredicate(random, depth - 1);
+            }
+            return kind == 10 ? PredicateUtils.allPredicate(operands)
+                : kind == 11 ? PredicateUtils.anyPredicate(operands) : PredicateUtils.nonePredicate(operands);
+        }
+    }
+
     @Test
     void testSingletonPatternInSerialization() throws ClassNotFoundException, IOException {
         final Object[] singletons = {
@@ -581,6 +680,18 @@ class PredicateUtilsTest extends AbstractPredicateTest {
         }
     }
 
+    @Test
+    void testSortedUniquePredicate() {
+        final Predicate<Object> p = PredicateUtils.sortedUniquePredicate();
+        assertTrue(p.test(null));
+        assertFalse(p.test(null));
+        assertTrue(p.test(cString));
+        assertFalse(p.test(cString));
+        assertTrue(p.test(cInteger));
+        assertTrue(p.test(cString));
+        assertTrue(p.test(null));
+    }
+
     @Test
     void testTransformedPredicate() {
         assertTrue(PredicateUtils.transformedPredicate(
@@ -618,4 +729,17 @@ class PredicateUtilsTest extends AbstractPredicateTest {
         assertFalse(p.evaluate(cString));
     }
 
+    @Test
+    void testWindowedUniquePredicate() {
+        final Predicate<Integer> p = PredicateUtils.windowedUniquePredicate(3);
+        final List<Integer> accepted = new ArrayList<>();
+        for (final Integer i : Arrays.asList(1, 2, 1, 3, 4, 1, 2, 2, 5, 6, 7, 2, null, null)) {
+            if (p.test(i)) {
+                accepted.add(i);
+            }
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 2, 5, 6, 7, 2, null), accepted);
+        assertThrows(IllegalArgumentException.class, () -> PredicateUtils.windowedUniquePredicate(0));
+    }
+
 }
@@ -21,22 +21,29 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.collections4.functors.ChainedTransformer;
 import org.apache.commons.collections4.functors.ConstantTransformer;
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.functors.ExceptionTransformer;
 import org.apache.commons.collections4.functors.FalsePredicate;
+import org.apache.commons.collections4.functors.IfTransformer;
 import org.apache.commons.collections4.functors.NOPTransformer;
+import org.apache.commons.collections4.functors.NotNullPredicate;
 import org.apache.commons.collections4.functors.StringValueTransformer;
+import org.apache.commons.collections4.functors.SwitchTransformer;
 import org.apache.commons.collections4.functors.TruePredicate;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
@@ -166,6 +173,20 @@ class TransformerUtilsTest {
         assertEquals(new Date(1000L), trans.transform(Date.class));
     }
 
+    @Test
+    void testInstantiateTransformerPolymorphic() {
+        final Transformer<Class<?>, Object> trans = TransformerUtils.instantiateTransformer(new Class[] { String.class }, new Object[] { "7" });
+        for (int i = 0; i < 3; i++) {
+            assertEquals(7, trans.transform(Integer.class));
+            assertEquals(7L, trans.transform(Long.class));
+            assertEquals("7", trans.transform(String.class));
+            assertThrows(FunctorException.class, () -> trans.transform(Object.class));
+            assertThrows(FunctorException.class, () -> trans.transform(null));
+        }
+        assertThrows(FunctorException.class, () -> TransformerUtils.instantiateTransformer(new Class[] { String.class }, new Object[] { "x" })
+            .transform(Integer.class));
+    }
+
     @Test
     void testInvokerTransformer() {
         final List<Object> list = new ArrayList<>();
@@ -192,6 +213,35 @@ class TransformerUtilsTest {
         assertThrows(IllegalArgumentException.class, () -> TransformerUtils.invokerTransformer("badArgs", new Class[] {}, new Object[] { cString }));
     }
 
+    @Test
+    void testInvokerTransformerPolymorphic() {
+        final Transformer<Object, Object> size = TransformerUtils.invokerTransformer("size");
+        final List<Object> list = new ArrayList<>(Arrays.asList(cString, cObject));
+        final Collection<Object> set = new HashSet<>(Arrays.asList(cString));
+        final Map<Object, Object> map = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, size.transform(list));
+            assertEquals(1, size.transform(set));
+            assertEquals(0, size.transform(map));
+            assertEquals(2, size.transform(list));
+            final FunctorException ex = assertThrows(FunctorException.class, () -> size.transform(cObject));
+            assertTrue(ex.getMessage().contains("does not exist"));
+        }
+        // void methods return null, static methods ignore the input
+        assertNull(TransformerUtils.invokerTransformer("clear").transform(list));
+        assertEquals(0, list.size());
+        assertEquals("6", TransformerUtils.invokerTransformer("valueOf", new Class[] { Object.class }, new Object[] { cInteger }).transform(cString));
+        // exceptions thrown by the method are wrapped, bad arguments are rejected as by reflection
+        final Transformer<Object, Object> get = TransformerUtils.invokerTransformer("get", new Class[] { Integer.TYPE }, new Object[] { 5 });
+        assertThrows(FunctorException.class, () -> get.transform(list));
+        final Transformer<Object, Object> cast = TransformerUtils.invokerTransformer("cast", new Class[] { Object.class }, new Object[] { cString });
+        assertTrue(assertThrows(FunctorException.class, () -> cast.transform(Integer.class)).getCause() instanceof ClassCastException);
+        assertThrows(IllegalArgumentException.class, () -> TransformerUtils.invokerTransformer("get", new Class[] { Integer.TYPE }, new Object[] { "5" }).transform(list));
+        assertThrows(IllegalArgumentException.class, () -> TransformerUtils.invokerTransformer("get", new Class[] { Integer.TYPE }, new Object[] { null }).transform(list));
+        // an int widens to a long, as by reflection
+        assertEquals("6", TransformerUtils.invokerTransformer("valueOf", new Class[] { Long.TYPE }, new Object[] { cInteger }).transform(cString));
+    }
+
     @Test
     @SuppressWarnings("boxing") // OK in test code
     void testMapTransformer() {
@@ -226,6 +276,49 @@ class TransformerUtilsTest {
         assertNull(TransformerUtils.nullTransformer().transform(cInteger));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOptimizedTransformer() {
+        final Transformer<Object, Object> plusOne = input -> (Integer) input + 1;
+        final Transformer<Object, Object> chain = TransformerUtils.chainedTransformer(
+            TransformerUtils.nopTransformer(),
+            TransformerUtils.chainedTransformer(plusOne, TransformerUtils.nopTransformer(), plusOne),
+            TransformerUtils.ifTransformer(PredicateUtils.andPredicate(PredicateUtils.truePredicate(), PredicateUtils.notNullPredicate()),
+                plusOne, TransformerUtils.constantTransformer(-1)));
+        final Transformer<Object, Object> optimized = TransformerUtils.optimizedTransformer(chain);
+        assertEquals(3, chain.transform(0));
+        assertEquals(3, optimized.transform(0));
+        assertTrue(optimized instanceof ChainedTransformer);
+        final Transformer<?, ?>[] links = ((ChainedTransformer<Object>) optimized).getTransformers();
+        assertEquals(3, links.length);
+        assertSame(NotNullPredicate.notNullPredicate(), ((IfTransformer<Object, Object>) links[2]).getPredicate());
+
+        assertSame(plusOne, TransformerUtils.optimizedTransformer(TransformerUtils.chainedTransformer(
+            TransformerUtils.nopTransformer(), plusOne, TransformerUtils.nopTransformer())));
+        final Transformer<Object, Object> constant = TransformerUtils.constantTransformer("c");
+        assertSame(constant, TransformerUtils.optimizedTransformer(TransformerUtils.chainedTransformer(
+            TransformerUtils.constantTransformer("b"), TransformerUtils.asTransformer(PredicateUtils.nullPredicate()), constant)));
+        // links that may have side effects still run before a constant
+        final List<Object> seen = new ArrayList<>();
+        final Transformer<Object, Object> beforeConstant = TransformerUtils.optimizedTransformer(TransformerUtils.chainedTransformer(
+            TransformerUtils.asTransformer((Closure<Object>) seen::add), TransformerUtils.constantTransformer("b"), constant));
+        assertEquals("c", beforeConstant.transform(1));
+        assertEquals(Arrays.asList(1), seen);
+        assertEquals(2, ((ChainedTransformer<Object>) beforeConstant).getTransformers().length);
+        assertSame(NOPTransformer.nopTransformer(), TransformerUtils.optimizedTransformer(TransformerUtils.chainedTransformer(
+            TransformerUtils.nopTransformer(), TransformerUtils.nopTransformer())));
+
+        final Transformer<Object, Object> switched = TransformerUtils.optimizedTransformer(TransformerUtils.switchTransformer(
+            new Predicate[] { PredicateUtils.falsePredicate(), PredicateUtils.nullPredicate(), PredicateUtils.truePredicate() },
+            new Transformer[] { TransformerUtils.constantTransformer("false"), TransformerUtils.constantTransformer("null"),
+                TransformerUtils.constantTransformer("true") },
+            TransformerUtils.constantTransformer("default")));
+        assertEquals("null", switched.transform(null));
+        assertEquals("true", switched.transform(1));
+        assertEquals(1, ((SwitchTransformer<Object, Object>) switched).getPredicates().length);
+        assertThrows(NullPointerException.class, () -> TransformerUtils.optimizedTransformer(null));
+    }
+
     @Test
     void testPredicateTransformer() {
         assertEquals(Boolean.TRUE, TransformerUtils.asTransformer(TruePredicate.truePredicate()).transform(null));
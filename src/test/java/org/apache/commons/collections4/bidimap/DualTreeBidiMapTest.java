@@ -16,11 +16,82 @@
  */
 package org.apache.commons.collections4.bidimap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.collections4.OrderedMapIterator;
+import org.apache.commons.collections4.ResettableIterator;
+import org.apache.commons.collections4.map.AbstractSortedMapDecorator;
+import org.junit.jupiter.api.Test;
+
 /**
  * JUnit tests.
  */
 public class DualTreeBidiMapTest<K extends Comparable<K>, V extends Comparable<V>> extends AbstractSortedBidiMapTest<K, V> {
 
+    /**
+     * Walks the map iterator of a map of 200 keys randomly, comparing it with a list iterator.
+     */
+    private static void assertMapIteratorRandomWalk(final DualTreeBidiMap<Integer, Integer> map) {
+        final Random random = new Random(49);
+        final List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            map.put(i, -i);
+            keys.add(i);
+        }
+        final OrderedMapIterator<Integer, Integer> it = map.mapIterator();
+        final ListIterator<Integer> expected = keys.listIterator();
+        assertThrows(NoSuchElementException.class, it::previous);
+        boolean positioned = false;
+        for (int step = 0; step < 5_000; step++) {
+            assertEquals(expected.hasNext(), it.hasNext());
+            assertEquals(expected.hasPrevious(), it.hasPrevious());
+            final int action = random.nextInt(8);
+            if (action < 3 && expected.hasNext()) {
+                assertEquals(expected.next(), it.next());
+                positioned = true;
+            } else if (action < 6 && expected.hasPrevious()) {
+                assertEquals(expected.previous(), it.previous());
+                positioned = true;
+            } else if (action == 6 && positioned) {
+                final Integer key = it.getKey();
+                expected.remove();
+                it.remove();
+                assertNull(map.get(key));
+                positioned = false;
+            } else if (positioned) {
+                final Integer key = it.getKey();
+                assertEquals(map.get(key), it.setValue(-key - 1000));
+                assertEquals(key, map.getKey(-key - 1000));
+            }
+            if (keys.isEmpty()) {
+                break;
+            }
+        }
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertEquals(map.size(), map.inverseBidiMap().size());
+        ((ResettableIterator<?>) it).reset();
+        for (final Integer key : keys) {
+            assertEquals(key, it.next());
+        }
+    }
+
+    /**
+     * Wraps a TreeMap in a map that is sorted but not navigable.
+     */
+    private static <K, V> SortedMap<K, V> sortedOnly() {
+        return new AbstractSortedMapDecorator<K, V>(new TreeMap<>()) { };
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -29,6 +100,16 @@ public class DualTreeBidiMapTest<K extends Comparable<K>, V extends Comparable<V
         return new DualTreeBidiMap<>();
     }
 
+    @Test
+    void testMapIteratorRandomWalk() {
+        assertMapIteratorRandomWalk(new DualTreeBidiMap<>());
+    }
+
+    @Test
+    void testMapIteratorRandomWalkSortedOnly() {
+        assertMapIteratorRandomWalk(new DualTreeBidiMap<>(sortedOnly(), sortedOnly(), null));
+    }
+
 //    void testCreate() throws Exception {
 //        resetEmpty();
 //        writeExternalFormToDisk((java.io.Serializable) map, "src/test/resources/data/test/DualTreeBidiMap.emptyCollection.version4.obj");
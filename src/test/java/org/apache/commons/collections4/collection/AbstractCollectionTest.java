@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Predicate;
 
 import org.apache.commons.collections4.AbstractObjectTest;
@@ -1121,6 +1122,55 @@ public abstract class AbstractCollectionTest<E> extends AbstractObjectTest {
         assertFalse(getCollection().isEmpty(), "Size of full collection should be greater than zero");
     }
 
+    /**
+     *  Tests {@link Collection#spliterator()}.
+     */
+    @Test
+    void testCollectionSpliterator() {
+        resetEmpty();
+        assertFalse(getCollection().spliterator().tryAdvance(e -> fail("Empty collection has no elements")));
+
+        resetFull();
+        final List<E> expected = new ArrayList<>();
+        getCollection().forEach(expected::add);
+        final Spliterator<E> spliterator = getCollection().spliterator();
+        if (spliterator.hasCharacteristics(Spliterator.SIZED)) {
+            assertEquals(expected.size(), spliterator.estimateSize(), "Spliterator size should be exact");
+        }
+        final List<E> actual = new ArrayList<>();
+        splitAndTraverse(spliterator, actual);
+        if (spliterator.hasCharacteristics(Spliterator.ORDERED)) {
+            assertEquals(expected, actual, "Ordered spliterator should return the elements of the iterator in order");
+        } else {
+            assertEquals(expected.size(), actual.size(), "Spliterator should return every element once");
+            for (final E element : actual) {
+                assertTrue(expected.remove(element), "Spliterator returned an unexpected element");
+            }
+        }
+        verify();
+    }
+
+    /**
+     * Splits the given spliterator as far as it goes, and adds the elements of the
+     * parts to the given list in order, checking the sizes of the parts.
+     */
+    private void splitAndTraverse(final Spliterator<E> spliterator, final List<E> elements) {
+        final long size = spliterator.estimateSize();
+        final boolean subsized = spliterator.hasCharacteristics(Spliterator.SUBSIZED);
+        final Spliterator<E> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            if (spliterator.tryAdvance(elements::add)) {
+                spliterator.forEachRemaining(elements::add);
+            }
+            return;
+        }
+        if (subsized) {
+            assertEquals(size, prefix.estimateSize() + spliterator.estimateSize(), "Split should keep the exact size");
+        }
+        splitAndTraverse(prefix, elements);
+        splitAndTraverse(spliterator, elements);
+    }
+
     /**
      *  Tests {@link Collection#toArray()}.
      */
@@ -1312,7 +1362,7 @@ public abstract class AbstractCollectionTest<E> extends AbstractObjectTest {
      *  operations raise an UnsupportedOperationException.
      */
     @Test
-    void testUnsupportedRemove() {
+    public void testUnsupportedRemove() {
         if (isRemoveSupported()) {
             return;
         }
@@ -27,7 +27,9 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -422,6 +424,19 @@ public class CompositeCollectionTest<E> extends AbstractCollectionTest<E> {
         assertEquals(set.size(), c.size());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSpliteratorCharacteristics() {
+        setUpTest();
+        c.addComposited(new ArrayList<>(Arrays.asList((E) "1", (E) "2")), new ArrayList<>(Arrays.asList((E) "3")));
+        assertTrue(c.spliterator().hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(c.spliterator().hasCharacteristics(Spliterator.SIZED));
+        assertEquals(Arrays.asList("1", "2", "3"), c.parallelStream().collect(Collectors.toList()));
+        c.addComposited(one);
+        assertFalse(c.spliterator().hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(c.spliterator().hasCharacteristics(Spliterator.SIZED));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testToCollection() {
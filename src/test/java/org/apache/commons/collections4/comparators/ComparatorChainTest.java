@@ -21,7 +21,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
@@ -164,6 +166,31 @@ class ComparatorChainTest extends AbstractComparatorTest<ComparatorChainTest.Pse
         assertEquals(0, chain.compare(4, 4));
     }
 
+    @Test
+    void testFreeze() {
+        final ComparatorChain<PseudoRow> chain = (ComparatorChain<PseudoRow>) makeObject();
+        final Comparator<PseudoRow> frozen = chain.freeze();
+        assertTrue(chain.isLocked());
+        assertThrows(UnsupportedOperationException.class, () -> chain.setForwardSort(1));
+        final List<PseudoRow> expected = getComparableObjectsOrdered();
+        final List<PseudoRow> rows = new ArrayList<>(expected);
+        Collections.reverse(rows);
+        rows.sort(frozen);
+        assertEquals(expected, rows);
+        for (final PseudoRow row1 : expected) {
+            for (final PseudoRow row2 : expected) {
+                assertEquals(Integer.signum(chain.compare(row1, row2)), Integer.signum(frozen.compare(row1, row2)));
+            }
+        }
+
+        final ComparatorChain<Integer> minValued = new ComparatorChain<>((a, b) -> a < b ? Integer.MIN_VALUE : a > b ? 1 : 0, true);
+        final Comparator<Integer> frozenMinValued = minValued.freeze();
+        assertTrue(frozenMinValued.compare(4, 5) > 0);
+        assertTrue(frozenMinValued.compare(5, 4) < 0);
+        assertEquals(0, frozenMinValued.compare(4, 4));
+        assertThrows(UnsupportedOperationException.class, () -> new ComparatorChain<Integer>().freeze());
+    }
+
     @Test
     void testListComparatorChain() {
         final List<Comparator<Integer>> list = new LinkedList<>();
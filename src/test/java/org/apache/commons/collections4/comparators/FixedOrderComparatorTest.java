@@ -26,6 +26,7 @@ import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.Nested;
@@ -228,6 +229,25 @@ class FixedOrderComparatorTest extends AbstractComparatorTest<String> {
     /**
      * Tests the list constructor.
      */
+    @Test
+    void testEnumConstants() {
+        final FixedOrderComparator<TimeUnit> comparator = new FixedOrderComparator<>(TimeUnit.DAYS, TimeUnit.SECONDS, TimeUnit.HOURS);
+        comparator.addAsEqual(TimeUnit.SECONDS, TimeUnit.MINUTES);
+        comparator.setUnknownObjectBehavior(FixedOrderComparator.UnknownObjectBehavior.AFTER);
+        final List<TimeUnit> units = Arrays.asList(TimeUnit.NANOSECONDS, TimeUnit.HOURS, TimeUnit.SECONDS, TimeUnit.DAYS);
+        units.sort(comparator);
+        assertEquals(Arrays.asList(TimeUnit.DAYS, TimeUnit.SECONDS, TimeUnit.HOURS, TimeUnit.NANOSECONDS), units);
+        assertEquals(0, comparator.compare(TimeUnit.SECONDS, TimeUnit.MINUTES));
+        assertEquals(-1, comparator.compare(TimeUnit.MINUTES, TimeUnit.HOURS));
+        assertEquals(1, comparator.compare(null, TimeUnit.DAYS));
+        assertEquals(0, comparator.compare(TimeUnit.NANOSECONDS, TimeUnit.MILLISECONDS));
+
+        final FixedOrderComparator<Object> mixed = new FixedOrderComparator<>(TimeUnit.DAYS, Thread.State.NEW, "text");
+        assertEquals(-1, mixed.compare(TimeUnit.DAYS, Thread.State.NEW));
+        assertEquals(1, mixed.compare("text", Thread.State.NEW));
+        assertThrows(IllegalArgumentException.class, () -> mixed.compare(TimeUnit.DAYS, TimeUnit.HOURS));
+    }
+
     @Test
     void testListConstructor() {
         final String[] keys = topCities.clone();
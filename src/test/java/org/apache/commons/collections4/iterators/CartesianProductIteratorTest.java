@@ -19,7 +19,9 @@ package org.apache.commons.collections4.iterators;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +29,10 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -197,9 +203,58 @@ class CartesianProductIteratorTest extends AbstractIteratorTest<List<Character>>
         }
     }
 
+    @Test
+    void testNextArray() {
+        final CartesianProductIterator<Character> it = makeObject();
+        final CartesianProductIterator<Character> expected = makeObject();
+        final Character[] array = new Character[3];
+        while (it.hasNext()) {
+            assertSame(array, it.next(array));
+            assertEquals(expected.next(), Arrays.asList(array));
+        }
+        assertThrows(NoSuchElementException.class, () -> it.next(array));
+        assertArrayEquals(new Character[] { 'A', '1', '!' }, makeObject().next(new Character[0]));
+    }
+
     @Test
     void testRemoveThrows() {
         final CartesianProductIterator<Character> it = makeObject();
         assertThrows(UnsupportedOperationException.class, it::remove);
     }
+
+    @Test
+    void testSeek() {
+        final List<List<Character>> all = new ArrayList<>();
+        makeObject().forEachRemaining(all::add);
+        final CartesianProductIterator<Character> it = makeObject();
+        for (int index = all.size(); index >= 0; index--) {
+            it.seek(index);
+            assertEquals(index, it.nextIndex());
+            for (int i = index; i < all.size(); i++) {
+                assertEquals(all.get(i), it.next());
+                assertEquals(i + 1, it.nextIndex());
+            }
+            assertFalse(it.hasNext());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> it.seek(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> it.seek(all.size() + 1));
+        final CartesianProductIterator<Character> empty = new CartesianProductIterator<>(letters, emptyList);
+        empty.seek(0);
+        assertFalse(empty.hasNext());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.seek(1));
+    }
+
+    @Test
+    void testSpliterator() {
+        final List<Integer> digits = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        final List<List<Integer>> all = new ArrayList<>();
+        new CartesianProductIterator<>(digits, digits, digits, digits).forEachRemaining(all::add);
+        final Spliterator<List<Integer>> spliterator = CartesianProductIterator.spliterator(digits, digits, digits, digits);
+        assertEquals(10_000, spliterator.estimateSize());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertEquals(all, StreamSupport.stream(spliterator, true).collect(Collectors.toList()));
+        assertEquals(0, StreamSupport.stream(CartesianProductIterator.spliterator(letters, emptyList), true).count());
+        assertEquals(0, StreamSupport.stream(CartesianProductIterator.spliterator(), true).count());
+    }
+
 }
@@ -26,7 +26,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import org.apache.commons.collections4.comparators.ComparableComparator;
 import org.junit.jupiter.api.BeforeEach;
@@ -197,6 +199,47 @@ class CollatingIteratorTest extends AbstractIteratorTest<Integer> {
         assertFalse(iter.hasNext());
     }
 
+    @Test
+    void testIterateManyIterators() {
+        final Random random = new Random(41);
+        final List<Integer> expected = new ArrayList<>();
+        final List<List<Integer>> sources = new ArrayList<>();
+        final CollatingIterator<Integer> iter = new CollatingIterator<>(comparator);
+        for (int i = 0; i < 500; i++) {
+            final List<Integer> source = new ArrayList<>();
+            final int size = random.nextInt(40);
+            for (int j = 0; j < size; j++) {
+                source.add(random.nextInt(1000));
+            }
+            source.sort(null);
+            expected.addAll(source);
+            sources.add(source);
+            iter.addIterator(source.iterator());
+        }
+        expected.sort(null);
+        int previousIndex = -1;
+        Integer previous = null;
+        for (final Integer value : expected) {
+            assertTrue(iter.hasNext());
+            assertEquals(value, iter.next());
+            // equal values come out in the order of their iterators
+            if (value.equals(previous)) {
+                assertTrue(iter.getIteratorIndex() >= previousIndex);
+            }
+            previous = value;
+            previousIndex = iter.getIteratorIndex();
+            if (value % 7 == 0) {
+                iter.remove();
+            }
+        }
+        assertFalse(iter.hasNext());
+        for (final List<Integer> source : sources) {
+            for (final Integer value : source) {
+                assertTrue(value % 7 != 0);
+            }
+        }
+    }
+
     @Test
     void testIterateOddEven() {
         final CollatingIterator<Integer> iter = new CollatingIterator<>(comparator, odds.iterator(), evens.iterator());
@@ -243,6 +286,24 @@ class CollatingIteratorTest extends AbstractIteratorTest<Integer> {
         assertEquals(expectedSize, evens.size() + odds.size());
     }
 
+    @Test
+    void testRemoveAfterHasNext() {
+        final List<Integer> l1 = new ArrayList<>(Arrays.asList(1, 3, 5));
+        final List<Integer> l2 = new ArrayList<>(Arrays.asList(2, 4, 6));
+        final List<Integer> l3 = new ArrayList<>(Arrays.asList(0, 7));
+        final List<Iterator<? extends Integer>> iterators = Arrays.asList(l1.iterator(), l2.iterator(), l3.iterator());
+        final CollatingIterator<Integer> iter = new CollatingIterator<>(comparator, iterators);
+        while (iter.hasNext()) {
+            final Integer value = iter.next();
+            if (iter.hasNext() && value % 2 == 1) {
+                iter.remove();
+            }
+        }
+        assertEquals(Arrays.asList(), l1);
+        assertEquals(Arrays.asList(2, 4, 6), l2);
+        assertEquals(Arrays.asList(0, 7), l3);
+    }
+
     @Test
     void testRemoveFromSingle() {
         final CollatingIterator<Integer> iter = new CollatingIterator<>(comparator);
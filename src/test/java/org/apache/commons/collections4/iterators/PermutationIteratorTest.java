@@ -16,7 +16,10 @@
  */
 package org.apache.commons.collections4.iterators;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -28,6 +31,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +48,16 @@ class PermutationIteratorTest extends AbstractIteratorTest<List<Character>> {
     protected Character[] testArray = { 'A', 'B', 'C' };
     protected List<Character> testList;
 
+    private static List<List<Integer>> permutations(final int size) {
+        final List<List<Integer>> permutations = new ArrayList<>();
+        new PermutationIterator<>(range(size)).forEachRemaining(permutations::add);
+        return permutations;
+    }
+
+    private static List<Integer> range(final int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
     @Override
     public PermutationIterator<Character> makeEmptyIterator() {
         return new PermutationIterator<>(new ArrayList<>());
@@ -165,6 +182,23 @@ class PermutationIteratorTest extends AbstractIteratorTest<List<Character>> {
     /**
      * test checking that all the permutations are returned only once.
      */
+    @Test
+    void testNextArray() {
+        final PermutationIterator<Character> it = makeObject();
+        final PermutationIterator<Character> expected = makeObject();
+        final Character[] array = new Character[3];
+        while (it.hasNext()) {
+            assertSame(array, it.next(array));
+            assertEquals(expected.next(), Arrays.asList(array));
+        }
+        assertThrows(NoSuchElementException.class, () -> it.next(array));
+        final PermutationIterator<Character> other = makeObject();
+        assertArrayEquals(testArray, other.next(new Character[0]));
+        final Character[] larger = { 'x', 'x', 'x', 'x', 'x' };
+        assertSame(larger, other.next(larger));
+        assertArrayEquals(new Character[] { 'A', 'C', 'B', null, 'x' }, larger);
+    }
+
     @Test
     void testPermutationUnicity() {
         final List<List<Character>> resultsList = new ArrayList<>();
@@ -191,4 +225,47 @@ class PermutationIteratorTest extends AbstractIteratorTest<List<Character>> {
         assertFalse(it.hasNext());
     }
 
+    @Test
+    void testSeek() {
+        for (int size = 0; size <= 6; size++) {
+            final List<List<Integer>> all = permutations(size);
+            final PermutationIterator<Integer> it = new PermutationIterator<>(range(size));
+            // the whole remainder for the smaller sizes, so that the directions are checked too
+            final int steps = size <= 5 ? all.size() : 30;
+            for (int index = all.size(); index >= 0; index--) {
+                it.seek(index);
+                assertEquals(index, it.nextIndex());
+                for (int i = index; i < Math.min(all.size(), index + steps); i++) {
+                    assertEquals(all.get(i), it.next());
+                    assertEquals(i + 1, it.nextIndex());
+                }
+                if (index + steps >= all.size()) {
+                    assertFalse(it.hasNext());
+                }
+            }
+            final int count = all.size();
+            assertThrows(IndexOutOfBoundsException.class, () -> it.seek(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> it.seek(count + 1));
+        }
+        // the permutations of more elements than fit a long can still be indexed
+        final PermutationIterator<Integer> it = new PermutationIterator<>(range(25));
+        it.seek(Long.MAX_VALUE - 1);
+        final List<Integer> first = it.next();
+        assertEquals(Long.MAX_VALUE, it.nextIndex());
+        assertEquals(new HashSet<>(range(25)), new HashSet<>(first));
+        assertEquals(new HashSet<>(range(25)), new HashSet<>(it.next()));
+    }
+
+    @Test
+    void testSpliterator() {
+        final List<List<Integer>> all = permutations(7);
+        final Spliterator<List<Integer>> spliterator = PermutationIterator.spliterator(range(7));
+        assertEquals(5040, spliterator.estimateSize());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertEquals(all, StreamSupport.stream(spliterator, true).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(Arrays.asList()), StreamSupport.stream(PermutationIterator.spliterator(range(0)), true).collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> PermutationIterator.spliterator(range(21)));
+        assertNull(PermutationIterator.spliterator(range(1)).trySplit());
+    }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.list;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link BTreeList}.
+ */
+public class BTreeListTest<E> extends AbstractListTest<E> {
+
+    @Override
+    public BTreeList<E> makeObject() {
+        return new BTreeList<>();
+    }
+
+    @Test
+    void testBuildFromCollection() {
+        for (final int size : new int[] { 0, 1, 47, 48, 49, 3000, 100_000 }) {
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                expected.add(i);
+            }
+            final BTreeList<Integer> list = new BTreeList<>(expected);
+            assertEquals(expected, list);
+            assertArrayEquals(expected.toArray(), list.toArray());
+            // indexOf and lastIndexOf are linear, so only sample about 100 indices
+            final int step = Math.max(1, size / 100);
+            for (int i = 0; i < size; i += step) {
+                assertEquals(i, list.get(i));
+                assertEquals(i, list.indexOf(i));
+                assertEquals(i, list.lastIndexOf(i));
+            }
+            list.add(size / 2, -1);
+            expected.add(size / 2, -1);
+            assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    void testIteratorModifications() {
+        final List<Integer> expected = new ArrayList<>();
+        final BTreeList<Integer> list = new BTreeList<>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add(i);
+            list.add(i);
+        }
+        final ListIterator<Integer> expectedIt = expected.listIterator();
+        final ListIterator<Integer> it = list.listIterator();
+        while (it.hasNext()) {
+            final Integer value = it.next();
+            assertEquals(expectedIt.next(), value);
+            switch (value % 5) {
+            case 0:
+                it.remove();
+                expectedIt.remove();
+                break;
+            case 1:
+                it.set(-value);
+                expectedIt.set(-value);
+                break;
+            case 2:
+                it.add(value);
+                expectedIt.add(value);
+                break;
+            default:
+                break;
+            }
+        }
+        assertEquals(expected, list);
+        while (it.hasPrevious()) {
+            assertEquals(expectedIt.previous(), it.previous());
+            if (it.previousIndex() % 3 == 0) {
+                it.remove();
+                expectedIt.remove();
+            }
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    void testRandomOperations() {
+        final Random random = new Random(39);
+        final List<Integer> expected = new ArrayList<>();
+        final BTreeList<Integer> list = new BTreeList<>();
+        for (int round = 0; round < 4; round++) {
+            // grow to several levels, then shrink back to a few leaves
+            for (int i = 0; i < 30_000; i++) {
+                final int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                list.add(index, i);
+            }
+            assertEquals(expected.size(), list.size());
+            for (int i = 0; i < 1_000; i++) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+                assertEquals(expected.set(index, -i), list.set(index, -i));
+            }
+            final int target = random.nextInt(200);
+            while (expected.size() > target) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected, list);
+        }
+        list.clear();
+        assertEquals(0, list.size());
+        list.add(1);
+        assertEquals(1, list.get(0));
+    }
+
+}
@@ -19,10 +19,16 @@ package org.apache.commons.collections4.list;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -326,4 +332,102 @@ public class TreeListTest<E> extends AbstractListTest<E> {
         assertEquals("harald", l.get(i++));
     }
 
+    private static void assertSameList(final List<Integer> expected, final TreeList<Integer> list) {
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected, list);
+        final ListIterator<Integer> it = list.listIterator(list.size());
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertEquals(expected.get(i), it.previous());
+            assertEquals(expected.get(i), list.get(i));
+        }
+        assertFalse(it.hasPrevious());
+    }
+
+    @Test
+    void testBulkRangeOperations() {
+        final Random random = new Random(40);
+        final List<Integer> expected = new ArrayList<>();
+        final TreeList<Integer> list = new TreeList<>();
+        int next = 0;
+        for (int round = 0; round < 300; round++) {
+            final int from = random.nextInt(expected.size() + 1);
+            switch (random.nextInt(3)) {
+            case 0: {
+                final List<Integer> added = new ArrayList<>();
+                final int count = random.nextInt(100);
+                for (int i = 0; i < count; i++) {
+                    added.add(next++);
+                }
+                assertEquals(expected.addAll(from, added), list.addAll(from, added));
+                break;
+            }
+            case 1: {
+                final int to = from + random.nextInt(expected.size() - from + 1);
+                expected.subList(from, to).clear();
+                list.subList(from, to).clear();
+                break;
+            }
+            default:
+                expected.add(from, next);
+                list.add(from, next++);
+                if (!expected.isEmpty()) {
+                    final int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), list.remove(index));
+                }
+                break;
+            }
+            assertSameList(expected, list);
+        }
+    }
+
+    @Test
+    void testSplitAndJoin() {
+        for (final int size : new int[] { 0, 1, 2, 3, 10, 100, 1000 }) {
+            for (int index = 0; index <= size; index += Math.max(1, size / 17)) {
+                final List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    expected.add(i);
+                }
+                final TreeList<Integer> list = new TreeList<>(expected);
+                final TreeList<Integer> tail = list.split(index);
+                assertSameList(expected.subList(0, index), list);
+                assertSameList(expected.subList(index, size), tail);
+                list.add(index, -1);
+                tail.add(0, -2);
+                final List<Integer> joined = new ArrayList<>(expected.subList(0, index));
+                joined.add(-1);
+                joined.add(-2);
+                joined.addAll(expected.subList(index, size));
+                list.join(tail);
+                assertTrue(tail.isEmpty());
+                assertSameList(joined, list);
+            }
+        }
+        final TreeList<Integer> list = new TreeList<>();
+        assertThrows(IllegalArgumentException.class, () -> list.join(list));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.split(1));
+    }
+
+    @Test
+    void testSpliterator() {
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add(i);
+        }
+        final TreeList<Integer> list = new TreeList<>(expected);
+        assertEquals(expected, list.parallelStream().collect(Collectors.toList()));
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(),
+                list.parallelStream().mapToLong(Integer::longValue).sum());
+        final Spliterator<Integer> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertTrue(spliterator.tryAdvance(i -> assertEquals(0, i)));
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(4999, prefix.estimateSize());
+        assertEquals(5000, spliterator.estimateSize());
+        assertTrue(prefix.tryAdvance(i -> assertEquals(1, i)));
+        assertTrue(spliterator.tryAdvance(i -> assertEquals(5000, i)));
+        list.add(0);
+        assertThrows(ConcurrentModificationException.class, () -> prefix.forEachRemaining(i -> { }));
+    }
+
 }
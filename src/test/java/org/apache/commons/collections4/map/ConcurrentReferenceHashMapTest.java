@@ -17,13 +17,23 @@
 
 package org.apache.commons.collections4.map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.collections4.MapIterator;
 import org.apache.commons.collections4.map.ConcurrentReferenceHashMap.Option;
 import org.apache.commons.collections4.map.ConcurrentReferenceHashMap.ReferenceType;
 import org.junit.jupiter.api.Test;
@@ -52,4 +62,131 @@ class ConcurrentReferenceHashMapTest {
         assertFalse(map.containsKey(2));
 
     }
+
+    @Test
+    void testComputeIfAbsentConcurrent() throws Exception {
+        final ConcurrentReferenceHashMap<Integer, String> map = ConcurrentReferenceHashMap.<Integer, String>builder().strongKeys().get();
+        final AtomicInteger calls = new AtomicInteger();
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        final Integer key = i;
+                        assertEquals(key.toString(), map.computeIfAbsent(key, k -> {
+                            calls.incrementAndGet();
+                            return k.toString();
+                        }));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(10_000, calls.get());
+        assertEquals(10_000, map.size());
+    }
+
+    @Test
+    void testMapIterator() {
+        final ConcurrentReferenceHashMap<Integer, String> map = ConcurrentReferenceHashMap.<Integer, String>builder().get();
+        final Integer[] keys = new Integer[100];
+        final Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+            map.put(keys[i], keys[i].toString());
+            expected.put(keys[i], keys[i].toString());
+        }
+        final MapIterator<Integer, String> it = map.mapIterator();
+        assertThrows(IllegalStateException.class, it::getKey);
+        int seen = 0;
+        while (it.hasNext()) {
+            final Integer key = it.next();
+            assertEquals(key, it.getKey());
+            assertEquals(expected.get(key), it.getValue());
+            seen++;
+            if (key % 2 == 0) {
+                it.remove();
+                expected.remove(key);
+                assertThrows(IllegalStateException.class, it::getValue);
+            } else {
+                assertThrows(NullPointerException.class, () -> it.setValue(null));
+                assertEquals(key.toString(), it.setValue("v" + key));
+                assertEquals("v" + key, it.getValue());
+                expected.put(key, "v" + key);
+            }
+        }
+        assertEquals(keys.length, seen);
+        assertEquals(expected, map);
+    }
+
+    @Test
+    void testPurgeAfterUpdates() {
+        final ConcurrentReferenceHashMap<Object, Object> map = ConcurrentReferenceHashMap.builder().weakKeys().weakValues().get();
+        // the values stay reachable, so that only the keys can be collected
+        final List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Object key = new Object();
+            final Object value = new Object();
+            final Object newValue = new Object();
+            values.add(value);
+            values.add(newValue);
+            map.put(key, value);
+            switch (i % 6) {
+            case 0:
+                map.put(key, newValue);
+                break;
+            case 1:
+                map.replace(key, newValue);
+                break;
+            case 2:
+                map.replace(key, value, newValue);
+                break;
+            case 3:
+                map.compute(key, (k, v) -> newValue);
+                break;
+            case 4:
+                map.computeIfPresent(key, (k, v) -> newValue);
+                break;
+            default:
+                map.merge(key, newValue, (v1, v2) -> v2);
+                break;
+            }
+            assertEquals(newValue, map.get(key));
+        }
+        int iterations = 0;
+        while (!map.isEmpty()) {
+            System.gc();
+            if (iterations++ > 50) {
+                fail("Max iterations reached before the keys were released.");
+            }
+            map.purgeStaleEntries();
+        }
+        assertEquals(200, values.size());
+    }
+
+    @Test
+    void testPurgeStaleEntries() {
+        final ConcurrentReferenceHashMap<Object, Object> map = ConcurrentReferenceHashMap.builder().weakKeys().weakValues().get();
+        final Object strongKey = new Object();
+        final Object strongValue = new Object();
+        map.put(strongKey, strongValue);
+        for (int i = 0; i < 100; i++) {
+            map.put(new Object(), new Object());
+        }
+        int iterations = 0;
+        while (map.size() > 1) {
+            System.gc();
+            if (iterations++ > 50) {
+                fail("Max iterations reached before resource released.");
+            }
+            map.purgeStaleEntries();
+        }
+        assertEquals(strongValue, map.get(strongKey));
+    }
 }
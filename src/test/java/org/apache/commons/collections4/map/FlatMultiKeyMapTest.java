@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.keyvalue.MultiKey;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link FlatMultiKeyMap}.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class FlatMultiKeyMapTest<K, V> extends AbstractIterableMapTest<MultiKey<? extends K>, V> {
+
+    static final Integer I1 = Integer.valueOf(1);
+    static final Integer I2 = Integer.valueOf(2);
+    static final Integer I3 = Integer.valueOf(3);
+    static final Integer I4 = Integer.valueOf(4);
+    static final Integer I5 = Integer.valueOf(5);
+    static final Integer I6 = Integer.valueOf(6);
+    static final Integer I7 = Integer.valueOf(7);
+    static final Integer I8 = Integer.valueOf(8);
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.5.1"; // FlatMultiKeyMap was added in version 4.5.1
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FlatMultiKeyMap<K, V> getMap() {
+        return (FlatMultiKeyMap<K, V>) super.getMap();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V[] getNewSampleValues() {
+        return (V[]) new Object[] {
+            "1a", "1b", "1c",
+            "2d", "2e", "2f",
+            "3g", "3h", "3i",
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MultiKey<K>[] getOtherKeys() {
+        return new MultiKey[] {
+            new MultiKey<>(I1, I7),
+            new MultiKey<>(I1, I8),
+            new MultiKey<>(I2, I8),
+            new MultiKey<>(I8, I2),
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MultiKey<K>[] getSampleKeys() {
+        return new MultiKey[] {
+            new MultiKey<>(I1, I2),
+            new MultiKey<>(I2, I1),
+            new MultiKey<>(I2, I3),
+            new MultiKey<>(I3, I4),
+            new MultiKey<>(I4, I5),
+            new MultiKey<>(I5, I6),
+            new MultiKey<>(I6, I7),
+            new MultiKey<>(null, I7),
+            new MultiKey<>(I7, null),
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V[] getSampleValues() {
+        return (V[]) new Object[] {
+            "2A", "2B", "2C",
+            "3D", "3E", "3F",
+            "4G", "4H", "4I",
+        };
+    }
+
+    @Override
+    public boolean isAllowNullKey() {
+        return false;
+    }
+
+    @Override
+    public FlatMultiKeyMap<K, V> makeObject() {
+        return new FlatMultiKeyMap<>(2);
+    }
+
+    @Test
+    void testArity() {
+        assertThrows(IllegalArgumentException.class, () -> new FlatMultiKeyMap<>(1));
+        assertThrows(IllegalArgumentException.class, () -> new FlatMultiKeyMap<>(6));
+        assertThrows(IllegalArgumentException.class, () -> new FlatMultiKeyMap<>(2, -1));
+        final FlatMultiKeyMap<Integer, String> map = new FlatMultiKeyMap<>(3);
+        assertEquals(3, map.getArity());
+        assertThrows(IllegalArgumentException.class, () -> map.put(I1, I2, "1-2"));
+        assertThrows(IllegalArgumentException.class, () -> map.get(I1, I2));
+        assertThrows(IllegalArgumentException.class, () -> map.containsKey(I1, I2, I3, I4));
+        assertThrows(IllegalArgumentException.class, () -> map.removeMultiKey(I1, I2, I3, I4, I5));
+        assertThrows(IllegalArgumentException.class, () -> map.put(new MultiKey<>(I1, I2), "1-2"));
+        assertNull(map.get(new MultiKey<>(I1, I2)));
+        assertFalse(map.containsKey(new MultiKey<>(I1, I2, I3, I4)));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void testIteratorRemoveMovesWrappedMappings() {
+        // all the keys share their hash code, homed in the last of the eight slots, so that their probe sequence wraps around
+        final FlatMultiKeyMap<Object, Integer> map = new FlatMultiKeyMap<>(2, 6);
+        final Object[] keys = new Object[6];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Object() {
+                @Override
+                public boolean equals(final Object obj) {
+                    return this == obj;
+                }
+
+                @Override
+                public int hashCode() {
+                    return 0x0FFFFFFF;
+                }
+            };
+            map.put(keys[i], I1, i);
+        }
+        int removed = 0;
+        int seen = 0;
+        for (final MapIterator<MultiKey<?>, Integer> it = (MapIterator) map.mapIterator(); it.hasNext();) {
+            final MultiKey<?> key = it.next();
+            assertEquals(map.get(key), it.getValue());
+            seen++;
+            if (it.getValue() % 2 == 0) {
+                it.remove();
+                removed++;
+            } else {
+                it.setValue(it.getValue() * 10);
+            }
+        }
+        assertEquals(6, seen);
+        assertEquals(3, removed);
+        assertEquals(3, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i * 10), map.get(keys[i], I1));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMultiKeyArities() {
+        for (int arity = 2; arity <= 5; arity++) {
+            final FlatMultiKeyMap<Integer, String> map = new FlatMultiKeyMap<>(arity);
+            final Integer[] k = { I1, I2, I3, I4, I5 };
+            final MultiKey<Integer> key = new MultiKey<>(Arrays.copyOf(k, arity));
+            switch (arity) {
+            case 2:
+                assertNull(map.put(I1, I2, "v"));
+                assertEquals("v", map.get(I1, I2));
+                assertTrue(map.containsKey(I1, I2));
+                assertFalse(map.containsKey(I2, I1));
+                break;
+            case 3:
+                assertNull(map.put(I1, I2, I3, "v"));
+                assertEquals("v", map.get(I1, I2, I3));
+                assertTrue(map.containsKey(I1, I2, I3));
+                assertFalse(map.containsKey(I1, I2, null));
+                break;
+            case 4:
+                assertNull(map.put(I1, I2, I3, I4, "v"));
+                assertEquals("v", map.get(I1, I2, I3, I4));
+                assertTrue(map.containsKey(I1, I2, I3, I4));
+                assertFalse(map.containsKey(I1, I2, I3, I5));
+                break;
+            default:
+                assertNull(map.put(I1, I2, I3, I4, I5, "v"));
+                assertEquals("v", map.get(I1, I2, I3, I4, I5));
+                assertTrue(map.containsKey(I1, I2, I3, I4, I5));
+                assertFalse(map.containsKey(I1, I2, I3, I4, I4));
+                break;
+            }
+            assertEquals("v", map.get(key));
+            assertEquals("v", map.put(key, "w"));
+            assertEquals(1, map.size());
+            assertEquals(key, map.keySet().iterator().next());
+            final String removed;
+            switch (arity) {
+            case 2:
+                removed = map.removeMultiKey(I1, I2);
+                break;
+            case 3:
+                removed = map.removeMultiKey(I1, I2, I3);
+                break;
+            case 4:
+                removed = map.removeMultiKey(I1, I2, I3, I4);
+                break;
+            default:
+                removed = map.removeMultiKey(I1, I2, I3, I4, I5);
+                break;
+            }
+            assertEquals("w", removed);
+            assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test
+    void testRandomOperations() {
+        final Random random = new Random(38);
+        final FlatMultiKeyMap<Integer, Integer> map = new FlatMultiKeyMap<>(3);
+        final Map<MultiKey<Integer>, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            final Integer k1 = random.nextInt(20);
+            final Integer k2 = random.nextInt(20);
+            final Integer k3 = random.nextInt(20);
+            final MultiKey<Integer> key = new MultiKey<>(k1, k2, k3);
+            switch (random.nextInt(4)) {
+            case 0:
+            case 1:
+                assertEquals(expected.put(key, i), map.put(k1, k2, k3, i));
+                break;
+            case 2:
+                assertEquals(expected.remove(key), map.removeMultiKey(k1, k2, k3));
+                break;
+            default:
+                assertEquals(expected.get(key), map.get(k1, k2, k3));
+                break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        for (final Iterator<MultiKey<? extends Integer>> it = map.keySet().iterator(); it.hasNext();) {
+            final MultiKey<? extends Integer> key = it.next();
+            if (key.getKey(0) % 3 == 0) {
+                it.remove();
+                expected.remove(key);
+            }
+        }
+        assertEquals(expected, map);
+    }
+
+    @Test
+    void testTypedKeys() {
+        final Integer[] k = { I1, I2, I3, I4, I5 };
+        for (int arity = 2; arity <= 5; arity++) {
+            final FlatMultiKeyMap<Integer, String> map = new FlatMultiKeyMap<>(arity);
+            map.put(new MultiKey<>(Arrays.copyOf(k, arity)), "v");
+            final Integer[] fromIterator = map.mapIterator().next().getKeys();
+            final Integer[] fromKeySet = map.keySet().iterator().next().getKeys();
+            final Integer[] fromEntrySet = map.entrySet().iterator().next().getKey().getKeys();
+            assertArrayEquals(Arrays.copyOf(k, arity), fromIterator);
+            assertArrayEquals(fromIterator, fromKeySet);
+            assertArrayEquals(fromIterator, fromEntrySet);
+        }
+    }
+
+//    void testCreate() throws Exception {
+//        resetEmpty();
+//        writeExternalFormToDisk((java.io.Serializable) map, "src/test/resources/org/apache/commons/collections4/data/test/FlatMultiKeyMap.emptyCollection.version4.5.1.obj");
+//        resetFull();
+//        writeExternalFormToDisk((java.io.Serializable) map, "src/test/resources/org/apache/commons/collections4/data/test/FlatMultiKeyMap.fullCollection.version4.5.1.obj");
+//    }
+}
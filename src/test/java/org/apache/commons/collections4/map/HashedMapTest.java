@@ -17,8 +17,19 @@
 package org.apache.commons.collections4.map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.iterators.TransformIterator;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -85,4 +96,52 @@ public class HashedMapTest<K, V> extends AbstractIterableMapTest<K, V> {
         // the threshold has changed due to calling ensureCapacity
         assertEquals(96, map.threshold);
     }
+
+    @Test
+    void testSpliterators() {
+        final HashedMap<Integer, Integer> map = new HashedMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, -i);
+        }
+        final Spliterator<Integer> keys = map.keySet().spliterator();
+        assertTrue(keys.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT));
+        assertEquals(map.size(), keys.estimateSize());
+        final Spliterator<Integer> prefix = keys.trySplit();
+        assertNotNull(prefix);
+        assertEquals(map.size(), prefix.estimateSize() + keys.estimateSize());
+        final Set<Integer> split = new HashSet<>();
+        prefix.forEachRemaining(split::add);
+        keys.forEachRemaining(split::add);
+        assertEquals(map.keySet(), split);
+
+        assertEquals(map.keySet(), map.keySet().parallelStream().collect(Collectors.toSet()));
+        assertEquals(-49_995_000L, map.values().parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(map, map.entrySet().parallelStream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    @Test
+    void testSpliteratorsFollowOverriddenHooks() {
+        final HashedMap<Integer, Integer> map = new HashedMap<Integer, Integer>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Iterator<Integer> createKeySetIterator() {
+                return new TransformIterator<>(super.createKeySetIterator(), key -> key * 10);
+            }
+
+            @Override
+            protected Spliterator<Integer> createKeySetSpliterator() {
+                return Spliterators.spliterator(keySet(), Spliterator.DISTINCT);
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i * 10);
+        }
+        assertEquals(expected, map.keySet().parallelStream().collect(Collectors.toSet()));
+        assertEquals(4950, map.values().parallelStream().mapToInt(Integer::intValue).sum());
+    }
 }
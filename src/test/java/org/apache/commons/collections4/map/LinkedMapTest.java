@@ -20,11 +20,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.BulkTest;
 import org.apache.commons.collections4.MapIterator;
@@ -274,4 +277,17 @@ public class LinkedMapTest<K, V> extends AbstractOrderedMapTest<K, V> {
         it.reset();
         assertSame(list.get(0), it.next());
     }
+
+    @Test
+    void testSpliterators() {
+        final LinkedMap<Integer, Integer> map = new LinkedMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            map.put(i * 7919 % 5_000, i);
+        }
+        final Spliterator<Integer> keys = map.keySet().spliterator();
+        assertTrue(keys.hasCharacteristics(Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED));
+        assertEquals(map.size(), keys.estimateSize());
+        assertEquals(new ArrayList<>(map.keySet()), map.keySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(map.values()), map.values().parallelStream().collect(Collectors.toList()));
+    }
 }
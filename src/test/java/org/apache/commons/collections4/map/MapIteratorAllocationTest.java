@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.collections4.IterableGet;
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.PredicateUtils;
+import org.apache.commons.collections4.TransformerUtils;
+import org.apache.commons.collections4.bidimap.DualHashBidiMap;
+import org.apache.commons.collections4.bidimap.DualLinkedHashBidiMap;
+import org.apache.commons.collections4.bidimap.DualTreeBidiMap;
+import org.apache.commons.collections4.bidimap.TreeBidiMap;
+import org.apache.commons.collections4.bidimap.UnmodifiableBidiMap;
+import org.apache.commons.collections4.splitmap.TransformedSplitMap;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks that iterating the core maps with a {@link MapIterator} allocates nothing per mapping.
+ */
+class MapIteratorAllocationTest {
+
+    private static final int SIZE = 10_000;
+
+    private static final int ROUNDS = 20;
+
+    /**
+     * Entries cost at least 16 bytes each, so even a fraction of a byte per mapping shows that none are created.
+     */
+    private static final double MAX_BYTES_PER_MAPPING = 1.0;
+
+    private static final Integer[] KEYS = new Integer[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            KEYS[i] = Integer.valueOf(i * 31);
+        }
+    }
+
+    private static <M extends Map<Integer, String>> M fill(final M map) {
+        for (final Integer key : KEYS) {
+            map.put(key, key.toString());
+        }
+        return map;
+    }
+
+    public static Stream<Arguments> getMaps() {
+        return Stream.of(
+                map("CompositeMap", () -> new CompositeMap<>(fill(new HashedMap<>()), new LinkedMap<>())),
+                map("DefaultedMap", () -> DefaultedMap.defaultedMap(fill(new HashedMap<>()), "")),
+                map("DualHashBidiMap", () -> fill(new DualHashBidiMap<>())),
+                map("DualLinkedHashBidiMap", () -> fill(new DualLinkedHashBidiMap<>())),
+                map("DualTreeBidiMap", () -> fill(new DualTreeBidiMap<>())),
+                map("FixedSizeMap", () -> FixedSizeMap.fixedSizeMap(fill(new HashedMap<>()))),
+                map("Flat3Map", () -> fill(new Flat3Map<>())),
+                map("HashedMap", () -> fill(new HashedMap<>())),
+                map("LRUMap", () -> fill(new LRUMap<>(SIZE))),
+                map("LazyMap", () -> LazyMap.lazyMap(fill(new HashedMap<>()), TransformerUtils.constantTransformer(""))),
+                map("LinkedMap", () -> fill(new LinkedMap<>())),
+                map("ListOrderedMap", () -> fill(ListOrderedMap.listOrderedMap(new HashMap<>()))),
+                map("PassiveExpiringMap", () -> fill(new PassiveExpiringMap<>(new HashMap<>()))),
+                map("PredicatedMap", () -> PredicatedMap.predicatedMap(fill(new HashedMap<>()), null, PredicateUtils.notNullPredicate())),
+                map("ReferenceIdentityMap", () -> fill(new ReferenceIdentityMap<>())),
+                map("ReferenceMap", () -> fill(new ReferenceMap<>())),
+                map("StaticBucketMap", () -> fill(new StaticBucketMap<>(SIZE))),
+                map("TransformedMap", () -> TransformedMap.transformedMap(fill(new HashedMap<>()), null, TransformerUtils.nopTransformer())),
+                map("TransformedSplitMap", () -> TransformedSplitMap.transformingMap(fill(new HashedMap<>()),
+                        TransformerUtils.nopTransformer(), TransformerUtils.nopTransformer())),
+                map("TreeBidiMap", () -> fill(new TreeBidiMap<>())),
+                map("UnmodifiableBidiMap", () -> UnmodifiableBidiMap.unmodifiableBidiMap(fill(new DualHashBidiMap<>()))),
+                map("UnmodifiableMap", () -> (IterableMap<Integer, String>) UnmodifiableMap.unmodifiableMap(fill(new HashedMap<>())))
+        );
+    }
+
+    private static long iterate(final IterableGet<Integer, String> map) {
+        long checksum = 0;
+        for (final MapIterator<Integer, String> it = map.mapIterator(); it.hasNext();) {
+            checksum += it.next().intValue() + it.getKey().intValue() + it.getValue().length();
+        }
+        return checksum;
+    }
+
+    private static Arguments map(final String name, final Supplier<IterableGet<Integer, String>> supplier) {
+        return arguments(name, supplier);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("getMaps")
+    void testMapIteratorAllocation(final String name, final Supplier<IterableGet<Integer, String>> supplier) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocation counters are not available");
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "allocation counters are not enabled");
+        final IterableGet<Integer, String> map = supplier.get();
+        assertEquals(SIZE, map.size());
+        final long expected = iterate(map);
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum += iterate(map);
+        }
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertEquals(expected * ROUNDS, checksum);
+        final double perMapping = (double) allocated / ((long) ROUNDS * SIZE);
+        assertTrue(perMapping < MAX_BYTES_PER_MAPPING, () -> name + " allocated " + perMapping + " bytes per mapping");
+    }
+
+}
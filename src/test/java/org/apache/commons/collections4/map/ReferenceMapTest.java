@@ -30,11 +30,13 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 
 import org.apache.commons.collections4.map.AbstractHashedMap.HashEntry;
@@ -343,6 +345,37 @@ public class ReferenceMapTest<K, V> extends AbstractIterableMapTest<K, V> {
         assertThrows(NullPointerException.class, () -> map.put(null, (V) new Object()));
     }
 
+    @Test
+    void testPurgeBatchSize() {
+        final ReferenceMap<Integer, Integer> map = new ReferenceMap<>(ReferenceStrength.WEAK, ReferenceStrength.HARD);
+        final List<Integer> keys = new ArrayList<>();
+        for (int i = 1000; i < 1010; i++) {
+            final Integer key = Integer.valueOf(i);
+            keys.add(key);
+            map.put(key, key);
+        }
+        // simulate the collection of the keys
+        for (final HashEntry<Integer, Integer> entry : map.data) {
+            for (HashEntry<Integer, Integer> e = entry; e != null; e = e.next) {
+                final Reference<?> reference = (Reference<?>) e.key;
+                reference.clear();
+                reference.enqueue();
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> map.setPurgeBatchSize(-1));
+        map.setPurgeBatchSize(3);
+        assertEquals(3, map.getPurgeBatchSize());
+        assertNull(map.get(keys.get(0)));
+        assertEquals(3, map.getPurgeCount());
+        assertEquals(4, map.purge(4));
+        assertEquals(7, map.getPurgeCount());
+        assertEquals(3, map.purge(10));
+        assertEquals(10, map.getPurgeCount());
+        assertEquals(0, map.purge(10));
+        assertTrue(map.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> map.purge(-1));
+    }
+
     /** Tests whether purge values setting works */
     @Test
     void testPurgeValues() throws Exception {
@@ -368,4 +401,29 @@ public class ReferenceMapTest<K, V> extends AbstractIterableMapTest<K, V> {
         }
     }
 
+    @Test
+    void testSpliteratorAfterGC() {
+        final ReferenceMap<Integer, Integer> map = new ReferenceMap<>(ReferenceStrength.WEAK, ReferenceStrength.HARD);
+        final List<Integer> keys = new ArrayList<>();
+        for (int i = 1000; i < 1010; i++) {
+            final Integer key = Integer.valueOf(i);
+            keys.add(key);
+            map.put(key, key);
+        }
+        // simulate the collection of a key, which the size does not reflect until purged
+        for (final HashEntry<Integer, Integer> entry : map.data) {
+            if (entry != null) {
+                ((Reference<?>) entry.key).clear();
+                break;
+            }
+        }
+        assertEquals(10, map.size());
+        assertFalse(map.keySet().spliterator().hasCharacteristics(Spliterator.SIZED));
+        assertFalse(map.values().spliterator().hasCharacteristics(Spliterator.SIZED));
+        assertFalse(map.entrySet().spliterator().hasCharacteristics(Spliterator.SIZED));
+        assertEquals(9, map.keySet().stream().count());
+        assertEquals(9, map.values().stream().count());
+        assertEquals(9, map.entrySet().stream().count());
+    }
+
 }
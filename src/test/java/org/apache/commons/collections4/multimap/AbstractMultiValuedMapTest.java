@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -1329,6 +1330,62 @@ public abstract class AbstractMultiValuedMapTest<K, V> extends AbstractObjectTes
         assertEquals(2, map.size());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSizeWithViewModifications() {
+        assumeTrue(isAddSupported());
+        assumeTrue(isRemoveSupported());
+        final MultiValuedMap<K, V> map = makeFullMap();
+        final Collection<V> values = map.get((K) makeKey(0));
+        values.add((V) "X");
+        assertSizeConsistent(map);
+        values.addAll(Arrays.asList((V) "Y", (V) "Z"));
+        assertSizeConsistent(map);
+        values.remove("Y");
+        assertSizeConsistent(map);
+        values.removeAll(Arrays.asList("Z", makeValue(0, 0)));
+        assertSizeConsistent(map);
+        values.retainAll(Collections.singleton("X"));
+        assertSizeConsistent(map);
+        final Iterator<V> valuesIterator = values.iterator();
+        valuesIterator.next();
+        valuesIterator.remove();
+        assertSizeConsistent(map);
+        map.get((K) makeKey(1)).clear();
+        assertSizeConsistent(map);
+        map.keySet().remove(makeKey(2));
+        assertSizeConsistent(map);
+        final Iterator<K> keyIterator = map.keySet().iterator();
+        keyIterator.next();
+        keyIterator.remove();
+        assertSizeConsistent(map);
+        map.keySet().retainAll(Arrays.asList(makeKey(3), makeKey(4), makeKey(5)));
+        assertSizeConsistent(map);
+        final Iterator<Map.Entry<K, Collection<V>>> asMapIterator = map.asMap().entrySet().iterator();
+        asMapIterator.next();
+        asMapIterator.remove();
+        assertSizeConsistent(map);
+        map.asMap().remove(makeKey(4));
+        assertSizeConsistent(map);
+        map.values().removeIf(makeValue(5, 0)::equals);
+        assertSizeConsistent(map);
+        map.entries().clear();
+        assertSizeConsistent(map);
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.keys().size());
+    }
+
+    private void assertSizeConsistent(final MultiValuedMap<K, V> map) {
+        int count = 0;
+        for (final Collection<V> values : map.asMap().values()) {
+            count += values.size();
+        }
+        assertEquals(count, map.size());
+        assertEquals(count, map.keys().size());
+        assertEquals(count, map.values().size());
+        assertEquals(count == 0, map.isEmpty());
+    }
+
     @Test
     void testToString() {
         assumeTrue(isAddSupported());
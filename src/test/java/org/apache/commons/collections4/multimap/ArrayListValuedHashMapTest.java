@@ -179,6 +179,34 @@ public class ArrayListValuedHashMapTest<K, V> extends AbstractMultiValuedMapTest
         assertEquals(2, listMap.get((K) "B").size());
     }
 
+    @Test
+    void testSizeWithListModifications() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        final List<V> listA = listMap.get((K) "A");
+        listA.addAll(0, Arrays.asList((V) "W", (V) "X", (V) "F"));
+        assertEquals(3, listMap.size());
+        listA.add(1, (V) "Q");
+        assertEquals(4, listMap.size());
+        final ListIterator<V> it = listA.listIterator();
+        it.next();
+        it.remove();
+        it.add((V) "L");
+        it.add((V) "M");
+        assertEquals(5, listMap.size());
+        listA.remove(0);
+        assertEquals(4, listMap.size());
+        final List<V> subList = listA.subList(1, 3);
+        subList.add((V) "N");
+        assertEquals(5, listMap.size());
+        subList.clear();
+        assertEquals(2, listMap.size());
+        assertEquals(2, listMap.keys().getCount("A"));
+        listMap.get((K) "B").listIterator().add((V) "O");
+        assertEquals(3, listMap.size());
+        listMap.remove("A");
+        assertEquals(1, listMap.size());
+    }
+
     @Test
     void testTrimToSize() {
         final ArrayListValuedHashMap<K, V> listMap = new ArrayListValuedHashMap<>(4);
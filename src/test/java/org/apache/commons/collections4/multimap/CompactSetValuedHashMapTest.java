@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CompactSetValuedHashMap}.
+ */
+public class CompactSetValuedHashMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.5.1"; // CompactSetValuedHashMap was added in version 4.5.1
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public boolean isHashSetValue() {
+        return true;
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeConfirmedMap() {
+        return new HashSetValuedHashMap<>();
+    }
+
+    @Override
+    public SetValuedMap<K, V> makeObject() {
+        return new CompactSetValuedHashMap<>();
+    }
+
+    @Test
+    void testCompactSetValuedHashMap() {
+        final Map<K, V> map = new HashMap<>();
+        map.put((K) "A", (V) "W");
+        map.put((K) "B", (V) "X");
+        map.put((K) "C", (V) "F");
+        final SetValuedMap<K, V> map1 = new CompactSetValuedHashMap<>(map);
+        assertEquals(1, map1.get((K) "A").size());
+        assertEquals(3, map1.size());
+
+        final SetValuedMap<K, V> map2 = new CompactSetValuedHashMap<>(map1);
+        assertEquals(map1, map2);
+        assertEquals(map1.hashCode(), map2.hashCode());
+    }
+
+    @Test
+    void testValueSetGrowAndShrink() {
+        final Random random = new Random(7);
+        final SetValuedMap<K, V> setMap = makeObject();
+        final Set<V> confirmedSet = new HashSet<>();
+        final Set<V> set = setMap.get((K) "A");
+        for (int i = 0; i < 2000; i++) {
+            final V value = (V) Integer.valueOf(random.nextInt(24));
+            if (random.nextInt(3) == 0) {
+                assertEquals(confirmedSet.remove(value), set.remove(value));
+            } else {
+                assertEquals(confirmedSet.add(value), set.add(value));
+            }
+            assertEquals(confirmedSet, set);
+            assertEquals(confirmedSet.size(), setMap.size());
+            if (confirmedSet.isEmpty()) {
+                assertFalse(setMap.containsKey("A"));
+            }
+        }
+    }
+
+    @Test
+    void testValueSetIterator() {
+        final SetValuedMap<K, V> setMap = makeObject();
+        final Set<V> set = setMap.get((K) "A");
+        set.add(null);
+        set.add((V) "X");
+        set.add((V) "Y");
+        assertTrue(set.contains(null));
+        final Iterator<V> it = set.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        assertEquals(null, it.next());
+        it.remove();
+        assertEquals("X", it.next());
+        it.remove();
+        assertEquals("Y", it.next());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+        assertEquals(1, setMap.size());
+        assertEquals("{A=[Y]}", setMap.toString());
+    }
+
+    @Test
+    void testValueSetIteratorFailsFastOnPromotion() {
+        final SetValuedMap<K, V> setMap = makeObject();
+        final Set<V> set = setMap.get((K) "A");
+        for (int i = 0; i < 8; i++) {
+            set.add((V) Integer.valueOf(i));
+        }
+        final Iterator<V> it = set.iterator();
+        it.next();
+        set.add((V) Integer.valueOf(8));
+        assertThrows(ConcurrentModificationException.class, it::hasNext);
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        final Iterator<V> it2 = set.iterator();
+        it2.next();
+        set.remove(Integer.valueOf(8));
+        assertThrows(ConcurrentModificationException.class, it2::next);
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/CompactSetValuedHashMap.emptyCollection.version4.5.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/CompactSetValuedHashMap.fullCollection.version4.5.1.obj");
+//    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ConcurrentSetValuedHashMap}.
+ */
+public class ConcurrentSetValuedHashMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.5.1"; // ConcurrentSetValuedHashMap was added in version 4.5.1
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public boolean isAllowNullKey() {
+        return false;
+    }
+
+    @Override
+    public boolean isHashSetValue() {
+        return true;
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeConfirmedMap() {
+        return new HashSetValuedHashMap<>();
+    }
+
+    @Override
+    public SetValuedMap<K, V> makeObject() {
+        return new ConcurrentSetValuedHashMap<>();
+    }
+
+    @Test
+    void testConcurrentPutAndRemoveMapping() throws Exception {
+        final ConcurrentSetValuedHashMap<Integer, Integer> map = new ConcurrentSetValuedHashMap<>();
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        final Integer key = i % 64;
+                        final Integer value = thread * 1_000_000 + i;
+                        assertTrue(map.put(key, value));
+                        if (i % 2 == 0) {
+                            assertTrue(map.removeMapping(key, value));
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * 10_000, map.size());
+        assertEquals(threads * 10_000, map.values().size());
+        int count = 0;
+        for (final Collection<Integer> values : map.asMap().values()) {
+            count += values.size();
+        }
+        assertEquals(threads * 10_000, count);
+    }
+
+    @Test
+    void testNullKeysAndValues() {
+        final SetValuedMap<K, V> map = makeObject();
+        assertThrows(NullPointerException.class, () -> map.put(null, (V) "A"));
+        assertThrows(NullPointerException.class, () -> map.put((K) "A", null));
+        assertFalse(map.containsKey(null));
+        assertFalse(map.containsMapping("A", null));
+        assertTrue(map.remove(null).isEmpty());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testPutAllWithNullValue() {
+        final SetValuedMap<K, V> map = makeObject();
+        assertThrows(NullPointerException.class, () -> map.putAll((K) "A", Arrays.asList((V) "B", null)));
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertTrue(map.keySet().isEmpty());
+        map.put((K) "A", (V) "B");
+        assertThrows(NullPointerException.class, () -> map.putAll((K) "A", Arrays.asList((V) "C", null)));
+        assertEquals(1, map.size());
+        assertFalse(map.containsMapping("A", "C"));
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentSetValuedHashMap.emptyCollection.version4.5.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentSetValuedHashMap.fullCollection.version4.5.1.obj");
+//    }
+
+}
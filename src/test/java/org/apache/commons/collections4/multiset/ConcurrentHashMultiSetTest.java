@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multiset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.collections4.MultiSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Extension of {@link AbstractMultiSetTest} for exercising the
+ * {@link ConcurrentHashMultiSet} implementation.
+ */
+public class ConcurrentHashMultiSetTest<T> extends AbstractMultiSetTest<T> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.5.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return UNORDERED;
+    }
+
+    @Override
+    public boolean isNullSupported() {
+        return false;
+    }
+
+    @Override
+    public MultiSet<T> makeObject() {
+        return new ConcurrentHashMultiSet<>();
+    }
+
+    @Test
+    void testConcurrentAddAndRemove() throws Exception {
+        final MultiSet<Integer> multiset = new ConcurrentHashMultiSet<>();
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        final Integer element = i % 8;
+                        multiset.add(element, 2);
+                        multiset.remove(element, 1);
+                        if (i % 1_000 == 0) {
+                            multiset.remove(element, multiset.getCount(element));
+                            multiset.add(element, 1_000);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        int total = 0;
+        for (final MultiSet.Entry<Integer> entry : multiset.entrySet()) {
+            total += entry.getCount();
+        }
+        assertEquals(total, multiset.size());
+        multiset.clear();
+        assertEquals(0, multiset.size());
+        assertEquals(0, multiset.uniqueSet().size());
+    }
+
+    @Test
+    void testConcurrentAddOccurrences() throws Exception {
+        final MultiSet<Integer> multiset = new ConcurrentHashMultiSet<>();
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        multiset.add(i % 16);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * 100_000, multiset.size());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(threads * 100_000 / 16, multiset.getCount(i));
+        }
+    }
+
+    /**
+     * The iterators are weakly consistent instead of fail-fast.
+     */
+    @Override
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMultiSetIteratorFail() {
+        final MultiSet<T> multiset = makeObject();
+        multiset.add((T) "A");
+        multiset.add((T) "A");
+        multiset.add((T) "B");
+        final Iterator<T> it = multiset.iterator();
+        it.next();
+        multiset.remove("A");
+        it.next();
+        assertEquals(2, multiset.size());
+    }
+
+    @Test
+    void testNullElements() {
+        final MultiSet<T> multiset = makeObject();
+        assertThrows(NullPointerException.class, () -> multiset.add(null));
+        assertThrows(NullPointerException.class, () -> multiset.add(null, 2));
+        assertFalse(multiset.contains(null));
+        assertEquals(0, multiset.getCount(null));
+        assertEquals(0, multiset.remove(null, 1));
+    }
+
+//    void testCreate() throws Exception {
+//        MultiSet<T> multiset = makeObject();
+//        writeExternalFormToDisk((java.io.Serializable) multiset,
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentHashMultiSet.emptyCollection.version4.5.1.obj");
+//        multiset = makeFullCollection();
+//        writeExternalFormToDisk((java.io.Serializable) multiset,
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentHashMultiSet.fullCollection.version4.5.1.obj");
+//    }
+
+}
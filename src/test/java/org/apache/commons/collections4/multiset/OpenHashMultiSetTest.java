@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multiset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.apache.commons.collections4.MultiSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Extension of {@link AbstractMultiSetTest} for exercising the
+ * {@link OpenHashMultiSet} implementation.
+ */
+public class OpenHashMultiSetTest<T> extends AbstractMultiSetTest<T> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.5.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return UNORDERED;
+    }
+
+    @Override
+    public MultiSet<T> makeObject() {
+        return new OpenHashMultiSet<>();
+    }
+
+    @Test
+    void testRandomOperationsAgainstHashMultiSet() {
+        final Random random = new Random(42);
+        final MultiSet<Integer> expected = new HashMultiSet<>();
+        final MultiSet<Integer> actual = new OpenHashMultiSet<>(4);
+        for (int i = 0; i < 100_000; i++) {
+            final Integer element = random.nextInt(10) == 0 ? null : Integer.valueOf(random.nextInt(2_000));
+            final int occurrences = random.nextInt(4);
+            switch (random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.add(element, occurrences), actual.add(element, occurrences));
+                break;
+            case 1:
+                assertEquals(expected.remove(element, occurrences), actual.remove(element, occurrences));
+                break;
+            default:
+                assertEquals(expected.setCount(element, occurrences), actual.setCount(element, occurrences));
+                break;
+            }
+            assertEquals(expected.getCount(element), actual.getCount(element));
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.uniqueSet(), actual.uniqueSet());
+        actual.uniqueSet().removeIf(element -> element != null && element % 2 == 0);
+        int size = 0;
+        for (final MultiSet.Entry<Integer> entry : expected.entrySet()) {
+            final Integer element = entry.getElement();
+            final boolean removed = element != null && element % 2 == 0;
+            assertEquals(removed ? 0 : entry.getCount(), actual.getCount(element));
+            size += removed ? 0 : entry.getCount();
+        }
+        assertEquals(size, actual.size());
+    }
+
+//    void testCreate() throws Exception {
+//        MultiSet<T> multiset = makeObject();
+//        writeExternalFormToDisk((java.io.Serializable) multiset,
+//                "src/test/resources/org/apache/commons/collections4/data/test/OpenHashMultiSet.emptyCollection.version4.5.1.obj");
+//        multiset = makeFullCollection();
+//        writeExternalFormToDisk((java.io.Serializable) multiset,
+//                "src/test/resources/org/apache/commons/collections4/data/test/OpenHashMultiSet.fullCollection.version4.5.1.obj");
+//    }
+
+}
@@ -28,10 +28,12 @@ import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.Spliterator;
 
 import org.junit.jupiter.api.Test;
 
@@ -444,6 +446,22 @@ public class CircularFifoQueueTest<E> extends AbstractQueueTest<E> {
         assertTrue(b3.contains("c"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSpliteratorFailFast() {
+        final CircularFifoQueue<E> fifo = new CircularFifoQueue<>(3);
+        fifo.addAll((Collection<E>) Arrays.asList("a", "b", "c"));
+        final Spliterator<E> spliterator = fifo.spliterator();
+        assertTrue(spliterator.tryAdvance(e -> assertEquals("a", e)));
+        fifo.add((E) "d");
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> { }));
+        final Spliterator<E> late = fifo.spliterator();
+        fifo.remove();
+        // binds on first use
+        assertEquals(2, late.estimateSize());
+        assertThrows(ConcurrentModificationException.class, () -> late.forEachRemaining(e -> fifo.clear()));
+    }
+
 //    void testCreate() throws Exception {
 //        resetEmpty();
 //        writeExternalFormToDisk((java.io.Serializable) getCollection(), "src/test/resources/data/test/CircularFifoQueue.emptyCollection.version4.obj");
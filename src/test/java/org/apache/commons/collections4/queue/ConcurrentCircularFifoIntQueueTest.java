@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for ConcurrentCircularFifoIntQueue.
+ */
+class ConcurrentCircularFifoIntQueueTest {
+
+    @Test
+    void testOverwriteOldest() {
+        final ConcurrentCircularFifoIntQueue queue = ConcurrentCircularFifoIntQueue.singleProducerQueue(4);
+        assertEquals(4, queue.maxSize());
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::remove);
+        for (int i = 1; i <= 6; i++) {
+            queue.offer(i);
+        }
+        assertEquals(4, queue.size());
+        assertEquals(3, queue.remove());
+        final int[] array = new int[6];
+        assertEquals(2, queue.drainTo(array, 1, 2));
+        assertArrayEquals(new int[] { 0, 4, 5, 0, 0, 0 }, array);
+        queue.offerAll(new int[] { 7, 8, 9, 10, 11, 12, 13 }, 1, 6);
+        assertEquals(4, queue.size());
+        assertEquals(4, queue.drainTo(array));
+        assertArrayEquals(new int[] { 10, 11, 12, 13, 0, 0 }, array);
+        queue.offer(1);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(array, 4, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.offerAll(array, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ConcurrentCircularFifoIntQueue.multiProducerQueue(0));
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for ConcurrentCircularFifoLongQueue.
+ */
+class ConcurrentCircularFifoLongQueueTest {
+
+    @Test
+    void testMultiProducer() throws InterruptedException {
+        final int producers = 3;
+        final int perProducer = 100_000;
+        final ConcurrentCircularFifoLongQueue queue = ConcurrentCircularFifoLongQueue.multiProducerQueue(256);
+        final Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final long producer = p;
+            threads[p] = new Thread(() -> {
+                final long[] batch = new long[10];
+                for (int i = 0; i < perProducer; i += batch.length) {
+                    for (int j = 0; j < batch.length; j++) {
+                        batch[j] = producer << 32 | i + j;
+                    }
+                    queue.offerAll(batch);
+                }
+            });
+            threads[p].start();
+        }
+        final long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        final long[] buffer = new long[64];
+        long received = 0;
+        boolean alive = true;
+        while (alive || !queue.isEmpty()) {
+            alive = false;
+            for (final Thread thread : threads) {
+                alive |= thread.isAlive();
+            }
+            final int count = queue.drainTo(buffer);
+            for (int i = 0; i < count; i++) {
+                final int producer = (int) (buffer[i] >>> 32);
+                final long sequence = buffer[i] & 0xFFFFFFFFL;
+                assertTrue(sequence > last[producer] && sequence < perProducer);
+                last[producer] = sequence;
+            }
+            received += count;
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        // overwritten values are lost, but what arrives is in order
+        assertTrue(received > 0 && received <= (long) producers * perProducer);
+    }
+
+    @Test
+    void testOverwriteOldest() {
+        final ConcurrentCircularFifoLongQueue queue = ConcurrentCircularFifoLongQueue.singleProducerQueue(4);
+        assertEquals(4, queue.maxSize());
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::remove);
+        for (long i = 1; i <= 6; i++) {
+            queue.offer(i);
+        }
+        assertEquals(4, queue.size());
+        assertEquals(3, queue.remove());
+        final long[] array = new long[6];
+        assertEquals(2, queue.drainTo(array, 1, 2));
+        assertArrayEquals(new long[] { 0, 4, 5, 0, 0, 0 }, array);
+        queue.offerAll(new long[] { 7, 8, 9, 10, 11, 12, 13 }, 1, 6);
+        assertEquals(4, queue.size());
+        assertEquals(4, queue.drainTo(array));
+        assertArrayEquals(new long[] { 10, 11, 12, 13, 0, 0 }, array);
+        queue.offer(1);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(array, 4, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.offerAll(array, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ConcurrentCircularFifoLongQueue.multiProducerQueue(0));
+    }
+
+}
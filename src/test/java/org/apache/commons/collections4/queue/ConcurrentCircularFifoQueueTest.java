@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for ConcurrentCircularFifoQueue.
+ */
+public class ConcurrentCircularFifoQueueTest<E> extends AbstractQueueTest<E> {
+
+    private static final int PRODUCERS = 4;
+
+    private static final int PER_PRODUCER = 50_000;
+
+    /**
+     * Runs producers offering {@code producer << 32 | sequence} values, singly or in
+     * batches, while the calling thread drains, and returns what was drained.
+     */
+    private static List<Long> produceAndConsume(final ConcurrentCircularFifoQueue<Long> queue, final int producers) throws InterruptedException {
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final long producer = p;
+            threads.add(new Thread(() -> {
+                final List<Long> batch = new ArrayList<>();
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    final Long value = producer << 32 | i;
+                    if (producer % 2 == 0) {
+                        queue.offer(value);
+                    } else {
+                        batch.add(value);
+                        if (batch.size() == 7) {
+                            queue.offerAll(batch);
+                            batch.clear();
+                        }
+                    }
+                }
+                queue.offerAll(batch);
+            }));
+        }
+        threads.forEach(Thread::start);
+        final List<Long> drained = new ArrayList<>();
+        boolean alive = true;
+        while (alive) {
+            alive = false;
+            for (final Thread thread : threads) {
+                alive |= thread.isAlive();
+            }
+            if (drained.size() % 2 == 0) {
+                queue.drainTo(drained, 100);
+            } else {
+                final Long value = queue.poll();
+                if (value != null) {
+                    drained.add(value);
+                }
+            }
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        queue.drainTo(drained);
+        return drained;
+    }
+
+    /**
+     * Asserts that the values of each producer arrive in order.
+     */
+    private static void assertOrderedPerProducer(final List<Long> drained, final int producers) {
+        final long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        for (final Long value : drained) {
+            final int producer = (int) (value >>> 32);
+            final long sequence = value & 0xFFFFFFFFL;
+            assertTrue(sequence > last[producer], () -> "out of order: " + sequence + " after " + last[producer]);
+            assertTrue(sequence < PER_PRODUCER);
+            last[producer] = sequence;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConcurrentCircularFifoQueue<E> getCollection() {
+        return (ConcurrentCircularFifoQueue<E>) super.getCollection();
+    }
+
+    /**
+     * Overridden because the iterator of ConcurrentCircularFifoQueue is a snapshot.
+     * @return false
+     */
+    @Override
+    public boolean isFailFastSupported() {
+        return false;
+    }
+
+    /**
+     * Overridden because ConcurrentCircularFifoQueue doesn't allow null elements.
+     * @return false
+     */
+    @Override
+    public boolean isNullSupported() {
+        return false;
+    }
+
+    /**
+     * Overridden because ConcurrentCircularFifoQueue only removes from the head.
+     * @return false
+     */
+    @Override
+    public boolean isRemoveSupported() {
+        return false;
+    }
+
+    /**
+     * Returns an empty ConcurrentCircularFifoQueue that won't overflow.
+     *
+     * @return an empty ConcurrentCircularFifoQueue
+     */
+    @Override
+    public Queue<E> makeObject() {
+        return ConcurrentCircularFifoQueue.multiProducerQueue(100);
+    }
+
+    @Test
+    void testBatchOperations() {
+        final ConcurrentCircularFifoQueue<Integer> queue = ConcurrentCircularFifoQueue.singleProducerQueue(5);
+        queue.offerAll(Arrays.asList(1, 2, 3));
+        assertTrue(queue.addAll(Arrays.asList(4, 5, 6, 7)));
+        assertFalse(queue.addAll(Collections.emptyList()));
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7), IteratorUtils.toList(queue.iterator()));
+        final List<Integer> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(3, queue.drainTo(drained));
+        assertEquals(0, queue.drainTo(drained));
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7), drained);
+        // a batch larger than the queue keeps its last elements
+        queue.offerAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
+        assertEquals(Arrays.asList(8, 9, 10, 11, 12), IteratorUtils.toList(queue.iterator()));
+        assertThrows(NullPointerException.class, () -> queue.offerAll(Arrays.asList(1, null)));
+        assertEquals(5, queue.size());
+    }
+
+    @Test
+    void testMultiProducer() throws InterruptedException {
+        final ConcurrentCircularFifoQueue<Long> queue = ConcurrentCircularFifoQueue.multiProducerQueue(PRODUCERS * PER_PRODUCER);
+        final List<Long> drained = produceAndConsume(queue, PRODUCERS);
+        assertEquals(PRODUCERS * PER_PRODUCER, drained.size());
+        assertOrderedPerProducer(drained, PRODUCERS);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testMultiProducerOverwriting() throws InterruptedException {
+        final ConcurrentCircularFifoQueue<Long> queue = ConcurrentCircularFifoQueue.multiProducerQueue(16);
+        final List<Long> drained = produceAndConsume(queue, PRODUCERS);
+        assertOrderedPerProducer(drained, PRODUCERS);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testOverwriteOldest() {
+        final ConcurrentCircularFifoQueue<String> queue = ConcurrentCircularFifoQueue.multiProducerQueue(3);
+        assertEquals(3, queue.maxSize());
+        assertFalse(queue.isFull());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertThrows(NoSuchElementException.class, queue::remove);
+        for (final String s : Arrays.asList("a", "b", "c", "d", "e")) {
+            assertTrue(queue.offer(s));
+        }
+        assertEquals(3, queue.size());
+        assertEquals("c", queue.peek());
+        final Iterator<String> it = queue.iterator();
+        assertEquals("c", it.next());
+        assertThrows(UnsupportedOperationException.class, it::remove);
+        assertEquals("c", queue.poll());
+        assertEquals("d", queue.remove());
+        queue.add("f");
+        assertEquals(Arrays.asList("e", "f"), IteratorUtils.toList(queue.iterator()));
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> ConcurrentCircularFifoQueue.singleProducerQueue(0));
+    }
+
+    @Test
+    void testSingleProducer() throws InterruptedException {
+        final ConcurrentCircularFifoQueue<Long> queue = ConcurrentCircularFifoQueue.singleProducerQueue(1024);
+        final List<Long> drained = produceAndConsume(queue, 1);
+        assertOrderedPerProducer(drained, 1);
+        assertEquals(PER_PRODUCER - 1, drained.get(drained.size() - 1) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Overridden because ConcurrentCircularFifoQueue supports clear but no other removal.
+     */
+    @Test
+    @Override
+    public void testUnsupportedRemove() {
+        resetFull();
+        getCollection().clear();
+        getConfirmed().clear();
+        verify();
+
+        resetFull();
+        assertThrows(UnsupportedOperationException.class, () -> getCollection().remove(getFullElements()[0]));
+        assertThrows(UnsupportedOperationException.class, () -> getCollection().removeIf(e -> true));
+        final Iterator<E> iterator = getCollection().iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        verify();
+    }
+
+    @Test
+    void testUnwrittenValueEndsRun() {
+        final RingSequencer sequencer = new RingSequencer(4, true);
+        sequencer.publish(1, (index, position) -> { });
+        final long unwritten = sequencer.claim(1);
+        sequencer.publish(1, (index, position) -> { });
+        final List<Integer> read = new ArrayList<>();
+        // the consumer stops at the claimed ticket instead of waiting for it
+        assertEquals(1, sequencer.drain(10, (index, position) -> read.add(index)));
+        assertEquals(Collections.singletonList(0), read);
+        assertEquals(-1, sequencer.acquire());
+        assertEquals(0, sequencer.drain(10, (index, position) -> read.add(index)));
+        assertTrue(sequencer.beginWrite(unwritten));
+        sequencer.endWrite(unwritten);
+        assertEquals(unwritten, sequencer.acquire());
+        assertTrue(sequencer.release(unwritten));
+        assertEquals(unwritten + 1, sequencer.acquire());
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.apache.commons.collections4.sequence;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -124,6 +125,135 @@ class SequencesComparatorTest {
         length = null;
     }
 
+    private List<Integer> randomSequence(final Random random, final int size, final int alphabet) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            list.add(random.nextInt(alphabet));
+        }
+        return list;
+    }
+
+    @Test
+    void testBuilderAlgorithms() {
+        final ExecutionVisitor<Character> ev = new ExecutionVisitor<>();
+        for (final SequencesComparator.Algorithm algorithm : SequencesComparator.Algorithm.values()) {
+            for (int i = 0; i < before.size(); ++i) {
+                ev.setList(sequence(before.get(i)));
+                final EditScript<Character> script = SequencesComparator.<Character>builder()
+                        .setSequence1(sequence(before.get(i)))
+                        .setSequence2(sequence(after.get(i)))
+                        .setAlgorithm(algorithm)
+                        .get().getScript();
+                script.visit(ev);
+                assertEquals(after.get(i), ev.getString());
+                assertTrue(script.getModifications() >= length[i]);
+            }
+        }
+    }
+
+    @Test
+    void testBuilderValidation() {
+        assertThrows(NullPointerException.class, () -> SequencesComparator.builder().get());
+        assertThrows(IllegalArgumentException.class, () -> SequencesComparator.builder().setCostLimit(0));
+    }
+
+    @Test
+    void testCostLimit() {
+        final Random random = new Random(2451634283L);
+        final ExecutionVisitor<Integer> ev = new ExecutionVisitor<>();
+        for (int n = 0; n < 50; ++n) {
+            final List<Integer> sequence1 = randomSequence(random, random.nextInt(300), 10);
+            final List<Integer> sequence2 = randomSequence(random, random.nextInt(300), 10);
+            final int minimal = new SequencesComparator<>(sequence1, sequence2).getScript().getModifications();
+            final EditScript<Integer> script = SequencesComparator.<Integer>builder()
+                    .setSequence1(sequence1)
+                    .setSequence2(sequence2)
+                    .setCostLimit(1 + random.nextInt(10))
+                    .get().getScript();
+            ev.setList(sequence1);
+            script.visit(ev);
+            assertEquals(sequence2, ev.v);
+            assertTrue(script.getModifications() >= minimal);
+            assertEquals(sequence1.size() + sequence2.size(), script.getModifications() + 2 * script.getLCSLength());
+        }
+    }
+
+    @Test
+    void testHuntSzymanski() {
+        final Random random = new Random(9823742345L);
+        final ExecutionVisitor<Integer> ev = new ExecutionVisitor<>();
+        for (int n = 0; n < 50; ++n) {
+            final List<Integer> sequence1 = randomSequence(random, random.nextInt(300), 1 + random.nextInt(500));
+            final List<Integer> sequence2 = randomSequence(random, random.nextInt(300), 1 + random.nextInt(500));
+            final EditScript<Integer> script = SequencesComparator.<Integer>builder()
+                    .setSequence1(sequence1)
+                    .setSequence2(sequence2)
+                    .setAlgorithm(SequencesComparator.Algorithm.HUNT_SZYMANSKI)
+                    .get().getScript();
+            ev.setList(sequence1);
+            script.visit(ev);
+            assertEquals(sequence2, ev.v);
+            assertEquals(new SequencesComparator<>(sequence1, sequence2).getScript().getModifications(), script.getModifications());
+        }
+    }
+
+    @Test
+    void testInterning() {
+        final Random random = new Random(8732423462342L);
+        final ExecutionVisitor<Integer> ev = new ExecutionVisitor<>();
+        for (int n = 0; n < 50; ++n) {
+            final List<Integer> sequence1 = randomSequence(random, random.nextInt(200), 20);
+            final List<Integer> sequence2 = randomSequence(random, random.nextInt(200), 20);
+            final EditScript<Integer> script = SequencesComparator.<Integer>builder()
+                    .setSequence1(sequence1)
+                    .setSequence2(sequence2)
+                    .setInterning(true)
+                    .get().getScript();
+            ev.setList(sequence1);
+            script.visit(ev);
+            assertEquals(sequence2, ev.v);
+            assertEquals(new SequencesComparator<>(sequence1, sequence2).getScript().getModifications(), script.getModifications());
+        }
+    }
+
+    @Test
+    void testOfCharSequences() {
+        final ExecutionVisitor<Character> ev = new ExecutionVisitor<>();
+        for (int i = 0; i < before.size(); ++i) {
+            ev.setList(sequence(before.get(i)));
+            final EditScript<Character> script = SequencesComparator.of(before.get(i), after.get(i)).getScript();
+            script.visit(ev);
+            assertEquals(after.get(i), ev.getString());
+            assertEquals(length[i], script.getModifications());
+        }
+        assertThrows(NullPointerException.class, () -> SequencesComparator.of(null, "a"));
+    }
+
+    @Test
+    void testPatience() {
+        final Random random = new Random(1239876123L);
+        final ExecutionVisitor<Integer> ev = new ExecutionVisitor<>();
+        for (int n = 0; n < 50; ++n) {
+            final List<Integer> sequence1 = randomSequence(random, random.nextInt(300), 100);
+            final List<Integer> sequence2 = new ArrayList<>(sequence1);
+            for (int i = random.nextInt(20); i > 0; --i) {
+                if (random.nextBoolean() && !sequence2.isEmpty()) {
+                    sequence2.remove(random.nextInt(sequence2.size()));
+                } else {
+                    sequence2.add(random.nextInt(sequence2.size() + 1), random.nextInt(100));
+                }
+            }
+            final EditScript<Integer> script = SequencesComparator.<Integer>builder()
+                    .setSequence1(sequence1)
+                    .setSequence2(sequence2)
+                    .setAlgorithm(SequencesComparator.Algorithm.PATIENCE)
+                    .get().getScript();
+            ev.setList(sequence1);
+            script.visit(ev);
+            assertEquals(sequence2, ev.v);
+        }
+    }
+
     @Test
     void testExecution() {
         final ExecutionVisitor<Character> ev = new ExecutionVisitor<>();
@@ -234,4 +364,78 @@ class SequencesComparatorTest {
         }
     }
 
+    @Test
+    void testVisitRanges() {
+        final Random random = new Random(6532746234L);
+        for (int n = 0; n < 50; ++n) {
+            final List<Integer> sequence1 = randomSequence(random, random.nextInt(200), 5);
+            final List<Integer> sequence2 = randomSequence(random, random.nextInt(200), 5);
+            final SequencesComparator<Integer> comparator = new SequencesComparator<>(sequence1, sequence2);
+            final List<String> expected = new ArrayList<>();
+            comparator.getScript().visit(new CommandVisitor<Integer>() {
+
+                @Override
+                public void visitDeleteCommand(final Integer object) {
+                    expected.add("D" + object);
+                }
+
+                @Override
+                public void visitInsertCommand(final Integer object) {
+                    expected.add("I" + object);
+                }
+
+                @Override
+                public void visitKeepCommand(final Integer object) {
+                    expected.add("K" + object);
+                }
+            });
+            final List<String> actual = new ArrayList<>();
+            final int[] last = { -1 };
+            comparator.visitRanges(new RangeCommandVisitor() {
+
+                private void visit(final int kind, final int length) {
+                    assertTrue(length > 0);
+                    assertTrue(kind != last[0]);
+                    last[0] = kind;
+                }
+
+                @Override
+                public void visitDeleteRange(final int index1, final int length) {
+                    visit(0, length);
+                    for (int i = index1; i < index1 + length; ++i) {
+                        actual.add("D" + sequence1.get(i));
+                    }
+                }
+
+                @Override
+                public void visitInsertRange(final int index2, final int length) {
+                    visit(1, length);
+                    for (int i = index2; i < index2 + length; ++i) {
+                        actual.add("I" + sequence2.get(i));
+                    }
+                }
+
+                @Override
+                public void visitKeepRange(final int index1, final int index2, final int length) {
+                    visit(2, length);
+                    for (int i = 0; i < length; ++i) {
+                        assertEquals(sequence1.get(index1 + i), sequence2.get(index2 + i));
+                        actual.add("K" + sequence1.get(index1 + i));
+                    }
+                }
+            });
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testVisitScript() {
+        for (int i = 0; i < before.size(); ++i) {
+            final ExecutionVisitor<Character> ev = new ExecutionVisitor<>();
+            ev.setList(sequence(before.get(i)));
+            new SequencesComparator<>(sequence(before.get(i)), sequence(after.get(i))).visitScript(ev);
+            assertEquals(after.get(i), ev.getString());
+        }
+    }
+
 }
@@ -26,13 +26,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.map.AbstractSortedMapTest;
@@ -61,6 +65,75 @@ public class PatriciaTrieTest<V> extends AbstractSortedMapTest<String, V> {
         return new PatriciaTrie<>();
     }
 
+    private static int levenshtein(final String a, final String b) {
+        final int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    @Test
+    void testFuzzyIterator() {
+        final PatriciaTrie<String> trie = new PatriciaTrie<>();
+        final String[] keys = {
+            StringUtils.EMPTY,
+            "Albert", "Xavier", "XyZ", "Anna", "Alien", "Alberto",
+            "Alberts", "Allie", "Alliese", "Alabama", "Banane",
+            "Blabla", "Amber", "Ammun", "Akka", "Akko", "Albertoo",
+            "Amma", "A", "B", "点评", "书评"
+        };
+        for (final String key : keys) {
+            trie.put(key, key);
+        }
+        final String[] queries = { StringUtils.EMPTY, "Albert", "Alb", "Akk", "Anne", "Blubla", "Xy", "点", "Zzzzzzzzzz" };
+        for (final String query : queries) {
+            for (int maxDistance = 0; maxDistance <= 4; maxDistance++) {
+                final int max = maxDistance;
+                final List<String> expected = new ArrayList<>();
+                for (final String key : trie.keySet()) {
+                    if (levenshtein(query, key) <= max) {
+                        expected.add(key);
+                    }
+                }
+                expected.sort(Comparator.comparingInt((String key) -> levenshtein(query, key)).thenComparing(key -> key));
+                final List<String> actual = new ArrayList<>();
+                trie.fuzzyIterator(query, max).forEachRemaining(e -> actual.add(e.getKey()));
+                assertEquals(expected, actual, () -> "query=" + query + ", maxDistance=" + max);
+            }
+        }
+    }
+
+    @Test
+    void testFuzzyIteratorEmptyTrie() {
+        final PatriciaTrie<String> trie = new PatriciaTrie<>();
+        assertFalse(trie.fuzzyIterator("abc", 3).hasNext());
+        trie.put("abd", "abd");
+        final Iterator<Map.Entry<String, String>> iterator = trie.fuzzyIterator("abc", 1);
+        assertEquals("abd", iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalArgumentException.class, () -> trie.fuzzyIterator("abc", -1));
+        assertThrows(NullPointerException.class, () -> trie.fuzzyIterator(null, 1));
+    }
+
+    @Test
+    void testFuzzyIteratorFailFast() {
+        final PatriciaTrie<String> trie = new PatriciaTrie<>();
+        trie.put("abc", "abc");
+        trie.put("abd", "abd");
+        final Iterator<Map.Entry<String, String>> iterator = trie.fuzzyIterator("abc", 1);
+        trie.put("abe", "abe");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
     @Test
     void testPrefixMap() {
         final PatriciaTrie<String> trie = new PatriciaTrie<>();
@@ -437,6 +510,20 @@ public class PatriciaTrieTest<V> extends AbstractSortedMapTest<String, V> {
         assertTrue(trie.prefixMap(prefixString).containsKey(longerString));
     }
 
+    @Test
+    void testSpliterators() {
+        final Trie<String, Integer> trie = new PatriciaTrie<>();
+        for (int i = 0; i < 5_000; i++) {
+            trie.put(Integer.toString(i * 7919 % 5_000, 36), i);
+        }
+        final Spliterator<String> keys = trie.keySet().spliterator();
+        assertTrue(keys.hasCharacteristics(Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED));
+        assertEquals(trie.size(), keys.estimateSize());
+        assertEquals(new ArrayList<>(trie.keySet()), trie.keySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(trie.values()), trie.values().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(trie.entrySet()), trie.entrySet().parallelStream().collect(Collectors.toList()));
+    }
+
 //    void testCreate() throws Exception {
 //        resetEmpty();
 //        writeExternalFormToDisk(
@@ -16,10 +16,15 @@
  */
 package org.apache.commons.collections4.trie;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Iterator;
+import java.util.Map;
+
 import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.Unmodifiable;
 import org.apache.commons.collections4.map.AbstractSortedMapTest;
@@ -73,6 +78,21 @@ public class UnmodifiableTrieTest<V> extends AbstractSortedMapTest<String, V> {
         assertThrows(NullPointerException.class, () -> UnmodifiableTrie.unmodifiableTrie(null));
     }
 
+    @Test
+    void testFuzzyIterator() {
+        final Trie<String, String> trie = new PatriciaTrie<>();
+        trie.put("cat", "1");
+        trie.put("cart", "2");
+        trie.put("dog", "3");
+        final Iterator<Map.Entry<String, String>> it = UnmodifiableTrie.unmodifiableTrie(trie).fuzzyIterator("cat", 1);
+        final Map.Entry<String, String> entry = it.next();
+        assertEquals("cat", entry.getKey());
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue("x"));
+        assertThrows(UnsupportedOperationException.class, it::remove);
+        assertEquals("cart", it.next().getKey());
+        assertFalse(it.hasNext());
+    }
+
     @Test
     void testUnmodifiable() {
         assertTrue(makeObject() instanceof Unmodifiable);